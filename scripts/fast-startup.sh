@@ -0,0 +1,103 @@
+#!/usr/bin/env sh
+#
+# Fast-startup launcher for the prod profile.
+#
+#   ./gradlew prepareFastStartup          lay out jars and the fixed classpath
+#   scripts/fast-startup.sh train         training run: refresh the context once and dump build/fast-startup/app.jsa
+#   scripts/fast-startup.sh run [args]    start with the prod profile, Spring AOT and the AppCDS archive
+#   scripts/fast-startup.sh benchmark [n] compare startup and time-to-first-request across launch modes
+#
+set -e
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+DIR="$ROOT/build/fast-startup"
+ARCHIVE="$DIR/app.jsa"
+REPORT="$ROOT/build/reports/startup/startup.txt"
+MAIN=com.creditmodule.loanmanagementapi.LoanmanagementapiApplication
+PORT=${PORT:-18080}
+JAVA=${JAVA:-java}
+
+if [ ! -f "$DIR/classpath.txt" ]; then
+    echo "Missing $DIR/classpath.txt, run ./gradlew prepareFastStartup first" >&2
+    exit 1
+fi
+CP=$(cat "$DIR/classpath.txt")
+
+train() {
+    rm -f "$ARCHIVE"
+    "$JAVA" -XX:ArchiveClassesAtExit="$ARCHIVE" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+        -cp "$CP" "$MAIN" --spring.profiles.active=prod --server.port="$PORT"
+    echo "AppCDS archive written to $ARCHIVE"
+}
+
+run() {
+    exec "$JAVA" -XX:SharedArchiveFile="$ARCHIVE" -Dspring.aot.enabled=true \
+        -cp "$CP" "$MAIN" --spring.profiles.active=prod "$@"
+}
+
+now_ms() {
+    echo $(($(date +%s%N) / 1000000))
+}
+
+# Starts one variant, waits until an authenticated API call gets any HTTP answer and prints
+# "<jvm-reported startup seconds> <time-to-first-request ms>".
+measure() {
+    log="$DIR/measure.log"
+    start=$(now_ms)
+    "$JAVA" "$@" -cp "$CP" "$MAIN" --server.port="$PORT" --logging.file.name= > "$log" 2>&1 &
+    pid=$!
+    while :; do
+        code=$(curl -s -o /dev/null -w '%{http_code}' -u admin:admin123 "http://localhost:$PORT/api/customers/1" || true)
+        if [ "$code" != "000" ]; then
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited during startup, see $log" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    first_request=$(($(now_ms) - start))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    started=$(sed -n 's/.*Started LoanmanagementapiApplication in \([0-9.]*\) seconds.*/\1/p' "$log" | head -n 1)
+    echo "${started:-?} $first_request"
+}
+
+benchmark() {
+    iterations=${1:-5}
+    [ -f "$ARCHIVE" ] || train
+    mkdir -p "$(dirname "$REPORT")"
+    {
+        printf '%-22s %10s %22s %26s\n' "mode" "runs" "avg startup (s)" "avg first request (ms)"
+        for mode in default prod prod+aot prod+aot+cds; do
+            case $mode in
+                default)      set -- ;;
+                prod)         set -- -Dspring.profiles.active=prod ;;
+                prod+aot)     set -- -Dspring.profiles.active=prod -Dspring.aot.enabled=true ;;
+                prod+aot+cds) set -- -Dspring.profiles.active=prod -Dspring.aot.enabled=true -XX:SharedArchiveFile="$ARCHIVE" ;;
+            esac
+            total_started=0
+            total_first=0
+            i=0
+            while [ "$i" -lt "$iterations" ]; do
+                result=$(measure "$@")
+                total_started=$(echo "$total_started + ${result% *}" | bc)
+                total_first=$((total_first + ${result#* }))
+                i=$((i + 1))
+            done
+            printf '%-22s %10d %22s %26d\n' "$mode" "$iterations" \
+                "$(echo "scale=3; $total_started / $iterations" | bc)" $((total_first / iterations))
+        done
+    } | tee "$REPORT"
+    echo "Report written to $REPORT"
+}
+
+command=${1:-run}
+[ $# -gt 0 ] && shift
+case $command in
+    train) train ;;
+    run) run "$@" ;;
+    benchmark) benchmark "$@" ;;
+    *) echo "Usage: $0 train|run|benchmark [iterations]" >&2; exit 1 ;;
+esac
@@ -0,0 +1,78 @@
+#!/usr/bin/env sh
+#
+# Smoke test for the native image: starts the binary against the in-memory H2 database with the prod
+# profile (the profile used for AOT processing) and walks through customer, loan, payment and read calls.
+#
+#   ./gradlew nativeSmokeTest
+#   scripts/native-smoke-test.sh build/native/nativeCompile/loanmanagementapi
+#
+set -e
+
+BINARY=${1:-build/native/nativeCompile/loanmanagementapi}
+PORT=${PORT:-18081}
+BASE="http://localhost:$PORT"
+AUTH="admin:admin123"
+LOG=$(mktemp)
+
+if [ ! -x "$BINARY" ]; then
+    echo "Native binary not found at $BINARY, run ./gradlew nativeCompile first" >&2
+    exit 1
+fi
+
+"$BINARY" --spring.profiles.active=prod --server.port="$PORT" --logging.file.name= > "$LOG" 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null || true; rm -f "$LOG"' EXIT
+
+fail() {
+    echo "FAILED: $1" >&2
+    echo "---- application log ----" >&2
+    cat "$LOG" >&2
+    exit 1
+}
+
+# call METHOD PATH EXPECTED_STATUS [JSON_BODY]; the response body is left in $BODY
+call() {
+    out=$(mktemp)
+    if [ -n "$4" ]; then
+        status=$(curl -s -o "$out" -w '%{http_code}' -u "$AUTH" -X "$1" -H 'Content-Type: application/json' -d "$4" "$BASE$2")
+    else
+        status=$(curl -s -o "$out" -w '%{http_code}' -u "$AUTH" -X "$1" "$BASE$2")
+    fi
+    BODY=$(cat "$out")
+    rm -f "$out"
+    [ "$status" = "$3" ] || fail "$1 $2 returned $status, expected $3: $BODY"
+}
+
+json_id() {
+    echo "$BODY" | sed -n 's/^{"id":\([0-9]*\).*/\1/p'
+}
+
+i=0
+until curl -s -o /dev/null "$BASE/v3/api-docs"; do
+    i=$((i + 1))
+    [ "$i" -lt 300 ] || fail "application did not start"
+    kill -0 "$PID" 2>/dev/null || fail "application exited during startup"
+    sleep 0.1
+done
+
+call POST /api/customers 201 '{"name":"Native","surname":"Smoke","creditLimit":50000.00}'
+CUSTOMER_ID=$(json_id)
+[ -n "$CUSTOMER_ID" ] || fail "customer id missing in $BODY"
+
+call GET "/api/customers/$CUSTOMER_ID" 200
+
+call POST /api/loans 201 "{\"customerId\":$CUSTOMER_ID,\"amount\":1200.00,\"interestRate\":0.2,\"numberOfInstallments\":\"12\"}"
+LOAN_ID=$(json_id)
+[ -n "$LOAN_ID" ] || fail "loan id missing in $BODY"
+
+call GET "/api/installments/loan/$LOAN_ID" 200
+echo "$BODY" | grep -q '"dueDate"' || fail "installments missing in $BODY"
+
+call POST /api/installments/pay 200 "{\"loanId\":$LOAN_ID,\"amount\":120.00}"
+call POST /api/loans/pay 200 "{\"loanId\":$LOAN_ID,\"amount\":240.00}"
+call GET "/api/loans/$LOAN_ID" 200
+call GET "/api/loans/customer/$CUSTOMER_ID" 200
+call GET "/api/customers/999999" 404
+call GET /v3/api-docs 200
+
+echo "Native smoke test passed"
@@ -0,0 +1,88 @@
+package com.creditmodule.loanmanagementapi.benchmark;
+
+import com.creditmodule.loanmanagementapi.config.JacksonConfig;
+import com.creditmodule.loanmanagementapi.dto.response.InstallmentResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serializes a list of installments the way GET /api/installments/loan/{id} and the portfolio overdue
+// page do: "baseline" is the mapper Boot builds by default, "blackbird" adds only the Blackbird module and
+// "tuned" is the full JacksonConfig setup (Blackbird plus the BigDecimal/LocalDate serializers).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InstallmentSerializationBenchmark {
+
+    @Param("10000")
+    private int installments;
+
+    private List<InstallmentResponse> payload;
+    private ObjectWriter baseline;
+    private ObjectWriter blackbird;
+    private ObjectWriter tuned;
+
+    @Setup
+    public void setUp() {
+        payload = new ArrayList<>(installments);
+        LocalDate start = LocalDate.of(2025, 1, 15);
+        for (int i = 0; i < installments; i++) {
+            InstallmentResponse response = new InstallmentResponse();
+            response.setId(100_000L + i);
+            response.setLoanId(1_000L + i / 12);
+            response.setAmount(new BigDecimal("1083.33"));
+            boolean paid = i % 12 < 4;
+            response.setPaidAmount(paid ? new BigDecimal("1083.33") : new BigDecimal("0.00"));
+            response.setDueDate(start.plusMonths(i % 12 + 1));
+            response.setPaymentDate(paid ? start.plusMonths(i % 12 + 1).minusDays(3) : null);
+            response.setIsPaid(paid);
+            response.setLateFee(i % 12 == 4 ? new BigDecimal("10.83") : new BigDecimal("0.00"));
+            response.setIsOverdue(i % 12 == 4);
+            payload.add(response);
+        }
+
+        TypeReference<List<InstallmentResponse>> type = new TypeReference<>() {
+        };
+        baseline = mapper().build().writerFor(type);
+        blackbird = mapper().addModule(new BlackbirdModule()).build().writerFor(type);
+        tuned = mapper().addModule(new BlackbirdModule()).addModule(JacksonConfig.dtoSerializers()).build().writerFor(type);
+    }
+
+    private static JsonMapper.Builder mapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] baseline() throws Exception {
+        return baseline.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] blackbird() throws Exception {
+        return blackbird.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] tuned() throws Exception {
+        return tuned.writeValueAsBytes(payload);
+    }
+}
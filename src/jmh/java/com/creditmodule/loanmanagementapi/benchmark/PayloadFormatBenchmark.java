@@ -0,0 +1,205 @@
+package com.creditmodule.loanmanagementapi.benchmark;
+
+import com.creditmodule.loanmanagementapi.config.JacksonConfig;
+import com.creditmodule.loanmanagementapi.dto.response.InstallmentResponse;
+import com.creditmodule.loanmanagementapi.dto.response.LoanResponse;
+import com.creditmodule.loanmanagementapi.dto.response.PaymentResult;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Encodes and decodes the installment list, a loan and a payment result as JSON and as CBOR with the
+// same modules the application registers. Payload sizes (raw and gzip) are computed once in setUp and
+// written to build/results/jmh/payload-sizes.txt next to the timing results.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+
+    @Param("10000")
+    private int installments;
+
+    private List<InstallmentResponse> installmentPayload;
+    private LoanResponse loanPayload;
+    private PaymentResult paymentPayload;
+
+    private ObjectWriter jsonInstallmentWriter;
+    private ObjectWriter cborInstallmentWriter;
+    private ObjectReader jsonInstallmentReader;
+    private ObjectReader cborInstallmentReader;
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+
+    private byte[] jsonInstallments;
+    private byte[] cborInstallments;
+    private byte[] jsonLoan;
+    private byte[] cborLoan;
+    private byte[] jsonPayment;
+    private byte[] cborPayment;
+
+    @Setup
+    public void setUp() throws IOException {
+        installmentPayload = new ArrayList<>(installments);
+        LocalDate start = LocalDate.of(2025, 1, 15);
+        for (int i = 0; i < installments; i++) {
+            InstallmentResponse response = new InstallmentResponse();
+            response.setId(100_000L + i);
+            response.setLoanId(1_000L + i / 12);
+            response.setAmount(new BigDecimal("1083.33"));
+            boolean paid = i % 12 < 4;
+            response.setPaidAmount(paid ? new BigDecimal("1083.33") : new BigDecimal("0.00"));
+            response.setDueDate(start.plusMonths(i % 12 + 1));
+            response.setPaymentDate(paid ? start.plusMonths(i % 12 + 1).minusDays(3) : null);
+            response.setIsPaid(paid);
+            response.setLateFee(i % 12 == 4 ? new BigDecimal("10.83") : new BigDecimal("0.00"));
+            response.setIsOverdue(i % 12 == 4);
+            installmentPayload.add(response);
+        }
+
+        loanPayload = new LoanResponse();
+        loanPayload.setId(1001L);
+        loanPayload.setCustomerId(42L);
+        loanPayload.setLoanAmount(new BigDecimal("10000.00"));
+        loanPayload.setNumberOfInstallment(12);
+        loanPayload.setInterestRate(new BigDecimal("0.2"));
+        loanPayload.setCreateDate(start);
+        loanPayload.setIsPaid(false);
+
+        paymentPayload = new PaymentResult(3, new BigDecimal("3249.99"), false);
+
+        json = configure(JsonMapper.builder());
+        cbor = configure(CBORMapper.builder());
+        TypeReference<List<InstallmentResponse>> type = new TypeReference<>() {
+        };
+        jsonInstallmentWriter = json.writerFor(type);
+        cborInstallmentWriter = cbor.writerFor(type);
+        jsonInstallmentReader = json.readerFor(type);
+        cborInstallmentReader = cbor.readerFor(type);
+
+        jsonInstallments = jsonInstallmentWriter.writeValueAsBytes(installmentPayload);
+        cborInstallments = cborInstallmentWriter.writeValueAsBytes(installmentPayload);
+        jsonLoan = json.writeValueAsBytes(loanPayload);
+        cborLoan = cbor.writeValueAsBytes(loanPayload);
+        jsonPayment = json.writeValueAsBytes(paymentPayload);
+        cborPayment = cbor.writeValueAsBytes(paymentPayload);
+        writeSizeReport();
+    }
+
+    private static <M extends ObjectMapper, B extends MapperBuilder<M, B>> M configure(B builder) {
+        return builder
+                .addModule(new JavaTimeModule())
+                .addModule(new BlackbirdModule())
+                .addModule(JacksonConfig.dtoSerializers())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private void writeSizeReport() throws IOException {
+        StringBuilder report = new StringBuilder(String.format("%-28s %12s %12s%n", "payload", "bytes", "gzip bytes"));
+        appendSize(report, "installments x" + installments + " json", jsonInstallments);
+        appendSize(report, "installments x" + installments + " cbor", cborInstallments);
+        appendSize(report, "loan json", jsonLoan);
+        appendSize(report, "loan cbor", cborLoan);
+        appendSize(report, "payment result json", jsonPayment);
+        appendSize(report, "payment result cbor", cborPayment);
+
+        Path reportFile = Path.of("build/results/jmh/payload-sizes.txt");
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, report);
+        System.out.print(report);
+    }
+
+    private static void appendSize(StringBuilder report, String name, byte[] payload) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(payload.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(payload);
+        }
+        report.append(String.format("%-28s %,12d %,12d%n", name, payload.length, compressed.size()));
+    }
+
+    @Benchmark
+    public byte[] encodeInstallmentsJson() throws Exception {
+        return jsonInstallmentWriter.writeValueAsBytes(installmentPayload);
+    }
+
+    @Benchmark
+    public byte[] encodeInstallmentsCbor() throws Exception {
+        return cborInstallmentWriter.writeValueAsBytes(installmentPayload);
+    }
+
+    @Benchmark
+    public List<InstallmentResponse> decodeInstallmentsJson() throws Exception {
+        return jsonInstallmentReader.readValue(jsonInstallments);
+    }
+
+    @Benchmark
+    public List<InstallmentResponse> decodeInstallmentsCbor() throws Exception {
+        return cborInstallmentReader.readValue(cborInstallments);
+    }
+
+    @Benchmark
+    public byte[] encodeLoanJson() throws Exception {
+        return json.writeValueAsBytes(loanPayload);
+    }
+
+    @Benchmark
+    public byte[] encodeLoanCbor() throws Exception {
+        return cbor.writeValueAsBytes(loanPayload);
+    }
+
+    @Benchmark
+    public LoanResponse decodeLoanJson() throws Exception {
+        return json.readValue(jsonLoan, LoanResponse.class);
+    }
+
+    @Benchmark
+    public LoanResponse decodeLoanCbor() throws Exception {
+        return cbor.readValue(cborLoan, LoanResponse.class);
+    }
+
+    @Benchmark
+    public byte[] encodePaymentResultJson() throws Exception {
+        return json.writeValueAsBytes(paymentPayload);
+    }
+
+    @Benchmark
+    public byte[] encodePaymentResultCbor() throws Exception {
+        return cbor.writeValueAsBytes(paymentPayload);
+    }
+
+    @Benchmark
+    public PaymentResult decodePaymentResultJson() throws Exception {
+        return json.readValue(jsonPayment, PaymentResult.class);
+    }
+
+    @Benchmark
+    public PaymentResult decodePaymentResultCbor() throws Exception {
+        return cbor.readValue(cborPayment, PaymentResult.class);
+    }
+}
@@ -0,0 +1,159 @@
+package com.creditmodule.loanmanagementapi.load;
+
+import com.creditmodule.loanmanagementapi.LoanmanagementapiApplication;
+import com.creditmodule.loanmanagementapi.dto.request.CreateCustomerRequest;
+import com.creditmodule.loanmanagementapi.dto.request.CreateLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.request.PayInstallmentRequest;
+import com.creditmodule.loanmanagementapi.exception.ConcurrentUpdateException;
+import com.creditmodule.loanmanagementapi.executor.OptimisticRetryExecutor;
+import com.creditmodule.loanmanagementapi.service.ICustomerService;
+import com.creditmodule.loanmanagementapi.service.IInstallmentService;
+import com.creditmodule.loanmanagementapi.service.ILoanService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Hammers a single loan with installment payments from a growing number of threads. The partitioned
+// payment executor is disabled so that writers really race on the same rows, which is what happens
+// when several application instances serve payments for the same loan.
+public class ContentionBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentionBenchmark.class);
+
+    private final ILoanService loanService;
+    private final IInstallmentService installmentService;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final Long customerId;
+    private final AtomicLong currentLoan = new AtomicLong();
+
+    public ContentionBenchmark(ConfigurableApplicationContext context) {
+        this.loanService = context.getBean(ILoanService.class);
+        this.installmentService = context.getBean(IInstallmentService.class);
+        this.retryExecutor = context.getBean(OptimisticRetryExecutor.class);
+
+        CreateCustomerRequest customer = new CreateCustomerRequest();
+        customer.setName("Contention");
+        customer.setSurname("Benchmark");
+        customer.setCreditLimit(new BigDecimal("1000000000000.00"));
+        this.customerId = context.getBean(ICustomerService.class).createCustomer(customer).getId();
+        this.currentLoan.set(newLoan());
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] threadCounts = parseThreadCounts(System.getProperty("load.threads", "1,2,4,8,16,32"));
+        long secondsPerLevel = Long.getLong("load.secondsPerLevel", 10L);
+        Path reportFile = Path.of(System.getProperty("load.report", "build/reports/load-test/contention.txt"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LoanmanagementapiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "payment.executor.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.creditmodule.loanmanagementapi=INFO",
+                        "logging.level.org.springframework.security=INFO")
+                .run()) {
+            ContentionBenchmark benchmark = new ContentionBenchmark(context);
+
+            StringWriter buffer = new StringWriter();
+            PrintWriter out = new PrintWriter(buffer);
+            out.printf("%8s %12s %12s %14s %12s%n", "threads", "payments/s", "retries", "retries/pay", "gave up");
+            for (int threads : threadCounts) {
+                benchmark.runLevel(threads, TimeUnit.SECONDS.toNanos(1));
+                out.println(benchmark.runLevel(threads, TimeUnit.SECONDS.toNanos(secondsPerLevel)));
+            }
+            out.flush();
+
+            if (reportFile.getParent() != null) {
+                Files.createDirectories(reportFile.getParent());
+            }
+            Files.writeString(reportFile, buffer.toString());
+            logger.info("Contention benchmark finished, report written to {}{}{}",
+                    reportFile.toAbsolutePath(), System.lineSeparator(), buffer);
+        }
+    }
+
+    private String runLevel(int threads, long durationNanos) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        LongAdder payments = new LongAdder();
+        LongAdder gaveUp = new LongAdder();
+        long retriesBefore = retryExecutor.getRetries();
+        CountDownLatch done = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+
+        for (int i = 0; i < threads; i++) {
+            pool.execute(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        long loanId = currentLoan.get();
+                        try {
+                            installmentService.payInstallment(paymentFor(loanId));
+                            payments.increment();
+                        } catch (ConcurrentUpdateException e) {
+                            gaveUp.increment();
+                        } catch (IllegalStateException e) {
+                            rollOver(loanId);
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        pool.shutdown();
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long retries = retryExecutor.getRetries() - retriesBefore;
+        long paid = payments.sum();
+        return String.format("%8d %12.1f %12d %14.3f %12d",
+                threads, paid / seconds, retries, paid == 0 ? 0.0 : (double) retries / paid, gaveUp.sum());
+    }
+
+    // The loan ran out of unpaid installments: the first thread to notice opens the next one.
+    private synchronized void rollOver(long exhaustedLoanId) {
+        if (currentLoan.get() == exhaustedLoanId) {
+            currentLoan.set(newLoan());
+        }
+    }
+
+    private long newLoan() {
+        CreateLoanRequest request = new CreateLoanRequest();
+        request.setCustomerId(customerId);
+        request.setAmount(new BigDecimal("24000.00"));
+        request.setInterestRate(new BigDecimal("0.1"));
+        request.setNumberOfInstallments("24");
+        return loanService.createLoan(request).getId();
+    }
+
+    private static PayInstallmentRequest paymentFor(long loanId) {
+        PayInstallmentRequest request = new PayInstallmentRequest();
+        request.setLoanId(loanId);
+        request.setAmount(new BigDecimal("5000.00"));
+        return request;
+    }
+
+    private static int[] parseThreadCounts(String value) {
+        List<Integer> counts = new ArrayList<>();
+        for (String part : value.split(",")) {
+            counts.add(Integer.parseInt(part.trim()));
+        }
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,30 @@
+package com.creditmodule.loanmanagementapi.load;
+
+public enum Endpoint {
+    CREATE_LOAN("createLoan"),
+    PAY_LOAN("payLoan"),
+    PAY_INSTALLMENT("payInstallment"),
+    GET_LOAN("getLoan"),
+    GET_LOANS_BY_CUSTOMER("getLoansByCustomer"),
+    GET_INSTALLMENTS("getInstallments"),
+    GET_OVERDUE_INSTALLMENTS("getOverdueInstallments");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equalsIgnoreCase(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in load mix: " + key);
+    }
+}
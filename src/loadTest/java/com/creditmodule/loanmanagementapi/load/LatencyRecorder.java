@@ -0,0 +1,119 @@
+package com.creditmodule.loanmanagementapi.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final LongAdder dropped = new LongAdder();
+
+    public LatencyRecorder() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    public void record(Endpoint endpoint, long latencyNanos, int status) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        endpointStats.histogram.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        if (status >= 200 && status < 300) {
+            endpointStats.succeeded.increment();
+        } else if (status >= 400 && status < 500) {
+            endpointStats.rejected.increment();
+        } else {
+            endpointStats.failed.increment();
+        }
+    }
+
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    public void reset() {
+        stats.values().forEach(EndpointStats::reset);
+        dropped.reset();
+    }
+
+    public String report(LoadTestConfig config, Duration elapsed) {
+        StringWriter buffer = new StringWriter();
+        PrintWriter out = new PrintWriter(buffer);
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+
+        out.printf("Target rate: %d req/s, measured window: %.1f s, dropped (max in-flight reached): %d%n",
+                config.getTargetRate(), seconds, dropped.sum());
+        out.printf("%-20s %10s %10s %10s %10s %10s %10s %10s %10s%n",
+                "endpoint", "ok", "4xx", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long totalRequests = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            Histogram histogram = endpointStats.histogram.copy();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalRequests += histogram.getTotalCount();
+            printRow(out, entry.getKey().getKey(), endpointStats.succeeded.sum(), endpointStats.rejected.sum(),
+                    endpointStats.failed.sum(), histogram, seconds);
+        }
+        if (totalRequests > 0) {
+            long ok = stats.values().stream().mapToLong(s -> s.succeeded.sum()).sum();
+            long rejected = stats.values().stream().mapToLong(s -> s.rejected.sum()).sum();
+            long failed = stats.values().stream().mapToLong(s -> s.failed.sum()).sum();
+            printRow(out, "TOTAL", ok, rejected, failed, total, seconds);
+        }
+        out.flush();
+        return buffer.toString();
+    }
+
+    public void writeReport(Path file, String report) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, report);
+    }
+
+    private void printRow(PrintWriter out, String name, long ok, long rejected, long failed,
+                          Histogram histogram, double seconds) {
+        out.printf("%-20s %10d %10d %10d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                name, ok, rejected, failed,
+                histogram.getTotalCount() / seconds,
+                toMillis(histogram.getValueAtPercentile(50.0)),
+                toMillis(histogram.getValueAtPercentile(99.0)),
+                toMillis(histogram.getValueAtPercentile(99.9)),
+                toMillis(histogram.getMaxValue()));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class EndpointStats {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private void reset() {
+            histogram.reset();
+            succeeded.reset();
+            rejected.reset();
+            failed.reset();
+        }
+    }
+}
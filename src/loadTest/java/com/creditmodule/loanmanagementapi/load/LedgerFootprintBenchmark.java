@@ -0,0 +1,123 @@
+package com.creditmodule.loanmanagementapi.load;
+
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.ledger.LoanSchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Compares the retained heap of the same installment book held as LoanInstallment entities and as
+// InstallmentLedger schedules. Entities are measured detached, so the numbers leave out what a
+// persistence context adds per managed entity (entity entry, key and loaded-state snapshot) and
+// understate the JPA side.
+public class LedgerFootprintBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerFootprintBenchmark.class);
+
+    private static final double MILLION = 1_000_000.0;
+
+    public static void main(String[] args) throws Exception {
+        int installments = Integer.getInteger("load.installments", 1_000_000);
+        int perLoan = Integer.getInteger("load.installmentsPerLoan", 12);
+        Path reportFile = Path.of(System.getProperty("load.report", "build/reports/load-test/ledger-footprint.txt"));
+        int loans = (installments + perLoan - 1) / perLoan;
+
+        long baseline = usedHeap();
+        List<LoanInstallment> entities = buildEntities(loans, perLoan);
+        long entityBytes = usedHeap() - baseline;
+        int entityCount = entities.size();
+        entities = null;
+
+        baseline = usedHeap();
+        Map<Long, LoanSchedule> schedules = buildSchedules(loans, perLoan);
+        long ledgerBytes = usedHeap() - baseline;
+        long estimatedLedgerBytes = schedules.values().stream().mapToLong(LoanSchedule::estimatedBytes).sum();
+        int scheduleCount = schedules.size();
+        schedules = null;
+
+        String report = String.format(
+                "installments: %,d in %,d loans of %d%n" +
+                "%-24s %14s %18s %18s%n" +
+                "%-24s %,14d %,18.1f %,18.1f%n" +
+                "%-24s %,14d %,18.1f %,18.1f%n" +
+                "ledger arrays estimate   %,14d bytes%n" +
+                "ledger / entities: %.1f%%%n",
+                entityCount, scheduleCount, perLoan,
+                "representation", "bytes", "bytes/installment", "MB/million",
+                "LoanInstallment (JPA)", entityBytes, (double) entityBytes / entityCount,
+                entityBytes / (double) entityCount * MILLION / (1024 * 1024),
+                "LoanSchedule (ledger)", ledgerBytes, (double) ledgerBytes / entityCount,
+                ledgerBytes / (double) entityCount * MILLION / (1024 * 1024),
+                estimatedLedgerBytes,
+                100.0 * ledgerBytes / entityBytes);
+
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        Files.writeString(reportFile, report);
+        logger.info("Ledger footprint benchmark finished, report written to {}{}{}",
+                reportFile.toAbsolutePath(), System.lineSeparator(), report);
+    }
+
+    // Values are created per row, as they would be when mapped from a result set.
+    private static List<LoanInstallment> buildEntities(int loans, int perLoan) {
+        List<LoanInstallment> installments = new ArrayList<>(loans * perLoan);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        long id = 1;
+        for (long loanId = 1; loanId <= loans; loanId++) {
+            Loan loan = new Loan();
+            loan.setId(loanId);
+            for (int n = 1; n <= perLoan; n++) {
+                LoanInstallment installment = new LoanInstallment();
+                installment.setId(id++);
+                installment.setLoan(loan);
+                installment.setInstallmentNumber(n);
+                installment.setAmount(new BigDecimal("1083.33"));
+                installment.setPaidAmount(n <= 3 ? new BigDecimal("1083.33") : new BigDecimal("0.00"));
+                installment.setDueDate(start.plusMonths(n));
+                installment.setPaymentDate(n <= 3 ? start.plusMonths(n).minusDays(2) : null);
+                installment.setIsPaid(n <= 3);
+                installment.setLateFee(new BigDecimal("0.00"));
+                installment.setIsOverdue(false);
+                installment.setVersion(0L);
+                installments.add(installment);
+            }
+        }
+        return installments;
+    }
+
+    private static Map<Long, LoanSchedule> buildSchedules(int loans, int perLoan) {
+        Map<Long, LoanSchedule> schedules = new ConcurrentHashMap<>(loans * 2);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        long id = 1;
+        for (long loanId = 1; loanId <= loans; loanId++) {
+            LoanSchedule.Builder builder = new LoanSchedule.Builder(loanId, 24);
+            for (int n = 1; n <= perLoan; n++) {
+                builder.add(id++, start.plusMonths(n), new BigDecimal("1083.33"),
+                        n <= 3 ? new BigDecimal("1083.33") : new BigDecimal("0.00"),
+                        n <= 3 ? start.plusMonths(n).minusDays(2) : null,
+                        n <= 3, new BigDecimal("0.00"), false);
+            }
+            schedules.put(loanId, builder.build());
+        }
+        return schedules;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
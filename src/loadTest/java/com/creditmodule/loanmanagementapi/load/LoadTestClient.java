@@ -0,0 +1,103 @@
+package com.creditmodule.loanmanagementapi.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+public class LoadTestClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String authorization;
+
+    public LoadTestClient(String baseUrl, String username, String password, Executor executor) {
+        this.baseUrl = baseUrl;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    public Long createCustomer(String name, String surname, BigDecimal creditLimit) throws IOException, InterruptedException {
+        HttpResponse<String> response = post("/api/customers",
+                Map.of("name", name, "surname", surname, "creditLimit", creditLimit));
+        return idOf(response);
+    }
+
+    public HttpResponse<String> createLoan(Long customerId, BigDecimal amount, BigDecimal interestRate,
+                                           int numberOfInstallments) throws IOException, InterruptedException {
+        return post("/api/loans", Map.of(
+                "customerId", customerId,
+                "amount", amount,
+                "interestRate", interestRate,
+                "numberOfInstallments", String.valueOf(numberOfInstallments)));
+    }
+
+    public HttpResponse<String> payLoan(Long loanId, BigDecimal amount) throws IOException, InterruptedException {
+        return post("/api/loans/pay", Map.of("loanId", loanId, "amount", amount));
+    }
+
+    public HttpResponse<String> payInstallment(Long loanId, BigDecimal amount) throws IOException, InterruptedException {
+        return post("/api/installments/pay", Map.of("loanId", loanId, "amount", amount));
+    }
+
+    public HttpResponse<String> getLoan(Long loanId) throws IOException, InterruptedException {
+        return get("/api/loans/" + loanId);
+    }
+
+    public HttpResponse<String> getLoansByCustomer(Long customerId) throws IOException, InterruptedException {
+        return get("/api/loans/customer/" + customerId);
+    }
+
+    public HttpResponse<String> getInstallments(Long loanId) throws IOException, InterruptedException {
+        return get("/api/installments/loan/" + loanId);
+    }
+
+    public HttpResponse<String> getOverdueInstallments(Long loanId) throws IOException, InterruptedException {
+        return get("/api/installments/loan/" + loanId + "/overdue");
+    }
+
+    public Long idOf(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            return null;
+        }
+        JsonNode id = objectMapper.readTree(response.body()).get("id");
+        return id == null || id.isNull() ? null : id.asLong();
+    }
+
+    private HttpResponse<String> post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,56 @@
+package com.creditmodule.loanmanagementapi.load;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@Builder
+public class LoadTestConfig {
+
+    private final int targetRate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int customers;
+    private final int seedLoansPerCustomer;
+    private final int maxInFlight;
+    private final Map<Endpoint, Integer> mix;
+    private final Path reportFile;
+
+    // Every setting can be overridden with -Dload.<name>=<value>, e.g. ./gradlew loadTest -Dload.rate=500
+    public static LoadTestConfig fromSystemProperties() {
+        return LoadTestConfig.builder()
+                .targetRate(Integer.getInteger("load.rate", 200))
+                .warmup(Duration.ofSeconds(Integer.getInteger("load.warmupSeconds", 10)))
+                .duration(Duration.ofSeconds(Integer.getInteger("load.durationSeconds", 60)))
+                .customers(Integer.getInteger("load.customers", 200))
+                .seedLoansPerCustomer(Integer.getInteger("load.seedLoansPerCustomer", 2))
+                .maxInFlight(Integer.getInteger("load.maxInFlight", 2_000))
+                .mix(parseMix(System.getProperty("load.mix",
+                        "createLoan=15,payLoan=10,payInstallment=15,getLoan=25,getLoansByCustomer=15,getInstallments=20")))
+                .reportFile(Path.of(System.getProperty("load.report", "build/reports/load-test/report.txt")))
+                .build();
+    }
+
+    static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Endpoint.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Load mix must contain at least one endpoint");
+        }
+        return mix;
+    }
+}
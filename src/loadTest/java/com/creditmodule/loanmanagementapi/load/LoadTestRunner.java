@@ -0,0 +1,204 @@
+package com.creditmodule.loanmanagementapi.load;
+
+import com.creditmodule.loanmanagementapi.LoanmanagementapiApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadTestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private static final int[] INSTALLMENT_OPTIONS = {6, 9, 12, 24};
+
+    private final LoadTestConfig config;
+    private final LoadTestClient client;
+    private LoadTestClient readClient;
+    private final ExecutorService clients;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final IdPool customerIds = new IdPool();
+    private final IdPool loanIds = new IdPool();
+
+    public LoadTestRunner(LoadTestConfig config, String baseUrl, ExecutorService clients) {
+        this.config = config;
+        this.clients = clients;
+        this.client = new LoadTestClient(baseUrl, "admin", "admin123", clients);
+        this.readClient = client;
+    }
+
+    // Sends the GET endpoints of the mix to another server over the same data, e.g. the reactive read server.
+    public void readFrom(String baseUrl) {
+        this.readClient = new LoadTestClient(baseUrl, "admin", "admin123", clients);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        try (ConfigurableApplicationContext context = startApplication()) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            ExecutorService clients = newClientExecutor();
+            try {
+                LoadTestRunner runner = new LoadTestRunner(config, "http://localhost:" + port, clients);
+                runner.seed();
+                String report = runner.run();
+                logger.info("Load test finished, report written to {}{}{}",
+                        config.getReportFile().toAbsolutePath(), System.lineSeparator(), report);
+            } finally {
+                clients.shutdownNow();
+            }
+        }
+    }
+
+    static ConfigurableApplicationContext startApplication(String... profiles) {
+        return new SpringApplicationBuilder(LoanmanagementapiApplication.class)
+                .profiles(profiles)
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.creditmodule.loanmanagementapi=INFO",
+                        "logging.level.org.springframework.security=INFO")
+                .run();
+    }
+
+    // Virtual threads when running on Java 21+, a cached platform pool otherwise.
+    static ExecutorService newClientExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            logger.info("Virtual threads are not available on this JVM, falling back to a cached thread pool");
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    public void seed() throws Exception {
+        logger.info("Seeding {} customers with {} loans each", config.getCustomers(), config.getSeedLoansPerCustomer());
+        for (int i = 0; i < config.getCustomers(); i++) {
+            Long customerId = client.createCustomer("Load" + i, "Customer" + i, new BigDecimal("100000000.00"));
+            if (customerId == null) {
+                throw new IllegalStateException("Could not seed customer " + i);
+            }
+            customerIds.add(customerId);
+            for (int j = 0; j < config.getSeedLoansPerCustomer(); j++) {
+                Long loanId = client.idOf(createRandomLoan(customerId));
+                if (loanId != null) {
+                    loanIds.add(loanId);
+                }
+            }
+        }
+    }
+
+    public String run() throws Exception {
+        return run(config.getReportFile());
+    }
+
+    public String run(Path reportFile) throws Exception {
+        WorkloadMix mix = new WorkloadMix(config.getMix());
+        Semaphore inFlight = new Semaphore(config.getMaxInFlight());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getTargetRate();
+
+        logger.info("Warming up for {} s at {} req/s", config.getWarmup().toSeconds(), config.getTargetRate());
+        drive(mix, inFlight, intervalNanos, config.getWarmup());
+        awaitQuiescence(inFlight);
+        recorder.reset();
+
+        logger.info("Measuring for {} s at {} req/s", config.getDuration().toSeconds(), config.getTargetRate());
+        long start = System.nanoTime();
+        drive(mix, inFlight, intervalNanos, config.getDuration());
+        awaitQuiescence(inFlight);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        String report = recorder.report(config, elapsed);
+        recorder.writeReport(reportFile, report);
+        return report;
+    }
+
+    // Open-loop pacing: latency is measured from the intended start time so a stalled server
+    // shows up in the percentiles instead of silently lowering the offered load.
+    private void drive(WorkloadMix mix, Semaphore inFlight, long intervalNanos, Duration duration) {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long next = start;
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long intendedStart = next;
+            next += intervalNanos;
+
+            if (!inFlight.tryAcquire()) {
+                recorder.recordDropped();
+                continue;
+            }
+            Endpoint endpoint = mix.next();
+            clients.execute(() -> {
+                try {
+                    int status = execute(endpoint);
+                    recorder.record(endpoint, System.nanoTime() - intendedStart, status);
+                } catch (Exception e) {
+                    recorder.record(endpoint, System.nanoTime() - intendedStart, -1);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private int execute(Endpoint endpoint) throws Exception {
+        HttpResponse<String> response = switch (endpoint) {
+            case CREATE_LOAN -> {
+                HttpResponse<String> created = createRandomLoan(customerIds.random());
+                Long loanId = client.idOf(created);
+                if (loanId != null) {
+                    loanIds.add(loanId);
+                }
+                yield created;
+            }
+            case PAY_LOAN -> client.payLoan(loanIds.random(), new BigDecimal("2000.00"));
+            case PAY_INSTALLMENT -> client.payInstallment(loanIds.random(), new BigDecimal("1000.00"));
+            case GET_LOAN -> readClient.getLoan(loanIds.random());
+            case GET_LOANS_BY_CUSTOMER -> readClient.getLoansByCustomer(customerIds.random());
+            case GET_INSTALLMENTS -> readClient.getInstallments(loanIds.random());
+            case GET_OVERDUE_INSTALLMENTS -> readClient.getOverdueInstallments(loanIds.random());
+        };
+        return response.statusCode();
+    }
+
+    private HttpResponse<String> createRandomLoan(Long customerId) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BigDecimal amount = BigDecimal.valueOf(random.nextInt(1_000, 10_001)).setScale(2);
+        BigDecimal interestRate = BigDecimal.valueOf(random.nextInt(1, 6), 1);
+        int installments = INSTALLMENT_OPTIONS[random.nextInt(INSTALLMENT_OPTIONS.length)];
+        return client.createLoan(customerId, amount, interestRate, installments);
+    }
+
+    private void awaitQuiescence(Semaphore inFlight) throws InterruptedException {
+        inFlight.acquire(config.getMaxInFlight());
+        inFlight.release(config.getMaxInFlight());
+    }
+
+    private static final class IdPool {
+        private final List<Long> ids = new ArrayList<>();
+
+        private synchronized void add(Long id) {
+            ids.add(id);
+        }
+
+        private synchronized Long random() {
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.creditmodule.loanmanagementapi.load;
+
+import com.creditmodule.loanmanagementapi.reactive.ReactiveReadServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+
+// Boots the application with the "reactive" profile, seeds it through the servlet API and then drives the
+// same open-loop read mix first against the servlet endpoints and then against the reactive read server.
+// Both servers and the load client run in this JVM, so the peak thread count of each phase (client threads
+// included in both) shows what each model needs for the offered load. Raise -Dload.rate until one side
+// starts dropping or its p99 climbs.
+public class ReactiveReadComparison {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReadComparison.class);
+
+    private static final String READ_MIX = "getLoan=30,getLoansByCustomer=20,getInstallments=30,getOverdueInstallments=20";
+
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("load.mix") == null) {
+            System.setProperty("load.mix", READ_MIX);
+        }
+        System.setProperty("reactive.server.port", "0");
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        Path reportDir = Path.of(System.getProperty("load.reportDir", "build/reports/load-test"));
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        try (ConfigurableApplicationContext context = LoadTestRunner.startApplication("reactive")) {
+            String servletUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String reactiveUrl = "http://localhost:" + context.getBean(ReactiveReadServer.class).getPort();
+            ExecutorService clients = LoadTestRunner.newClientExecutor();
+            try {
+                LoadTestRunner runner = new LoadTestRunner(config, servletUrl, clients);
+                runner.seed();
+
+                threads.resetPeakThreadCount();
+                String servletReport = runner.run(reportDir.resolve("reads-servlet.txt"));
+                int servletPeakThreads = threads.getPeakThreadCount();
+
+                runner.readFrom(reactiveUrl);
+                threads.resetPeakThreadCount();
+                String reactiveReport = runner.run(reportDir.resolve("reads-reactive.txt"));
+                int reactivePeakThreads = threads.getPeakThreadCount();
+
+                String report = String.format(
+                        "Servlet (Tomcat + JPA), peak JVM threads: %d%n%s%n" +
+                        "Reactive (Reactor Netty + R2DBC), peak JVM threads: %d%n%s",
+                        servletPeakThreads, servletReport, reactivePeakThreads, reactiveReport);
+                Path reportFile = reportDir.resolve("reads-comparison.txt");
+                Files.createDirectories(reportDir);
+                Files.writeString(reportFile, report);
+                logger.info("Read comparison finished, report written to {}{}{}",
+                        reportFile.toAbsolutePath(), System.lineSeparator(), report);
+            } finally {
+                clients.shutdownNow();
+            }
+        }
+    }
+}
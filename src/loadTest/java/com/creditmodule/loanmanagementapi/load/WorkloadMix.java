@@ -0,0 +1,35 @@
+package com.creditmodule.loanmanagementapi.load;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class WorkloadMix {
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public WorkloadMix(Map<Endpoint, Integer> weights) {
+        this.endpoints = new Endpoint[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        int index = 0;
+        int total = 0;
+        for (Map.Entry<Endpoint, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            endpoints[index] = entry.getKey();
+            cumulativeWeights[index] = total;
+            index++;
+        }
+        this.totalWeight = total;
+    }
+
+    public Endpoint next() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+}
@@ -0,0 +1,49 @@
+package com.creditmodule.loanmanagementapi.config;
+
+import com.creditmodule.loanmanagementapi.datasource.ConnectionPools;
+import com.creditmodule.loanmanagementapi.datasource.PoolRoute;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Replaces the single auto-configured Hikari pool with one pool per PoolRoute, all on spring.datasource.*.
+// Payments and loan origination keep their own connections however many reads are in flight.
+@Configuration
+public class ConnectionPoolConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolConfig.class);
+
+    @Bean(destroyMethod = "close")
+    public ConnectionPools connectionPools(DataSourceProperties properties,
+                                           @Value("${db.pools.payments.max-size:10}") int paymentsMaxSize,
+                                           @Value("${db.pools.payments.connection-timeout-ms:2000}") long paymentsTimeoutMillis,
+                                           @Value("${db.pools.reads.max-size:20}") int readsMaxSize,
+                                           @Value("${db.pools.reads.connection-timeout-ms:1000}") long readsTimeoutMillis) {
+        Map<PoolRoute, HikariDataSource> pools = new EnumMap<>(PoolRoute.class);
+        pools.put(PoolRoute.PAYMENTS, pool(properties, PoolRoute.PAYMENTS, paymentsMaxSize, paymentsTimeoutMillis));
+        pools.put(PoolRoute.READS, pool(properties, PoolRoute.READS, readsMaxSize, readsTimeoutMillis));
+        return new ConnectionPools(pools);
+    }
+
+    @Bean
+    public DataSource dataSource(ConnectionPools connectionPools) {
+        return connectionPools.getDataSource();
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, PoolRoute route, int maxSize, long timeoutMillis) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(route.getLabel() + "-pool");
+        pool.setMaximumPoolSize(maxSize);
+        pool.setConnectionTimeout(timeoutMillis);
+        logger.debug("Connection pool {}: max size {}, connection timeout {} ms", pool.getPoolName(), maxSize, timeoutMillis);
+        return pool;
+    }
+}
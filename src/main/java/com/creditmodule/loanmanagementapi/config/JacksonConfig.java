@@ -0,0 +1,47 @@
+package com.creditmodule.loanmanagementapi.config;
+
+import com.creditmodule.loanmanagementapi.serialization.IsoLocalDateSerializer;
+import com.creditmodule.loanmanagementapi.serialization.PlainBigDecimalSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Module beans are picked up by Boot's Jackson auto-configuration and registered on the shared ObjectMapper.
+@Configuration
+public class JacksonConfig {
+
+    // Blackbird replaces reflective getter/setter calls with generated lambdas. A native image cannot
+    // define classes at runtime, so there the plain reflective access is kept.
+    @Bean
+    public Module blackbirdModule() {
+        return NativeDetector.inNativeImage() ? new SimpleModule("blackbird-disabled") : new BlackbirdModule();
+    }
+
+    @Bean
+    public Module dtoSerializationModule() {
+        return dtoSerializers();
+    }
+
+    // Serves and accepts application/cbor when the client asks for it in Accept / Content-Type. The mapper
+    // comes from Boot's builder, so it carries the same modules and date settings as the JSON one.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    public static SimpleModule dtoSerializers() {
+        SimpleModule module = new SimpleModule("dto-serializers");
+        module.addSerializer(BigDecimal.class, new PlainBigDecimalSerializer());
+        module.addSerializer(LocalDate.class, new IsoLocalDateSerializer());
+        return module;
+    }
+}
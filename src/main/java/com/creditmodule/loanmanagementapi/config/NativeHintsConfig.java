@@ -0,0 +1,98 @@
+package com.creditmodule.loanmanagementapi.config;
+
+import com.creditmodule.loanmanagementapi.dto.request.CreateCustomerRequest;
+import com.creditmodule.loanmanagementapi.dto.request.CreateLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.request.LoanSearchRequest;
+import com.creditmodule.loanmanagementapi.dto.request.PayInstallmentRequest;
+import com.creditmodule.loanmanagementapi.dto.request.PayLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.response.CacheRegionStatistics;
+import com.creditmodule.loanmanagementapi.dto.response.ConnectionPoolStatistics;
+import com.creditmodule.loanmanagementapi.dto.response.CreditReconciliationResult;
+import com.creditmodule.loanmanagementapi.dto.response.CreditRepricingResult;
+import com.creditmodule.loanmanagementapi.dto.response.CustomerEventResponse;
+import com.creditmodule.loanmanagementapi.dto.response.CustomerImportResult;
+import com.creditmodule.loanmanagementapi.dto.response.CustomerResponse;
+import com.creditmodule.loanmanagementapi.dto.response.CustomerStatement;
+import com.creditmodule.loanmanagementapi.dto.response.InstallmentResponse;
+import com.creditmodule.loanmanagementapi.dto.response.LoanArchivalResult;
+import com.creditmodule.loanmanagementapi.dto.response.LoanBalanceResponse;
+import com.creditmodule.loanmanagementapi.dto.response.LoanResponse;
+import com.creditmodule.loanmanagementapi.dto.response.PayInstallmentResult;
+import com.creditmodule.loanmanagementapi.dto.response.PaymentLedgerEntryResponse;
+import com.creditmodule.loanmanagementapi.dto.response.PaymentResult;
+import com.creditmodule.loanmanagementapi.dto.response.SchedulePackingResult;
+import com.creditmodule.loanmanagementapi.dto.response.StatementInstallment;
+import com.creditmodule.loanmanagementapi.dto.response.StatementLoan;
+import com.creditmodule.loanmanagementapi.dto.response.StatementRunResult;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.entity.JobCheckpoint;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.entity.User;
+import com.creditmodule.loanmanagementapi.exception.ErrorResponse;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.info.Contact;
+import io.swagger.v3.oas.models.info.Info;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import java.util.List;
+
+// Reflection and resource hints for the GraalVM native image. Controller payloads are mostly covered by
+// Spring's own AOT processing; these hints also cover types that are only reached through Jackson or
+// Hibernate at runtime (Lombok accessors, error bodies, entities) and the springdoc/Swagger UI assets.
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.ApplicationRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final List<Class<?>> DTO_TYPES = List.of(
+                CreateCustomerRequest.class, CreateLoanRequest.class, LoanSearchRequest.class, PayInstallmentRequest.class, PayLoanRequest.class,
+                CustomerResponse.class, InstallmentResponse.class, LoanResponse.class,
+                PayInstallmentResult.class, PaymentResult.class, PaymentResult.PaymentResultBuilder.class,
+                CustomerImportResult.class, CustomerStatement.class, StatementLoan.class, StatementInstallment.class,
+                StatementRunResult.class, CustomerEventResponse.class, CustomerEventResponse.CustomerEventResponseBuilder.class,
+                CacheRegionStatistics.class, CacheRegionStatistics.CacheRegionStatisticsBuilder.class,
+                ConnectionPoolStatistics.class, ConnectionPoolStatistics.ConnectionPoolStatisticsBuilder.class,
+                CreditReconciliationResult.class, CreditReconciliationResult.CreditReconciliationResultBuilder.class,
+                CreditRepricingResult.class, CreditRepricingResult.CreditRepricingResultBuilder.class,
+                SchedulePackingResult.class, SchedulePackingResult.SchedulePackingResultBuilder.class,
+                LoanBalanceResponse.class, LoanBalanceResponse.LoanBalanceResponseBuilder.class,
+                LoanArchivalResult.class, LoanArchivalResult.LoanArchivalResultBuilder.class,
+                PaymentLedgerEntryResponse.class, PaymentLedgerEntryResponse.PaymentLedgerEntryResponseBuilder.class, ErrorResponse.class);
+
+        private static final List<Class<?>> ENTITY_TYPES = List.of(
+                Customer.class, Loan.class, LoanInstallment.class, User.class, User.Role.class, JobCheckpoint.class);
+
+        private static final List<Class<?>> OPENAPI_TYPES = List.of(OpenAPI.class, Info.class, Contact.class);
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            DTO_TYPES.forEach(type -> hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS));
+
+            ENTITY_TYPES.forEach(type -> hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS));
+
+            OPENAPI_TYPES.forEach(type -> hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS));
+
+            // Lazy connection handles of the routed connection pools (ConnectionPools)
+            hints.proxies().registerJdkProxy(ConnectionProxy.class);
+
+            hints.resources().registerPattern("db/migration/*.sql");
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+            hints.resources().registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+        }
+    }
+}
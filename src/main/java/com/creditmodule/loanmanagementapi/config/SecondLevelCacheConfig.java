@@ -0,0 +1,75 @@
+package com.creditmodule.loanmanagementapi.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+// Caffeine-backed JCache regions for the Hibernate second-level and query caches, sized and expired from
+// application.properties instead of a separate cache config file. Hibernate receives this CacheManager
+// instance, so every region it uses exists up front with its own limits. Writes through JPA keep the
+// regions consistent on their own (read-write entity regions, update timestamps for cached queries);
+// code that writes these tables with plain JDBC has to evict the affected regions itself.
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheConfig.class);
+
+    public static final String CUSTOMER_REGION = "customer";
+    public static final String LOAN_REGION = "loan";
+    public static final String LOANS_BY_CUSTOMER_REGION = "loans-by-customer";
+
+    // Hibernate's own regions: results of cached queries without an explicit region, and the last update
+    // time per table. Timestamps must never be evicted before the query results that depend on them.
+    static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${cache.regions.customer.max-size:100000}") long customerMaxSize,
+            @Value("${cache.regions.customer.ttl:10m}") Duration customerTtl,
+            @Value("${cache.regions.loan.max-size:200000}") long loanMaxSize,
+            @Value("${cache.regions.loan.ttl:10m}") Duration loanTtl,
+            @Value("${cache.regions.loans-by-customer.max-size:50000}") long loansByCustomerMaxSize,
+            @Value("${cache.regions.loans-by-customer.ttl:5m}") Duration loansByCustomerTtl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        createRegion(cacheManager, CUSTOMER_REGION, customerMaxSize, customerTtl);
+        createRegion(cacheManager, LOAN_REGION, loanMaxSize, loanTtl);
+        createRegion(cacheManager, LOANS_BY_CUSTOMER_REGION, loansByCustomerMaxSize, loansByCustomerTtl);
+        createRegion(cacheManager, DEFAULT_QUERY_RESULTS_REGION, loansByCustomerMaxSize, loansByCustomerTtl);
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 0, Duration.ZERO);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    // A size or ttl of zero leaves that limit off.
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, Duration ttl) {
+        if (cacheManager.getCache(name) != null) {
+            cacheManager.destroyCache(name);
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStatisticsEnabled(true);
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null && !ttl.isZero()) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        cacheManager.createCache(name, configuration);
+        logger.debug("Second-level cache region {}: max size {}, ttl {}", name, maxSize > 0 ? maxSize : "unbounded", ttl);
+    }
+}
@@ -44,6 +44,10 @@ public class SecurityConfig {
                                 "/h2-console/**"
                         ).permitAll()
 
+                        .requestMatchers("/api/statements/**", "/api/installments/overdue", "/api/loans/search", "/api/admin/**",
+                                "/api/customers/import")
+                        .hasRole("ADMIN")
+
                         // Tüm API'lere hem ADMIN hem CUSTOMER erişebilir
                         .requestMatchers(
                                 "/api/customers/**",
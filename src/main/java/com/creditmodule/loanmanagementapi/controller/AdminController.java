@@ -0,0 +1,149 @@
+package com.creditmodule.loanmanagementapi.controller;
+
+import com.creditmodule.loanmanagementapi.dto.response.CacheRegionStatistics;
+import com.creditmodule.loanmanagementapi.dto.response.ConnectionPoolStatistics;
+import com.creditmodule.loanmanagementapi.dto.response.CreditReconciliationResult;
+import com.creditmodule.loanmanagementapi.dto.response.CreditRepricingResult;
+import com.creditmodule.loanmanagementapi.dto.response.LoanArchivalResult;
+import com.creditmodule.loanmanagementapi.dto.response.SchedulePackingResult;
+import com.creditmodule.loanmanagementapi.service.ICacheStatisticsService;
+import com.creditmodule.loanmanagementapi.service.IConnectionPoolStatisticsService;
+import com.creditmodule.loanmanagementapi.service.ICreditReconciliationService;
+import com.creditmodule.loanmanagementapi.service.ICreditRepricingService;
+import com.creditmodule.loanmanagementapi.service.ILoanArchivalService;
+import com.creditmodule.loanmanagementapi.service.ISchedulePackingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final ICacheStatisticsService cacheStatisticsService;
+
+    private final IConnectionPoolStatisticsService connectionPoolStatisticsService;
+
+    private final ICreditReconciliationService creditReconciliationService;
+
+    private final ISchedulePackingService schedulePackingService;
+
+    private final ILoanArchivalService loanArchivalService;
+
+    private final ICreditRepricingService creditRepricingService;
+
+    @Operation(
+            summary = "Second-level cache statistics",
+            description = "Hits, misses, puts and approximate size of the Customer and Loan entity regions and the " +
+                    "per-customer loan query region.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Region statistics"),
+                    @ApiResponse(responseCode = "403", description = "Only admins can read statistics")
+            }
+    )
+    @GetMapping("/cache-statistics")
+    public ResponseEntity<List<CacheRegionStatistics>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getRegionStatistics());
+    }
+
+    @Operation(
+            summary = "Connection pool and bulkhead saturation",
+            description = "Active, idle and awaited connections of the payments and reads pools, plus the permits in use, " +
+                    "waiting requests and rejections of the bulkhead in front of each pool.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Pool statistics"),
+                    @ApiResponse(responseCode = "403", description = "Only admins can read statistics")
+            }
+    )
+    @GetMapping("/pool-statistics")
+    public ResponseEntity<List<ConnectionPoolStatistics>> getPoolStatistics() {
+        return ResponseEntity.ok(connectionPoolStatisticsService.getPoolStatistics());
+    }
+
+    @Operation(
+            summary = "Reconcile the credit ledger",
+            description = "Compares each credit ledger account with the total of the customer's loans and, unless " +
+                    "credit.ledger.reconcile-repair is false, corrects accounts that drifted.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Reconciliation result"),
+                    @ApiResponse(responseCode = "400", description = "The credit ledger is not enabled"),
+                    @ApiResponse(responseCode = "403", description = "Only admins can reconcile")
+            }
+    )
+    @PostMapping("/credit-ledger/reconcile")
+    public ResponseEntity<CreditReconciliationResult> reconcileCreditLedger() {
+        return ResponseEntity.ok(creditReconciliationService.reconcile());
+    }
+
+    @Operation(
+            summary = "Pack installment schedules",
+            description = "Moves the schedule of every loan that still has loan_installments rows into its packed " +
+                    "schedule column and deletes those rows. Requires installments.schedule.packed=true.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Packing result"),
+                    @ApiResponse(responseCode = "400", description = "Packed schedules are not enabled"),
+                    @ApiResponse(responseCode = "403", description = "Only admins can pack schedules")
+            }
+    )
+    @PostMapping("/installment-schedules/pack")
+    public ResponseEntity<SchedulePackingResult> packInstallmentSchedules() {
+        return ResponseEntity.ok(schedulePackingService.packSchedules());
+    }
+
+    @Operation(
+            summary = "Archive paid loans",
+            description = "Moves loans paid more than loans.archive.retain-days ago, with their installments, into " +
+                    "the archive tables. Loan details and installment reads keep finding them there.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Archival result"),
+                    @ApiResponse(responseCode = "400", description = "Loan archival is not enabled or already running"),
+                    @ApiResponse(responseCode = "403", description = "Only admins can archive loans")
+            }
+    )
+    @PostMapping("/loans/archive")
+    public ResponseEntity<LoanArchivalResult> archivePaidLoans() {
+        return ResponseEntity.ok(loanArchivalService.archivePaidLoans());
+    }
+
+    @Operation(
+            summary = "Bulk credit limit repricing",
+            description = "Sets credit limits from a CSV file with customerId, newLimit columns (optional header row). " +
+                    "Limits below a customer's used credit, unknown customers and malformed rows are rejected and " +
+                    "written to a server-side error file; valid rows are applied in parallel JDBC batches.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Repricing finished"),
+                    @ApiResponse(responseCode = "400", description = "File missing or unreadable, or a repricing is already running"),
+                    @ApiResponse(responseCode = "403", description = "Only admins can reprice credit limits")
+            }
+    )
+    @PostMapping(value = "/credit-limits/reprice", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<CreditRepricingResult> repriceCreditLimits(
+            @Parameter(description = "CSV file with customerId, newLimit columns")
+            @RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Repricing file is empty");
+        }
+        Path upload = Files.createTempFile("credit-repricing-", ".csv");
+        try {
+            file.transferTo(upload);
+            return ResponseEntity.ok(creditRepricingService.reprice(upload));
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+}
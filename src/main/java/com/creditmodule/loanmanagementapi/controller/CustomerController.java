@@ -1,8 +1,10 @@
 package com.creditmodule.loanmanagementapi.controller;
 
 import com.creditmodule.loanmanagementapi.dto.request.CreateCustomerRequest;
+import com.creditmodule.loanmanagementapi.dto.response.CustomerImportResult;
 import com.creditmodule.loanmanagementapi.dto.response.CustomerResponse;
 import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.service.ICustomerImportService;
 import com.creditmodule.loanmanagementapi.service.ICustomerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,10 +14,15 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 @RestController
@@ -25,6 +32,8 @@ public class CustomerController {
 
     private final ICustomerService customerService;
 
+    private final ICustomerImportService customerImportService;
+
     @Operation(
             summary = "Create a new customer",
             description = "Creates a customer with an initial credit limit. Used credit is set to zero by default.",
@@ -74,4 +83,31 @@ public class CustomerController {
         CustomerResponse response = customerService.updateCreditLimit(id, newLimit);
         return ResponseEntity.ok(response);
     }
+
+    @Operation(
+            summary = "Bulk import customers from CSV",
+            description = "Imports a CSV file with name, surname, creditLimit columns (optional header row). " +
+                    "Rows are validated with the same rules as customer creation and inserted in JDBC batches; " +
+                    "rejected rows are written to a server-side error file.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import finished"),
+                    @ApiResponse(responseCode = "400", description = "File missing or unreadable")
+            }
+    )
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<CustomerImportResult> importCustomers(
+            @Parameter(description = "CSV file with name, surname, creditLimit columns")
+            @RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Import file is empty");
+        }
+        Path upload = Files.createTempFile("customer-import-", ".csv");
+        try {
+            file.transferTo(upload);
+            CustomerImportResult result = customerImportService.importCustomers(upload);
+            return ResponseEntity.ok(result);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package com.creditmodule.loanmanagementapi.controller;
+
+import com.creditmodule.loanmanagementapi.stream.CustomerEventHub;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/customers")
+@RequiredArgsConstructor
+public class CustomerEventController {
+
+    private final CustomerEventHub eventHub;
+
+    @Operation(
+            summary = "Stream loan and payment events of a customer",
+            description = "Server-Sent Events stream pushing LoanCreated, InstallmentPaid and LoanFullyPaid events " +
+                    "as loans are created and paid. A client that falls too far behind is disconnected and should " +
+                    "reload its loans after reconnecting.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Event stream opened"),
+                    @ApiResponse(responseCode = "503", description = "Too many open event streams")
+            }
+    )
+    @GetMapping(value = "/{customerId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @Parameter(description = "Customer ID", example = "42")
+            @PathVariable Long customerId) {
+        return eventHub.subscribe(customerId);
+    }
+}
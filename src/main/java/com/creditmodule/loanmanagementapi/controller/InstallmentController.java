@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -85,4 +86,38 @@ public class InstallmentController {
         List<InstallmentResponse> overdueInstallments = installmentService.getOverdueInstallments(loanId);
         return ResponseEntity.ok(overdueInstallments);
     }
+
+    @Operation(
+            summary = "Get the next due installment of a loan",
+            description = "Returns the earliest unpaid installment of a specific loan.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Next due installment retrieved"),
+                    @ApiResponse(responseCode = "400", description = "Loan has no unpaid installments")
+            }
+    )
+    @GetMapping("/loan/{loanId}/next-due")
+    public ResponseEntity<InstallmentResponse> getNextDueInstallment(
+            @Parameter(description = "Loan ID", example = "1001")
+            @PathVariable Long loanId) {
+        InstallmentResponse nextDue = installmentService.getNextDueInstallment(loanId);
+        return ResponseEntity.ok(nextDue);
+    }
+
+    @Operation(
+            summary = "Get overdue installments across the portfolio",
+            description = "Returns unpaid installments past their due date for all loans, oldest due date first. Admin only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of overdue installments retrieved"),
+                    @ApiResponse(responseCode = "403", description = "Only admins can list the whole portfolio")
+            }
+    )
+    @GetMapping("/overdue")
+    public ResponseEntity<Page<InstallmentResponse>> getPortfolioOverdueInstallments(
+            @Parameter(description = "Zero-based page index", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (at most 500)", example = "50")
+            @RequestParam(defaultValue = "50") int size) {
+        Page<InstallmentResponse> overdueInstallments = installmentService.getPortfolioOverdueInstallments(page, size);
+        return ResponseEntity.ok(overdueInstallments);
+    }
 }
@@ -1,6 +1,7 @@
 package com.creditmodule.loanmanagementapi.controller;
 
 import com.creditmodule.loanmanagementapi.dto.request.CreateLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.request.LoanSearchRequest;
 import com.creditmodule.loanmanagementapi.dto.request.PayLoanRequest;
 import com.creditmodule.loanmanagementapi.dto.response.LoanResponse;
 import com.creditmodule.loanmanagementapi.dto.response.PaymentResult;
@@ -11,8 +12,10 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -109,4 +112,29 @@ public class LoanController {
         List<LoanResponse> loans = loanService.getLoansByCustomerWithFilters(customerId, isPaid, numberOfInstallments);
         return ResponseEntity.ok(loans);
     }
+
+    @Operation(
+            summary = "Search loans across all customers",
+            description = "Pages through loans matching the supplied criteria: amount, creation date and interest rate " +
+                    "ranges, payment status and term. Criteria that are left out are not applied. Admin only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of matching loans"),
+                    @ApiResponse(responseCode = "400", description = "Unsupported sort field"),
+                    @ApiResponse(responseCode = "403", description = "Only admins can search all loans")
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<Page<LoanResponse>> searchLoans(
+            @ParameterObject @ModelAttribute LoanSearchRequest criteria,
+            @Parameter(description = "Zero-based page index", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (at most 500)", example = "50")
+            @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Sort field: createDate, loanAmount, interestRate or id", example = "createDate")
+            @RequestParam(defaultValue = "createDate") String sortBy,
+            @Parameter(description = "Sort ascending instead of descending", example = "false")
+            @RequestParam(defaultValue = "false") boolean ascending) {
+        Page<LoanResponse> loans = loanService.searchLoans(criteria, page, size, sortBy, ascending);
+        return ResponseEntity.ok(loans);
+    }
 }
@@ -0,0 +1,59 @@
+package com.creditmodule.loanmanagementapi.controller;
+
+import com.creditmodule.loanmanagementapi.dto.response.LoanBalanceResponse;
+import com.creditmodule.loanmanagementapi.dto.response.PaymentLedgerEntryResponse;
+import com.creditmodule.loanmanagementapi.service.IPaymentLedgerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/loans")
+@RequiredArgsConstructor
+public class PaymentLedgerController {
+
+    private final IPaymentLedgerService paymentLedgerService;
+
+    @Operation(
+            summary = "Loan balance as of a date",
+            description = "Paid and outstanding amount of a loan counting the payments made up to the given day " +
+                    "(today when omitted), read from the payment ledger.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Balance computed"),
+                    @ApiResponse(responseCode = "404", description = "Loan not found")
+            }
+    )
+    @GetMapping("/{loanId}/balance")
+    public ResponseEntity<LoanBalanceResponse> getBalance(
+            @Parameter(description = "Loan ID", example = "1001")
+            @PathVariable Long loanId,
+            @Parameter(description = "Balance date", example = "2025-09-30")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(paymentLedgerService.getBalance(loanId, asOf));
+    }
+
+    @Operation(
+            summary = "Payment history of a loan",
+            description = "Every payment applied to the loan's installments, in the order it was recorded.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Payment history")
+            }
+    )
+    @GetMapping("/{loanId}/payments")
+    public ResponseEntity<List<PaymentLedgerEntryResponse>> getPayments(
+            @Parameter(description = "Loan ID", example = "1001")
+            @PathVariable Long loanId) {
+        return ResponseEntity.ok(paymentLedgerService.getPayments(loanId));
+    }
+}
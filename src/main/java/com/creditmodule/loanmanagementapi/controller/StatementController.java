@@ -0,0 +1,40 @@
+package com.creditmodule.loanmanagementapi.controller;
+
+import com.creditmodule.loanmanagementapi.dto.response.StatementRunResult;
+import com.creditmodule.loanmanagementapi.service.IStatementService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/statements")
+@RequiredArgsConstructor
+public class StatementController {
+
+    private final IStatementService statementService;
+
+    @Operation(
+            summary = "Generate monthly statements",
+            description = "Writes the statements of every customer for the given month to compressed files. " +
+                    "Customer ranges already written by an earlier run of the same month are skipped.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Statement run finished"),
+                    @ApiResponse(responseCode = "403", description = "Only admins can run statements")
+            }
+    )
+    @PostMapping("/generate")
+    public ResponseEntity<StatementRunResult> generateStatements(
+            @Parameter(description = "Statement month", example = "2025-08")
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return ResponseEntity.ok(statementService.generateMonthlyStatements(month));
+    }
+}
@@ -0,0 +1,117 @@
+package com.creditmodule.loanmanagementapi.csv;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streams a CSV file through memory-mapped windows, so files far larger than the heap (or than the 2 GB
+// limit of a single mapping) are read without copying them through an InputStream. A line must fit in one
+// window; a line cut by the window end is re-read from its start in the next window.
+public class MappedCsvReader {
+
+    public static final int DEFAULT_WINDOW_BYTES = 64 * 1024 * 1024;
+
+    @FunctionalInterface
+    public interface RecordHandler {
+        void onRecord(long lineNumber, String line, List<String> fields);
+    }
+
+    private final Path file;
+    private final int windowBytes;
+    private byte[] lineBuffer = new byte[256];
+
+    public MappedCsvReader(Path file) {
+        this(file, DEFAULT_WINDOW_BYTES);
+    }
+
+    public MappedCsvReader(Path file, int windowBytes) {
+        this.file = file;
+        this.windowBytes = windowBytes;
+    }
+
+    public long read(RecordHandler handler) throws IOException {
+        long lineNumber = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                int length = (int) Math.min(windowBytes, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean lastWindow = position + length == size;
+
+                int lineStart = 0;
+                for (int i = 0; i < length; i++) {
+                    if (window.get(i) == '\n') {
+                        emit(window, lineStart, i, ++lineNumber, handler);
+                        lineStart = i + 1;
+                    }
+                }
+
+                if (lastWindow) {
+                    if (lineStart < length) {
+                        emit(window, lineStart, length, ++lineNumber, handler);
+                    }
+                    position = size;
+                } else {
+                    if (lineStart == 0) {
+                        throw new IOException("Line " + (lineNumber + 1) + " is longer than the " + windowBytes + " byte read window");
+                    }
+                    position += lineStart;
+                }
+            }
+        }
+        return lineNumber;
+    }
+
+    private void emit(MappedByteBuffer window, int start, int end, long lineNumber, RecordHandler handler) {
+        if (end > start && window.get(end - 1) == '\r') {
+            end--;
+        }
+        int length = end - start;
+        if (length == 0) {
+            return;
+        }
+        if (lineBuffer.length < length) {
+            lineBuffer = new byte[Math.max(length, lineBuffer.length * 2)];
+        }
+        window.get(start, lineBuffer, 0, length);
+        String line = new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+        handler.onRecord(lineNumber, line, split(line));
+    }
+
+    // Comma separated fields; a field may be wrapped in double quotes, with "" standing for a literal quote.
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -0,0 +1,54 @@
+package com.creditmodule.loanmanagementapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// One Hikari pool per PoolRoute behind a single DataSource. Transactions open a lazy connection handle and
+// only take a pooled connection at their first statement, from the pool of the route current at that moment,
+// so @Transactional methods can pick their pool inside the method body. Not a DataSource bean itself:
+// the application sees only getDataSource().
+public class ConnectionPools implements AutoCloseable {
+
+    private final Map<PoolRoute, HikariDataSource> pools;
+    private final DataSource dataSource;
+
+    public ConnectionPools(Map<PoolRoute, HikariDataSource> pools) {
+        this.pools = new EnumMap<>(pools);
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return PoolRouting.current();
+            }
+        };
+        routing.setTargetDataSources(new HashMap<>(this.pools));
+        routing.setDefaultTargetDataSource(this.pools.get(PoolRoute.READS));
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        this.dataSource = new LazyConnectionDataSourceProxy(routing);
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public HikariDataSource getPool(PoolRoute route) {
+        return pools.get(route);
+    }
+
+    // Null until the pool has opened its first connection.
+    public HikariPoolMXBean getPoolMXBean(PoolRoute route) {
+        return pools.get(route).getHikariPoolMXBean();
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,18 @@
+package com.creditmodule.loanmanagementapi.datasource;
+
+// Connection pool a unit of work draws from. READS also serves everything that is not routed explicitly
+// (jobs, imports, customer writes); PAYMENTS is reserved for loan origination and payments.
+public enum PoolRoute {
+    PAYMENTS("payments"),
+    READS("reads");
+
+    private final String label;
+
+    PoolRoute(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,36 @@
+package com.creditmodule.loanmanagementapi.datasource;
+
+import java.util.function.Supplier;
+
+// Thread-bound pool route, read by ConnectionPools when a statement first needs a physical connection.
+// A transaction keeps the connection it started with, so the route has to be set before its first statement.
+public final class PoolRouting {
+
+    private static final ThreadLocal<PoolRoute> CURRENT = new ThreadLocal<>();
+
+    private PoolRouting() {
+    }
+
+    public static PoolRoute current() {
+        PoolRoute route = CURRENT.get();
+        return route != null ? route : PoolRoute.READS;
+    }
+
+    public static boolean isRouted(PoolRoute route) {
+        return CURRENT.get() == route;
+    }
+
+    public static <T> T with(PoolRoute route, Supplier<T> task) {
+        PoolRoute previous = CURRENT.get();
+        CURRENT.set(route);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.creditmodule.loanmanagementapi.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Every criterion is optional; only the ones supplied end up in the query.
+@Data
+@Schema(description = "Loan search criteria")
+public class LoanSearchRequest {
+
+    @Schema(description = "Only loans of this customer", example = "42")
+    private Long customerId;
+
+    @Schema(description = "Minimum total loan amount (inclusive)", example = "1000.00")
+    private BigDecimal minAmount;
+
+    @Schema(description = "Maximum total loan amount (inclusive)", example = "50000.00")
+    private BigDecimal maxAmount;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "Created on or after this date", example = "2025-01-01")
+    private LocalDate createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "Created on or before this date", example = "2025-12-31")
+    private LocalDate createdTo;
+
+    @Schema(description = "Minimum interest rate (inclusive)", example = "0.1")
+    private BigDecimal minInterestRate;
+
+    @Schema(description = "Maximum interest rate (inclusive)", example = "0.3")
+    private BigDecimal maxInterestRate;
+
+    @Schema(description = "Payment status", example = "false")
+    private Boolean isPaid;
+
+    @Schema(description = "Number of installments (term)", example = "12")
+    private Integer numberOfInstallments;
+}
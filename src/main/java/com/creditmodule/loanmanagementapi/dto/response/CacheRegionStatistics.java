@@ -0,0 +1,36 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Hit, miss and size figures of one Hibernate second-level cache region")
+public class CacheRegionStatistics {
+
+    @Schema(description = "Region name", example = "loan")
+    private String region;
+
+    @Schema(description = "Region kind: entity or query", example = "entity")
+    private String kind;
+
+    @Schema(description = "Lookups answered from the region", example = "18250")
+    private Long hitCount;
+
+    @Schema(description = "Lookups that went to the database", example = "310")
+    private Long missCount;
+
+    @Schema(description = "Entries written to the region", example = "320")
+    private Long putCount;
+
+    @Schema(description = "Share of lookups answered from the region", example = "0.983")
+    private Double hitRatio;
+
+    @Schema(description = "Approximate number of entries currently held", example = "305")
+    private Long entries;
+}
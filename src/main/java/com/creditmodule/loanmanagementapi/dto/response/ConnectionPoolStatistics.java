@@ -0,0 +1,45 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Saturation of one connection pool and the request bulkhead in front of it")
+public class ConnectionPoolStatistics {
+
+    @Schema(description = "Pool route: payments (loan origination and payments) or reads (everything else)", example = "payments")
+    private String pool;
+
+    @Schema(description = "Maximum number of connections in the pool", example = "10")
+    private Integer maxConnections;
+
+    @Schema(description = "Connections currently lent out", example = "4")
+    private Integer activeConnections;
+
+    @Schema(description = "Open connections waiting in the pool", example = "6")
+    private Integer idleConnections;
+
+    @Schema(description = "Threads blocked waiting for a connection", example = "0")
+    private Integer threadsAwaitingConnection;
+
+    @Schema(description = "Share of the pool's connections lent out", example = "0.4")
+    private Double connectionUtilization;
+
+    @Schema(description = "Requests allowed on this route at the same time", example = "32")
+    private Integer bulkheadMaxConcurrent;
+
+    @Schema(description = "Requests currently running on this route", example = "5")
+    private Integer bulkheadInUse;
+
+    @Schema(description = "Requests waiting for a bulkhead permit", example = "0")
+    private Integer bulkheadWaiting;
+
+    @Schema(description = "Requests turned away with 503 since startup", example = "0")
+    private Long bulkheadRejected;
+}
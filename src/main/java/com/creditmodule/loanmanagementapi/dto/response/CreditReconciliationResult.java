@@ -0,0 +1,35 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of comparing the credit ledger with the loans in the database")
+public class CreditReconciliationResult {
+
+    @Schema(description = "Ledger accounts compared", example = "250000")
+    private Integer checkedCustomers;
+
+    @Schema(description = "Accounts whose used credit differed from the sum of their loans", example = "2")
+    private Integer mismatchedCustomers;
+
+    @Schema(description = "Mismatched accounts set to the sum of their loans", example = "2")
+    private Integer correctedCustomers;
+
+    @Schema(description = "Accounts left for the next run because a reservation was in progress", example = "14")
+    private Integer skippedCustomers;
+
+    @Schema(description = "Ledger used credit minus loan totals over all mismatched accounts", example = "1440.00")
+    private BigDecimal netDrift;
+
+    @Schema(description = "Run duration in milliseconds", example = "850")
+    private Long durationMillis;
+}
@@ -0,0 +1,30 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of a bulk credit limit repricing")
+public class CreditRepricingResult {
+
+    @Schema(description = "Number of data rows read from the file (header excluded)", example = "3000000")
+    private Long totalRows;
+
+    @Schema(description = "Number of customers whose credit limit was updated", example = "2998700")
+    private Long updatedCustomers;
+
+    @Schema(description = "Number of rows rejected: malformed, unknown customer or limit below the used credit", example = "1300")
+    private Long rejectedRows;
+
+    @Schema(description = "Server-side file listing rejected rows with the rejection reason, if any", example = "repricing-errors/credit-limits-20251019-021500-errors.csv")
+    private String errorFile;
+
+    @Schema(description = "Total repricing duration in milliseconds", example = "61250")
+    private Long durationMillis;
+}
@@ -0,0 +1,40 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Loan or payment event pushed on a customer's event stream")
+public class CustomerEventResponse {
+
+    @Schema(description = "Event type", example = "InstallmentPaid", allowableValues = {"LoanCreated", "InstallmentPaid", "LoanFullyPaid"})
+    private String type;
+
+    @Schema(description = "ID of the customer", example = "42")
+    private Long customerId;
+
+    @Schema(description = "ID of the loan", example = "1001")
+    private Long loanId;
+
+    @Schema(description = "Loan amount for LoanCreated, amount paid for InstallmentPaid", example = "2166.66")
+    private BigDecimal amount;
+
+    @Schema(description = "Number of installments of a created loan", example = "12")
+    private Integer numberOfInstallments;
+
+    @Schema(description = "IDs of the installments paid by the payment", example = "[5001, 5002]")
+    private List<Long> installmentIds;
+
+    @Schema(description = "When the change was committed", example = "2025-08-11T10:15:30Z")
+    private Instant occurredAt;
+}
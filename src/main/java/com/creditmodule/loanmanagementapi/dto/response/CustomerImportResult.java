@@ -0,0 +1,30 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of a bulk customer import")
+public class CustomerImportResult {
+
+    @Schema(description = "Number of data rows read from the file (header excluded)", example = "1000000")
+    private Long totalRows;
+
+    @Schema(description = "Number of customers inserted", example = "999850")
+    private Long importedRows;
+
+    @Schema(description = "Number of rows rejected by validation", example = "150")
+    private Long rejectedRows;
+
+    @Schema(description = "Server-side file listing rejected rows with the rejection reason, if any", example = "import-errors/customers-20250811-101530-errors.csv")
+    private String errorFile;
+
+    @Schema(description = "Total import duration in milliseconds", example = "48210")
+    private Long durationMillis;
+}
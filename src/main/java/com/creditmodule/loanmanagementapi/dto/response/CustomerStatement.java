@@ -0,0 +1,47 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(description = "Monthly statement of a customer")
+public class CustomerStatement {
+
+    @Schema(description = "Unique identifier of the customer", example = "1")
+    private Long customerId;
+
+    @Schema(description = "Customer's first name", example = "Ergin")
+    private String name;
+
+    @Schema(description = "Customer's last name", example = "Balta")
+    private String surname;
+
+    @Schema(description = "Statement month", example = "2025-08")
+    private YearMonth month;
+
+    @Schema(description = "Total credit limit assigned to the customer", example = "10000.00")
+    private BigDecimal creditLimit;
+
+    @Schema(description = "Amount of credit already used by the customer", example = "2500.00")
+    private BigDecimal usedCreditLimit;
+
+    @Schema(description = "Loans that are not fully paid")
+    private List<StatementLoan> openLoans = new ArrayList<>();
+
+    @Schema(description = "Installments due within the statement month")
+    private List<StatementInstallment> installmentsDue = new ArrayList<>();
+
+    @Schema(description = "Installments paid within the statement month")
+    private List<StatementInstallment> payments = new ArrayList<>();
+
+    @Schema(description = "Sum of installment amounts due within the month", example = "1500.00")
+    private BigDecimal totalDue = BigDecimal.ZERO;
+
+    @Schema(description = "Sum of payments made within the month", example = "1000.00")
+    private BigDecimal totalPaid = BigDecimal.ZERO;
+}
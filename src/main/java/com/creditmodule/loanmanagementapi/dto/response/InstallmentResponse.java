@@ -30,4 +30,10 @@ public class InstallmentResponse {
 
     @Schema(description = "Whether the installment has been fully paid", example = "true")
     private Boolean isPaid;
+
+    @Schema(description = "Late fee charged after the installment became overdue", example = "8.50")
+    private BigDecimal lateFee;
+
+    @Schema(description = "Whether the installment has been marked overdue by the nightly job", example = "false")
+    private Boolean isOverdue;
 }
@@ -0,0 +1,29 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of moving fully paid loans from the hot tables into the archive tables")
+public class LoanArchivalResult {
+
+    @Schema(description = "Loans paid before this day were archived", example = "2024-10-19")
+    private LocalDate paidBefore;
+
+    @Schema(description = "Loans moved to loans_archive", example = "85000")
+    private Long archivedLoans;
+
+    @Schema(description = "Installment rows moved to loan_installments_archive", example = "1020000")
+    private Long archivedInstallmentRows;
+
+    @Schema(description = "Run duration in milliseconds", example = "7200")
+    private Long durationMillis;
+}
@@ -0,0 +1,42 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Balance of a loan as of a date, computed from the payment ledger")
+public class LoanBalanceResponse {
+
+    @Schema(description = "ID of the loan", example = "1001")
+    private Long loanId;
+
+    @Schema(description = "Payments dated up to and including this day are counted", example = "2025-09-30")
+    private LocalDate asOfDate;
+
+    @Schema(description = "Total loan amount including interest", example = "14400.00")
+    private BigDecimal loanAmount;
+
+    @Schema(description = "Sum of the payments applied up to the date", example = "3600.00")
+    private BigDecimal paidAmount;
+
+    @Schema(description = "Loan amount not yet paid", example = "10800.00")
+    private BigDecimal outstandingAmount;
+
+    @Schema(description = "Installments settled up to the date", example = "3")
+    private Integer paidInstallments;
+
+    @Schema(description = "Day of the snapshot the balance started from, null without one", example = "2025-09-29")
+    private LocalDate snapshotDate;
+
+    @Schema(description = "Ledger entries read after the snapshot", example = "1")
+    private Integer entriesAfterSnapshot;
+}
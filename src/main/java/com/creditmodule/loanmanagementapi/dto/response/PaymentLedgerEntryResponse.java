@@ -0,0 +1,37 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "One payment applied to an installment, as recorded in the payment ledger")
+public class PaymentLedgerEntryResponse {
+
+    @Schema(description = "Ledger entry ID, increasing in recording order", example = "90210")
+    private Long id;
+
+    @Schema(description = "ID of the loan", example = "1001")
+    private Long loanId;
+
+    @Schema(description = "Installment the payment settled", example = "3")
+    private Integer installmentNumber;
+
+    @Schema(description = "Amount applied to the installment", example = "1200.00")
+    private BigDecimal amount;
+
+    @Schema(description = "Date of the payment", example = "2025-09-10")
+    private LocalDate paymentDate;
+
+    @Schema(description = "When the entry was written", example = "2025-09-10T14:03:22")
+    private LocalDateTime recordedAt;
+}
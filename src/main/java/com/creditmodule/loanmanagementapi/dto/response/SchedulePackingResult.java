@@ -0,0 +1,27 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of moving installment schedules from loan_installments rows into packed loan columns")
+public class SchedulePackingResult {
+
+    @Schema(description = "Loans whose schedule was packed", example = "120000")
+    private Long packedLoans;
+
+    @Schema(description = "Installment rows deleted after packing", example = "1440000")
+    private Long removedInstallmentRows;
+
+    @Schema(description = "Packed schedule bytes written", example = "47880000")
+    private Long packedBytes;
+
+    @Schema(description = "Run duration in milliseconds", example = "5400")
+    private Long durationMillis;
+}
@@ -0,0 +1,36 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Schema(description = "Installment line on a monthly statement")
+public class StatementInstallment {
+
+    @Schema(description = "ID of the associated loan", example = "1001")
+    private Long loanId;
+
+    @Schema(description = "Position of the installment in the loan schedule", example = "3")
+    private Integer installmentNumber;
+
+    @Schema(description = "Total amount due for this installment", example = "1000.00")
+    private BigDecimal amount;
+
+    @Schema(description = "Amount paid towards this installment", example = "1000.00")
+    private BigDecimal paidAmount;
+
+    @Schema(description = "Due date of the installment", example = "2025-09-11")
+    private LocalDate dueDate;
+
+    @Schema(description = "Date when the installment was paid", example = "2025-09-05")
+    private LocalDate paymentDate;
+
+    @Schema(description = "Whether the installment has been fully paid", example = "true")
+    private Boolean isPaid;
+
+    @Schema(description = "Late fee charged on the installment", example = "0.00")
+    private BigDecimal lateFee;
+}
@@ -0,0 +1,30 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Schema(description = "Open loan listed on a monthly statement")
+public class StatementLoan {
+
+    @Schema(description = "Unique ID of the loan", example = "1001")
+    private Long loanId;
+
+    @Schema(description = "Total loan amount including interest", example = "12000.00")
+    private BigDecimal loanAmount;
+
+    @Schema(description = "Total number of installments", example = "12")
+    private Integer numberOfInstallments;
+
+    @Schema(description = "Interest rate applied to the loan", example = "0.2")
+    private BigDecimal interestRate;
+
+    @Schema(description = "Date when the loan was created", example = "2025-08-11")
+    private LocalDate createDate;
+
+    @Schema(description = "Sum of unpaid installment amounts at statement time", example = "9000.00")
+    private BigDecimal outstandingAmount;
+}
@@ -0,0 +1,35 @@
+package com.creditmodule.loanmanagementapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of a monthly statement run")
+public class StatementRunResult {
+
+    @Schema(description = "Statement month", example = "2025-08")
+    private YearMonth month;
+
+    @Schema(description = "Directory holding the compressed statement files", example = "statements/2025-08")
+    private String directory;
+
+    @Schema(description = "Number of customer ID ranges in the run", example = "120")
+    private Integer ranges;
+
+    @Schema(description = "Ranges skipped because a previous run already wrote them", example = "40")
+    private Integer skippedRanges;
+
+    @Schema(description = "Number of statements written in this run", example = "800000")
+    private Long statementsWritten;
+
+    @Schema(description = "Run duration in milliseconds", example = "95000")
+    private Long durationMillis;
+}
@@ -1,14 +1,19 @@
 package com.creditmodule.loanmanagementapi.entity;
 
+import com.creditmodule.loanmanagementapi.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CUSTOMER_REGION)
 @Table(name = "customers")
 @Data
 @NoArgsConstructor
@@ -30,4 +35,7 @@ public class Customer {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal usedCreditLimit = BigDecimal.ZERO;
 
+    @Version
+    private Long version;
+
 }
\ No newline at end of file
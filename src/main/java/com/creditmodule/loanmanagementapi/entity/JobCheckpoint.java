@@ -0,0 +1,49 @@
+package com.creditmodule.loanmanagementapi.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_checkpoints",
+        uniqueConstraints = @UniqueConstraint(name = "uk_job_checkpoint_partition",
+                columnNames = {"job_name", "run_date", "partition_count", "partition_index"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "partition_count", nullable = false)
+    private Integer partitionCount;
+
+    @Column(name = "partition_index", nullable = false)
+    private Integer partitionIndex;
+
+    @Column(nullable = false)
+    private Long lastProcessedId = 0L;
+
+    @Column(name = "range_end", nullable = false)
+    private Long rangeEnd = Long.MAX_VALUE;
+
+    @Column(nullable = false)
+    private Long processedCount = 0L;
+
+    @Column(nullable = false)
+    private Boolean completed = false;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,16 +1,29 @@
 package com.creditmodule.loanmanagementapi.entity;
 
+import com.creditmodule.loanmanagementapi.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "loans")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.LOAN_REGION)
+@Table(name = "loans", indexes = {
+        @Index(name = "idx_loans_customer_paid_term", columnList = "customer_id, is_paid, number_of_installments"),
+        @Index(name = "idx_loans_paid_create_date", columnList = "is_paid, create_date"),
+        @Index(name = "idx_loans_create_date", columnList = "create_date"),
+        @Index(name = "idx_loans_amount", columnList = "loan_amount"),
+        @Index(name = "idx_loans_lazy_paid", columnList = "lazy_schedule, is_paid, id"),
+        @Index(name = "idx_loans_paid_date", columnList = "is_paid, paid_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,6 +52,22 @@ public class Loan {
     @Column(nullable = false)
     private Boolean isPaid = false;
 
+    // Day the last installment was paid; loans paid long enough ago are archived (see ledger/LoanArchive).
+    private LocalDate paidDate;
+
+    // No row per installment: the schedule is packed below, or derived from the terms above with rows only for
+    // paid or overdue installments.
+    @Column(nullable = false)
+    private Boolean lazySchedule = false;
+
+    // PackedSchedule encoding of the whole installment schedule.
+    @Column(length = 4096)
+    @ToString.Exclude
+    private byte[] packedSchedule;
+
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "loan", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<LoanInstallment> installments;
 }
\ No newline at end of file
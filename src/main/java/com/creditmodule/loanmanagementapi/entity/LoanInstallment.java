@@ -9,7 +9,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "loan_installments")
+@Table(name = "loan_installments", uniqueConstraints = @UniqueConstraint(name = "uk_installments_loan_number",
+        columnNames = {"loan_id", "installment_number"}), indexes = {
+        @Index(name = "idx_installments_loan_paid_due", columnList = "loan_id, is_paid, due_date"),
+        @Index(name = "idx_installments_paid_due", columnList = "is_paid, due_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,4 +43,13 @@ public class LoanInstallment {
     
     @Column(nullable = false)
     private Boolean isPaid = false;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal lateFee = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private Boolean isOverdue = false;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.creditmodule.loanmanagementapi.event;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+// Published by the due-date scheduler a configured number of days before an unpaid installment is due.
+@Value
+public class InstallmentDueReminderEvent {
+    Long loanId;
+    Long customerId;
+    Long installmentId;
+    LocalDate dueDate;
+}
@@ -0,0 +1,13 @@
+package com.creditmodule.loanmanagementapi.event;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Set;
+
+// Published inside the transaction that marked installments overdue and charged their late fee.
+@Value
+public class InstallmentsOverdueEvent {
+    Set<Long> loanIds;
+    List<Long> installmentIds;
+}
@@ -0,0 +1,16 @@
+package com.creditmodule.loanmanagementapi.event;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Published inside the payment transaction once installments of a loan have been marked paid.
+@Value
+public class InstallmentsPaidEvent {
+    Long loanId;
+    Long customerId;
+    List<Long> installmentIds;
+    BigDecimal amountPaid;
+    boolean loanFullyPaid;
+}
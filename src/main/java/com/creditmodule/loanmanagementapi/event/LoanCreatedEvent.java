@@ -0,0 +1,16 @@
+package com.creditmodule.loanmanagementapi.event;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Published inside the transaction that created a loan and its installment schedule.
+@Value
+public class LoanCreatedEvent {
+    Long loanId;
+    Long customerId;
+    BigDecimal loanAmount;
+    Integer numberOfInstallments;
+    LocalDate createDate;
+}
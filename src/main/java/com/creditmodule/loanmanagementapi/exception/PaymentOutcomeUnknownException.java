@@ -0,0 +1,7 @@
+package com.creditmodule.loanmanagementapi.exception;
+
+public class PaymentOutcomeUnknownException extends RuntimeException {
+    public PaymentOutcomeUnknownException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.creditmodule.loanmanagementapi.exception;
+
+public class PaymentRejectedException extends RuntimeException {
+    public PaymentRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.creditmodule.loanmanagementapi.exception;
+
+public class StreamCapacityExceededException extends RuntimeException {
+    public StreamCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,94 @@
+package com.creditmodule.loanmanagementapi.executor;
+
+import com.creditmodule.loanmanagementapi.datasource.PoolRoute;
+import com.creditmodule.loanmanagementapi.datasource.PoolRouting;
+import com.creditmodule.loanmanagementapi.exception.BulkheadFullException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Caps how many threads work on each connection pool route at once and binds the route for the task, so its
+// statements use that route's pool. Callers over the cap wait briefly and are then turned away (503) instead
+// of queueing on the pool and holding request threads; a read spike fills the read bulkhead, not the payment one.
+@Component
+public class BulkheadExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadExecutor.class);
+
+    private final Map<PoolRoute, Bulkhead> bulkheads = new EnumMap<>(PoolRoute.class);
+
+    public BulkheadExecutor(@Value("${bulkhead.payments.max-concurrent:32}") int paymentsMaxConcurrent,
+                            @Value("${bulkhead.payments.max-wait-ms:200}") long paymentsMaxWaitMillis,
+                            @Value("${bulkhead.reads.max-concurrent:64}") int readsMaxConcurrent,
+                            @Value("${bulkhead.reads.max-wait-ms:50}") long readsMaxWaitMillis) {
+        bulkheads.put(PoolRoute.PAYMENTS, new Bulkhead(paymentsMaxConcurrent, paymentsMaxWaitMillis));
+        bulkheads.put(PoolRoute.READS, new Bulkhead(readsMaxConcurrent, readsMaxWaitMillis));
+        logger.debug("Bulkheads: payments {} concurrent ({} ms wait), reads {} concurrent ({} ms wait)",
+                paymentsMaxConcurrent, paymentsMaxWaitMillis, readsMaxConcurrent, readsMaxWaitMillis);
+    }
+
+    public <T> T execute(PoolRoute route, Supplier<T> task) {
+        // Nested calls on the same route already hold a permit.
+        if (PoolRouting.isRouted(route)) {
+            return task.get();
+        }
+
+        Bulkhead bulkhead = bulkheads.get(route);
+        boolean acquired;
+        try {
+            acquired = bulkhead.permits.tryAcquire(bulkhead.maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            bulkhead.rejected.incrementAndGet();
+            logger.debug("Bulkhead {} is saturated, rejecting request", route.getLabel());
+            throw new BulkheadFullException("Too many concurrent " + route.getLabel() + " requests, please retry later.");
+        }
+
+        try {
+            return PoolRouting.with(route, task);
+        } finally {
+            bulkhead.permits.release();
+        }
+    }
+
+    public int getMaxConcurrent(PoolRoute route) {
+        return bulkheads.get(route).maxConcurrent;
+    }
+
+    public int getInUse(PoolRoute route) {
+        Bulkhead bulkhead = bulkheads.get(route);
+        return bulkhead.maxConcurrent - bulkhead.permits.availablePermits();
+    }
+
+    public int getWaiting(PoolRoute route) {
+        return bulkheads.get(route).permits.getQueueLength();
+    }
+
+    public long getRejected(PoolRoute route) {
+        return bulkheads.get(route).rejected.get();
+    }
+
+    private static final class Bulkhead {
+        private final int maxConcurrent;
+        private final long maxWaitMillis;
+        private final Semaphore permits;
+        private final AtomicLong rejected = new AtomicLong();
+
+        private Bulkhead(int maxConcurrent, long maxWaitMillis) {
+            this.maxConcurrent = Math.max(1, maxConcurrent);
+            this.maxWaitMillis = Math.max(0, maxWaitMillis);
+            this.permits = new Semaphore(this.maxConcurrent, true);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.creditmodule.loanmanagementapi.executor;
+
+import com.creditmodule.loanmanagementapi.exception.ConcurrentUpdateException;
+import jakarta.persistence.OptimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Re-runs a whole transaction when it loses an optimistic version check. The supplied work must open
+// its own transaction, so every attempt starts from a fresh read of the current row versions.
+@Component
+public class OptimisticRetryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetryExecutor.class);
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public OptimisticRetryExecutor(@Value("${retry.optimistic.max-attempts:5}") int maxAttempts,
+                                   @Value("${retry.optimistic.initial-backoff-ms:5}") long initialBackoffMillis,
+                                   @Value("${retry.optimistic.max-backoff-ms:200}") long maxBackoffMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            attempts.increment();
+            try {
+                return work.get();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    logger.debug("{} gave up after {} conflicting attempts", operation, attempt);
+                    throw new ConcurrentUpdateException(
+                            "The record was modified concurrently, please retry the " + operation + " request.", e);
+                }
+                retries.increment();
+                logger.debug("{} hit a concurrent update on attempt {}, retrying", operation, attempt);
+                backoff(operation, attempt);
+            }
+        }
+    }
+
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+
+    // Exponential backoff with full jitter, so contending writers spread out instead of colliding again.
+    private void backoff(String operation, int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        long sleepMicros = ThreadLocalRandom.current().nextLong(TimeUnit.MILLISECONDS.toMicros(ceiling) + 1);
+        try {
+            TimeUnit.MICROSECONDS.sleep(sleepMicros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Interrupted while waiting to retry the " + operation + " request.", e);
+        }
+    }
+}
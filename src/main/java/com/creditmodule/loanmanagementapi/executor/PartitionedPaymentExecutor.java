@@ -0,0 +1,154 @@
+package com.creditmodule.loanmanagementapi.executor;
+
+import com.creditmodule.loanmanagementapi.exception.PaymentOutcomeUnknownException;
+import com.creditmodule.loanmanagementapi.exception.PaymentRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Routes every payment for a loan to the same single-threaded partition, so payments on one loan
+// are applied one after another while different loans run in parallel on the other partitions.
+@Component
+@Lazy(false)
+public class PartitionedPaymentExecutor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedPaymentExecutor.class);
+
+    private final boolean enabled;
+    private final long offerTimeoutMillis;
+    private final Partition[] partitions;
+
+    public PartitionedPaymentExecutor(@Value("${payment.executor.enabled:true}") boolean enabled,
+                                      @Value("${payment.executor.partitions:0}") int partitionCount,
+                                      @Value("${payment.executor.queue-capacity:1024}") int queueCapacity,
+                                      @Value("${payment.executor.offer-timeout-ms:200}") long offerTimeoutMillis) {
+        this.enabled = enabled;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+
+        int count = partitionCount > 0 ? partitionCount : Runtime.getRuntime().availableProcessors();
+        this.partitions = new Partition[enabled ? count : 0];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i, queueCapacity);
+            partitions[i].start();
+        }
+        logger.debug("Payment executor enabled: {}, partitions: {}, queue capacity: {}",
+                enabled, partitions.length, queueCapacity);
+    }
+
+    public <T> T execute(Long loanId, Supplier<T> task) {
+        if (!enabled) {
+            return task.get();
+        }
+
+        Partition partition = partitionFor(loanId);
+        if (Thread.currentThread() == partition.worker) {
+            return task.get();
+        }
+
+        FutureTask<T> future = new FutureTask<>(task::get);
+        boolean queued = false;
+        try {
+            if (!partition.queue.offer(future, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.debug("Payment partition {} is saturated, rejecting payment for loan {}", partition.index, loanId);
+                throw new PaymentRejectedException("Too many pending payments, please retry later.");
+            }
+            queued = true;
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Only a payment taken back off the queue is known not to run; once the worker has taken it,
+            // it may still commit after the caller has gone.
+            if (!queued || partition.queue.remove(future)) {
+                throw new PaymentRejectedException("Payment was interrupted before it started, please retry later.");
+            }
+            logger.warn("Caller interrupted while payment for loan {} was running on partition {}", loanId, partition.index);
+            throw new PaymentOutcomeUnknownException("Payment was interrupted while being applied and may still complete; " +
+                    "check the loan's installments before retrying.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    public int getQueuedPayments() {
+        int queued = 0;
+        for (Partition partition : partitions) {
+            queued += partition.queue.size();
+        }
+        return queued;
+    }
+
+    private Partition partitionFor(Long loanId) {
+        long mixed = loanId * 0x9E3779B97F4A7C15L;
+        return partitions[Math.floorMod((int) (mixed ^ (mixed >>> 32)), partitions.length)];
+    }
+
+    @Override
+    public void destroy() {
+        for (Partition partition : partitions) {
+            partition.stop();
+        }
+    }
+
+    private static final class Partition implements Runnable {
+        private final int index;
+        private final BlockingQueue<Runnable> queue;
+        private final Thread worker;
+        private volatile boolean running = true;
+
+        private Partition(int index, int queueCapacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.worker = new Thread(this, "payment-partition-" + index);
+        }
+
+        private void start() {
+            worker.start();
+        }
+
+        private void stop() {
+            running = false;
+            worker.interrupt();
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                Runnable task;
+                try {
+                    task = queue.take();
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        break;
+                    }
+                    continue;
+                }
+                task.run();
+            }
+            Runnable pending;
+            while ((pending = queue.poll()) != null) {
+                pending.run();
+            }
+        }
+    }
+}
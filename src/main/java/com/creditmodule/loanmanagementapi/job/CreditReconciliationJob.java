@@ -0,0 +1,28 @@
+package com.creditmodule.loanmanagementapi.job;
+
+import com.creditmodule.loanmanagementapi.ledger.CreditLedger;
+import com.creditmodule.loanmanagementapi.service.ICreditReconciliationService;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Periodically checks the credit ledger against the loans table; it only runs while the ledger is in use.
+@Component
+@Lazy(false)
+public class CreditReconciliationJob {
+
+    private final ICreditReconciliationService reconciliationService;
+    private final CreditLedger creditLedger;
+
+    public CreditReconciliationJob(ICreditReconciliationService reconciliationService, CreditLedger creditLedger) {
+        this.reconciliationService = reconciliationService;
+        this.creditLedger = creditLedger;
+    }
+
+    @Scheduled(cron = "${credit.ledger.reconcile-cron:0 15 * * * *}")
+    public void runPeriodically() {
+        if (creditLedger.isReady()) {
+            reconciliationService.reconcile();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.creditmodule.loanmanagementapi.job;
+
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Component
+public class LateFeePolicy {
+
+    private final BigDecimal lateFeeRate;
+
+    public LateFeePolicy(@Value("${batch.overdue.late-fee-rate:0.01}") BigDecimal lateFeeRate) {
+        this.lateFeeRate = lateFeeRate;
+    }
+
+    public BigDecimal feeFor(LoanInstallment installment) {
+        return installment.getAmount().multiply(lateFeeRate).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Idempotent: an installment is charged once, when it first turns overdue.
+    public boolean markOverdue(LoanInstallment installment) {
+        if (Boolean.TRUE.equals(installment.getIsPaid()) || Boolean.TRUE.equals(installment.getIsOverdue())) {
+            return false;
+        }
+        installment.setIsOverdue(true);
+        installment.setLateFee(installment.getLateFee().add(feeFor(installment)));
+        return true;
+    }
+}
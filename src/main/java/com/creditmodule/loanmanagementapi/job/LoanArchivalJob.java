@@ -0,0 +1,28 @@
+package com.creditmodule.loanmanagementapi.job;
+
+import com.creditmodule.loanmanagementapi.ledger.LoanArchive;
+import com.creditmodule.loanmanagementapi.service.ILoanArchivalService;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Nightly move of loans paid more than loans.archive.retain-days ago into the archive tables.
+@Component
+@Lazy(false)
+public class LoanArchivalJob {
+
+    private final ILoanArchivalService archivalService;
+    private final LoanArchive loanArchive;
+
+    public LoanArchivalJob(ILoanArchivalService archivalService, LoanArchive loanArchive) {
+        this.archivalService = archivalService;
+        this.loanArchive = loanArchive;
+    }
+
+    @Scheduled(cron = "${loans.archive.cron:0 0 2 * * *}")
+    public void runNightly() {
+        if (loanArchive.isEnabled()) {
+            archivalService.archivePaidLoans();
+        }
+    }
+}
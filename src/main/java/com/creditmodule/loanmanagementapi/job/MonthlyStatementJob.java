@@ -0,0 +1,31 @@
+package com.creditmodule.loanmanagementapi.job;
+
+import com.creditmodule.loanmanagementapi.service.IStatementService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+// Generates the statements of the previous month early on the first day of each month.
+@Component
+@Lazy(false)
+public class MonthlyStatementJob {
+
+    private final IStatementService statementService;
+    private final boolean enabled;
+
+    public MonthlyStatementJob(IStatementService statementService,
+                               @Value("${statement.enabled:true}") boolean enabled) {
+        this.statementService = statementService;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(cron = "${statement.cron:0 0 3 1 * *}")
+    public void runMonthly() {
+        if (enabled) {
+            statementService.generateMonthlyStatements(YearMonth.now().minusMonths(1));
+        }
+    }
+}
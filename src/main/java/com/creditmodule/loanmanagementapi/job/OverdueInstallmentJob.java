@@ -0,0 +1,288 @@
+package com.creditmodule.loanmanagementapi.job;
+
+import com.creditmodule.loanmanagementapi.entity.JobCheckpoint;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.event.InstallmentsOverdueEvent;
+import com.creditmodule.loanmanagementapi.executor.OptimisticRetryExecutor;
+import com.creditmodule.loanmanagementapi.ledger.InstallmentScheduleResolver;
+import com.creditmodule.loanmanagementapi.repository.JobCheckpointRepository;
+import com.creditmodule.loanmanagementapi.repository.LoanInstallmentRepository;
+import com.creditmodule.loanmanagementapi.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Nightly pass over unpaid installments past their due date. The ids of those installments are split into
+// contiguous ranges processed in parallel; each range is walked in ascending id order in fixed-size chunks,
+// and each chunk commits together with its checkpoint, so a crashed run resumes where it stopped.
+// Loans with a lazy or packed schedule have no row per installment; a second pass walks those loans by id
+// and writes every installment of theirs that turned overdue. That pass is idempotent and keeps no checkpoint.
+@Component
+@Lazy(false)
+public class OverdueInstallmentJob {
+
+    static final String JOB_NAME = "overdue-installments";
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueInstallmentJob.class);
+
+    private final LoanInstallmentRepository installmentRepository;
+    private final LoanRepository loanRepository;
+    private final InstallmentScheduleResolver scheduleResolver;
+    private final JobCheckpointRepository checkpointRepository;
+    private final LateFeePolicy lateFeePolicy;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int partitionCount;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OverdueInstallmentJob(LoanInstallmentRepository installmentRepository,
+                                 LoanRepository loanRepository,
+                                 InstallmentScheduleResolver scheduleResolver,
+                                 JobCheckpointRepository checkpointRepository,
+                                 LateFeePolicy lateFeePolicy,
+                                 OptimisticRetryExecutor retryExecutor,
+                                 TransactionTemplate transactionTemplate,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${batch.overdue.enabled:true}") boolean enabled,
+                                 @Value("${batch.overdue.partitions:4}") int partitionCount,
+                                 @Value("${batch.overdue.chunk-size:500}") int chunkSize) {
+        this.installmentRepository = installmentRepository;
+        this.loanRepository = loanRepository;
+        this.scheduleResolver = scheduleResolver;
+        this.checkpointRepository = checkpointRepository;
+        this.lateFeePolicy = lateFeePolicy;
+        this.retryExecutor = retryExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.partitionCount = Math.max(1, partitionCount);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Scheduled(cron = "${batch.overdue.cron:0 0 1 * * *}")
+    public void runNightly() {
+        if (enabled) {
+            run(LocalDate.now());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        if (!enabled) {
+            return;
+        }
+        List<LocalDate> runDates = checkpointRepository.findIncompleteRunDates(JOB_NAME);
+        if (runDates.isEmpty()) {
+            return;
+        }
+        Thread resumer = new Thread(() -> {
+            for (LocalDate runDate : runDates) {
+                logger.debug("Resuming interrupted overdue installment run for {}", runDate);
+                run(runDate);
+            }
+        }, "overdue-job-resume");
+        resumer.setDaemon(true);
+        resumer.start();
+    }
+
+    public long run(LocalDate runDate) {
+        if (!running.compareAndSet(false, true)) {
+            logger.debug("Overdue installment job is already running, skipping run for {}", runDate);
+            return 0;
+        }
+        ExecutorService workers = Executors.newFixedThreadPool(partitionCount);
+        try {
+            List<JobCheckpoint> checkpoints = transactionTemplate.execute(status -> openCheckpoints(runDate));
+            logger.debug("Starting overdue installment run for {} with {} partitions, chunk size {}",
+                    runDate, partitionCount, chunkSize);
+
+            List<Future<Long>> results = new ArrayList<>();
+            for (JobCheckpoint checkpoint : checkpoints) {
+                results.add(workers.submit(() -> processPartition(checkpoint)));
+            }
+
+            long processed = 0;
+            for (Future<Long> result : results) {
+                processed += result.get();
+            }
+            processed += processLazySchedules(runDate);
+            logger.debug("Overdue installment run for {} marked {} installments overdue", runDate, processed);
+            return processed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Overdue installment job was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Overdue installment job failed, it will resume from its checkpoints", e.getCause());
+        } finally {
+            workers.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    // The ranges are fixed when a run date is first opened, so a resumed run walks the same ones; the last range is
+    // open-ended. Incomplete checkpoints of the run date left by a different partition count are closed and the
+    // date starts over in the current layout; late fees are idempotent, so rows the old layout reached are skipped.
+    private List<JobCheckpoint> openCheckpoints(LocalDate runDate) {
+        int closed = checkpointRepository.closeOtherLayouts(JOB_NAME, runDate, partitionCount, LocalDateTime.now());
+        if (closed > 0) {
+            logger.debug("Closed {} checkpoints of {} left by a different partition count", closed, runDate);
+        }
+        List<JobCheckpoint> existing = checkpointRepository
+                .findByJobNameAndRunDateAndPartitionCountOrderByPartitionIndexAsc(JOB_NAME, runDate, partitionCount);
+        if (!existing.isEmpty()) {
+            return existing;
+        }
+
+        Long firstId = installmentRepository.findFirstOverdueId(runDate);
+        Long lastId = installmentRepository.findLastOverdueId(runDate);
+        long start = firstId == null ? 1 : firstId;
+        long span = firstId == null ? 0 : lastId - firstId + 1;
+        long rangeSize = Math.max(1, (span + partitionCount - 1) / partitionCount);
+
+        List<JobCheckpoint> checkpoints = new ArrayList<>();
+        for (int partition = 0; partition < partitionCount; partition++) {
+            long rangeStart = start + partition * rangeSize;
+            JobCheckpoint created = new JobCheckpoint();
+            created.setJobName(JOB_NAME);
+            created.setRunDate(runDate);
+            created.setPartitionCount(partitionCount);
+            created.setPartitionIndex(partition);
+            created.setLastProcessedId(rangeStart - 1);
+            created.setRangeEnd(partition == partitionCount - 1 ? Long.MAX_VALUE : rangeStart + rangeSize - 1);
+            created.setUpdatedAt(LocalDateTime.now());
+            checkpoints.add(checkpointRepository.save(created));
+        }
+        return checkpoints;
+    }
+
+    private long processPartition(JobCheckpoint start) {
+        Long checkpointId = start.getId();
+        long processed = 0;
+        boolean completed = start.getCompleted();
+        while (!completed) {
+            ChunkResult chunk = retryExecutor.execute("overdue installment chunk",
+                    () -> transactionTemplate.execute(status -> processChunk(checkpointId)));
+            processed += chunk.marked();
+            completed = chunk.completed();
+        }
+        return processed;
+    }
+
+    private ChunkResult processChunk(Long checkpointId) {
+        JobCheckpoint checkpoint = checkpointRepository.findById(checkpointId)
+                .orElseThrow(() -> new IllegalStateException("Checkpoint disappeared: " + checkpointId));
+
+        List<LoanInstallment> chunk = installmentRepository.findOverdueChunk(
+                checkpoint.getRunDate(), checkpoint.getLastProcessedId() + 1, checkpoint.getRangeEnd(),
+                PageRequest.of(0, chunkSize));
+
+        Set<Long> loanIds = new LinkedHashSet<>();
+        List<Long> markedIds = new ArrayList<>();
+        for (LoanInstallment installment : chunk) {
+            if (lateFeePolicy.markOverdue(installment)) {
+                loanIds.add(installment.getLoan().getId());
+                markedIds.add(installment.getId());
+            }
+        }
+        int marked = markedIds.size();
+        installmentRepository.saveAll(chunk);
+        if (!markedIds.isEmpty()) {
+            eventPublisher.publishEvent(new InstallmentsOverdueEvent(loanIds, markedIds));
+        }
+
+        if (!chunk.isEmpty()) {
+            checkpoint.setLastProcessedId(chunk.get(chunk.size() - 1).getId());
+        }
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + marked);
+        checkpoint.setCompleted(chunk.size() < chunkSize);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+
+        logger.debug("Partition {}/{} of {} processed {} installments up to ID {}",
+                checkpoint.getPartitionIndex(), checkpoint.getPartitionCount(), checkpoint.getRunDate(),
+                chunk.size(), checkpoint.getLastProcessedId());
+        return new ChunkResult(marked, checkpoint.getCompleted());
+    }
+
+    private long processLazySchedules(LocalDate runDate) {
+        long processed = 0;
+        Long afterId = 0L;
+        while (afterId != null) {
+            Long from = afterId;
+            LazyChunkResult chunk = retryExecutor.execute("overdue lazy schedule chunk",
+                    () -> transactionTemplate.execute(status -> processLazyChunk(runDate, from)));
+            processed += chunk.marked();
+            afterId = chunk.nextAfterId();
+        }
+        return processed;
+    }
+
+    private LazyChunkResult processLazyChunk(LocalDate runDate, Long afterId) {
+        List<Loan> loans = loanRepository.findUnpaidLazyScheduleChunk(afterId, PageRequest.of(0, chunkSize));
+        if (loans.isEmpty()) {
+            return new LazyChunkResult(0, null);
+        }
+        Map<Long, List<LoanInstallment>> rows = installmentRepository
+                .findByLoanIdIn(loans.stream().map(Loan::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(installment -> installment.getLoan().getId()));
+
+        Set<Long> loanIds = new LinkedHashSet<>();
+        List<LoanInstallment> marked = new ArrayList<>();
+        for (Loan loan : loans) {
+            List<LoanInstallment> changed = new ArrayList<>();
+            List<LoanInstallment> schedule = InstallmentScheduleResolver.resolve(loan, rows.getOrDefault(loan.getId(), List.of()));
+            for (LoanInstallment installment : schedule) {
+                if (installment.getDueDate().isBefore(runDate) && lateFeePolicy.markOverdue(installment)) {
+                    changed.add(installment);
+                }
+            }
+            if (!changed.isEmpty()) {
+                scheduleResolver.save(loan, schedule, changed);
+                loanIds.add(loan.getId());
+                marked.addAll(changed);
+            }
+        }
+        if (!marked.isEmpty()) {
+            eventPublisher.publishEvent(new InstallmentsOverdueEvent(loanIds,
+                    marked.stream().map(LoanInstallment::getId).filter(Objects::nonNull).collect(Collectors.toList())));
+        }
+
+        Long lastId = loans.get(loans.size() - 1).getId();
+        logger.debug("Lazy schedules of {} up to loan ID {}: {} installments marked overdue",
+                runDate, lastId, marked.size());
+        return new LazyChunkResult(marked.size(), loans.size() < chunkSize ? null : lastId);
+    }
+
+    private record LazyChunkResult(int marked, Long nextAfterId) {
+    }
+
+    private record ChunkResult(int marked, boolean completed) {
+    }
+}
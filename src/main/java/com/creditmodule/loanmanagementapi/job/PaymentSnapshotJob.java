@@ -0,0 +1,27 @@
+package com.creditmodule.loanmanagementapi.job;
+
+import com.creditmodule.loanmanagementapi.ledger.PaymentLedger;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Nightly balance snapshots of every loan paid into since its last snapshot, covering entries up to yesterday.
+@Component
+@Lazy(false)
+public class PaymentSnapshotJob {
+
+    private final PaymentLedger paymentLedger;
+
+    public PaymentSnapshotJob(PaymentLedger paymentLedger) {
+        this.paymentLedger = paymentLedger;
+    }
+
+    @Scheduled(cron = "${payments.ledger.snapshot-cron:0 30 0 * * *}")
+    public void runNightly() {
+        if (paymentLedger.isEnabled()) {
+            paymentLedger.snapshot(LocalDate.now());
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Optional owner of every customer's used credit. Loan origination reserves credit with a CAS on an in-memory
+// counter in cents; each change is appended to a local write-ahead log (CreditWal) and added to a pending delta
+// per customer, which a scheduled flush writes to customers.used_credit_limit in one JDBC batch together with
+// the last applied log sequence. At startup the counters are loaded from the database and the log records
+// after that sequence are replayed, so a crash between reservation and flush loses nothing the OS received.
+// Until recovery has finished (or when disabled) isReady() is false and loan creation updates the customer row
+// through JPA as before.
+@Component
+@Lazy(false)
+public class CreditLedger implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreditLedger.class);
+
+    private static final String CUSTOMERS = "SELECT id, credit_limit, used_credit_limit FROM customers ";
+    private static final String READ_CHECKPOINT =
+            "SELECT wal_epoch, last_sequence FROM credit_ledger_checkpoint WHERE id = 1";
+    private static final String WRITE_EPOCH = "UPDATE credit_ledger_checkpoint SET wal_epoch = ? WHERE id = 1";
+    private static final String WRITE_CHECKPOINT =
+            "UPDATE credit_ledger_checkpoint SET last_sequence = ?, updated_at = ? WHERE id = 1";
+    // Relative update plus a version bump, so a concurrent JPA update of the same customer fails and retries.
+    private static final String APPLY_DELTA =
+            "UPDATE customers SET used_credit_limit = used_credit_limit + ?, version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Consumer<Set<Long>> onFlushed;
+    private final boolean enabled;
+    private final Path walDirectory;
+    private final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+
+    // Guards the log, the sequence and the pending deltas, so a flush takes exactly the records of one segment.
+    private final Object walLock = new Object();
+    private CreditWal wal;
+    private long sequence;
+    private Map<Long, Long> pending = new HashMap<>();
+
+    // Rotated-out segments whose records are not in the database yet; only touched by flush and recovery.
+    private final List<Path> unflushedSegments = new ArrayList<>();
+    private volatile boolean ready;
+
+    @Autowired
+    public CreditLedger(DataSource dataSource, TransactionTemplate transactionTemplate,
+                        EntityManagerFactory entityManagerFactory,
+                        @Value("${credit.ledger.enabled:false}") boolean enabled,
+                        @Value("${credit.ledger.wal-dir:credit-ledger}") String walDirectory) {
+        // Flushes write customers with plain JDBC, so their second-level cache entries are evicted afterwards.
+        this(new JdbcTemplate(dataSource), transactionTemplate,
+                customerIds -> customerIds.forEach(id -> entityManagerFactory.getCache().evict(Customer.class, id)),
+                enabled, Path.of(walDirectory));
+    }
+
+    CreditLedger(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, Consumer<Set<Long>> onFlushed,
+                 boolean enabled, Path walDirectory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.onFlushed = onFlushed;
+        this.enabled = enabled;
+        this.walDirectory = walDirectory;
+    }
+
+    // Runs before the web server accepts requests, so no loan is created between loading and replaying.
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            recover();
+        }
+    }
+
+    void recover() {
+        long start = System.currentTimeMillis();
+        Map<String, Object> checkpoint = jdbcTemplate.queryForMap(READ_CHECKPOINT);
+        String epoch = (String) checkpoint.get("wal_epoch");
+        long checkpointSequence = ((Number) checkpoint.get("last_sequence")).longValue();
+        if (epoch == null) {
+            epoch = UUID.randomUUID().toString();
+            jdbcTemplate.update(WRITE_EPOCH, epoch);
+            logger.debug("Credit ledger started a new log epoch {}", epoch);
+        }
+
+        jdbcTemplate.query(CUSTOMERS, rs -> {
+            accounts.put(rs.getLong("id"), new Account(toCents(rs.getBigDecimal("credit_limit")),
+                    toCents(rs.getBigDecimal("used_credit_limit"))));
+        });
+
+        try {
+            CreditWal.discardOtherEpochs(walDirectory, epoch);
+            List<Path> segments = CreditWal.segments(walDirectory, epoch);
+            long lastSequence = checkpointSequence;
+            int replayed = 0;
+            for (Path segment : segments) {
+                long[] applied = new long[1];
+                long segmentSequence = CreditWal.replay(segment, (recordSequence, customerId, deltaCents) -> {
+                    if (recordSequence > checkpointSequence) {
+                        replay(customerId, deltaCents);
+                        applied[0]++;
+                    }
+                });
+                lastSequence = Math.max(lastSequence, segmentSequence);
+                replayed += applied[0];
+            }
+            synchronized (walLock) {
+                sequence = lastSequence;
+                wal = CreditWal.open(walDirectory, epoch, lastSequence + 1);
+                for (Path segment : segments) {
+                    if (!segment.equals(wal.segment())) {
+                        unflushedSegments.add(segment);
+                    }
+                }
+            }
+            ready = true;
+            logger.debug("Credit ledger recovered {} accounts, replayed {} log records after sequence {} in {} ms",
+                    accounts.size(), replayed, checkpointSequence, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Credit ledger log in " + walDirectory + " could not be recovered", e);
+        }
+    }
+
+    private void replay(long customerId, long deltaCents) {
+        Account account = account(customerId);
+        if (account == null) {
+            logger.warn("Credit ledger log names unknown customer {}, skipping a delta of {} cents", customerId, deltaCents);
+            return;
+        }
+        account.used.addAndGet(deltaCents);
+        pending.merge(customerId, deltaCents, Long::sum);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Reserves credit for the surrounding transaction and gives it back if that transaction rolls back.
+    public boolean reserveForTransaction(Long customerId, BigDecimal amount) {
+        long cents = toCents(amount);
+        Account account = account(customerId);
+        if (account == null) {
+            return false;
+        }
+        account.inFlight.incrementAndGet();
+        boolean reserved = false;
+        try {
+            reserved = reserve(customerId, account, cents);
+        } finally {
+            if (!reserved || !TransactionSynchronizationManager.isSynchronizationActive()) {
+                account.inFlight.decrementAndGet();
+            }
+        }
+        if (reserved && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        change(customerId, account, -cents);
+                        logger.debug("Released {} cents of credit for customer {} after rollback", cents, customerId);
+                    }
+                    account.inFlight.decrementAndGet();
+                }
+            });
+        }
+        return reserved;
+    }
+
+    private boolean reserve(Long customerId, Account account, long cents) {
+        long used;
+        do {
+            used = account.used.get();
+            if (used + cents > account.limit) {
+                logger.debug("Credit reservation of {} cents rejected for customer {}: used {} of {}",
+                        cents, customerId, used, account.limit);
+                return false;
+            }
+        } while (!account.used.compareAndSet(used, used + cents));
+        // The limit is read again after the compare-and-set: either this sees a limit lowered meanwhile by
+        // tryUpdateLimit and backs out, or tryUpdateLimit sees this reservation in the used credit.
+        if (used + cents > account.limit) {
+            account.used.addAndGet(-cents);
+            logger.debug("Credit reservation of {} cents rejected for customer {}: limit lowered to {}",
+                    cents, customerId, account.limit);
+            return false;
+        }
+        account.revision.incrementAndGet();
+        log(customerId, account, cents);
+        return true;
+    }
+
+    private void change(Long customerId, Account account, long deltaCents) {
+        account.used.addAndGet(deltaCents);
+        account.revision.incrementAndGet();
+        log(customerId, account, deltaCents);
+    }
+
+    // The counter has already moved; if the log cannot take the record the change is undone.
+    private void log(Long customerId, Account account, long deltaCents) {
+        synchronized (walLock) {
+            try {
+                wal.append(sequence + 1, customerId, deltaCents);
+            } catch (IOException e) {
+                account.used.addAndGet(-deltaCents);
+                throw new UncheckedIOException("Credit ledger log is not writable", e);
+            }
+            sequence++;
+            pending.merge(customerId, deltaCents, Long::sum);
+        }
+    }
+
+    // Limit writers are serialized per account; reservations stay lock-free.
+    public void updateLimit(Long customerId, BigDecimal creditLimit) {
+        Account account = accounts.get(customerId);
+        if (account != null) {
+            synchronized (account) {
+                account.limit = toCents(creditLimit);
+            }
+            logger.debug("Credit ledger limit of customer {} set to {}", customerId, creditLimit);
+        }
+    }
+
+    // Sets the limit unless the used credit is above it, atomically with concurrent reservations: the new limit
+    // is published before the used credit is read, and reserve() reads the limit after its compare-and-set.
+    // Customers the ledger does not hold are left to the caller's own check.
+    public boolean tryUpdateLimit(Long customerId, long limitCents) {
+        Account account = accounts.get(customerId);
+        if (account == null) {
+            return true;
+        }
+        synchronized (account) {
+            long previous = account.limit;
+            account.limit = limitCents;
+            if (account.used.get() > limitCents) {
+                account.limit = previous;
+                logger.debug("Credit ledger limit of customer {} kept at {} cents, {} cents are used",
+                        customerId, previous, account.used.get());
+                return false;
+            }
+        }
+        logger.debug("Credit ledger limit of customer {} set to {} cents", customerId, limitCents);
+        return true;
+    }
+
+    public Optional<BigDecimal> getUsedCredit(Long customerId) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Account account = accounts.get(customerId);
+        return account == null ? Optional.empty() : Optional.of(BigDecimal.valueOf(account.used.get(), 2));
+    }
+
+    public List<Long> customerIds() {
+        List<Long> ids = new ArrayList<>(accounts.keySet());
+        ids.sort(null);
+        return ids;
+    }
+
+    public Optional<AccountSnapshot> snapshot(Long customerId) {
+        Account account = accounts.get(customerId);
+        return account == null ? Optional.empty()
+                : Optional.of(new AccountSnapshot(account.revision.get(), account.used.get(), account.inFlight.get()));
+    }
+
+    // Sets the used credit found by reconciliation, unless the account changed after the snapshot was taken.
+    public boolean correct(Long customerId, AccountSnapshot seen, long usedCents) {
+        Account account = accounts.get(customerId);
+        if (account == null || account.revision.get() != seen.revision()
+                || !account.used.compareAndSet(seen.usedCents(), usedCents)) {
+            return false;
+        }
+        account.revision.incrementAndGet();
+        log(customerId, account, usedCents - seen.usedCents());
+        return true;
+    }
+
+    public int pendingCustomers() {
+        synchronized (walLock) {
+            return pending.size();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${credit.ledger.flush-interval-ms:200}")
+    public void flush() {
+        if (ready) {
+            flushPending();
+        }
+    }
+
+    synchronized void flushPending() {
+        Map<Long, Long> batch;
+        long lastSequence;
+        synchronized (walLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                unflushedSegments.add(wal.rotate(sequence + 1));
+            } catch (IOException e) {
+                logger.warn("Credit ledger log could not be rotated, flush postponed", e);
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+            lastSequence = sequence;
+        }
+
+        long start = System.currentTimeMillis();
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        batch.forEach((customerId, deltaCents) -> rows.add(new Object[]{BigDecimal.valueOf(deltaCents, 2), customerId}));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(APPLY_DELTA, rows);
+                jdbcTemplate.update(WRITE_CHECKPOINT, lastSequence, Timestamp.from(Instant.now()));
+            });
+        } catch (RuntimeException e) {
+            synchronized (walLock) {
+                batch.forEach((customerId, deltaCents) -> pending.merge(customerId, deltaCents, Long::sum));
+            }
+            logger.warn("Credit ledger flush of {} customers failed, retrying with the next flush", batch.size(), e);
+            return;
+        }
+        onFlushed.accept(batch.keySet());
+
+        // Every record of these segments is at or below the checkpoint just written.
+        for (Path segment : unflushedSegments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                logger.warn("Credit ledger log segment {} could not be deleted", segment, e);
+            }
+        }
+        unflushedSegments.clear();
+        logger.debug("Credit ledger flushed {} customers up to sequence {} in {} ms",
+                batch.size(), lastSequence, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void destroy() {
+        if (!ready) {
+            return;
+        }
+        flushPending();
+        synchronized (walLock) {
+            try {
+                wal.close();
+            } catch (IOException e) {
+                logger.warn("Credit ledger log could not be closed", e);
+            }
+        }
+    }
+
+    // Customers created after recovery have no pending deltas yet, so their row is the current value.
+    private Account account(Long customerId) {
+        return accounts.computeIfAbsent(customerId, id -> jdbcTemplate.query(CUSTOMERS + "WHERE id = ?",
+                rs -> rs.next() ? new Account(toCents(rs.getBigDecimal("credit_limit")),
+                        toCents(rs.getBigDecimal("used_credit_limit"))) : null, id));
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public record AccountSnapshot(long revision, long usedCents, int inFlight) {
+    }
+
+    private static final class Account {
+        private final AtomicLong used;
+        private volatile long limit;
+        // Reservations whose transaction has not completed yet; reconciliation leaves such accounts alone.
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong revision = new AtomicLong();
+
+        private Account(long limit, long used) {
+            this.limit = limit;
+            this.used = new AtomicLong(used);
+        }
+    }
+}
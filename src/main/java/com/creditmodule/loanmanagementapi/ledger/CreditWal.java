@@ -0,0 +1,151 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only log of credit deltas, split into segments named after the first sequence they may hold.
+// A record is sequence, customer id and delta in cents plus a CRC32, so a record torn by a crash is
+// recognised and ends the replay. Appends reach the OS on every call; segments are forced to disk when
+// they are rotated out, i.e. on every ledger flush.
+final class CreditWal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreditWal.class);
+
+    interface RecordHandler {
+        void accept(long sequence, long customerId, long deltaCents);
+    }
+
+    private static final int PAYLOAD_BYTES = 3 * Long.BYTES;
+    private static final int RECORD_BYTES = PAYLOAD_BYTES + Integer.BYTES;
+    private static final String PREFIX = "credit-";
+    private static final String SUFFIX = ".wal";
+
+    private final Path directory;
+    private final String epoch;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    private Path segment;
+
+    private CreditWal(Path directory, String epoch) {
+        this.directory = directory;
+        this.epoch = epoch;
+    }
+
+    static CreditWal open(Path directory, String epoch, long firstSequence) throws IOException {
+        Files.createDirectories(directory);
+        CreditWal wal = new CreditWal(directory, epoch);
+        wal.startSegment(firstSequence);
+        return wal;
+    }
+
+    // An existing segment with the same name can only be an empty one left by a rotation right before a crash.
+    private void startSegment(long firstSequence) throws IOException {
+        Path next = directory.resolve(String.format("%s%s-%020d%s", PREFIX, epoch, firstSequence, SUFFIX));
+        channel = FileChannel.open(next, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        segment = next;
+    }
+
+    Path segment() {
+        return segment;
+    }
+
+    void append(long sequence, long customerId, long deltaCents) throws IOException {
+        record.clear();
+        record.putLong(sequence).putLong(customerId).putLong(deltaCents);
+        crc.reset();
+        crc.update(record.array(), 0, PAYLOAD_BYTES);
+        record.putInt((int) crc.getValue());
+        record.flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+    }
+
+    // Starts a new segment for the records from nextSequence on and returns the previous one, forced to disk.
+    Path rotate(long nextSequence) throws IOException {
+        FileChannel previous = channel;
+        Path previousSegment = segment;
+        startSegment(nextSequence);
+        try (previous) {
+            previous.force(false);
+        }
+        return previousSegment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (FileChannel current = channel) {
+            current.force(false);
+        }
+    }
+
+    static List<Path> segments(Path directory, String epoch) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        String prefix = PREFIX + epoch + "-";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix))
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // Segments of another epoch were written against a different database and must not be replayed here.
+    static void discardOtherEpochs(Path directory, String epoch) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        String prefix = PREFIX + epoch + "-";
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX) && !name.startsWith(prefix)) {
+                    logger.warn("Discarding credit ledger log segment {} of another database", file);
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    // Returns the highest sequence read, or 0 for an empty segment.
+    static long replay(Path segment, RecordHandler handler) throws IOException {
+        ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(segment));
+        CRC32 checksum = new CRC32();
+        long lastSequence = 0;
+        while (records.remaining() >= RECORD_BYTES) {
+            int start = records.position();
+            long sequence = records.getLong();
+            long customerId = records.getLong();
+            long deltaCents = records.getLong();
+            int storedCrc = records.getInt();
+            checksum.reset();
+            checksum.update(records.array(), start, PAYLOAD_BYTES);
+            if ((int) checksum.getValue() != storedCrc) {
+                logger.warn("Credit ledger log segment {} ends with a torn record at byte {}", segment, start);
+                return lastSequence;
+            }
+            handler.accept(sequence, customerId, deltaCents);
+            lastSequence = sequence;
+        }
+        if (records.hasRemaining()) {
+            logger.warn("Credit ledger log segment {} ends with {} bytes of a partial record", segment, records.remaining());
+        }
+        return lastSequence;
+    }
+}
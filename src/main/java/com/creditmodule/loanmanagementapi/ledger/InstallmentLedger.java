@@ -0,0 +1,236 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.dto.response.InstallmentResponse;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.event.InstallmentsOverdueEvent;
+import com.creditmodule.loanmanagementapi.event.InstallmentsPaidEvent;
+import com.creditmodule.loanmanagementapi.event.LoanCreatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Optional read model of every installment schedule, kept as LoanSchedule primitive arrays instead of
+// JPA entities. It is filled by one streaming JDBC pass after startup and each loan is reloaded after a
+// transaction that created, paid or marked its installments overdue commits. Until the initial load has
+// finished (or when disabled) isReady() is false and callers read through JPA as before. Loans are read with
+// their installment rows joined, so a lazy loan's schedule is resolved from its terms, and a packed one decoded
+// from loans.packed_schedule, like on the JPA path.
+@Component
+@Lazy(false)
+public class InstallmentLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstallmentLedger.class);
+
+    private static final String SCHEDULE_ROWS =
+            "SELECT l.id AS loan_id, l.loan_amount, l.number_of_installments, l.create_date, l.lazy_schedule, " +
+            "l.packed_schedule, l.version AS loan_version, li.id, li.installment_number, li.amount, li.paid_amount, li.due_date, " +
+            "li.payment_date, li.is_paid, li.late_fee, li.is_overdue, li.version " +
+            "FROM loans l LEFT JOIN loan_installments li ON li.loan_id = l.id ";
+
+    private static final int EXPECTED_INSTALLMENTS = 24;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Map<Long, LoanSchedule> schedules = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public InstallmentLedger(DataSource dataSource,
+                             @Value("${ledger.installments.enabled:false}") boolean enabled,
+                             @Value("${ledger.installments.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::load, "installment-ledger-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    void load() {
+        long start = System.currentTimeMillis();
+        ScheduleCollector collector = new ScheduleCollector();
+        jdbcTemplate.query(SCHEDULE_ROWS + "ORDER BY l.id, li.installment_number", collector);
+        collector.finish();
+        ready = true;
+        logger.debug("Installment ledger loaded {} loans ({} installments, ~{} KB) in {} ms",
+                schedules.size(), installmentCount(), estimatedBytes() / 1024, System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<InstallmentResponse> getInstallments(Long loanId) {
+        LoanSchedule schedule = schedules.get(loanId);
+        return schedule == null ? Collections.emptyList() : schedule.toResponses();
+    }
+
+    public Optional<InstallmentResponse> getNextDue(Long loanId) {
+        LoanSchedule schedule = schedules.get(loanId);
+        if (schedule == null) {
+            return Optional.empty();
+        }
+        int index = schedule.nextDueIndex();
+        return index < 0 ? Optional.empty() : Optional.of(schedule.toResponse(index));
+    }
+
+    public List<InstallmentResponse> getOverdue(Long loanId, LocalDate date) {
+        LoanSchedule schedule = schedules.get(loanId);
+        return schedule == null ? Collections.emptyList() : schedule.overdueAsOf(date);
+    }
+
+    public int loanCount() {
+        return schedules.size();
+    }
+
+    public long installmentCount() {
+        return schedules.values().stream().mapToLong(LoanSchedule::size).sum();
+    }
+
+    public long estimatedBytes() {
+        return schedules.values().stream().mapToLong(LoanSchedule::estimatedBytes).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        refresh(event.getLoanId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInstallmentsPaid(InstallmentsPaidEvent event) {
+        refresh(event.getLoanId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInstallmentsOverdue(InstallmentsOverdueEvent event) {
+        event.getLoanIds().forEach(this::refresh);
+    }
+
+    void refresh(Long loanId) {
+        if (!enabled) {
+            return;
+        }
+        ScheduleCollector collector = new ScheduleCollector();
+        jdbcTemplate.query(SCHEDULE_ROWS + "WHERE l.id = ? ORDER BY li.installment_number", collector, loanId);
+        if (!collector.finish()) {
+            schedules.remove(loanId);
+        }
+        logger.debug("Installment ledger refreshed loan {}", loanId);
+    }
+
+    // Refreshes of one loan can finish out of order, and the initial load can read a loan before a payment
+    // that is refreshed while the load is running, so a schedule only replaces one with a lower version.
+    void store(LoanSchedule schedule) {
+        schedules.merge(schedule.getLoanId(), schedule,
+                (stored, read) -> read.getVersion() >= stored.getVersion() ? read : stored);
+    }
+
+    // Groups rows ordered by loan into one schedule per loan. Rows of an eager loan go straight into the builder;
+    // those of a lazy loan are kept as entities until the loan ends and then overlaid on its derived schedule.
+    private final class ScheduleCollector implements RowCallbackHandler {
+        private LoanSchedule.Builder current;
+        private Loan loan;
+        private final List<LoanInstallment> lazyRows = new ArrayList<>();
+        private long version;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long loanId = rs.getLong("loan_id");
+            if (current == null || current.getLoanId() != loanId) {
+                finish();
+                current = new LoanSchedule.Builder(loanId, EXPECTED_INSTALLMENTS);
+                loan = toLoan(rs);
+                version = rs.getLong("loan_version") << 32;
+            }
+            long installmentId = rs.getLong("id");
+            if (rs.wasNull()) {
+                return;
+            }
+            version += rs.getLong("version") + 1;
+            Date paymentDate = rs.getDate("payment_date");
+            if (InstallmentScheduleResolver.isLazy(loan)) {
+                LoanInstallment installment = new LoanInstallment();
+                installment.setId(installmentId);
+                installment.setLoan(loan);
+                installment.setInstallmentNumber(rs.getInt("installment_number"));
+                installment.setAmount(rs.getBigDecimal("amount"));
+                installment.setPaidAmount(rs.getBigDecimal("paid_amount"));
+                installment.setDueDate(rs.getDate("due_date").toLocalDate());
+                installment.setPaymentDate(paymentDate == null ? null : paymentDate.toLocalDate());
+                installment.setIsPaid(rs.getBoolean("is_paid"));
+                installment.setLateFee(rs.getBigDecimal("late_fee"));
+                installment.setIsOverdue(rs.getBoolean("is_overdue"));
+                lazyRows.add(installment);
+                return;
+            }
+            current.add(installmentId,
+                    rs.getDate("due_date").toLocalDate(),
+                    rs.getBigDecimal("amount"),
+                    rs.getBigDecimal("paid_amount"),
+                    paymentDate == null ? null : paymentDate.toLocalDate(),
+                    rs.getBoolean("is_paid"),
+                    rs.getBigDecimal("late_fee"),
+                    rs.getBoolean("is_overdue"));
+        }
+
+        private boolean finish() {
+            if (current == null) {
+                return false;
+            }
+            if (InstallmentScheduleResolver.isLazy(loan)) {
+                for (LoanInstallment installment : InstallmentScheduleResolver.resolve(loan, lazyRows)) {
+                    current.add(installment.getId() == null ? LoanSchedule.NO_ID : installment.getId(),
+                            installment.getDueDate(), installment.getAmount(), installment.getPaidAmount(),
+                            installment.getPaymentDate(), installment.getIsPaid(), installment.getLateFee(),
+                            installment.getIsOverdue());
+                }
+                lazyRows.clear();
+            }
+            LoanSchedule schedule = current.version(version).build();
+            current = null;
+            loan = null;
+            if (schedule.size() == 0) {
+                return false;
+            }
+            store(schedule);
+            return true;
+        }
+
+        private Loan toLoan(ResultSet rs) throws SQLException {
+            Loan loan = new Loan();
+            loan.setId(rs.getLong("loan_id"));
+            loan.setLoanAmount(rs.getBigDecimal("loan_amount"));
+            loan.setNumberOfInstallments(rs.getInt("number_of_installments"));
+            loan.setCreateDate(rs.getDate("create_date").toLocalDate());
+            loan.setLazySchedule(rs.getBoolean("lazy_schedule"));
+            loan.setPackedSchedule(rs.getBytes("packed_schedule"));
+            return loan;
+        }
+    }
+}
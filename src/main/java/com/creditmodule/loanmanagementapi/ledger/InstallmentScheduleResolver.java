@@ -0,0 +1,291 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.executor.OptimisticRetryExecutor;
+import com.creditmodule.loanmanagementapi.repository.LoanInstallmentRepository;
+import com.creditmodule.loanmanagementapi.repository.LoanRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Installment schedules of loans that keep no row per installment (loans.lazy_schedule is set). Two storage
+// modes create such loans:
+// - installments.schedule.lazy=true derives the schedule from the loan terms; an installment gets its row
+//   the first time it is paid or turns overdue, and reads overlay those rows by installment number.
+// - installments.schedule.packed=true keeps the whole schedule in loans.packed_schedule (see PackedSchedule),
+//   so reading or changing it touches the loan row only. packAll() moves existing row schedules there.
+// When a mode is off, loans it left behind get their installment rows back in the background at startup.
+@Component
+@Lazy(false)
+public class InstallmentScheduleResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstallmentScheduleResolver.class);
+
+    private final LoanRepository loanRepository;
+    private final LoanInstallmentRepository installmentRepository;
+    private final EntityManager entityManager;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean lazyEnabled;
+    private final boolean packedEnabled;
+    private final int chunkSize;
+
+    public InstallmentScheduleResolver(LoanRepository loanRepository,
+                                       LoanInstallmentRepository installmentRepository,
+                                       EntityManager entityManager,
+                                       OptimisticRetryExecutor retryExecutor,
+                                       TransactionTemplate transactionTemplate,
+                                       @Value("${installments.schedule.lazy:false}") boolean lazyEnabled,
+                                       @Value("${installments.schedule.packed:false}") boolean packedEnabled,
+                                       @Value("${installments.schedule.materialize-chunk-size:500}") int chunkSize) {
+        this.loanRepository = loanRepository;
+        this.installmentRepository = installmentRepository;
+        this.entityManager = entityManager;
+        this.retryExecutor = retryExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.lazyEnabled = lazyEnabled;
+        this.packedEnabled = packedEnabled;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    // Whether loans without installment rows can exist, i.e. whether reads have to check the loan first.
+    public boolean isEnabled() {
+        return lazyEnabled || packedEnabled;
+    }
+
+    public boolean isPackedEnabled() {
+        return packedEnabled;
+    }
+
+    public static boolean isLazy(Loan loan) {
+        return Boolean.TRUE.equals(loan.getLazySchedule());
+    }
+
+    public static boolean isPacked(Loan loan) {
+        return loan.getPackedSchedule() != null;
+    }
+
+    // The loan amount split evenly, one installment per month after the creation date.
+    public static List<LoanInstallment> derive(Loan loan) {
+        int count = loan.getNumberOfInstallments();
+        BigDecimal amount = loan.getLoanAmount().divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+
+        List<LoanInstallment> installments = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            LoanInstallment installment = new LoanInstallment();
+            installment.setLoan(loan);
+            installment.setInstallmentNumber(i);
+            installment.setAmount(amount);
+            installment.setDueDate(loan.getCreateDate().plusMonths(i));
+            installment.setIsPaid(false);
+            installment.setPaidAmount(BigDecimal.ZERO);
+            installment.setPaymentDate(null);
+            installments.add(installment);
+        }
+        return installments;
+    }
+
+    // Picks the storage of a new loan and returns the installment rows to insert after it.
+    public List<LoanInstallment> initialize(Loan loan) {
+        List<LoanInstallment> installments = derive(loan);
+        if (packedEnabled) {
+            loan.setLazySchedule(true);
+            loan.setPackedSchedule(PackedSchedule.encode(installments));
+            return List.of();
+        }
+        loan.setLazySchedule(lazyEnabled);
+        return lazyEnabled ? List.of() : installments;
+    }
+
+    public List<LoanInstallment> resolve(Loan loan) {
+        return resolve(loan, isPacked(loan) ? List.of() : installmentRepository.findByLoanIdOrderByDueDate(loan.getId()));
+    }
+
+    // Full schedule ordered by due date; installments without a row have no id.
+    public static List<LoanInstallment> resolve(Loan loan, List<LoanInstallment> persisted) {
+        List<LoanInstallment> schedule;
+        if (isPacked(loan)) {
+            schedule = PackedSchedule.decode(loan, loan.getPackedSchedule());
+        } else {
+            Map<Integer, LoanInstallment> byNumber = new HashMap<>();
+            for (LoanInstallment installment : persisted) {
+                byNumber.put(installment.getInstallmentNumber(), installment);
+            }
+            schedule = new ArrayList<>(loan.getNumberOfInstallments());
+            for (LoanInstallment derived : derive(loan)) {
+                schedule.add(byNumber.getOrDefault(derived.getInstallmentNumber(), derived));
+            }
+        }
+        schedule.sort(Comparator.comparing(LoanInstallment::getDueDate)
+                .thenComparing(LoanInstallment::getInstallmentNumber));
+        return schedule;
+    }
+
+    // Unpaid installments due before the date that have no row yet, from every unpaid lazy loan, ordered by due
+    // date. Portfolio-wide overdue listings add these to the installment rows; like the lazy pass of the nightly
+    // job, this resolves the schedule of every unpaid lazy loan.
+    public List<LoanInstallment> findOverdueWithoutRows(LocalDate date) {
+        List<LoanInstallment> overdue = new ArrayList<>();
+        List<Loan> loans;
+        Long afterId = 0L;
+        do {
+            loans = loanRepository.findUnpaidLazyScheduleChunk(afterId, PageRequest.of(0, chunkSize));
+            Map<Long, List<LoanInstallment>> rows = loans.isEmpty() ? Map.of() : rowsOf(loans);
+            for (Loan loan : loans) {
+                for (LoanInstallment installment : resolve(loan, rows.getOrDefault(loan.getId(), List.of()))) {
+                    if (installment.getId() == null && !installment.getIsPaid() && installment.getDueDate().isBefore(date)) {
+                        overdue.add(installment);
+                    }
+                }
+                afterId = loan.getId();
+            }
+        } while (loans.size() == chunkSize);
+        overdue.sort(Comparator.comparing(LoanInstallment::getDueDate)
+                .thenComparing(installment -> installment.getLoan().getId())
+                .thenComparing(LoanInstallment::getInstallmentNumber));
+        return overdue;
+    }
+
+    // Writes the changed installments of a resolved schedule. A packed schedule is re-encoded into the loan row,
+    // whose version check covers concurrent writers. Otherwise the changed installments are saved, inserting
+    // the ones that have no row yet; for a lazy loan the loan version is bumped as well, so two writers
+    // materializing the same installment conflict optimistically (and are retried) instead of inserting it twice.
+    public void save(Loan loan, List<LoanInstallment> schedule, List<LoanInstallment> changed) {
+        if (isPacked(loan)) {
+            loan.setPackedSchedule(PackedSchedule.encode(schedule));
+            return;
+        }
+        if (isLazy(loan)) {
+            entityManager.lock(loan, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        }
+        installmentRepository.saveAll(changed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void materializeRemaining() {
+        if (lazyEnabled && packedEnabled) {
+            return;
+        }
+        Thread materializer = new Thread(this::materializeAll, "lazy-schedule-materializer");
+        materializer.setDaemon(true);
+        materializer.start();
+    }
+
+    public long materializeAll() {
+        MigrationTotals totals = MigrationTotals.NONE;
+        if (!lazyEnabled) {
+            totals = totals.plus(inChunks("lazy schedule materialization",
+                    loanRepository::findDerivedScheduleChunk, this::materialize));
+        }
+        if (!packedEnabled) {
+            totals = totals.plus(inChunks("packed schedule materialization",
+                    loanRepository::findPackedScheduleChunk, this::materialize));
+        }
+        if (totals.loans() > 0) {
+            logger.debug("Wrote {} installment rows for {} loans without them", totals.rows(), totals.loans());
+        }
+        return totals.loans();
+    }
+
+    // Moves row and lazy schedules into loans.packed_schedule and deletes their installment rows.
+    public MigrationTotals packAll() {
+        if (!packedEnabled) {
+            throw new IllegalStateException("Packed installment schedules are not enabled");
+        }
+        MigrationTotals totals = inChunks("schedule packing", loanRepository::findRowScheduleChunk, this::pack);
+        logger.debug("Packed the installment schedules of {} loans, {} installment rows removed, {} bytes written",
+                totals.loans(), totals.rows(), totals.bytes());
+        return totals;
+    }
+
+    // Every chunk takes its loans out of the query's result, so each one starts from the lowest id again.
+    private MigrationTotals inChunks(String operation, Function<Pageable, List<Loan>> query, ChunkWriter writer) {
+        MigrationTotals totals = MigrationTotals.NONE;
+        MigrationTotals chunk;
+        do {
+            chunk = retryExecutor.execute(operation, () -> transactionTemplate.execute(status -> {
+                List<Loan> loans = query.apply(PageRequest.of(0, chunkSize));
+                return loans.isEmpty() ? MigrationTotals.NONE : writer.write(loans, rowsOf(loans));
+            }));
+            totals = totals.plus(chunk);
+        } while (chunk.loans() == chunkSize);
+        return totals;
+    }
+
+    private Map<Long, List<LoanInstallment>> rowsOf(List<Loan> loans) {
+        return installmentRepository.findByLoanIdIn(loans.stream().map(Loan::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(installment -> installment.getLoan().getId()));
+    }
+
+    private MigrationTotals materialize(List<Loan> loans, Map<Long, List<LoanInstallment>> rows) {
+        List<LoanInstallment> missing = new ArrayList<>();
+        for (Loan loan : loans) {
+            for (LoanInstallment installment : resolve(loan, rows.getOrDefault(loan.getId(), List.of()))) {
+                if (installment.getId() == null) {
+                    missing.add(installment);
+                }
+            }
+            loan.setLazySchedule(false);
+            loan.setPackedSchedule(null);
+        }
+        installmentRepository.saveAll(missing);
+        loanRepository.saveAll(loans);
+        logger.debug("Materialized {} installments of {} loans up to loan ID {}",
+                missing.size(), loans.size(), loans.get(loans.size() - 1).getId());
+        return new MigrationTotals(loans.size(), missing.size(), 0);
+    }
+
+    // The rows are deleted one by one with their version checked, so an installment paid or marked overdue since
+    // it was read fails the chunk, which is retried from the new rows instead of packing the old ones over it.
+    private MigrationTotals pack(List<Loan> loans, Map<Long, List<LoanInstallment>> rows) {
+        List<LoanInstallment> removed = new ArrayList<>();
+        long bytes = 0;
+        for (Loan loan : loans) {
+            List<LoanInstallment> loanRows = rows.getOrDefault(loan.getId(), List.of());
+            byte[] packed = PackedSchedule.encode(resolve(loan, loanRows));
+            loan.setLazySchedule(true);
+            loan.setPackedSchedule(packed);
+            removed.addAll(loanRows);
+            bytes += packed.length;
+        }
+        loanRepository.saveAll(loans);
+        installmentRepository.deleteAll(removed);
+        return new MigrationTotals(loans.size(), removed.size(), bytes);
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        MigrationTotals write(List<Loan> loans, Map<Long, List<LoanInstallment>> rows);
+    }
+
+    // Loans moved, installment rows written or removed, packed bytes written.
+    public record MigrationTotals(long loans, long rows, long bytes) {
+
+        static final MigrationTotals NONE = new MigrationTotals(0, 0, 0);
+
+        MigrationTotals plus(MigrationTotals other) {
+            return new MigrationTotals(loans + other.loans, rows + other.rows, bytes + other.bytes);
+        }
+    }
+}
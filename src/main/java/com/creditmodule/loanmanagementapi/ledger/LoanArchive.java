@@ -0,0 +1,294 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.config.SecondLevelCacheConfig;
+import com.creditmodule.loanmanagementapi.dto.request.LoanSearchRequest;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Cold storage for loans paid more than loans.archive.retain-days ago. archive() moves them and their installment
+// rows from loans/loan_installments into loans_archive/loan_installments_archive, one chunk of loans per
+// transaction, so the hot tables and their indexes only hold loans that can still be paid. Packed schedules move
+// with the loan row. Archived loans are read-only: the read paths that miss the hot tables fall back to
+// findLoan/findSchedule, the customer loan lists and the loan search add the matching archived loans, and
+// payment_ledger keeps their history under the same loan ids.
+@Component
+public class LoanArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanArchive.class);
+
+    private static final String NEXT_CHUNK =
+            "SELECT id FROM loans WHERE is_paid = TRUE AND paid_date < ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+
+    // The chunk is the id range of the loans selected above; no other loan in that range can qualify meanwhile,
+    // since paid_date is only ever set to the current day.
+    private static final String IN_CHUNK = "is_paid = TRUE AND paid_date < ? AND id BETWEEN ? AND ?";
+
+    private static final String ARCHIVE_LOANS =
+            "INSERT INTO loans_archive (id, customer_id, loan_amount, number_of_installments, interest_rate, " +
+            "create_date, paid_date, lazy_schedule, packed_schedule, archived_at) " +
+            "SELECT id, customer_id, loan_amount, number_of_installments, interest_rate, create_date, paid_date, " +
+            "lazy_schedule, packed_schedule, ? FROM loans WHERE " + IN_CHUNK;
+
+    private static final String ARCHIVE_INSTALLMENTS =
+            "INSERT INTO loan_installments_archive (id, loan_id, amount, installment_number, paid_amount, due_date, " +
+            "payment_date, is_paid, late_fee, is_overdue) " +
+            "SELECT id, loan_id, amount, installment_number, paid_amount, due_date, payment_date, is_paid, late_fee, " +
+            "is_overdue FROM loan_installments WHERE loan_id IN (SELECT id FROM loans WHERE " + IN_CHUNK + ")";
+
+    private static final String DELETE_INSTALLMENTS =
+            "DELETE FROM loan_installments WHERE loan_id IN (SELECT id FROM loans WHERE " + IN_CHUNK + ")";
+
+    private static final String DELETE_LOANS = "DELETE FROM loans WHERE " + IN_CHUNK;
+
+    private static final String LOAN_COLUMNS =
+            "SELECT id, customer_id, loan_amount, number_of_installments, interest_rate, create_date, paid_date, " +
+            "lazy_schedule, packed_schedule FROM loans_archive ";
+
+    private static final String FIND_LOAN = LOAN_COLUMNS + "WHERE id = ?";
+
+    private static final String FIND_CUSTOMER_LOANS = LOAN_COLUMNS + "WHERE customer_id = ? ORDER BY id";
+
+    private static final String SEARCH_COLUMNS =
+            "SELECT id, customer_id, loan_amount, number_of_installments, interest_rate, create_date, ";
+
+    // Loan search sort fields and their columns.
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createDate", "create_date", "loanAmount", "loan_amount", "interestRate", "interest_rate", "id", "id");
+
+    private static final String FIND_INSTALLMENTS =
+            "SELECT id, amount, installment_number, paid_amount, due_date, payment_date, is_paid, late_fee, is_overdue " +
+            "FROM loan_installments_archive WHERE loan_id = ? ORDER BY due_date";
+
+    // Loans and installment rows moved.
+    public record ArchiveTotals(long loans, long installments) {
+
+        static final ArchiveTotals NONE = new ArchiveTotals(0, 0);
+
+        ArchiveTotals plus(ArchiveTotals other) {
+            return new ArchiveTotals(loans + other.loans, installments + other.installments);
+        }
+    }
+
+    private record ArchivedChunk(List<Long> loanIds, int installments) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+    private final int retainDays;
+    private final int chunkSize;
+
+    public LoanArchive(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       EntityManagerFactory entityManagerFactory,
+                       @Value("${loans.archive.enabled:true}") boolean enabled,
+                       @Value("${loans.archive.retain-days:365}") int retainDays,
+                       @Value("${loans.archive.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+        this.retainDays = Math.max(0, retainDays);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Loans paid before this day are archived by a run today.
+    public LocalDate cutoff(LocalDate today) {
+        return today.minusDays(retainDays);
+    }
+
+    // Every chunk takes its loans out of the hot table, so each one starts from the lowest id again.
+    public ArchiveTotals archive(LocalDate paidBefore) {
+        ArchiveTotals totals = ArchiveTotals.NONE;
+        ArchivedChunk chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> archiveChunk(paidBefore));
+            evict(chunk.loanIds());
+            totals = totals.plus(new ArchiveTotals(chunk.loanIds().size(), chunk.installments()));
+        } while (chunk.loanIds().size() == chunkSize);
+        logger.debug("Archived {} loans paid before {} with {} installment rows", totals.loans(), paidBefore,
+                totals.installments());
+        return totals;
+    }
+
+    private ArchivedChunk archiveChunk(LocalDate paidBefore) {
+        List<Long> loanIds = jdbcTemplate.queryForList(NEXT_CHUNK, Long.class, Date.valueOf(paidBefore), chunkSize);
+        if (loanIds.isEmpty()) {
+            return new ArchivedChunk(loanIds, 0);
+        }
+        Object[] chunk = {Date.valueOf(paidBefore), loanIds.get(0), loanIds.get(loanIds.size() - 1)};
+
+        int loans = jdbcTemplate.update(ARCHIVE_LOANS, Timestamp.valueOf(LocalDateTime.now()), chunk[0], chunk[1], chunk[2]);
+        int installments = jdbcTemplate.update(ARCHIVE_INSTALLMENTS, chunk);
+        jdbcTemplate.update(DELETE_INSTALLMENTS, chunk);
+        jdbcTemplate.update(DELETE_LOANS, chunk);
+        logger.debug("Archived {} loans up to loan ID {} with {} installment rows", loans, chunk[2], installments);
+        return new ArchivedChunk(loanIds, installments);
+    }
+
+    // The rows were removed with plain JDBC, so the cached loans and per-customer loan lists go as well. This runs
+    // after the commit: a read in between would otherwise cache the loan again from the still visible row.
+    private void evict(List<Long> loanIds) {
+        if (loanIds.isEmpty()) {
+            return;
+        }
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        loanIds.forEach(id -> sessionFactory.getCache().evictEntityData(Loan.class, id));
+        sessionFactory.getCache().evictQueryRegion(SecondLevelCacheConfig.LOANS_BY_CUSTOMER_REGION);
+    }
+
+    // Detached and read-only; the customer is a reference holding the id only.
+    public Optional<Loan> findLoan(Long loanId) {
+        return jdbcTemplate.query(FIND_LOAN, (rs, row) -> toLoan(rs), loanId).stream().findFirst();
+    }
+
+    public List<Loan> findByCustomer(Long customerId) {
+        return jdbcTemplate.query(FIND_CUSTOMER_LOANS, (rs, row) -> toLoan(rs), customerId);
+    }
+
+    // Loan search over the hot and the archived loans: one UNION ALL query for the page and one for the count,
+    // each branch filtered by the supplied criteria only, like LoanSpecifications does for the hot table alone.
+    // Archived loans are all paid, so searches for unpaid loans stay on the hot table.
+    public Page<Loan> search(LoanSearchRequest criteria, Pageable pageable) {
+        Sort.Order order = pageable.getSort().iterator().next();
+        String column = SORT_COLUMNS.get(order.getProperty());
+        if (column == null) {
+            throw new IllegalArgumentException("Loans can be sorted by " + SORT_COLUMNS.keySet() + " only");
+        }
+        String direction = order.isAscending() ? " ASC" : " DESC";
+
+        List<Object> args = new ArrayList<>();
+        String union = searchUnion(criteria, args);
+        long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + union, Long.class, args.toArray());
+        args.add(pageable.getOffset());
+        args.add(pageable.getPageSize());
+        List<Loan> loans = jdbcTemplate.query("SELECT * FROM " + union + "ORDER BY " + column + direction + ", id" +
+                direction + " OFFSET ? ROWS FETCH FIRST ? ROWS ONLY", (rs, row) -> toSearchResult(rs), args.toArray());
+        return new PageImpl<>(loans, pageable, total);
+    }
+
+    private static String searchUnion(LoanSearchRequest criteria, List<Object> args) {
+        List<Object> archivedArgs = new ArrayList<>();
+        String hot = SEARCH_COLUMNS + "is_paid FROM loans " + searchConditions(criteria, true, args);
+        String archived = SEARCH_COLUMNS + "TRUE AS is_paid FROM loans_archive " + searchConditions(criteria, false, archivedArgs);
+        args.addAll(archivedArgs);
+        return "(" + hot + "UNION ALL " + archived + ") l ";
+    }
+
+    private static String searchConditions(LoanSearchRequest criteria, boolean hot, List<Object> args) {
+        List<String> conditions = new ArrayList<>();
+        addCondition(conditions, args, "customer_id = ?", criteria.getCustomerId());
+        if (hot) {
+            addCondition(conditions, args, "is_paid = ?", criteria.getIsPaid());
+        }
+        addCondition(conditions, args, "number_of_installments = ?", criteria.getNumberOfInstallments());
+        addCondition(conditions, args, "create_date >= ?",
+                criteria.getCreatedFrom() != null ? Date.valueOf(criteria.getCreatedFrom()) : null);
+        addCondition(conditions, args, "create_date <= ?",
+                criteria.getCreatedTo() != null ? Date.valueOf(criteria.getCreatedTo()) : null);
+        addCondition(conditions, args, "loan_amount >= ?", criteria.getMinAmount());
+        addCondition(conditions, args, "loan_amount <= ?", criteria.getMaxAmount());
+        addCondition(conditions, args, "interest_rate >= ?", criteria.getMinInterestRate());
+        addCondition(conditions, args, "interest_rate <= ?", criteria.getMaxInterestRate());
+        return conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+    }
+
+    private static void addCondition(List<String> conditions, List<Object> args, String condition, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            args.add(value);
+        }
+    }
+
+    public boolean contains(Long loanId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loans_archive WHERE id = ?", Integer.class, loanId) > 0;
+    }
+
+    // Full schedule of an archived loan, ordered by due date like the hot read paths.
+    public List<LoanInstallment> findSchedule(Loan loan) {
+        List<LoanInstallment> rows = InstallmentScheduleResolver.isPacked(loan)
+                ? List.of()
+                : jdbcTemplate.query(FIND_INSTALLMENTS, (rs, row) -> toInstallment(rs, loan), loan.getId());
+        return InstallmentScheduleResolver.resolve(loan, rows);
+    }
+
+    private static Loan toLoan(ResultSet rs) throws SQLException {
+        Customer customer = new Customer();
+        customer.setId(rs.getLong("customer_id"));
+
+        Loan loan = new Loan();
+        loan.setId(rs.getLong("id"));
+        loan.setCustomer(customer);
+        loan.setLoanAmount(rs.getBigDecimal("loan_amount"));
+        loan.setNumberOfInstallments(rs.getInt("number_of_installments"));
+        loan.setInterestRate(rs.getBigDecimal("interest_rate"));
+        loan.setCreateDate(rs.getDate("create_date").toLocalDate());
+        loan.setIsPaid(true);
+        loan.setPaidDate(rs.getDate("paid_date").toLocalDate());
+        loan.setLazySchedule(rs.getBoolean("lazy_schedule"));
+        loan.setPackedSchedule(rs.getBytes("packed_schedule"));
+        return loan;
+    }
+
+    // The columns of a loan response; the customer is a reference holding the id only.
+    private static Loan toSearchResult(ResultSet rs) throws SQLException {
+        Customer customer = new Customer();
+        customer.setId(rs.getLong("customer_id"));
+
+        Loan loan = new Loan();
+        loan.setId(rs.getLong("id"));
+        loan.setCustomer(customer);
+        loan.setLoanAmount(rs.getBigDecimal("loan_amount"));
+        loan.setNumberOfInstallments(rs.getInt("number_of_installments"));
+        loan.setInterestRate(rs.getBigDecimal("interest_rate"));
+        loan.setCreateDate(rs.getDate("create_date").toLocalDate());
+        loan.setIsPaid(rs.getBoolean("is_paid"));
+        return loan;
+    }
+
+    private static LoanInstallment toInstallment(ResultSet rs, Loan loan) throws SQLException {
+        Date paymentDate = rs.getDate("payment_date");
+
+        LoanInstallment installment = new LoanInstallment();
+        installment.setId(rs.getLong("id"));
+        installment.setLoan(loan);
+        installment.setAmount(rs.getBigDecimal("amount"));
+        installment.setInstallmentNumber(rs.getInt("installment_number"));
+        installment.setPaidAmount(rs.getBigDecimal("paid_amount"));
+        installment.setDueDate(rs.getDate("due_date").toLocalDate());
+        installment.setPaymentDate(paymentDate != null ? paymentDate.toLocalDate() : null);
+        installment.setIsPaid(rs.getBoolean("is_paid"));
+        installment.setLateFee(rs.getBigDecimal("late_fee"));
+        installment.setIsOverdue(rs.getBoolean("is_overdue"));
+        return installment;
+    }
+}
@@ -0,0 +1,203 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.dto.response.InstallmentResponse;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Immutable installment schedule of one loan held as parallel primitive arrays ordered by installment
+// number: dates as epoch days, money as cents, paid/overdue flags as bit words. A change to the loan
+// replaces the whole schedule, so readers never need a lock. The version holds the loan row version in its
+// high 32 bits and the installment rows plus their row versions in the low ones; every committed insert or
+// update of an installment, and every write of the loan row, raises it, so of two reads of a loan the later
+// one never has the lower version. Installments of a lazy schedule that have no row yet carry NO_ID.
+public final class LoanSchedule {
+
+    static final int NO_DATE = Integer.MIN_VALUE;
+    static final long NO_ID = 0;
+
+    private final long loanId;
+    private final long version;
+    private final long[] installmentIds;
+    private final int[] dueEpochDays;
+    private final int[] paymentEpochDays;
+    private final long[] amountCents;
+    private final long[] paidCents;
+    private final long[] lateFeeCents;
+    private final long[] paidBits;
+    private final long[] overdueBits;
+
+    private LoanSchedule(Builder builder) {
+        int size = builder.size;
+        this.loanId = builder.loanId;
+        this.version = builder.version;
+        this.installmentIds = Arrays.copyOf(builder.installmentIds, size);
+        this.dueEpochDays = Arrays.copyOf(builder.dueEpochDays, size);
+        this.paymentEpochDays = Arrays.copyOf(builder.paymentEpochDays, size);
+        this.amountCents = Arrays.copyOf(builder.amountCents, size);
+        this.paidCents = Arrays.copyOf(builder.paidCents, size);
+        this.lateFeeCents = Arrays.copyOf(builder.lateFeeCents, size);
+        this.paidBits = Arrays.copyOf(builder.paidBits, words(size));
+        this.overdueBits = Arrays.copyOf(builder.overdueBits, words(size));
+    }
+
+    public long getLoanId() {
+        return loanId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return installmentIds.length;
+    }
+
+    public boolean isPaid(int index) {
+        return (paidBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public boolean isOverdue(int index) {
+        return (overdueBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public List<InstallmentResponse> toResponses() {
+        List<InstallmentResponse> responses = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            responses.add(toResponse(i));
+        }
+        return responses;
+    }
+
+    // Index of the earliest unpaid installment, or -1 when the loan is fully paid.
+    public int nextDueIndex() {
+        int next = -1;
+        for (int i = 0; i < size(); i++) {
+            if (!isPaid(i) && (next < 0 || dueEpochDays[i] < dueEpochDays[next])) {
+                next = i;
+            }
+        }
+        return next;
+    }
+
+    // Unpaid installments due before the given date.
+    public List<InstallmentResponse> overdueAsOf(LocalDate date) {
+        long day = date.toEpochDay();
+        List<InstallmentResponse> overdue = new ArrayList<>();
+        for (int i = 0; i < size(); i++) {
+            if (!isPaid(i) && dueEpochDays[i] < day) {
+                overdue.add(toResponse(i));
+            }
+        }
+        return overdue;
+    }
+
+    public InstallmentResponse toResponse(int index) {
+        InstallmentResponse response = new InstallmentResponse();
+        response.setId(installmentIds[index] == NO_ID ? null : installmentIds[index]);
+        response.setLoanId(loanId);
+        response.setAmount(BigDecimal.valueOf(amountCents[index], 2));
+        response.setPaidAmount(BigDecimal.valueOf(paidCents[index], 2));
+        response.setDueDate(LocalDate.ofEpochDay(dueEpochDays[index]));
+        response.setPaymentDate(paymentEpochDays[index] == NO_DATE ? null : LocalDate.ofEpochDay(paymentEpochDays[index]));
+        response.setIsPaid(isPaid(index));
+        response.setLateFee(BigDecimal.valueOf(lateFeeCents[index], 2));
+        response.setIsOverdue(isOverdue(index));
+        return response;
+    }
+
+    // Approximate retained size with compressed oops: object header and fields plus every array.
+    public long estimatedBytes() {
+        return 48 + array(installmentIds.length, 8) + 2L * array(dueEpochDays.length, 4)
+                + 3L * array(amountCents.length, 8) + 2L * array(paidBits.length, 8);
+    }
+
+    private static long array(int length, int elementBytes) {
+        return (16 + (long) length * elementBytes + 7) & ~7L;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static final class Builder {
+        private final long loanId;
+        private long version;
+        private long[] installmentIds;
+        private int[] dueEpochDays;
+        private int[] paymentEpochDays;
+        private long[] amountCents;
+        private long[] paidCents;
+        private long[] lateFeeCents;
+        private long[] paidBits;
+        private long[] overdueBits;
+        private int size;
+
+        public Builder(long loanId, int expectedSize) {
+            int capacity = Math.max(1, expectedSize);
+            this.loanId = loanId;
+            this.installmentIds = new long[capacity];
+            this.dueEpochDays = new int[capacity];
+            this.paymentEpochDays = new int[capacity];
+            this.amountCents = new long[capacity];
+            this.paidCents = new long[capacity];
+            this.lateFeeCents = new long[capacity];
+            this.paidBits = new long[words(capacity)];
+            this.overdueBits = new long[words(capacity)];
+        }
+
+        public long getLoanId() {
+            return loanId;
+        }
+
+        public Builder version(long version) {
+            this.version = version;
+            return this;
+        }
+
+        public Builder add(long installmentId, LocalDate dueDate, BigDecimal amount, BigDecimal paidAmount,
+                           LocalDate paymentDate, boolean paid, BigDecimal lateFee, boolean overdue) {
+            if (size == installmentIds.length) {
+                grow();
+            }
+            installmentIds[size] = installmentId;
+            dueEpochDays[size] = (int) dueDate.toEpochDay();
+            paymentEpochDays[size] = paymentDate == null ? NO_DATE : (int) paymentDate.toEpochDay();
+            amountCents[size] = toCents(amount);
+            paidCents[size] = toCents(paidAmount);
+            lateFeeCents[size] = toCents(lateFee);
+            if (paid) {
+                paidBits[size >>> 6] |= 1L << size;
+            }
+            if (overdue) {
+                overdueBits[size >>> 6] |= 1L << size;
+            }
+            size++;
+            return this;
+        }
+
+        public LoanSchedule build() {
+            return new LoanSchedule(this);
+        }
+
+        private void grow() {
+            int capacity = installmentIds.length * 2;
+            installmentIds = Arrays.copyOf(installmentIds, capacity);
+            dueEpochDays = Arrays.copyOf(dueEpochDays, capacity);
+            paymentEpochDays = Arrays.copyOf(paymentEpochDays, capacity);
+            amountCents = Arrays.copyOf(amountCents, capacity);
+            paidCents = Arrays.copyOf(paidCents, capacity);
+            lateFeeCents = Arrays.copyOf(lateFeeCents, capacity);
+            paidBits = Arrays.copyOf(paidBits, words(capacity));
+            overdueBits = Arrays.copyOf(overdueBits, words(capacity));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Binary form of a loan's whole installment schedule, stored in loans.packed_schedule. Layout (big-endian):
+// a format version byte and an installment count (short), then one fixed-size record per installment in
+// installment-number order: due date and payment date as epoch days (payment date NO_DATE when unpaid),
+// amount, paid amount and late fee in cents, and a flag byte (bit 0 paid, bit 1 overdue). A new format gets a
+// new version number; decode keeps reading every version written before it.
+public final class PackedSchedule {
+
+    public static final byte FORMAT_VERSION = 1;
+
+    static final int HEADER_BYTES = 1 + 2;
+    static final int RECORD_BYTES = 4 + 4 + 8 + 8 + 8 + 1;
+
+    private static final int PAID = 1;
+    private static final int OVERDUE = 1 << 1;
+
+    private PackedSchedule() {
+    }
+
+    public static byte[] encode(List<LoanInstallment> installments) {
+        List<LoanInstallment> ordered = new ArrayList<>(installments);
+        ordered.sort(Comparator.comparing(LoanInstallment::getInstallmentNumber));
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + ordered.size() * RECORD_BYTES);
+        buffer.put(FORMAT_VERSION);
+        buffer.putShort((short) ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            LoanInstallment installment = ordered.get(i);
+            if (installment.getInstallmentNumber() != i + 1) {
+                throw new IllegalArgumentException("Installment numbers must run from 1 without gaps, found "
+                        + installment.getInstallmentNumber() + " at position " + (i + 1));
+            }
+            buffer.putInt((int) installment.getDueDate().toEpochDay());
+            buffer.putInt(installment.getPaymentDate() == null
+                    ? LoanSchedule.NO_DATE : (int) installment.getPaymentDate().toEpochDay());
+            buffer.putLong(LoanSchedule.toCents(installment.getAmount()));
+            buffer.putLong(LoanSchedule.toCents(installment.getPaidAmount()));
+            buffer.putLong(LoanSchedule.toCents(installment.getLateFee()));
+            buffer.put((byte) ((Boolean.TRUE.equals(installment.getIsPaid()) ? PAID : 0)
+                    | (Boolean.TRUE.equals(installment.getIsOverdue()) ? OVERDUE : 0)));
+        }
+        return buffer.array();
+    }
+
+    // Installments come back without ids: a packed installment has no row of its own.
+    public static List<LoanInstallment> decode(Loan loan, byte[] packed) {
+        ByteBuffer buffer = ByteBuffer.wrap(packed);
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unknown packed schedule format " + version + " on loan " + loan.getId());
+        }
+        int count = buffer.getShort();
+        if (buffer.remaining() != count * RECORD_BYTES) {
+            throw new IllegalStateException("Packed schedule of loan " + loan.getId() + " is truncated");
+        }
+
+        List<LoanInstallment> installments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LoanInstallment installment = new LoanInstallment();
+            installment.setLoan(loan);
+            installment.setInstallmentNumber(i + 1);
+            installment.setDueDate(LocalDate.ofEpochDay(buffer.getInt()));
+            int paymentDay = buffer.getInt();
+            installment.setPaymentDate(paymentDay == LoanSchedule.NO_DATE ? null : LocalDate.ofEpochDay(paymentDay));
+            installment.setAmount(BigDecimal.valueOf(buffer.getLong(), 2));
+            installment.setPaidAmount(BigDecimal.valueOf(buffer.getLong(), 2));
+            installment.setLateFee(BigDecimal.valueOf(buffer.getLong(), 2));
+            byte flags = buffer.get();
+            installment.setIsPaid((flags & PAID) != 0);
+            installment.setIsOverdue((flags & OVERDUE) != 0);
+            installments.add(installment);
+        }
+        return installments;
+    }
+}
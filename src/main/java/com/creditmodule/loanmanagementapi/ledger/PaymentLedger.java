@@ -0,0 +1,148 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Append-only payment history (payment_ledger) with cumulative per-loan snapshots (loan_balance_snapshots).
+// A payment appends one row per installment it settles, in one JDBC batch inside the payment transaction;
+// no row is ever updated. The nightly snapshot run folds each loan's new entries into a fresh snapshot, so a
+// balance is one snapshot plus at most a day of entries. Only entries of earlier days are folded in: a
+// payment transaction still open at snapshot time can hold an id below committed ones, and a snapshot's
+// last_entry_id must never pass over an entry that is not visible yet. Ids and payment dates need not be in
+// the same order (a payment can take its id before midnight and its date after), so a loan's entries are
+// folded by id, up to the first one dated on or after the snapshot day.
+@Component
+public class PaymentLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentLedger.class);
+
+    private static final String INSERT_ENTRY =
+            "INSERT INTO payment_ledger (loan_id, customer_id, installment_number, amount, payment_date, recorded_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String NEW_ENTRIES =
+            "SELECT e.loan_id, MAX(e.id) AS last_entry_id, MAX(e.payment_date) AS as_of_date, " +
+            "SUM(e.amount) AS paid, COUNT(*) AS installments FROM payment_ledger e " +
+            "WHERE e.loan_id BETWEEN ? AND ? AND e.id > COALESCE(" +
+            "(SELECT MAX(s.last_entry_id) FROM loan_balance_snapshots s WHERE s.loan_id = e.loan_id), 0) " +
+            "AND e.id < COALESCE((SELECT MIN(c.id) FROM payment_ledger c " +
+            "WHERE c.loan_id = e.loan_id AND c.payment_date >= ?), e.id + 1) " +
+            "GROUP BY e.loan_id";
+
+    private static final String LATEST_SNAPSHOTS =
+            "SELECT s.loan_id, s.paid_total, s.paid_installments FROM loan_balance_snapshots s " +
+            "WHERE s.loan_id BETWEEN ? AND ? AND s.last_entry_id = " +
+            "(SELECT MAX(l.last_entry_id) FROM loan_balance_snapshots l WHERE l.loan_id = s.loan_id)";
+
+    private static final String INSERT_SNAPSHOT =
+            "INSERT INTO loan_balance_snapshots (loan_id, last_entry_id, as_of_date, paid_total, paid_installments, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // One installment settled by a payment and the amount applied to it.
+    public record Application(int installmentNumber, BigDecimal amount) {
+    }
+
+    private record Totals(BigDecimal paid, int installments) {
+    }
+
+    private record NewEntries(long loanId, long lastEntryId, Date asOfDate, Totals totals) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int snapshotChunkSize;
+
+    public PaymentLedger(JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${payments.ledger.enabled:true}") boolean enabled,
+                         @Value("${payments.ledger.snapshot-chunk-size:10000}") int snapshotChunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.snapshotChunkSize = Math.max(1, snapshotChunkSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Joins the caller's transaction, so the entries commit or roll back with the payment.
+    public void record(Loan loan, List<Application> applications, LocalDate paymentDate) {
+        if (!enabled || applications.isEmpty()) {
+            return;
+        }
+        Timestamp recordedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, applications, applications.size(), (ps, application) -> {
+            ps.setLong(1, loan.getId());
+            ps.setLong(2, loan.getCustomer().getId());
+            ps.setInt(3, application.installmentNumber());
+            ps.setBigDecimal(4, application.amount());
+            ps.setDate(5, Date.valueOf(paymentDate));
+            ps.setTimestamp(6, recordedAt);
+        });
+        logger.debug("Recorded {} payment ledger entries for loan {}", applications.size(), loan.getId());
+    }
+
+    // Snapshots every loan with entries dated before the given day, in loan id ranges, one transaction each.
+    public long snapshot(LocalDate before) {
+        Map<String, Object> range = jdbcTemplate.queryForMap("SELECT MIN(loan_id) AS low, MAX(loan_id) AS high FROM payment_ledger");
+        if (range.get("low") == null) {
+            return 0;
+        }
+        long low = ((Number) range.get("low")).longValue();
+        long high = ((Number) range.get("high")).longValue();
+
+        long written = 0;
+        for (long from = low; from <= high; from += snapshotChunkSize) {
+            long to = Math.min(high, from + snapshotChunkSize - 1);
+            long first = from;
+            written += transactionTemplate.execute(status -> snapshotRange(first, to, before));
+        }
+        logger.debug("Wrote {} loan balance snapshots covering entries before {}", written, before);
+        return written;
+    }
+
+    private int snapshotRange(long fromLoanId, long toLoanId, LocalDate before) {
+        List<NewEntries> snapshots = new ArrayList<>();
+        jdbcTemplate.query(NEW_ENTRIES, rs -> {
+            snapshots.add(new NewEntries(rs.getLong("loan_id"), rs.getLong("last_entry_id"), rs.getDate("as_of_date"),
+                    new Totals(rs.getBigDecimal("paid"), rs.getInt("installments"))));
+        }, fromLoanId, toLoanId, Date.valueOf(before));
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Totals> previous = new HashMap<>();
+        jdbcTemplate.query(LATEST_SNAPSHOTS, rs -> {
+            previous.put(rs.getLong("loan_id"), new Totals(rs.getBigDecimal("paid_total"), rs.getInt("paid_installments")));
+        }, fromLoanId, toLoanId);
+
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, snapshots, snapshots.size(), (ps, entries) -> {
+            Totals base = previous.getOrDefault(entries.loanId(), new Totals(BigDecimal.ZERO, 0));
+            ps.setLong(1, entries.loanId());
+            ps.setLong(2, entries.lastEntryId());
+            ps.setDate(3, entries.asOfDate());
+            ps.setBigDecimal(4, base.paid().add(entries.totals().paid()));
+            ps.setInt(5, base.installments() + entries.totals().installments());
+            ps.setTimestamp(6, createdAt);
+        });
+        return snapshots.size();
+    }
+}
@@ -15,6 +15,8 @@ public class InstallmentMapper {
         response.setDueDate(installment.getDueDate());
         response.setPaymentDate(installment.getPaymentDate());
         response.setIsPaid(installment.getIsPaid());
+        response.setLateFee(installment.getLateFee());
+        response.setIsOverdue(installment.getIsOverdue());
         return response;
     }
 }
@@ -0,0 +1,93 @@
+package com.creditmodule.loanmanagementapi.reactive;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// HTTP basic authentication for the reactive read server against the same users as SecurityConfig. The
+// servlet filter chain does not run on this server, so the two role rules it needs are applied here.
+public class ReactiveBasicAuth {
+
+    private static final String USER_ATTRIBUTE = ReactiveBasicAuth.class.getName() + ".user";
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final UserDetailsService userDetailsService;
+    private final PasswordEncoder passwordEncoder;
+
+    public ReactiveBasicAuth(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+        this.userDetailsService = userDetailsService;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    // ADMIN and CUSTOMER may read, as on the servlet API.
+    public HandlerFilterFunction<ServerResponse, ServerResponse> authenticated() {
+        return (request, next) -> {
+            UserDetails user = authenticate(request.headers().firstHeader(HttpHeaders.AUTHORIZATION));
+            if (user == null) {
+                return ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                        .header(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"Realm\"")
+                        .build();
+            }
+            if (!hasRole(user, "ADMIN") && !hasRole(user, "CUSTOMER")) {
+                return ServerResponse.status(HttpStatus.FORBIDDEN).build();
+            }
+            request.attributes().put(USER_ATTRIBUTE, user);
+            return next.handle(request);
+        };
+    }
+
+    public HandlerFilterFunction<ServerResponse, ServerResponse> hasRole(String role) {
+        return (request, next) -> {
+            Object user = request.attributes().get(USER_ATTRIBUTE);
+            if (user instanceof UserDetails userDetails && hasRole(userDetails, role)) {
+                return next.handle(request);
+            }
+            return ServerResponse.status(HttpStatus.FORBIDDEN).build();
+        };
+    }
+
+    // The in-memory user store answers without I/O, so looking users up on the event loop is fine.
+    private UserDetails authenticate(String header) {
+        if (header == null || !header.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            return null;
+        }
+        String credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(header.substring(BASIC_PREFIX.length()).trim()),
+                    StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int separator = credentials.indexOf(':');
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            UserDetails user = userDetailsService.loadUserByUsername(credentials.substring(0, separator));
+            boolean valid = user.isEnabled() && user.isAccountNonLocked()
+                    && passwordEncoder.matches(credentials.substring(separator + 1), user.getPassword());
+            return valid ? user : null;
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static boolean hasRole(UserDetails user, String role) {
+        String authority = "ROLE_" + role;
+        for (GrantedAuthority granted : user.getAuthorities()) {
+            if (authority.equals(granted.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
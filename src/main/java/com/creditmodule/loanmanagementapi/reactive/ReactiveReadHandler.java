@@ -0,0 +1,284 @@
+package com.creditmodule.loanmanagementapi.reactive;
+
+import com.creditmodule.loanmanagementapi.dto.response.InstallmentResponse;
+import com.creditmodule.loanmanagementapi.dto.response.LoanResponse;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.exception.ErrorResponse;
+import com.creditmodule.loanmanagementapi.ledger.InstallmentScheduleResolver;
+import com.creditmodule.loanmanagementapi.ledger.LoanArchive;
+import com.creditmodule.loanmanagementapi.mapper.InstallmentMapper;
+import com.creditmodule.loanmanagementapi.mapper.LoanMapper;
+import io.r2dbc.spi.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Reactive counterparts of the read endpoints of LoanController and InstallmentController. Responses use the
+// same DTOs and error bodies; rows are mapped straight from R2DBC without going through JPA. Like the servlet
+// endpoints, loan details and installment lists fall back to LoanArchive when the hot tables miss; its reads are
+// blocking JDBC, so they run on the bounded elastic scheduler instead of an event-loop thread. While loans without
+// installment rows can exist (lazy or packed schedules), installment lists read the loan row with its rows and
+// resolve the rest of the schedule through InstallmentScheduleResolver, as the servlet reads do.
+public class ReactiveReadHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReadHandler.class);
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final String LOAN_COLUMNS =
+            "SELECT id, customer_id, loan_amount, number_of_installments, interest_rate, create_date, is_paid FROM loans ";
+
+    // Archived loans are all paid; their rows are never written again, so they are read here like the hot ones.
+    private static final String CUSTOMER_LOANS = LOAN_COLUMNS + "WHERE customer_id = :customerId UNION ALL " +
+            "SELECT id, customer_id, loan_amount, number_of_installments, interest_rate, create_date, TRUE AS is_paid " +
+            "FROM loans_archive WHERE customer_id = :customerId ORDER BY id";
+
+    private static final String INSTALLMENT_COLUMNS =
+            "SELECT id, loan_id, amount, paid_amount, due_date, payment_date, is_paid, late_fee, is_overdue " +
+            "FROM loan_installments ";
+
+    // One row per installment row of the loan, or a single row with null installment columns when it has none.
+    private static final String SCHEDULE_ROWS =
+            "SELECT l.id AS loan_id, l.loan_amount, l.number_of_installments, l.create_date, l.lazy_schedule, " +
+            "l.packed_schedule, li.id, li.installment_number, li.amount, li.paid_amount, li.due_date, li.payment_date, li.is_paid, " +
+            "li.late_fee, li.is_overdue FROM loans l LEFT JOIN loan_installments li ON li.loan_id = l.id ";
+
+    // Rows first on equal due dates, then installments without a row by loan; the sort is stable, so those keep
+    // the schedule order they are emitted in.
+    private static final Comparator<InstallmentResponse> PORTFOLIO_ORDER = Comparator
+            .comparing(InstallmentResponse::getDueDate)
+            .thenComparing(InstallmentResponse::getId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(InstallmentResponse::getLoanId);
+
+    private final DatabaseClient databaseClient;
+    private final LoanArchive loanArchive;
+    private final boolean schedulesWithoutRows;
+
+    public ReactiveReadHandler(DatabaseClient databaseClient, LoanArchive loanArchive, boolean schedulesWithoutRows) {
+        this.databaseClient = databaseClient;
+        this.loanArchive = loanArchive;
+        this.schedulesWithoutRows = schedulesWithoutRows;
+    }
+
+    public Mono<ServerResponse> getLoanDetails(ServerRequest request) {
+        Long loanId = pathId(request, "loanId");
+        logger.debug("Reactive read of loan details for loan ID: {}", loanId);
+        return databaseClient.sql(LOAN_COLUMNS + "WHERE id = :loanId")
+                .bind("loanId", loanId)
+                .map((row, metadata) -> toLoanResponse(row))
+                .one()
+                .switchIfEmpty(Mono.defer(() -> archivedLoan(loanId)))
+                .flatMap(loan -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(loan))
+                .switchIfEmpty(Mono.defer(() -> error(HttpStatus.NOT_FOUND, "Loan not found with ID: " + loanId)));
+    }
+
+    public Mono<ServerResponse> getLoansByCustomer(ServerRequest request) {
+        Long customerId = pathId(request, "customerId");
+        logger.debug("Reactive read of loans for customer ID: {}", customerId);
+        return databaseClient.sql(CUSTOMER_LOANS)
+                .bind("customerId", customerId)
+                .map((row, metadata) -> toLoanResponse(row))
+                .all()
+                .collectList()
+                .flatMap(loans -> loans.isEmpty()
+                        ? error(HttpStatus.NOT_FOUND, "No loans found for customer ID: " + customerId)
+                        : ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(loans));
+    }
+
+    public Mono<ServerResponse> getInstallmentsByLoan(ServerRequest request) {
+        Long loanId = pathId(request, "loanId");
+        logger.debug("Reactive read of installments for loan ID: {}", loanId);
+        Flux<InstallmentResponse> installments = schedulesWithoutRows
+                ? schedule(loanId)
+                        .flatMapIterable(schedule -> schedule)
+                        .map(InstallmentMapper::toResponse)
+                        .switchIfEmpty(Flux.defer(() -> archivedInstallments(loanId)))
+                : databaseClient
+                        .sql(INSTALLMENT_COLUMNS + "WHERE loan_id = :loanId ORDER BY due_date")
+                        .bind("loanId", loanId)
+                        .map((row, metadata) -> toInstallmentResponse(row))
+                        .all()
+                        .switchIfEmpty(Flux.defer(() -> archivedInstallments(loanId)));
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(installments, InstallmentResponse.class);
+    }
+
+    public Mono<ServerResponse> getOverdueInstallments(ServerRequest request) {
+        Long loanId = pathId(request, "loanId");
+        LocalDate today = LocalDate.now();
+        logger.debug("Reactive read of overdue installments for loan ID: {} as of date: {}", loanId, today);
+        Flux<InstallmentResponse> installments = schedulesWithoutRows
+                ? schedule(loanId)
+                        .flatMapIterable(schedule -> schedule)
+                        .filter(installment -> !installment.getIsPaid() && installment.getDueDate().isBefore(today))
+                        .map(InstallmentMapper::toResponse)
+                : databaseClient
+                        .sql(INSTALLMENT_COLUMNS + "WHERE loan_id = :loanId AND is_paid = FALSE AND due_date < :today ORDER BY due_date")
+                        .bind("loanId", loanId)
+                        .bind("today", today)
+                        .map((row, metadata) -> toInstallmentResponse(row))
+                        .all();
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(installments, InstallmentResponse.class);
+    }
+
+    // Returns the page content only; counting the whole overdue set per page is what the reactive path avoids.
+    public Mono<ServerResponse> getPortfolioOverdueInstallments(ServerRequest request) {
+        int page = Math.max(intParam(request, "page", 0), 0);
+        int size = Math.min(Math.max(intParam(request, "size", 50), 1), MAX_PAGE_SIZE);
+        LocalDate today = LocalDate.now();
+        logger.debug("Reactive read of portfolio overdue installments as of {}: page {}, size {}", today, page, size);
+        Flux<InstallmentResponse> installments = schedulesWithoutRows
+                ? mergedOverduePage(today, page, size)
+                : databaseClient
+                        .sql(INSTALLMENT_COLUMNS + "WHERE is_paid = FALSE AND due_date < :today ORDER BY due_date, id " +
+                                "LIMIT :limit OFFSET :offset")
+                        .bind("today", today)
+                        .bind("limit", size)
+                        .bind("offset", (long) page * size)
+                        .map((row, metadata) -> toInstallmentResponse(row))
+                        .all();
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(installments, InstallmentResponse.class);
+    }
+
+    // Installments of lazy loans have no row until they are paid or marked overdue, and packed loans (lazy as well)
+    // have none, so every overdue row up to the end of the page is merged with the overdue installments of the
+    // unpaid lazy loans that have no row.
+    private Flux<InstallmentResponse> mergedOverduePage(LocalDate today, int page, int size) {
+        Flux<InstallmentResponse> rows = databaseClient
+                .sql(INSTALLMENT_COLUMNS + "WHERE is_paid = FALSE AND due_date < :today ORDER BY due_date, id LIMIT :limit")
+                .bind("today", today)
+                .bind("limit", (long) (page + 1) * size)
+                .map((row, metadata) -> toInstallmentResponse(row))
+                .all();
+        Flux<InstallmentResponse> withoutRows = databaseClient
+                .sql(SCHEDULE_ROWS + "WHERE l.lazy_schedule = TRUE AND l.is_paid = FALSE ORDER BY l.id, li.installment_number")
+                .map((row, metadata) -> toScheduleRow(row))
+                .all()
+                .bufferUntilChanged(installment -> installment.getLoan().getId())
+                .flatMapIterable(ReactiveReadHandler::resolved)
+                .filter(installment -> installment.getId() == null && !installment.getIsPaid()
+                        && installment.getDueDate().isBefore(today))
+                .map(InstallmentMapper::toResponse);
+        return Flux.concat(rows, withoutRows)
+                .collectSortedList(PORTFOLIO_ORDER)
+                .flatMapIterable(merged -> merged)
+                .skip((long) page * size)
+                .take(size);
+    }
+
+    // The full schedule of the loan, or nothing when the loan row is missing.
+    private Mono<List<LoanInstallment>> schedule(Long loanId) {
+        return databaseClient
+                .sql(SCHEDULE_ROWS + "WHERE l.id = :loanId ORDER BY li.due_date, li.installment_number")
+                .bind("loanId", loanId)
+                .map((row, metadata) -> toScheduleRow(row))
+                .all()
+                .collectList()
+                .filter(joined -> !joined.isEmpty())
+                .map(ReactiveReadHandler::resolved);
+    }
+
+    private static List<LoanInstallment> resolved(List<LoanInstallment> joined) {
+        Loan loan = joined.get(0).getLoan();
+        List<LoanInstallment> rows = joined.stream()
+                .filter(installment -> installment.getId() != null)
+                .collect(Collectors.toList());
+        return InstallmentScheduleResolver.isLazy(loan) ? InstallmentScheduleResolver.resolve(loan, rows) : rows;
+    }
+
+    private Mono<LoanResponse> archivedLoan(Long loanId) {
+        return Mono.fromCallable(() -> loanArchive.findLoan(loanId).map(LoanMapper::toResponse).orElse(null))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Without lazy schedules every loan in the hot tables has installment rows, so an empty result is the only case
+    // that needs the archive; with them, a missing loan row is.
+    private Flux<InstallmentResponse> archivedInstallments(Long loanId) {
+        return Mono.fromCallable(() -> loanArchive.findLoan(loanId).map(loanArchive::findSchedule).orElse(List.of()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(installments -> installments)
+                .map(InstallmentMapper::toResponse);
+    }
+
+    static Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(LocalDateTime.now(), status.value(), message));
+    }
+
+    private static Long pathId(ServerRequest request, String name) {
+        try {
+            return Long.valueOf(request.pathVariable(name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+    }
+
+    private static LoanResponse toLoanResponse(Row row) {
+        LoanResponse response = new LoanResponse();
+        response.setId(row.get("id", Long.class));
+        response.setCustomerId(row.get("customer_id", Long.class));
+        response.setLoanAmount(row.get("loan_amount", BigDecimal.class));
+        response.setNumberOfInstallment(row.get("number_of_installments", Integer.class));
+        response.setInterestRate(row.get("interest_rate", BigDecimal.class));
+        response.setCreateDate(row.get("create_date", LocalDate.class));
+        response.setIsPaid(row.get("is_paid", Boolean.class));
+        return response;
+    }
+
+    // An installment of SCHEDULE_ROWS with its loan; the id is null when the loan has no installment rows.
+    private static LoanInstallment toScheduleRow(Row row) {
+        Loan loan = new Loan();
+        loan.setId(row.get("loan_id", Long.class));
+        loan.setLoanAmount(row.get("loan_amount", BigDecimal.class));
+        loan.setNumberOfInstallments(row.get("number_of_installments", Integer.class));
+        loan.setCreateDate(row.get("create_date", LocalDate.class));
+        loan.setLazySchedule(row.get("lazy_schedule", Boolean.class));
+        loan.setPackedSchedule(row.get("packed_schedule", byte[].class));
+
+        LoanInstallment installment = new LoanInstallment();
+        installment.setLoan(loan);
+        installment.setId(row.get("id", Long.class));
+        installment.setInstallmentNumber(row.get("installment_number", Integer.class));
+        installment.setAmount(row.get("amount", BigDecimal.class));
+        installment.setPaidAmount(row.get("paid_amount", BigDecimal.class));
+        installment.setDueDate(row.get("due_date", LocalDate.class));
+        installment.setPaymentDate(row.get("payment_date", LocalDate.class));
+        installment.setIsPaid(row.get("is_paid", Boolean.class));
+        installment.setLateFee(row.get("late_fee", BigDecimal.class));
+        installment.setIsOverdue(row.get("is_overdue", Boolean.class));
+        return installment;
+    }
+
+    private static InstallmentResponse toInstallmentResponse(Row row) {
+        InstallmentResponse response = new InstallmentResponse();
+        response.setId(row.get("id", Long.class));
+        response.setLoanId(row.get("loan_id", Long.class));
+        response.setAmount(row.get("amount", BigDecimal.class));
+        response.setPaidAmount(row.get("paid_amount", BigDecimal.class));
+        response.setDueDate(row.get("due_date", LocalDate.class));
+        response.setPaymentDate(row.get("payment_date", LocalDate.class));
+        response.setIsPaid(row.get("is_paid", Boolean.class));
+        response.setLateFee(row.get("late_fee", BigDecimal.class));
+        response.setIsOverdue(row.get("is_overdue", Boolean.class));
+        return response;
+    }
+}
@@ -0,0 +1,148 @@
+package com.creditmodule.loanmanagementapi.reactive;
+
+import com.creditmodule.loanmanagementapi.ledger.InstallmentScheduleResolver;
+import com.creditmodule.loanmanagementapi.ledger.LoanArchive;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+// Serves the read endpoints of LoanController and InstallmentController with WebFlux functional routes on
+// Reactor Netty and R2DBC, on its own port next to the servlet API (profile "reactive"). Requests run on a
+// fixed number of event-loop threads instead of one Tomcat thread each. The R2DBC pool is kept out of the
+// application context so JPA stays the only transactional resource there.
+@Component
+@Profile("reactive")
+@Lazy(false)
+public class ReactiveReadServer implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReadServer.class);
+
+    private final ObjectMapper objectMapper;
+    private final UserDetailsService userDetailsService;
+    private final LoanArchive loanArchive;
+    private final InstallmentScheduleResolver scheduleResolver;
+    private final String host;
+    private final int port;
+    private final int eventLoopThreads;
+    private final ConnectionPool connectionPool;
+    private LoopResources loopResources;
+    private DisposableServer server;
+
+    public ReactiveReadServer(ObjectMapper objectMapper,
+                              UserDetailsService userDetailsService,
+                              LoanArchive loanArchive,
+                              InstallmentScheduleResolver scheduleResolver,
+                              @Value("${reactive.server.host:0.0.0.0}") String host,
+                              @Value("${reactive.server.port:8081}") int port,
+                              @Value("${reactive.server.event-loop-threads:0}") int eventLoopThreads,
+                              @Value("${reactive.r2dbc.url:r2dbc:h2:mem:///loandb}") String url,
+                              @Value("${reactive.r2dbc.username:${spring.datasource.username:sa}}") String username,
+                              @Value("${reactive.r2dbc.password:${spring.datasource.password:}}") String password,
+                              @Value("${reactive.r2dbc.pool.initial-size:4}") int initialPoolSize,
+                              @Value("${reactive.r2dbc.pool.max-size:16}") int maxPoolSize) {
+        this.objectMapper = objectMapper;
+        this.userDetailsService = userDetailsService;
+        this.loanArchive = loanArchive;
+        this.scheduleResolver = scheduleResolver;
+        this.host = host;
+        this.port = port;
+        this.eventLoopThreads = eventLoopThreads > 0 ? eventLoopThreads : Runtime.getRuntime().availableProcessors();
+
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(Math.max(0, initialPoolSize))
+                .maxSize(Math.max(1, maxPoolSize))
+                .maxIdleTime(Duration.ofMinutes(30))
+                .build());
+    }
+
+    // Started once the servlet application is ready, so Flyway has created the schema the routes read.
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(routes(), strategies);
+
+        loopResources = LoopResources.create("reactive-read", eventLoopThreads, true);
+        server = HttpServer.create()
+                .host(host)
+                .port(port)
+                .runOn(loopResources)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        logger.info("Reactive read server listening on port {} with {} event-loop threads", getPort(), eventLoopThreads);
+    }
+
+    RouterFunction<ServerResponse> routes() {
+        ReactiveReadHandler handler = new ReactiveReadHandler(DatabaseClient.create(connectionPool), loanArchive,
+                scheduleResolver.isEnabled());
+        ReactiveBasicAuth auth = new ReactiveBasicAuth(userDetailsService,
+                PasswordEncoderFactories.createDelegatingPasswordEncoder());
+
+        RouterFunction<ServerResponse> adminRoutes = RouterFunctions.route()
+                .GET("/api/installments/overdue", handler::getPortfolioOverdueInstallments)
+                .filter(auth.hasRole("ADMIN"))
+                .build();
+
+        return RouterFunctions.route()
+                .GET("/api/loans/{loanId}", handler::getLoanDetails)
+                .GET("/api/loans/customer/{customerId}", handler::getLoansByCustomer)
+                .GET("/api/installments/loan/{loanId}", handler::getInstallmentsByLoan)
+                .GET("/api/installments/loan/{loanId}/overdue", handler::getOverdueInstallments)
+                .add(adminRoutes)
+                .onError(IllegalArgumentException.class, (error, request) ->
+                        ReactiveReadHandler.error(HttpStatus.BAD_REQUEST, "Invalid input: " + error.getMessage()))
+                .filter(auth.authenticated())
+                .build();
+    }
+
+    public int getPort() {
+        return server == null ? port : server.port();
+    }
+
+    @Override
+    public void destroy() {
+        if (server != null) {
+            server.disposeNow();
+        }
+        if (loopResources != null) {
+            loopResources.disposeLater().block(Duration.ofSeconds(10));
+        }
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,30 @@
+package com.creditmodule.loanmanagementapi.repository;
+
+import com.creditmodule.loanmanagementapi.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, Long> {
+
+    List<JobCheckpoint> findByJobNameAndRunDateAndPartitionCountOrderByPartitionIndexAsc(
+            String jobName, LocalDate runDate, Integer partitionCount);
+
+    @Modifying
+    @Query("UPDATE JobCheckpoint jc SET jc.completed = true, jc.updatedAt = :now WHERE jc.jobName = :jobName " +
+            "AND jc.runDate = :runDate AND jc.partitionCount <> :partitionCount AND jc.completed = false")
+    int closeOtherLayouts(@Param("jobName") String jobName,
+                          @Param("runDate") LocalDate runDate,
+                          @Param("partitionCount") Integer partitionCount,
+                          @Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT jc.runDate FROM JobCheckpoint jc WHERE jc.jobName = :jobName AND jc.completed = false ORDER BY jc.runDate ASC")
+    List<LocalDate> findIncompleteRunDates(@Param("jobName") String jobName);
+}
@@ -1,12 +1,15 @@
 package com.creditmodule.loanmanagementapi.repository;
 
 import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,13 +19,34 @@ public interface LoanInstallmentRepository extends JpaRepository<LoanInstallment
     @Query("SELECT li FROM LoanInstallment li WHERE li.loan.id = :loanId ORDER BY li.dueDate ASC")
     List<LoanInstallment> findByLoanIdOrderByDueDate(@Param("loanId") Long loanId);
 
+    @Query("SELECT li FROM LoanInstallment li WHERE li.loan.id IN :loanIds")
+    List<LoanInstallment> findByLoanIdIn(@Param("loanIds") Collection<Long> loanIds);
+
     @Query("SELECT li FROM LoanInstallment li WHERE li.loan.id = :loanId AND li.isPaid = false ORDER BY li.dueDate ASC")
     Optional<LoanInstallment> findFirstByLoanIdAndIsPaidFalseOrderByDueDateAsc(@Param("loanId") Long loanId);
 
-    @Query("SELECT li FROM LoanInstallment li WHERE li.loan.id = :loanId AND li.isPaid = false AND li.dueDate < :date")
-    List<LoanInstallment> findByLoanIdAndIsPaidFalseAndDueDateBefore(@Param("date") LocalDate date);
+    @Query("SELECT li FROM LoanInstallment li WHERE li.loan.id = :loanId AND li.isPaid = false AND li.dueDate < :date " +
+            "ORDER BY li.dueDate ASC")
+    List<LoanInstallment> findByLoanIdAndIsPaidFalseAndDueDateBefore(@Param("loanId") Long loanId,
+                                                                     @Param("date") LocalDate date);
+
+    @Query(value = "SELECT li FROM LoanInstallment li WHERE li.isPaid = false AND li.dueDate < :date",
+            countQuery = "SELECT COUNT(li) FROM LoanInstallment li WHERE li.isPaid = false AND li.dueDate < :date")
+    Page<LoanInstallment> findOverdue(@Param("date") LocalDate date, Pageable pageable);
 
     @Query("SELECT li FROM LoanInstallment li WHERE li.loan.id = :loanId AND li.isPaid = false ORDER BY li.dueDate ASC")
     List<LoanInstallment> findByLoanIdAndIsPaidFalseOrderByDueDateAsc(@Param("loanId") Long loanId);
-}
 
+    @Query("SELECT li FROM LoanInstallment li WHERE li.isPaid = false AND li.isOverdue = false AND li.dueDate < :date " +
+            "AND li.id BETWEEN :fromId AND :toId ORDER BY li.id ASC")
+    List<LoanInstallment> findOverdueChunk(@Param("date") LocalDate date,
+                                           @Param("fromId") Long fromId,
+                                           @Param("toId") Long toId,
+                                           Pageable pageable);
+
+    @Query("SELECT MIN(li.id) FROM LoanInstallment li WHERE li.isPaid = false AND li.isOverdue = false AND li.dueDate < :date")
+    Long findFirstOverdueId(@Param("date") LocalDate date);
+
+    @Query("SELECT MAX(li.id) FROM LoanInstallment li WHERE li.isPaid = false AND li.isOverdue = false AND li.dueDate < :date")
+    Long findLastOverdueId(@Param("date") LocalDate date);
+}
\ No newline at end of file
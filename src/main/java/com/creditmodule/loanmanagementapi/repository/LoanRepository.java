@@ -1,19 +1,38 @@
 package com.creditmodule.loanmanagementapi.repository;
 
+import com.creditmodule.loanmanagementapi.config.SecondLevelCacheConfig;
 import com.creditmodule.loanmanagementapi.entity.Loan;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface LoanRepository extends JpaRepository<Loan, Long> {
+public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificationExecutor<Loan> {
+
+    // Cached per customer id; any write to the loans table through JPA invalidates the cached results.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.LOANS_BY_CUSTOMER_REGION)
+    })
     List<Loan> findByCustomerId(Long customerId);
-    
-    @Query("SELECT l FROM Loan l WHERE l.customer.id = :customerId AND (:isPaid IS NULL OR l.isPaid = :isPaid) AND (:numberOfInstallments IS NULL OR l.numberOfInstallments = :numberOfInstallments)")
-    List<Loan> findByCustomerIdWithFilters(@Param("customerId") Long customerId, 
-                                         @Param("isPaid") Boolean isPaid, 
-                                         @Param("numberOfInstallments") Integer numberOfInstallments);
-}
\ No newline at end of file
+
+    @Query("SELECT l FROM Loan l WHERE l.lazySchedule = true AND l.packedSchedule IS NULL ORDER BY l.id ASC")
+    List<Loan> findDerivedScheduleChunk(Pageable pageable);
+
+    @Query("SELECT l FROM Loan l WHERE l.packedSchedule IS NOT NULL ORDER BY l.id ASC")
+    List<Loan> findPackedScheduleChunk(Pageable pageable);
+
+    @Query("SELECT l FROM Loan l WHERE l.packedSchedule IS NULL ORDER BY l.id ASC")
+    List<Loan> findRowScheduleChunk(Pageable pageable);
+
+    @Query("SELECT l FROM Loan l WHERE l.lazySchedule = true AND l.isPaid = false AND l.id > :afterId ORDER BY l.id ASC")
+    List<Loan> findUnpaidLazyScheduleChunk(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -0,0 +1,51 @@
+package com.creditmodule.loanmanagementapi.repository;
+
+import com.creditmodule.loanmanagementapi.dto.request.LoanSearchRequest;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds the loan search WHERE clause from the supplied criteria only, so the database sees a plain
+// conjunction it can match against an index instead of "(:x IS NULL OR column = :x)" branches.
+public final class LoanSpecifications {
+
+    private LoanSpecifications() {
+    }
+
+    public static Specification<Loan> matching(LoanSearchRequest criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getCustomerId() != null) {
+                predicates.add(cb.equal(root.get("customer").get("id"), criteria.getCustomerId()));
+            }
+            if (criteria.getIsPaid() != null) {
+                predicates.add(cb.equal(root.get("isPaid"), criteria.getIsPaid()));
+            }
+            if (criteria.getNumberOfInstallments() != null) {
+                predicates.add(cb.equal(root.get("numberOfInstallments"), criteria.getNumberOfInstallments()));
+            }
+            if (criteria.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createDate"), criteria.getCreatedFrom()));
+            }
+            if (criteria.getCreatedTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createDate"), criteria.getCreatedTo()));
+            }
+            if (criteria.getMinAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("loanAmount"), criteria.getMinAmount()));
+            }
+            if (criteria.getMaxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("loanAmount"), criteria.getMaxAmount()));
+            }
+            if (criteria.getMinInterestRate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("interestRate"), criteria.getMinInterestRate()));
+            }
+            if (criteria.getMaxInterestRate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("interestRate"), criteria.getMaxInterestRate()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,186 @@
+package com.creditmodule.loanmanagementapi.scheduler;
+
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel over integer ticks. Level L has 2^bits slots, each covering 2^(bits*L) ticks.
+// A timer sits on the lowest level whose higher digits match the current tick, in the slot of its own
+// digit on that level; when the current tick reaches that slot the timer is re-placed one level lower
+// (cascading), until it expires from level 0 exactly on its deadline. Scheduling and cancelling are O(1);
+// each timer is moved at most once per level. Deadlines beyond the top level wait in an overflow list.
+// Not thread-safe: callers serialize access.
+public class HierarchicalTimingWheel<T> {
+
+    public static final class Timer<T> {
+        private final long deadline;
+        private final T task;
+        private Bucket<T> bucket;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(long deadline, T task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public T getTask() {
+            return task;
+        }
+
+        public boolean isPending() {
+            return bucket != null;
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timer<T> head;
+
+        private void add(Timer<T> timer) {
+            timer.bucket = this;
+            timer.prev = null;
+            timer.next = head;
+            if (head != null) {
+                head.prev = timer;
+            }
+            head = timer;
+        }
+
+        private void remove(Timer<T> timer) {
+            if (timer.prev != null) {
+                timer.prev.next = timer.next;
+            } else {
+                head = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.prev = timer.prev;
+            }
+            timer.bucket = null;
+            timer.prev = null;
+            timer.next = null;
+        }
+
+        // Detaches and returns the whole list; the timers keep their next links for iteration.
+        private Timer<T> takeAll() {
+            Timer<T> first = head;
+            head = null;
+            for (Timer<T> t = first; t != null; t = t.next) {
+                t.bucket = null;
+            }
+            return first;
+        }
+    }
+
+    private final int bits;
+    private final int levels;
+    private final long slotMask;
+    private final Bucket<T>[][] wheels;
+    private final Bucket<T> expired = new Bucket<>();
+    private final Bucket<T> overflow = new Bucket<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long startTick, int bits, int levels) {
+        if (bits < 1 || levels < 1 || bits * levels > 62) {
+            throw new IllegalArgumentException("Unsupported wheel shape: " + levels + " levels of 2^" + bits + " slots");
+        }
+        this.bits = bits;
+        this.levels = levels;
+        this.slotMask = (1L << bits) - 1;
+        this.wheels = new Bucket[levels][1 << bits];
+        for (Bucket<T>[] wheel : wheels) {
+            for (int slot = 0; slot < wheel.length; slot++) {
+                wheel[slot] = new Bucket<>();
+            }
+        }
+        this.currentTick = startTick;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // A deadline at or before the current tick expires on the next advance.
+    public Timer<T> schedule(long deadline, T task) {
+        Timer<T> timer = new Timer<>(deadline, task);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    public boolean cancel(Timer<T> timer) {
+        if (timer == null || timer.bucket == null) {
+            return false;
+        }
+        timer.bucket.remove(timer);
+        size--;
+        return true;
+    }
+
+    // Moves the wheel forward to targetTick, handing every timer whose deadline has been reached to
+    // the consumer in deadline order (timers of the same tick in no particular order).
+    public void advanceTo(long targetTick, Consumer<T> onExpire) {
+        fire(expired.takeAll(), onExpire);
+        while (currentTick < targetTick) {
+            currentTick++;
+            if ((currentTick & ((1L << (bits * levels)) - 1)) == 0) {
+                replace(overflow.takeAll());
+            }
+            for (int level = levels - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    replace(wheels[level][slot(currentTick, level)].takeAll());
+                }
+            }
+            fire(wheels[0][slot(currentTick, 0)].takeAll(), onExpire);
+            // Timers cascaded onto exactly this tick were parked as expired.
+            fire(expired.takeAll(), onExpire);
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        if (timer.deadline <= currentTick) {
+            expired.add(timer);
+            return;
+        }
+        for (int level = 0; level < levels; level++) {
+            int shift = bits * (level + 1);
+            if ((timer.deadline >>> shift) == (currentTick >>> shift)) {
+                wheels[level][slot(timer.deadline, level)].add(timer);
+                return;
+            }
+        }
+        overflow.add(timer);
+    }
+
+    private void replace(Timer<T> first) {
+        Timer<T> timer = first;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void fire(Timer<T> first, Consumer<T> onExpire) {
+        Timer<T> timer = first;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            size--;
+            onExpire.accept(timer.task);
+            timer = next;
+        }
+    }
+
+    private int slot(long tick, int level) {
+        return (int) ((tick >>> (bits * level)) & slotMask);
+    }
+}
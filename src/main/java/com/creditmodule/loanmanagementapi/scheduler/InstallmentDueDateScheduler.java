@@ -0,0 +1,255 @@
+package com.creditmodule.loanmanagementapi.scheduler;
+
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.event.InstallmentDueReminderEvent;
+import com.creditmodule.loanmanagementapi.event.InstallmentsOverdueEvent;
+import com.creditmodule.loanmanagementapi.event.InstallmentsPaidEvent;
+import com.creditmodule.loanmanagementapi.event.LoanCreatedEvent;
+import com.creditmodule.loanmanagementapi.executor.OptimisticRetryExecutor;
+import com.creditmodule.loanmanagementapi.job.LateFeePolicy;
+import com.creditmodule.loanmanagementapi.ledger.InstallmentScheduleResolver;
+import com.creditmodule.loanmanagementapi.repository.LoanInstallmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Keeps a reminder and an overdue timer for every unpaid installment on a day-granular timing wheel, so
+// overdue transitions happen on the day after the due date without scanning loan_installments. Timers are
+// registered when a loan is created, cancelled when its installments are paid and rebuilt from the
+// database at startup. The nightly OverdueInstallmentJob stays in place as a backstop; LateFeePolicy
+// charges an installment only once, whichever of the two reaches it first. Timers are keyed by installment row
+// id, which installments of lazy and packed schedules do not have, so the scheduler refuses to start when
+// either schedule mode is on; the nightly job then handles their overdue transitions alone.
+@Component
+@Lazy(false)
+public class InstallmentDueDateScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstallmentDueDateScheduler.class);
+
+    private static final String UNPAID_INSTALLMENTS =
+            "SELECT li.id, li.loan_id, l.customer_id, li.due_date, li.is_overdue " +
+            "FROM loan_installments li JOIN loans l ON l.id = li.loan_id " +
+            "WHERE li.is_paid = FALSE ";
+
+    // 4 levels of 64 slots cover 64^4 days; anything further out waits in the overflow list.
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_LEVELS = 4;
+
+    private enum Kind { REMINDER, OVERDUE }
+
+    private record DueDateTask(Kind kind, long installmentId, long loanId, long customerId, LocalDate dueDate) {
+    }
+
+    private static final class Registration {
+        private HierarchicalTimingWheel.Timer<DueDateTask> reminder;
+        private HierarchicalTimingWheel.Timer<DueDateTask> overdue;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoanInstallmentRepository installmentRepository;
+    private final LateFeePolicy lateFeePolicy;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int reminderDays;
+    private final int chunkSize;
+    private final HierarchicalTimingWheel<DueDateTask> wheel;
+    private final Map<Long, Registration> registrations = new HashMap<>();
+    private volatile boolean ready;
+
+    public InstallmentDueDateScheduler(DataSource dataSource,
+                                       LoanInstallmentRepository installmentRepository,
+                                       InstallmentScheduleResolver scheduleResolver,
+                                       LateFeePolicy lateFeePolicy,
+                                       OptimisticRetryExecutor retryExecutor,
+                                       TransactionTemplate transactionTemplate,
+                                       ApplicationEventPublisher eventPublisher,
+                                       @Value("${scheduler.due-dates.enabled:true}") boolean enabled,
+                                       @Value("${scheduler.due-dates.reminder-days:3}") int reminderDays,
+                                       @Value("${scheduler.due-dates.chunk-size:500}") int chunkSize) {
+        if (enabled && scheduleResolver.isEnabled()) {
+            throw new IllegalStateException("The due-date scheduler needs an installment row per installment and cannot "
+                    + "run with lazy or packed installment schedules; set scheduler.due-dates.enabled=false");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.installmentRepository = installmentRepository;
+        this.lateFeePolicy = lateFeePolicy;
+        this.retryExecutor = retryExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.reminderDays = Math.max(0, reminderDays);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.wheel = new HierarchicalTimingWheel<>(LocalDate.now().toEpochDay(), WHEEL_BITS, WHEEL_LEVELS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread rebuilder = new Thread(this::rebuild, "due-date-scheduler-rebuild");
+        rebuilder.setDaemon(true);
+        rebuilder.start();
+    }
+
+    void rebuild() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.query(UNPAID_INSTALLMENTS, this::register);
+        ready = true;
+        logger.debug("Due-date scheduler rebuilt with {} timers in {} ms", scheduledCount(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public synchronized int scheduledCount() {
+        return wheel.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        if (enabled) {
+            jdbcTemplate.query(UNPAID_INSTALLMENTS + "AND li.loan_id = ?", this::register, event.getLoanId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInstallmentsPaid(InstallmentsPaidEvent event) {
+        if (enabled) {
+            cancel(event.getInstallmentIds());
+        }
+    }
+
+    // Installments marked by the nightly job (or by this scheduler) no longer need their overdue timer.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInstallmentsOverdue(InstallmentsOverdueEvent event) {
+        if (enabled) {
+            cancel(event.getInstallmentIds());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.due-dates.tick-ms:60000}")
+    public void tick() {
+        if (enabled && ready) {
+            advanceTo(LocalDate.now());
+        }
+    }
+
+    void advanceTo(LocalDate today) {
+        List<DueDateTask> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advanceTo(today.toEpochDay(), due::add);
+            for (DueDateTask task : due) {
+                Registration registration = registrations.get(task.installmentId());
+                if (registration == null) {
+                    continue;
+                }
+                if (task.kind() == Kind.REMINDER) {
+                    registration.reminder = null;
+                } else {
+                    registration.overdue = null;
+                }
+                if (registration.reminder == null && registration.overdue == null) {
+                    registrations.remove(task.installmentId());
+                }
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<Long> overdueIds = new ArrayList<>();
+        for (DueDateTask task : due) {
+            if (task.kind() == Kind.REMINDER) {
+                eventPublisher.publishEvent(new InstallmentDueReminderEvent(
+                        task.loanId(), task.customerId(), task.installmentId(), task.dueDate()));
+            } else {
+                overdueIds.add(task.installmentId());
+            }
+        }
+        for (int from = 0; from < overdueIds.size(); from += chunkSize) {
+            List<Long> chunk = overdueIds.subList(from, Math.min(overdueIds.size(), from + chunkSize));
+            retryExecutor.execute("due-date overdue transition",
+                    () -> transactionTemplate.execute(status -> markOverdue(chunk)));
+        }
+        logger.debug("Due-date scheduler fired {} timers for {} ({} overdue transitions)", due.size(), today, overdueIds.size());
+    }
+
+    private int markOverdue(List<Long> installmentIds) {
+        List<LoanInstallment> installments = installmentRepository.findAllById(installmentIds);
+        Set<Long> loanIds = new LinkedHashSet<>();
+        List<Long> markedIds = new ArrayList<>();
+        for (LoanInstallment installment : installments) {
+            if (lateFeePolicy.markOverdue(installment)) {
+                loanIds.add(installment.getLoan().getId());
+                markedIds.add(installment.getId());
+            }
+        }
+        installmentRepository.saveAll(installments);
+        if (!markedIds.isEmpty()) {
+            eventPublisher.publishEvent(new InstallmentsOverdueEvent(loanIds, markedIds));
+        }
+        return markedIds.size();
+    }
+
+    private void register(ResultSet rs) throws SQLException {
+        long installmentId = rs.getLong("id");
+        DueDateTask overdue = new DueDateTask(Kind.OVERDUE, installmentId, rs.getLong("loan_id"),
+                rs.getLong("customer_id"), rs.getDate("due_date").toLocalDate());
+        boolean alreadyOverdue = rs.getBoolean("is_overdue");
+
+        synchronized (this) {
+            if (registrations.containsKey(installmentId)) {
+                return;
+            }
+            Registration registration = new Registration();
+            long dueDay = overdue.dueDate().toEpochDay();
+            // A reminder day that has already passed is skipped rather than fired late.
+            if (dueDay - reminderDays > wheel.getCurrentTick()) {
+                registration.reminder = wheel.schedule(dueDay - reminderDays, new DueDateTask(Kind.REMINDER,
+                        installmentId, overdue.loanId(), overdue.customerId(), overdue.dueDate()));
+            }
+            // Overdue means dueDate < today, so the transition happens on the day after the due date.
+            if (!alreadyOverdue) {
+                registration.overdue = wheel.schedule(dueDay + 1, overdue);
+            }
+            if (registration.reminder != null || registration.overdue != null) {
+                registrations.put(installmentId, registration);
+            }
+        }
+    }
+
+    private synchronized void cancel(List<Long> installmentIds) {
+        for (Long installmentId : installmentIds) {
+            Registration registration = registrations.remove(installmentId);
+            if (registration != null) {
+                wheel.cancel(registration.reminder);
+                wheel.cancel(registration.overdue);
+            }
+        }
+    }
+}
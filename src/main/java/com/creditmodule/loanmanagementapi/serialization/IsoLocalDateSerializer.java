@@ -0,0 +1,47 @@
+package com.creditmodule.loanmanagementapi.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+// Writes yyyy-MM-dd directly from the date fields instead of going through DateTimeFormatter, producing
+// the same text as the default ISO serializer. Years outside 0000-9999 fall back to LocalDate.toString().
+public class IsoLocalDateSerializer extends StdSerializer<LocalDate> {
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[10]);
+
+    public IsoLocalDateSerializer() {
+        super(LocalDate.class);
+    }
+
+    @Override
+    public void serialize(LocalDate value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(value.toString());
+            return;
+        }
+        char[] buffer = BUFFER.get();
+        put4(buffer, 0, year);
+        buffer[4] = '-';
+        put2(buffer, 5, value.getMonthValue());
+        buffer[7] = '-';
+        put2(buffer, 8, value.getDayOfMonth());
+        gen.writeString(buffer, 0, 10);
+    }
+
+    private static void put4(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 1000);
+        buffer[offset + 1] = (char) ('0' + value / 100 % 10);
+        buffer[offset + 2] = (char) ('0' + value / 10 % 10);
+        buffer[offset + 3] = (char) ('0' + value % 10);
+    }
+
+    private static void put2(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+}
@@ -0,0 +1,56 @@
+package com.creditmodule.loanmanagementapi.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+// Money and rates in the DTOs are small BigDecimals with a scale of 0-2. Those are written straight from
+// the unscaled long into a reusable char buffer, skipping BigDecimal.toString() and its String allocation.
+// Anything that does not fit a long, or has a negative or very large scale, goes through Jackson's default.
+public class PlainBigDecimalSerializer extends StdSerializer<BigDecimal> {
+
+    private static final int MAX_FAST_SCALE = 18;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[48]);
+
+    public PlainBigDecimalSerializer() {
+        super(BigDecimal.class);
+    }
+
+    @Override
+    public void serialize(BigDecimal value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int scale = value.scale();
+        // Binary formats such as CBOR would store pre-formatted numbers as strings; they get the native encoding.
+        if (!gen.canWriteFormattedNumbers() || scale < 0 || scale > MAX_FAST_SCALE || value.precision() > 18) {
+            gen.writeNumber(value);
+            return;
+        }
+        long unscaled = value.unscaledValue().longValue();
+        char[] buffer = BUFFER.get();
+        int length = format(unscaled, scale, buffer);
+        gen.writeNumber(buffer, buffer.length - length, length);
+    }
+
+    // Writes the plain representation right-aligned at the end of the buffer and returns its length.
+    static int format(long unscaled, int scale, char[] buffer) {
+        boolean negative = unscaled < 0;
+        long remaining = Math.abs(unscaled);
+        int pos = buffer.length;
+        int digits = 0;
+        do {
+            if (digits == scale && scale > 0) {
+                buffer[--pos] = '.';
+            }
+            buffer[--pos] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+            digits++;
+        } while (remaining > 0 || digits <= scale);
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        return buffer.length - pos;
+    }
+}
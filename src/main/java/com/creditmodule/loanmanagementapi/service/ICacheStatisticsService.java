@@ -0,0 +1,9 @@
+package com.creditmodule.loanmanagementapi.service;
+
+import com.creditmodule.loanmanagementapi.dto.response.CacheRegionStatistics;
+
+import java.util.List;
+
+public interface ICacheStatisticsService {
+    List<CacheRegionStatistics> getRegionStatistics();
+}
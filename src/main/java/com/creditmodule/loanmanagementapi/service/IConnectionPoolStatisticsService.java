@@ -0,0 +1,9 @@
+package com.creditmodule.loanmanagementapi.service;
+
+import com.creditmodule.loanmanagementapi.dto.response.ConnectionPoolStatistics;
+
+import java.util.List;
+
+public interface IConnectionPoolStatisticsService {
+    List<ConnectionPoolStatistics> getPoolStatistics();
+}
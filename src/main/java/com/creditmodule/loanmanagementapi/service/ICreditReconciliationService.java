@@ -0,0 +1,7 @@
+package com.creditmodule.loanmanagementapi.service;
+
+import com.creditmodule.loanmanagementapi.dto.response.CreditReconciliationResult;
+
+public interface ICreditReconciliationService {
+    CreditReconciliationResult reconcile();
+}
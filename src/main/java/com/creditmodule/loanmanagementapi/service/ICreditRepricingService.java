@@ -0,0 +1,10 @@
+package com.creditmodule.loanmanagementapi.service;
+
+import com.creditmodule.loanmanagementapi.dto.response.CreditRepricingResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface ICreditRepricingService {
+    CreditRepricingResult reprice(Path csvFile) throws IOException;
+}
@@ -0,0 +1,10 @@
+package com.creditmodule.loanmanagementapi.service;
+
+import com.creditmodule.loanmanagementapi.dto.response.CustomerImportResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface ICustomerImportService {
+    CustomerImportResult importCustomers(Path csvFile) throws IOException;
+}
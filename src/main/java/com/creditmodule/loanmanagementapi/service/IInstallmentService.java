@@ -4,6 +4,7 @@ import com.creditmodule.loanmanagementapi.dto.response.InstallmentResponse;
 import com.creditmodule.loanmanagementapi.dto.request.PayInstallmentRequest;
 import com.creditmodule.loanmanagementapi.dto.response.PayInstallmentResult;
 import com.creditmodule.loanmanagementapi.entity.Loan;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
 
@@ -12,5 +13,7 @@ public interface IInstallmentService {
     PayInstallmentResult payInstallment(PayInstallmentRequest request);
     List<InstallmentResponse> getInstallmentsByLoan(Long loanId);
     List<InstallmentResponse> getOverdueInstallments(Long loanId);
+    InstallmentResponse getNextDueInstallment(Long loanId);
+    Page<InstallmentResponse> getPortfolioOverdueInstallments(int page, int size);
 
 }
@@ -0,0 +1,7 @@
+package com.creditmodule.loanmanagementapi.service;
+
+import com.creditmodule.loanmanagementapi.dto.response.LoanArchivalResult;
+
+public interface ILoanArchivalService {
+    LoanArchivalResult archivePaidLoans();
+}
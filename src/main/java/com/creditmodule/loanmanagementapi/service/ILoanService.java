@@ -1,10 +1,12 @@
 package com.creditmodule.loanmanagementapi.service;
 
 import com.creditmodule.loanmanagementapi.dto.request.CreateLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.request.LoanSearchRequest;
 import com.creditmodule.loanmanagementapi.dto.request.PayLoanRequest;
 import com.creditmodule.loanmanagementapi.dto.response.LoanResponse;
 import com.creditmodule.loanmanagementapi.dto.response.PaymentResult;
 import com.creditmodule.loanmanagementapi.entity.Loan;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,4 +17,5 @@ public interface ILoanService {
     LoanResponse getLoanDetails(Long loanId);
     List<LoanResponse> getLoansByCustomer(Long customerId);
     List<LoanResponse> getLoansByCustomerWithFilters(Long customerId, Boolean isPaid, Integer numberOfInstallments);
+    Page<LoanResponse> searchLoans(LoanSearchRequest criteria, int page, int size, String sortBy, boolean ascending);
 }
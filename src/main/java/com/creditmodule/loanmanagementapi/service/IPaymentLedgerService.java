@@ -0,0 +1,12 @@
+package com.creditmodule.loanmanagementapi.service;
+
+import com.creditmodule.loanmanagementapi.dto.response.LoanBalanceResponse;
+import com.creditmodule.loanmanagementapi.dto.response.PaymentLedgerEntryResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface IPaymentLedgerService {
+    LoanBalanceResponse getBalance(Long loanId, LocalDate asOf);
+    List<PaymentLedgerEntryResponse> getPayments(Long loanId);
+}
@@ -0,0 +1,7 @@
+package com.creditmodule.loanmanagementapi.service;
+
+import com.creditmodule.loanmanagementapi.dto.response.SchedulePackingResult;
+
+public interface ISchedulePackingService {
+    SchedulePackingResult packSchedules();
+}
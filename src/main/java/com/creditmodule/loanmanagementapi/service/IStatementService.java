@@ -0,0 +1,9 @@
+package com.creditmodule.loanmanagementapi.service;
+
+import com.creditmodule.loanmanagementapi.dto.response.StatementRunResult;
+
+import java.time.YearMonth;
+
+public interface IStatementService {
+    StatementRunResult generateMonthlyStatements(YearMonth month);
+}
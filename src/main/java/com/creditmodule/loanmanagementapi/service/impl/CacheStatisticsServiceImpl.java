@@ -0,0 +1,78 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.config.SecondLevelCacheConfig;
+import com.creditmodule.loanmanagementapi.dto.response.CacheRegionStatistics;
+import com.creditmodule.loanmanagementapi.service.ICacheStatisticsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheStatisticsServiceImpl implements ICacheStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheStatisticsServiceImpl.class);
+
+    private static final List<String> ENTITY_REGIONS = List.of(
+            SecondLevelCacheConfig.CUSTOMER_REGION, SecondLevelCacheConfig.LOAN_REGION);
+
+    private static final List<String> QUERY_REGIONS = List.of(SecondLevelCacheConfig.LOANS_BY_CUSTOMER_REGION);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final CacheManager hibernateCacheManager;
+
+    public CacheStatisticsServiceImpl(EntityManagerFactory entityManagerFactory, CacheManager hibernateCacheManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.hibernateCacheManager = hibernateCacheManager;
+    }
+
+    @Override
+    public List<CacheRegionStatistics> getRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            logger.debug("Hibernate statistics are disabled, cache region counters stay at zero");
+        }
+
+        List<CacheRegionStatistics> regions = new ArrayList<>();
+        for (String region : ENTITY_REGIONS) {
+            regions.add(toResponse(region, "entity", statistics.getDomainDataRegionStatistics(region)));
+        }
+        for (String region : QUERY_REGIONS) {
+            regions.add(toResponse(region, "query", statistics.getQueryRegionStatistics(region)));
+        }
+        logger.debug("Second-level cache statistics: {}", regions);
+        return regions;
+    }
+
+    private CacheRegionStatistics toResponse(String region, String kind, org.hibernate.stat.CacheRegionStatistics stats) {
+        long hits = stats == null ? 0 : stats.getHitCount();
+        long misses = stats == null ? 0 : stats.getMissCount();
+        return CacheRegionStatistics.builder()
+                .region(region)
+                .kind(kind)
+                .hitCount(hits)
+                .missCount(misses)
+                .putCount(stats == null ? 0 : stats.getPutCount())
+                .hitRatio(hits + misses == 0 ? 0.0 : (double) hits / (hits + misses))
+                .entries(estimatedEntries(region))
+                .build();
+    }
+
+    // JCache has no size query; the Caffeine cache behind the region has an estimate.
+    @SuppressWarnings("unchecked")
+    private Long estimatedEntries(String region) {
+        Cache<Object, Object> cache = hibernateCacheManager.getCache(region);
+        if (cache == null) {
+            return null;
+        }
+        return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+}
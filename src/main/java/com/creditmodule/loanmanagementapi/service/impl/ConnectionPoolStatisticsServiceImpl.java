@@ -0,0 +1,54 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.datasource.ConnectionPools;
+import com.creditmodule.loanmanagementapi.datasource.PoolRoute;
+import com.creditmodule.loanmanagementapi.dto.response.ConnectionPoolStatistics;
+import com.creditmodule.loanmanagementapi.executor.BulkheadExecutor;
+import com.creditmodule.loanmanagementapi.service.IConnectionPoolStatisticsService;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class ConnectionPoolStatisticsServiceImpl implements IConnectionPoolStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolStatisticsServiceImpl.class);
+
+    private final ConnectionPools connectionPools;
+
+    private final BulkheadExecutor bulkheadExecutor;
+
+    public ConnectionPoolStatisticsServiceImpl(ConnectionPools connectionPools, BulkheadExecutor bulkheadExecutor) {
+        this.connectionPools = connectionPools;
+        this.bulkheadExecutor = bulkheadExecutor;
+    }
+
+    @Override
+    public List<ConnectionPoolStatistics> getPoolStatistics() {
+        List<ConnectionPoolStatistics> pools = new ArrayList<>();
+        for (PoolRoute route : PoolRoute.values()) {
+            int maxConnections = connectionPools.getPool(route).getMaximumPoolSize();
+            // A pool that has not opened a connection yet has no MXBean; report it as empty.
+            HikariPoolMXBean pool = connectionPools.getPoolMXBean(route);
+            int active = pool == null ? 0 : pool.getActiveConnections();
+            pools.add(ConnectionPoolStatistics.builder()
+                    .pool(route.getLabel())
+                    .maxConnections(maxConnections)
+                    .activeConnections(active)
+                    .idleConnections(pool == null ? 0 : pool.getIdleConnections())
+                    .threadsAwaitingConnection(pool == null ? 0 : pool.getThreadsAwaitingConnection())
+                    .connectionUtilization((double) active / maxConnections)
+                    .bulkheadMaxConcurrent(bulkheadExecutor.getMaxConcurrent(route))
+                    .bulkheadInUse(bulkheadExecutor.getInUse(route))
+                    .bulkheadWaiting(bulkheadExecutor.getWaiting(route))
+                    .bulkheadRejected(bulkheadExecutor.getRejected(route))
+                    .build());
+        }
+        logger.debug("Connection pool statistics: {}", pools);
+        return pools;
+    }
+}
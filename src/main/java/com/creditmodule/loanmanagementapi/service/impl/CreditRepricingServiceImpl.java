@@ -0,0 +1,342 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.csv.MappedCsvReader;
+import com.creditmodule.loanmanagementapi.dto.response.CreditRepricingResult;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.ledger.CreditLedger;
+import com.creditmodule.loanmanagementapi.service.ICreditRepricingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Sets the credit limits of a whole portfolio from a CSV of customerId,newLimit rows. The file is streamed, and
+// batches of valid rows are applied by a fixed pool of workers, each batch in its own transaction with one JDBC
+// batch update. A limit below the customer's used credit is rejected. While the credit ledger is in use, loan
+// originations reserve credit there before the customer rows are written, so the new limit is first set in the
+// ledger with CreditLedger.tryUpdateLimit, a check against the used credit that is atomic with reservations;
+// the update itself checks the customer row. Limits the update does not take are set back in the ledger from
+// the customer rows. Limits are absolute, so a failed run can simply be repeated.
+@Service
+public class CreditRepricingServiceImpl implements ICreditRepricingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreditRepricingServiceImpl.class);
+
+    // The version bump makes a concurrent JPA update of the same customer fail and retry with the new limit.
+    private static final String UPDATE_LIMIT =
+            "UPDATE customers SET credit_limit = ?, version = version + 1 WHERE id = ? AND used_credit_limit <= ?";
+
+    private static final String FIND_USED_CREDIT = "SELECT id, used_credit_limit FROM customers WHERE id IN (%s)";
+
+    private static final String FIND_LIMITS = "SELECT id, credit_limit FROM customers WHERE id IN (%s)";
+
+    // customers.credit_limit is NUMERIC(15, 2).
+    private static final int LIMIT_PRECISION = 15;
+    private static final int LIMIT_SCALE = 2;
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private record Repricing(long lineNumber, String line, long customerId, BigDecimal newLimit) {
+    }
+
+    private record Rejection(Repricing repricing, String reason) {
+    }
+
+    private record BatchOutcome(int updated, List<Rejection> rejections) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CreditLedger creditLedger;
+    private final Path errorDirectory;
+    private final int batchSize;
+    private final int parallelism;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CreditRepricingServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                      EntityManagerFactory entityManagerFactory, CreditLedger creditLedger,
+                                      @Value("${customer.repricing.error-dir:repricing-errors}") String errorDirectory,
+                                      @Value("${customer.repricing.batch-size:5000}") int batchSize,
+                                      @Value("${customer.repricing.parallelism:4}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.creditLedger = creditLedger;
+        this.errorDirectory = Path.of(errorDirectory);
+        this.batchSize = Math.max(1, batchSize);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    @Override
+    public CreditRepricingResult reprice(Path csvFile) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A credit limit repricing is already running");
+        }
+        long start = System.currentTimeMillis();
+        logger.debug("Repricing credit limits from {} ({} bytes)", csvFile, Files.size(csvFile));
+
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        RepricingRun run = new RepricingRun(errorDirectory.resolve("credit-limits-" + LocalDateTime.now().format(FILE_TIMESTAMP) +
+                "-" + UUID.randomUUID().toString().substring(0, 8) + "-errors.csv"), workers);
+        try {
+            new MappedCsvReader(csvFile).read(run::onRecord);
+            run.flush();
+            run.await();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            workers.shutdownNow();
+            run.closeErrorFile();
+            running.set(false);
+        }
+
+        CreditRepricingResult result = CreditRepricingResult.builder()
+                .totalRows(run.total)
+                .updatedCustomers(run.updated.get())
+                .rejectedRows(run.rejected.get())
+                .errorFile(run.errorWriter != null ? run.errorFile.toString() : null)
+                .durationMillis(System.currentTimeMillis() - start)
+                .build();
+        logger.debug("Credit limit repricing finished: {}", result);
+        return result;
+    }
+
+    private BatchOutcome applyBatch(List<Repricing> batch) {
+        List<Rejection> rejections = new ArrayList<>();
+        List<Repricing> candidates = new ArrayList<>(batch.size());
+        for (Repricing repricing : batch) {
+            if (creditLedger.tryUpdateLimit(repricing.customerId(), CreditLedger.toCents(repricing.newLimit()))) {
+                candidates.add(repricing);
+            } else {
+                rejections.add(new Rejection(repricing, creditLedger.getUsedCredit(repricing.customerId())
+                        .map(CreditRepricingServiceImpl::belowUsedCredit)
+                        .orElse("Credit limit is below the used credit")));
+            }
+        }
+        if (candidates.isEmpty()) {
+            return new BatchOutcome(0, rejections);
+        }
+        // Concurrent batches lock their customer rows in the same order.
+        candidates.sort(Comparator.comparingLong(Repricing::customerId));
+
+        List<Repricing> updated = new ArrayList<>(candidates.size());
+        List<Repricing> missed = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int[][] counts = jdbcTemplate.batchUpdate(UPDATE_LIMIT, candidates, candidates.size(), (ps, repricing) -> {
+                    ps.setBigDecimal(1, repricing.newLimit());
+                    ps.setLong(2, repricing.customerId());
+                    ps.setBigDecimal(3, repricing.newLimit());
+                });
+                int index = 0;
+                for (int[] chunk : counts) {
+                    for (int count : chunk) {
+                        (count == 0 ? missed : updated).add(candidates.get(index++));
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            restoreLedgerLimits(candidates);
+            throw e;
+        }
+        restoreLedgerLimits(missed);
+        rejections.addAll(explain(missed));
+
+        // Limits were written with plain JDBC, so the cached customers are evicted after the commit.
+        for (Repricing repricing : updated) {
+            entityManagerFactory.getCache().evict(Customer.class, repricing.customerId());
+        }
+        return new BatchOutcome(updated.size(), rejections);
+    }
+
+    // Sets the ledger limits of customers whose update was not applied back to the limits in their rows.
+    private void restoreLedgerLimits(List<Repricing> notApplied) {
+        if (notApplied.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(String.format(FIND_LIMITS, String.join(",", Collections.nCopies(notApplied.size(), "?"))),
+                rs -> {
+                    creditLedger.updateLimit(rs.getLong("id"), rs.getBigDecimal("credit_limit"));
+                },
+                notApplied.stream().map(Repricing::customerId).toArray());
+    }
+
+    private List<Rejection> explain(List<Repricing> missed) {
+        if (missed.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BigDecimal> usedCredit = new HashMap<>();
+        jdbcTemplate.query(String.format(FIND_USED_CREDIT, String.join(",", Collections.nCopies(missed.size(), "?"))),
+                rs -> {
+                    usedCredit.put(rs.getLong("id"), rs.getBigDecimal("used_credit_limit"));
+                },
+                missed.stream().map(Repricing::customerId).toArray());
+        return missed.stream()
+                .map(repricing -> new Rejection(repricing, usedCredit.containsKey(repricing.customerId())
+                        ? belowUsedCredit(usedCredit.get(repricing.customerId()))
+                        : "Customer not found"))
+                .collect(Collectors.toList());
+    }
+
+    private static String belowUsedCredit(BigDecimal used) {
+        return "Credit limit is below the used credit of " + used.toPlainString();
+    }
+
+    private final class RepricingRun {
+        private final Path errorFile;
+        private final ExecutorService workers;
+        // Batches read ahead of the workers are bounded, so the file is never buffered in memory.
+        private final Semaphore inFlight = new Semaphore(parallelism * 2);
+        private final List<Future<?>> results = new ArrayList<>();
+        private List<Repricing> batch = new ArrayList<>(batchSize);
+        private BufferedWriter errorWriter;
+        private long total;
+        private final AtomicLong updated = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        private RepricingRun(Path errorFile, ExecutorService workers) {
+            this.errorFile = errorFile;
+            this.workers = workers;
+        }
+
+        private void onRecord(long lineNumber, String line, List<String> fields) {
+            if (lineNumber == 1 && !fields.isEmpty() && "customerId".equalsIgnoreCase(fields.get(0))) {
+                return;
+            }
+            total++;
+
+            if (fields.size() != 2) {
+                reject(lineNumber, line, "Expected 2 columns (customerId, newLimit) but found " + fields.size());
+                return;
+            }
+
+            long customerId;
+            BigDecimal newLimit;
+            try {
+                customerId = Long.parseLong(fields.get(0));
+                newLimit = new BigDecimal(fields.get(1));
+            } catch (NumberFormatException e) {
+                reject(lineNumber, line, "Customer id or credit limit is not a number");
+                return;
+            }
+            if (newLimit.compareTo(BigDecimal.ZERO) <= 0) {
+                reject(lineNumber, line, "Credit limit must be greater than zero");
+                return;
+            }
+            // A value the column cannot hold would fail the whole JDBC batch, and with it the run.
+            if (newLimit.stripTrailingZeros().scale() > LIMIT_SCALE) {
+                reject(lineNumber, line, "Credit limit has more than " + LIMIT_SCALE + " decimal places");
+                return;
+            }
+            newLimit = newLimit.setScale(LIMIT_SCALE);
+            if (newLimit.precision() > LIMIT_PRECISION) {
+                reject(lineNumber, line, "Credit limit has more than " + (LIMIT_PRECISION - LIMIT_SCALE) + " integer digits");
+                return;
+            }
+
+            batch.add(new Repricing(lineNumber, line, customerId, newLimit));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Repricing> submitted = batch;
+            batch = new ArrayList<>(batchSize);
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Credit limit repricing was interrupted", e);
+            }
+            results.add(workers.submit(() -> {
+                try {
+                    BatchOutcome outcome = applyBatch(submitted);
+                    outcome.rejections().forEach(rejection -> reject(rejection.repricing().lineNumber(),
+                            rejection.repricing().line(), rejection.reason()));
+                    long done = updated.addAndGet(outcome.updated());
+                    logger.debug("Repriced batch of {}: {} updated, {} rejected, {} updated so far",
+                            submitted.size(), outcome.updated(), outcome.rejections().size(), done);
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
+
+        // Batches committed before a failure stay applied; repeating the run sets the same limits again.
+        private void await() {
+            try {
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Credit limit repricing was interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof UncheckedIOException io) {
+                    throw io;
+                }
+                throw new IllegalStateException("Credit limit repricing failed after " + updated.get() +
+                        " updates, run it again to complete it", e.getCause());
+            }
+        }
+
+        private synchronized void reject(long lineNumber, String line, String reason) {
+            rejected.incrementAndGet();
+            try {
+                if (errorWriter == null) {
+                    Files.createDirectories(errorFile.getParent());
+                    errorWriter = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8);
+                    errorWriter.write("line,reason,row");
+                    errorWriter.newLine();
+                }
+                errorWriter.write(lineNumber + "," + quote(reason) + "," + quote(line));
+                errorWriter.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private synchronized void closeErrorFile() throws IOException {
+            if (errorWriter != null) {
+                errorWriter.close();
+            }
+        }
+
+        private String quote(String value) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.csv.MappedCsvReader;
+import com.creditmodule.loanmanagementapi.dto.request.CreateCustomerRequest;
+import com.creditmodule.loanmanagementapi.dto.response.CustomerImportResult;
+import com.creditmodule.loanmanagementapi.service.ICustomerImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class CustomerImportServiceImpl implements ICustomerImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerImportServiceImpl.class);
+
+    private static final String INSERT_CUSTOMER =
+            "INSERT INTO customers (name, surname, credit_limit, used_credit_limit, version) VALUES (?, ?, ?, 0, 0)";
+
+    // customers.credit_limit is NUMERIC(15, 2).
+    private static final int LIMIT_PRECISION = 15;
+    private static final int LIMIT_SCALE = 2;
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final Path errorDirectory;
+    private final int batchSize;
+
+    public CustomerImportServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, Validator validator,
+                                     @Value("${customer.import.error-dir:import-errors}") String errorDirectory,
+                                     @Value("${customer.import.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.errorDirectory = Path.of(errorDirectory);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public CustomerImportResult importCustomers(Path csvFile) throws IOException {
+        long start = System.currentTimeMillis();
+        logger.debug("Importing customers from {} ({} bytes)", csvFile, Files.size(csvFile));
+
+        // The random part keeps imports started within the same second from writing to one error file.
+        ImportRun run = new ImportRun(errorDirectory.resolve("customers-" + LocalDateTime.now().format(FILE_TIMESTAMP) +
+                "-" + UUID.randomUUID().toString().substring(0, 8) + "-errors.csv"));
+        try {
+            new MappedCsvReader(csvFile).read(run::onRecord);
+            run.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            run.closeErrorFile();
+        }
+
+        CustomerImportResult result = CustomerImportResult.builder()
+                .totalRows(run.total)
+                .importedRows(run.imported)
+                .rejectedRows(run.rejected)
+                .errorFile(run.errorWriter != null ? run.errorFile.toString() : null)
+                .durationMillis(System.currentTimeMillis() - start)
+                .build();
+        logger.debug("Customer import finished: {}", result);
+        return result;
+    }
+
+    private int[][] insertBatch(List<CreateCustomerRequest> batch) {
+        return transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_CUSTOMER, batch, batch.size(),
+                (ps, customer) -> {
+                    ps.setString(1, customer.getName());
+                    ps.setString(2, customer.getSurname());
+                    ps.setBigDecimal(3, customer.getCreditLimit());
+                }));
+    }
+
+    private final class ImportRun {
+        private final Path errorFile;
+        private final List<CreateCustomerRequest> batch = new ArrayList<>(batchSize);
+        private BufferedWriter errorWriter;
+        private long total;
+        private long imported;
+        private long rejected;
+
+        private ImportRun(Path errorFile) {
+            this.errorFile = errorFile;
+        }
+
+        private void onRecord(long lineNumber, String line, List<String> fields) {
+            if (lineNumber == 1 && !fields.isEmpty() && "name".equalsIgnoreCase(fields.get(0))) {
+                return;
+            }
+            total++;
+
+            if (fields.size() != 3) {
+                reject(lineNumber, line, "Expected 3 columns (name, surname, creditLimit) but found " + fields.size());
+                return;
+            }
+
+            CreateCustomerRequest request = new CreateCustomerRequest();
+            request.setName(fields.get(0));
+            request.setSurname(fields.get(1));
+            try {
+                request.setCreditLimit(fields.get(2).isEmpty() ? null : new BigDecimal(fields.get(2)));
+            } catch (NumberFormatException e) {
+                reject(lineNumber, line, "Credit limit is not a number");
+                return;
+            }
+
+            Set<ConstraintViolation<CreateCustomerRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(lineNumber, line, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            // A value the column cannot hold would fail the whole JDBC batch, and with it the import.
+            BigDecimal creditLimit = request.getCreditLimit();
+            if (creditLimit.stripTrailingZeros().scale() > LIMIT_SCALE) {
+                reject(lineNumber, line, "Credit limit has more than " + LIMIT_SCALE + " decimal places");
+                return;
+            }
+            creditLimit = creditLimit.setScale(LIMIT_SCALE);
+            if (creditLimit.precision() > LIMIT_PRECISION) {
+                reject(lineNumber, line, "Credit limit has more than " + (LIMIT_PRECISION - LIMIT_SCALE) + " integer digits");
+                return;
+            }
+            request.setCreditLimit(creditLimit);
+
+            batch.add(request);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            insertBatch(batch);
+            imported += batch.size();
+            logger.debug("Inserted customer batch of {}, {} imported so far", batch.size(), imported);
+            batch.clear();
+        }
+
+        private void reject(long lineNumber, String line, String reason) {
+            rejected++;
+            try {
+                if (errorWriter == null) {
+                    Files.createDirectories(errorFile.getParent());
+                    errorWriter = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8);
+                    errorWriter.write("line,reason,row");
+                    errorWriter.newLine();
+                }
+                errorWriter.write(lineNumber + "," + quote(reason) + "," + quote(line));
+                errorWriter.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void closeErrorFile() throws IOException {
+            if (errorWriter != null) {
+                errorWriter.close();
+            }
+        }
+
+        private String quote(String value) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+}
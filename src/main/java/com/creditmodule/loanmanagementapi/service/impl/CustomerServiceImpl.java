@@ -1,15 +1,22 @@
 package com.creditmodule.loanmanagementapi.service.impl;
 
+import com.creditmodule.loanmanagementapi.datasource.PoolRoute;
 import com.creditmodule.loanmanagementapi.dto.request.CreateCustomerRequest;
 import com.creditmodule.loanmanagementapi.dto.response.CustomerResponse;
 import com.creditmodule.loanmanagementapi.entity.Customer;
 import com.creditmodule.loanmanagementapi.exception.CustomerNotFoundException;
+import com.creditmodule.loanmanagementapi.executor.BulkheadExecutor;
+import com.creditmodule.loanmanagementapi.executor.OptimisticRetryExecutor;
+import com.creditmodule.loanmanagementapi.ledger.CreditLedger;
 import com.creditmodule.loanmanagementapi.mapper.CustomerMapper;
 import com.creditmodule.loanmanagementapi.repository.CustomerRepository;
 import com.creditmodule.loanmanagementapi.service.ICustomerService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -31,6 +38,18 @@ public class CustomerServiceImpl implements ICustomerService {
     @Autowired
     private final CustomerMapper customerMapper;
 
+    @Autowired
+    private final OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    private final BulkheadExecutor bulkheadExecutor;
+
+    @Autowired
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private final CreditLedger creditLedger;
+
     public CustomerResponse createCustomer(CreateCustomerRequest request) {
         logger.debug("Creating new customer with name: {}, surname: {}, credit limit: {}", 
                     request.getName(), request.getSurname(), request.getCreditLimit());
@@ -51,7 +70,7 @@ public class CustomerServiceImpl implements ICustomerService {
     public CustomerResponse getCustomerById(Long customerId) {
         logger.debug("Retrieving customer by ID: {}", customerId);
         
-        Customer customer = customerRepository.findById(customerId)
+        Customer customer = bulkheadExecutor.execute(PoolRoute.READS, () -> customerRepository.findById(customerId))
                 .orElseThrow(() -> {
                     logger.debug("Customer not found with ID: {}", customerId);
                     return new CustomerNotFoundException("Customer not found with id: " + customerId);
@@ -62,12 +81,13 @@ public class CustomerServiceImpl implements ICustomerService {
                     customer.getCreditLimit(), customer.getUsedCreditLimit());
         
         CustomerResponse response = customerMapper.toResponse(customer);
+        // The ledger is ahead of the customer row by the deltas it has not flushed yet.
+        creditLedger.getUsedCredit(customerId).ifPresent(response::setUsedCreditLimit);
         logger.debug("Successfully retrieved customer with ID: {}", customerId);
         return response;
     }
 
     @Override
-    @Transactional
     public CustomerResponse updateCreditLimit(Long customerId, BigDecimal newLimit) {
         logger.debug("Updating credit limit for customer ID: {} to new limit: {}", customerId, newLimit);
         
@@ -76,6 +96,29 @@ public class CustomerServiceImpl implements ICustomerService {
             throw new IllegalArgumentException("Credit limit must be greater than zero");
         }
 
+        // Like a repricing batch, the ledger takes the new limit before the row, atomically with concurrent
+        // reservations, so no loan can reserve credit above a lowered limit while the row is updated.
+        if (!creditLedger.tryUpdateLimit(customerId, CreditLedger.toCents(newLimit))) {
+            throw new IllegalArgumentException(creditLedger.getUsedCredit(customerId)
+                    .map(used -> "Credit limit is below the used credit of " + used.toPlainString())
+                    .orElse("Credit limit is below the used credit"));
+        }
+
+        CustomerResponse response;
+        try {
+            response = retryExecutor.execute("credit limit update",
+                    () -> transactionTemplate.execute(status -> applyCreditLimit(customerId, newLimit)));
+        } catch (RuntimeException e) {
+            // The row kept its limit, so the ledger goes back to it.
+            customerRepository.findById(customerId)
+                    .ifPresent(customer -> creditLedger.updateLimit(customerId, customer.getCreditLimit()));
+            throw e;
+        }
+        creditLedger.getUsedCredit(customerId).ifPresent(response::setUsedCreditLimit);
+        return response;
+    }
+
+    private CustomerResponse applyCreditLimit(Long customerId, BigDecimal newLimit) {
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> {
                     logger.debug("Customer not found with ID: {} during credit limit update", customerId);
@@ -88,6 +131,13 @@ public class CustomerServiceImpl implements ICustomerService {
 
         customer.setCreditLimit(newLimit);
         Customer updatedCustomer = customerRepository.save(customer);
+        // Concurrent updates can leave the ledger at another one's limit; the last update to commit sets it.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                creditLedger.updateLimit(customerId, newLimit);
+            }
+        });
         logger.debug("Updated customer {} credit limit from {} to {}", 
                     customerId, oldLimit, newLimit);
 
@@ -1,10 +1,20 @@
 package com.creditmodule.loanmanagementapi.service.impl;
 
+import com.creditmodule.loanmanagementapi.datasource.PoolRoute;
 import com.creditmodule.loanmanagementapi.dto.response.InstallmentResponse;
 import com.creditmodule.loanmanagementapi.dto.request.PayInstallmentRequest;
 import com.creditmodule.loanmanagementapi.dto.response.PayInstallmentResult;
 import com.creditmodule.loanmanagementapi.entity.Loan;
 import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.event.InstallmentsPaidEvent;
+import com.creditmodule.loanmanagementapi.event.LoanCreatedEvent;
+import com.creditmodule.loanmanagementapi.executor.BulkheadExecutor;
+import com.creditmodule.loanmanagementapi.executor.OptimisticRetryExecutor;
+import com.creditmodule.loanmanagementapi.executor.PartitionedPaymentExecutor;
+import com.creditmodule.loanmanagementapi.ledger.InstallmentLedger;
+import com.creditmodule.loanmanagementapi.ledger.InstallmentScheduleResolver;
+import com.creditmodule.loanmanagementapi.ledger.LoanArchive;
+import com.creditmodule.loanmanagementapi.ledger.PaymentLedger;
 import com.creditmodule.loanmanagementapi.mapper.InstallmentMapper;
 import com.creditmodule.loanmanagementapi.repository.LoanInstallmentRepository;
 import com.creditmodule.loanmanagementapi.repository.LoanRepository;
@@ -14,13 +24,22 @@ import com.creditmodule.loanmanagementapi.service.ILoanService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +49,8 @@ import org.slf4j.LoggerFactory;
 public class InstallmentServiceImpl implements IInstallmentService {
     
     private static final Logger logger = LoggerFactory.getLogger(InstallmentServiceImpl.class);
+
+    private static final int MAX_PAGE_SIZE = 500;
     
     @Autowired
     private final LoanInstallmentRepository installmentRepository;
@@ -37,6 +58,33 @@ public class InstallmentServiceImpl implements IInstallmentService {
     @Autowired
     private final LoanRepository loanRepository;
 
+    @Autowired
+    private final PartitionedPaymentExecutor paymentExecutor;
+
+    @Autowired
+    private final OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    private final BulkheadExecutor bulkheadExecutor;
+
+    @Autowired
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private final InstallmentLedger installmentLedger;
+
+    @Autowired
+    private final InstallmentScheduleResolver scheduleResolver;
+
+    @Autowired
+    private final PaymentLedger paymentLedger;
+
+    @Autowired
+    private final LoanArchive loanArchive;
+
+    @Autowired
+    private final ApplicationEventPublisher eventPublisher;
+
     @Override
     public void generateInstallments(Loan loan) {
         logger.debug("Generating installments for loan ID: {} with amount: {} and {} installments", 
@@ -70,6 +118,9 @@ public class InstallmentServiceImpl implements IInstallmentService {
                         i, term, payment, loan.getCreateDate().plusMonths(i));
         }
         
+        eventPublisher.publishEvent(new LoanCreatedEvent(loan.getId(),
+                loan.getCustomer() != null ? loan.getCustomer().getId() : null,
+                loan.getLoanAmount(), term, loan.getCreateDate()));
         logger.debug("Successfully generated {} installments for loan ID: {}", term, loan.getId());
     }
 
@@ -77,9 +128,17 @@ public class InstallmentServiceImpl implements IInstallmentService {
     public PayInstallmentResult payInstallment(PayInstallmentRequest request) {
         logger.debug("Processing installment payment for loan ID: {} with amount: {}", 
                     request.getLoanId(), request.getAmount());
-        
+
+        return paymentExecutor.execute(request.getLoanId(), () -> bulkheadExecutor.execute(PoolRoute.PAYMENTS,
+                () -> retryExecutor.execute("installment payment",
+                        () -> transactionTemplate.execute(status -> applyInstallmentPayment(request)))));
+    }
+
+    private PayInstallmentResult applyInstallmentPayment(PayInstallmentRequest request) {
         Loan loan = loanRepository.findById(request.getLoanId())
-                .orElseThrow(() -> new IllegalArgumentException("Loan not found"));
+                .orElseThrow(() -> loanArchive.contains(request.getLoanId())
+                        ? new IllegalStateException("Loan is already fully paid")
+                        : new IllegalArgumentException("Loan not found"));
         logger.debug("Found loan ID: {}, isPaid: {}", loan.getId(), loan.getIsPaid());
 
         if (loan.getIsPaid()) {
@@ -87,8 +146,11 @@ public class InstallmentServiceImpl implements IInstallmentService {
             throw new IllegalStateException("Loan is already fully paid");
         }
 
-        LoanInstallment installment = installmentRepository
-                .findFirstByLoanIdAndIsPaidFalseOrderByDueDateAsc(request.getLoanId())
+        boolean lazy = InstallmentScheduleResolver.isLazy(loan);
+        List<LoanInstallment> schedule = lazy ? scheduleResolver.resolve(loan) : null;
+        LoanInstallment installment = (lazy
+                ? schedule.stream().filter(unpaid -> !unpaid.getIsPaid()).findFirst()
+                : installmentRepository.findFirstByLoanIdAndIsPaidFalseOrderByDueDateAsc(request.getLoanId()))
                 .orElseThrow(() -> new IllegalStateException("No unpaid installments found"));
         logger.debug("Found next unpaid installment ID: {}, installment number: {}, amount: {}, due date: {}", 
                     installment.getId(), installment.getInstallmentNumber(), installment.getAmount(), installment.getDueDate());
@@ -105,21 +167,29 @@ public class InstallmentServiceImpl implements IInstallmentService {
         installment.setPaidAmount(paidAmount);
         installment.setIsPaid(true);
         installment.setPaymentDate(LocalDate.now());
-        installmentRepository.save(installment);
+        scheduleResolver.save(loan, schedule, List.of(installment));
+        paymentLedger.record(loan, List.of(new PaymentLedger.Application(installment.getInstallmentNumber(), paidAmount)),
+                installment.getPaymentDate());
         logger.debug("Marked installment {} as paid with amount: {} on date: {}", 
                     installment.getId(), paidAmount, LocalDate.now());
 
-        List<LoanInstallment> allInstallments = installmentRepository.findByLoanIdOrderByDueDate(request.getLoanId());
+        List<LoanInstallment> allInstallments = lazy
+                ? schedule
+                : installmentRepository.findByLoanIdOrderByDueDate(request.getLoanId());
         boolean fullyPaid = allInstallments.stream().allMatch(LoanInstallment::getIsPaid);
         logger.debug("Checked all {} installments for loan {}, fully paid: {}", 
                     allInstallments.size(), loan.getId(), fullyPaid);
 
         if (fullyPaid) {
             loan.setIsPaid(true);
+            loan.setPaidDate(LocalDate.now());
             loanRepository.save(loan);
             logger.debug("Marked loan {} as fully paid", loan.getId());
         }
 
+        eventPublisher.publishEvent(new InstallmentsPaidEvent(loan.getId(), loan.getCustomer().getId(),
+                installment.getId() == null ? List.of() : List.of(installment.getId()), paidAmount, fullyPaid));
+
         PayInstallmentResult result = PayInstallmentResult.from(allInstallments, fullyPaid);
         logger.debug("Payment result created for loan {}: fully paid: {}", loan.getId(), fullyPaid);
         return result;
@@ -128,9 +198,35 @@ public class InstallmentServiceImpl implements IInstallmentService {
     @Override
     public List<InstallmentResponse> getInstallmentsByLoan(Long loanId) {
         logger.debug("Retrieving all installments for loan ID: {}", loanId);
+
+        Optional<List<LoanInstallment>> lazySchedule = lazySchedule(loanId);
+        if (lazySchedule.isPresent()) {
+            List<InstallmentResponse> responses = lazySchedule.get().stream()
+                    .map(InstallmentMapper::toResponse)
+                    .collect(Collectors.toList());
+            logger.debug("Returning {} installment responses for loan ID: {} from its lazy schedule", responses.size(), loanId);
+            return responses;
+        }
+
+        if (installmentLedger.isReady()) {
+            List<InstallmentResponse> responses = installmentLedger.getInstallments(loanId);
+            if (!responses.isEmpty()) {
+                logger.debug("Returning {} installment responses for loan ID: {} from the ledger", responses.size(), loanId);
+                return responses;
+            }
+        }
         
-        List<LoanInstallment> installments = installmentRepository.findByLoanIdOrderByDueDate(loanId);
+        List<LoanInstallment> installments = bulkheadExecutor.execute(PoolRoute.READS,
+                () -> installmentRepository.findByLoanIdOrderByDueDate(loanId));
         logger.debug("Found {} installments for loan ID: {}", installments.size(), loanId);
+
+        // Every loan in the hot tables has installments here, so an empty result is the only case that needs the archive.
+        if (installments.isEmpty()) {
+            installments = bulkheadExecutor.execute(PoolRoute.READS, () -> loanArchive.findLoan(loanId)
+                    .map(loanArchive::findSchedule)
+                    .orElse(List.of()));
+            logger.debug("Found {} archived installments for loan ID: {}", installments.size(), loanId);
+        }
         
         List<InstallmentResponse> responses = installments.stream()
                 .map(InstallmentMapper::toResponse)
@@ -145,8 +241,24 @@ public class InstallmentServiceImpl implements IInstallmentService {
         LocalDate today = LocalDate.now();
         logger.debug("Retrieving overdue installments for loan ID: {} as of date: {}", loanId, today);
 
-        List<LoanInstallment> overdueInstallments = installmentRepository
-                .findByLoanIdAndIsPaidFalseAndDueDateBefore(today);
+        Optional<List<LoanInstallment>> lazySchedule = lazySchedule(loanId);
+        if (lazySchedule.isPresent()) {
+            List<InstallmentResponse> responses = lazySchedule.get().stream()
+                    .filter(installment -> !installment.getIsPaid() && installment.getDueDate().isBefore(today))
+                    .map(InstallmentMapper::toResponse)
+                    .collect(Collectors.toList());
+            logger.debug("Returning {} overdue installment responses for loan ID: {} from its lazy schedule", responses.size(), loanId);
+            return responses;
+        }
+
+        if (installmentLedger.isReady()) {
+            List<InstallmentResponse> responses = installmentLedger.getOverdue(loanId, today);
+            logger.debug("Returning {} overdue installment responses for loan ID: {} from the ledger", responses.size(), loanId);
+            return responses;
+        }
+
+        List<LoanInstallment> overdueInstallments = bulkheadExecutor.execute(PoolRoute.READS,
+                () -> installmentRepository.findByLoanIdAndIsPaidFalseAndDueDateBefore(loanId, today));
         logger.debug("Found {} overdue installments for loan ID: {}", overdueInstallments.size(), loanId);
         
         List<InstallmentResponse> responses = overdueInstallments.stream()
@@ -156,4 +268,80 @@ public class InstallmentServiceImpl implements IInstallmentService {
         logger.debug("Returning {} overdue installment responses for loan ID: {}", responses.size(), loanId);
         return responses;
     }
-}
\ No newline at end of file
+
+    @Override
+    public InstallmentResponse getNextDueInstallment(Long loanId) {
+        logger.debug("Retrieving next due installment for loan ID: {}", loanId);
+
+        Optional<InstallmentResponse> nextDue;
+        Optional<List<LoanInstallment>> lazySchedule = lazySchedule(loanId);
+        if (lazySchedule.isPresent()) {
+            nextDue = lazySchedule.get().stream()
+                    .filter(installment -> !installment.getIsPaid())
+                    .findFirst()
+                    .map(InstallmentMapper::toResponse);
+        } else if (installmentLedger.isReady()) {
+            nextDue = installmentLedger.getNextDue(loanId);
+        } else {
+            nextDue = bulkheadExecutor.execute(PoolRoute.READS,
+                    () -> installmentRepository.findByLoanIdAndIsPaidFalseOrderByDueDateAsc(loanId)).stream()
+                    .findFirst()
+                    .map(InstallmentMapper::toResponse);
+        }
+
+        InstallmentResponse response = nextDue
+                .orElseThrow(() -> new IllegalStateException("No unpaid installments found"));
+        logger.debug("Next due installment for loan ID: {} is {} due on {}", loanId, response.getId(), response.getDueDate());
+        return response;
+    }
+
+    @Override
+    public Page<InstallmentResponse> getPortfolioOverdueInstallments(int page, int size) {
+        LocalDate today = LocalDate.now();
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        logger.debug("Retrieving portfolio overdue installments as of {}: page {}, size {}", today, page, pageSize);
+
+        Page<InstallmentResponse> responses = bulkheadExecutor.execute(PoolRoute.READS, () -> scheduleResolver.isEnabled()
+                ? mergedOverduePage(today, Math.max(page, 0), pageSize)
+                : installmentRepository
+                        .findOverdue(today, PageRequest.of(Math.max(page, 0), pageSize, Sort.by("dueDate", "id")))
+                        .map(InstallmentMapper::toResponse));
+
+        logger.debug("Returning {} of {} overdue installments", responses.getNumberOfElements(), responses.getTotalElements());
+        return responses;
+    }
+
+    // Installments of lazy loans have no row until they are paid or marked overdue, and packed loans have none, so
+    // while either mode is on every installment row up to the end of the page is merged with the overdue
+    // installments that have no row. Those sort after rows with the same due date.
+    private Page<InstallmentResponse> mergedOverduePage(LocalDate today, int page, int pageSize) {
+        List<LoanInstallment> withoutRows = scheduleResolver.findOverdueWithoutRows(today);
+        int rowsNeeded = (int) Math.min(Integer.MAX_VALUE, (long) (page + 1) * pageSize);
+        Page<LoanInstallment> rows = installmentRepository.findOverdue(today, PageRequest.of(0, rowsNeeded, Sort.by("dueDate", "id")));
+
+        List<LoanInstallment> merged = new ArrayList<>(rows.getContent());
+        merged.addAll(withoutRows);
+        merged.sort(Comparator.comparing(LoanInstallment::getDueDate)
+                .thenComparing(LoanInstallment::getId, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(installment -> installment.getLoan().getId())
+                .thenComparing(LoanInstallment::getInstallmentNumber));
+        List<InstallmentResponse> content = merged.stream()
+                .skip((long) page * pageSize)
+                .limit(pageSize)
+                .map(InstallmentMapper::toResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, PageRequest.of(page, pageSize, Sort.by("dueDate", "id")),
+                rows.getTotalElements() + withoutRows.size());
+    }
+
+    // Only consulted while lazy schedules are enabled, so eager reads keep their single query. Lazy loans left
+    // from an earlier run are materialized at startup when the mode is off.
+    private Optional<List<LoanInstallment>> lazySchedule(Long loanId) {
+        if (!scheduleResolver.isEnabled()) {
+            return Optional.empty();
+        }
+        return bulkheadExecutor.execute(PoolRoute.READS, () -> loanRepository.findById(loanId)
+                .filter(InstallmentScheduleResolver::isLazy)
+                .map(scheduleResolver::resolve));
+    }
+}
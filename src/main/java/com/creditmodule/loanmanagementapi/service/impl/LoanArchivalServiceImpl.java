@@ -0,0 +1,52 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.dto.response.LoanArchivalResult;
+import com.creditmodule.loanmanagementapi.ledger.LoanArchive;
+import com.creditmodule.loanmanagementapi.ledger.LoanArchive.ArchiveTotals;
+import com.creditmodule.loanmanagementapi.service.ILoanArchivalService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Archives every loan paid before the retention cutoff. Runs do not overlap: the nightly job and the admin
+// endpoint would otherwise pick the same chunks and conflict on the archive keys.
+@Service
+public class LoanArchivalServiceImpl implements ILoanArchivalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanArchivalServiceImpl.class);
+
+    private final LoanArchive loanArchive;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public LoanArchivalServiceImpl(LoanArchive loanArchive) {
+        this.loanArchive = loanArchive;
+    }
+
+    @Override
+    public LoanArchivalResult archivePaidLoans() {
+        if (!loanArchive.isEnabled()) {
+            throw new IllegalStateException("Loan archival is not enabled");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Loan archival is already running");
+        }
+        try {
+            long start = System.currentTimeMillis();
+            LocalDate paidBefore = loanArchive.cutoff(LocalDate.now());
+            ArchiveTotals totals = loanArchive.archive(paidBefore);
+            LoanArchivalResult result = LoanArchivalResult.builder()
+                    .paidBefore(paidBefore)
+                    .archivedLoans(totals.loans())
+                    .archivedInstallmentRows(totals.installments())
+                    .durationMillis(System.currentTimeMillis() - start)
+                    .build();
+            logger.debug("Loan archival finished: {}", result);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+}
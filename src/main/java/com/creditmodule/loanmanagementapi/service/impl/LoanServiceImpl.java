@@ -1,34 +1,53 @@
 package com.creditmodule.loanmanagementapi.service.impl;
 
+import com.creditmodule.loanmanagementapi.datasource.PoolRoute;
 import com.creditmodule.loanmanagementapi.dto.request.PayLoanRequest;
 import com.creditmodule.loanmanagementapi.dto.response.PaymentResult;
 import com.creditmodule.loanmanagementapi.enums.InstallmentNumbers;
 import com.creditmodule.loanmanagementapi.dto.request.CreateLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.request.LoanSearchRequest;
 import com.creditmodule.loanmanagementapi.dto.response.LoanResponse;
 import com.creditmodule.loanmanagementapi.entity.Customer;
 import com.creditmodule.loanmanagementapi.entity.Loan;
 import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.event.InstallmentsPaidEvent;
+import com.creditmodule.loanmanagementapi.event.LoanCreatedEvent;
 import com.creditmodule.loanmanagementapi.exception.CreditLimitExceededException;
 import com.creditmodule.loanmanagementapi.exception.CustomerNotFoundException;
 import com.creditmodule.loanmanagementapi.exception.InvalidInstallmentException;
+import com.creditmodule.loanmanagementapi.executor.BulkheadExecutor;
+import com.creditmodule.loanmanagementapi.executor.OptimisticRetryExecutor;
+import com.creditmodule.loanmanagementapi.executor.PartitionedPaymentExecutor;
+import com.creditmodule.loanmanagementapi.ledger.CreditLedger;
+import com.creditmodule.loanmanagementapi.ledger.InstallmentScheduleResolver;
+import com.creditmodule.loanmanagementapi.ledger.LoanArchive;
+import com.creditmodule.loanmanagementapi.ledger.PaymentLedger;
 import com.creditmodule.loanmanagementapi.mapper.LoanMapper;
 import com.creditmodule.loanmanagementapi.repository.CustomerRepository;
 import com.creditmodule.loanmanagementapi.repository.LoanInstallmentRepository;
 import com.creditmodule.loanmanagementapi.repository.LoanRepository;
+import com.creditmodule.loanmanagementapi.repository.LoanSpecifications;
 import com.creditmodule.loanmanagementapi.service.ILoanService;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -37,6 +56,10 @@ public class LoanServiceImpl implements ILoanService {
 
     private static final Logger logger = LoggerFactory.getLogger(LoanServiceImpl.class);
 
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final Set<String> SEARCH_SORT_FIELDS = Set.of("createDate", "loanAmount", "interestRate", "id");
+
     @Autowired
     private final LoanRepository loanRepository;
 
@@ -46,17 +69,62 @@ public class LoanServiceImpl implements ILoanService {
     @Autowired
     private final LoanInstallmentRepository installmentRepository;
 
+    @Autowired
+    private final PartitionedPaymentExecutor paymentExecutor;
+
+    @Autowired
+    private final OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    private final BulkheadExecutor bulkheadExecutor;
+
+    @Autowired
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private final CreditLedger creditLedger;
+
+    @Autowired
+    private final InstallmentScheduleResolver scheduleResolver;
+
+    @Autowired
+    private final PaymentLedger paymentLedger;
+
+    @Autowired
+    private final LoanArchive loanArchive;
+
     public LoanServiceImpl(LoanRepository loanRepository, CustomerRepository customerRepository,
-                           LoanInstallmentRepository installmentRepository) {
+                           LoanInstallmentRepository installmentRepository,
+                           PartitionedPaymentExecutor paymentExecutor, OptimisticRetryExecutor retryExecutor,
+                           BulkheadExecutor bulkheadExecutor, TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher, CreditLedger creditLedger,
+                           InstallmentScheduleResolver scheduleResolver, PaymentLedger paymentLedger,
+                           LoanArchive loanArchive) {
         this.loanRepository = loanRepository;
         this.customerRepository = customerRepository;
         this.installmentRepository = installmentRepository;
+        this.paymentExecutor = paymentExecutor;
+        this.retryExecutor = retryExecutor;
+        this.bulkheadExecutor = bulkheadExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.creditLedger = creditLedger;
+        this.scheduleResolver = scheduleResolver;
+        this.paymentLedger = paymentLedger;
+        this.loanArchive = loanArchive;
     }
 
     @Override
-    @Transactional
     public LoanResponse createLoan(CreateLoanRequest request) {
         logger.debug("Creating loan with request: {}", request);
+        return bulkheadExecutor.execute(PoolRoute.PAYMENTS, () -> retryExecutor.execute("create loan",
+                () -> transactionTemplate.execute(status -> originateLoan(request))));
+    }
+
+    private LoanResponse originateLoan(CreateLoanRequest request) {
         Customer customer = customerRepository.findById(request.getCustomerId())
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + request.getCustomerId()));
 
@@ -74,7 +142,13 @@ public class LoanServiceImpl implements ILoanService {
 
         BigDecimal totalLoanAmount = calculateTotalLoanAmount(request.getAmount(), request.getInterestRate());
 
-        validateCreditLimit(customer, totalLoanAmount);
+        // With the credit ledger the reservation is made in memory and written to the customer row later.
+        boolean reservedInLedger = creditLedger.isReady();
+        if (reservedInLedger) {
+            reserveCredit(customer, totalLoanAmount);
+        } else {
+            validateCreditLimit(customer, totalLoanAmount);
+        }
 
         Loan loan = new Loan();
         loan.setCustomer(customer);
@@ -83,38 +157,58 @@ public class LoanServiceImpl implements ILoanService {
         loan.setInterestRate(request.getInterestRate());
         loan.setCreateDate(LocalDate.now());
         loan.setIsPaid(false);
+        // Lazy and packed schedules are stored with the loan row; only eager ones come back as rows to insert.
+        List<LoanInstallment> installments = scheduleResolver.initialize(loan);
         logger.debug("Saving loan with request: {}", loan);
 
         loan = loanRepository.save(loan);
 
-        List<LoanInstallment> installments = generateInstallments(loan, numInstallments);
-        loan.setInstallments(installments);
-        installmentRepository.saveAll(installments);
+        if (!installments.isEmpty()) {
+            loan.setInstallments(installments);
+            installmentRepository.saveAll(installments);
+        }
 
-        customer.setUsedCreditLimit(customer.getUsedCreditLimit().add(totalLoanAmount));
-        customerRepository.save(customer);
+        if (!reservedInLedger) {
+            customer.setUsedCreditLimit(customer.getUsedCreditLimit().add(totalLoanAmount));
+            customerRepository.save(customer);
+        }
 
+        eventPublisher.publishEvent(new LoanCreatedEvent(loan.getId(), customer.getId(), loan.getLoanAmount(),
+                loan.getNumberOfInstallments(), loan.getCreateDate()));
         logger.debug("Created loan: {}", loan);
         return LoanMapper.toResponse(loan);
     }
 
     @Override
-    @Transactional
     public PaymentResult payLoan(PayLoanRequest request) {
         logger.debug("Paying loan with request: {}", request);
+        // Payments of the same loan are serialized on its partition; the transaction runs on that thread.
+        return paymentExecutor.execute(request.getLoanId(), () -> bulkheadExecutor.execute(PoolRoute.PAYMENTS,
+                () -> retryExecutor.execute("loan payment",
+                        () -> transactionTemplate.execute(status -> applyLoanPayment(request)))));
+    }
+
+    private PaymentResult applyLoanPayment(PayLoanRequest request) {
         Loan loan = loanRepository.findById(request.getLoanId())
-                .orElseThrow(() -> new CustomerNotFoundException("Loan not found with ID: " + request.getLoanId()));
+                .orElseThrow(() -> loanArchive.contains(request.getLoanId())
+                        ? new InvalidInstallmentException("Loan is already fully paid.")
+                        : new CustomerNotFoundException("Loan not found with ID: " + request.getLoanId()));
 
         if (Boolean.TRUE.equals(loan.getIsPaid())) {
             throw new InvalidInstallmentException("Loan is already fully paid.");
         }
 
-        List<LoanInstallment> unpaidInstallments = installmentRepository
-                .findByLoanIdAndIsPaidFalseOrderByDueDateAsc(request.getLoanId());
+        List<LoanInstallment> schedule = InstallmentScheduleResolver.isLazy(loan) ? scheduleResolver.resolve(loan) : null;
+        List<LoanInstallment> unpaidInstallments = schedule != null
+                ? schedule.stream()
+                        .filter(installment -> !installment.getIsPaid())
+                        .collect(Collectors.toList())
+                : installmentRepository.findByLoanIdAndIsPaidFalseOrderByDueDateAsc(request.getLoanId());
 
         BigDecimal remainingAmount = request.getAmount();
         int paidCount = 0;
         BigDecimal totalSpent = BigDecimal.ZERO;
+        List<LoanInstallment> paidInstallments = new ArrayList<>();
 
         for (LoanInstallment installment : unpaidInstallments) {
             if (remainingAmount.compareTo(BigDecimal.ZERO) <= 0) break;
@@ -124,7 +218,7 @@ public class LoanServiceImpl implements ILoanService {
             if (remainingAmount.compareTo(installmentAmount) >= 0) {
                 installment.setIsPaid(true);
                 installment.setPaymentDate(LocalDate.now());
-                installmentRepository.save(installment);
+                paidInstallments.add(installment);
 
                 remainingAmount = remainingAmount.subtract(installmentAmount);
                 totalSpent = totalSpent.add(installmentAmount);
@@ -132,13 +226,29 @@ public class LoanServiceImpl implements ILoanService {
             }
         }
 
+        scheduleResolver.save(loan, schedule, paidInstallments);
+        paymentLedger.record(loan, paidInstallments.stream()
+                .map(installment -> new PaymentLedger.Application(installment.getInstallmentNumber(), installment.getAmount()))
+                .collect(Collectors.toList()), LocalDate.now());
+        // Packed installments have no ids.
+        List<Long> paidInstallmentIds = paidInstallments.stream()
+                .map(LoanInstallment::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
         boolean loanFullyPaid = paidCount == loan.getNumberOfInstallments();
 
         if (loanFullyPaid) {
             loan.setIsPaid(true);
+            loan.setPaidDate(LocalDate.now());
             loanRepository.save(loan);
         }
 
+        if (!paidInstallments.isEmpty()) {
+            eventPublisher.publishEvent(new InstallmentsPaidEvent(loan.getId(), loan.getCustomer().getId(),
+                    paidInstallmentIds, totalSpent, loanFullyPaid));
+        }
+
         PaymentResult result = buildPaymentResult(paidCount, totalSpent, loanFullyPaid);
         logger.debug("Payment result: {}", result);
         return result;
@@ -148,19 +258,23 @@ public class LoanServiceImpl implements ILoanService {
     @Transactional
     public LoanResponse getLoanDetails(Long loanId) {
         logger.debug("Getting loan details for loan ID: {}", loanId);
-        Loan loan = loanRepository.findById(loanId)
-                .orElseThrow(() -> new CustomerNotFoundException("Loan not found with ID: " + loanId));
-
-        LoanResponse response = LoanMapper.toResponse(loan);
-        logger.debug("Loan details: {}", response);
-        return response;
+        return bulkheadExecutor.execute(PoolRoute.READS, () -> {
+            // Loans paid long ago live in the archive tables.
+            Loan loan = loanRepository.findById(loanId)
+                    .or(() -> loanArchive.findLoan(loanId))
+                    .orElseThrow(() -> new CustomerNotFoundException("Loan not found with ID: " + loanId));
+
+            LoanResponse response = LoanMapper.toResponse(loan);
+            logger.debug("Loan details: {}", response);
+            return response;
+        });
     }
 
     @Override
     @Transactional
     public List<LoanResponse> getLoansByCustomer(Long customerId) {
         logger.debug("Getting loans for customer ID: {}", customerId);
-        List<Loan> loans = loanRepository.findByCustomerId(customerId);
+        List<Loan> loans = bulkheadExecutor.execute(PoolRoute.READS, () -> withArchived(customerId));
 
         if (loans.isEmpty()) {
             throw new CustomerNotFoundException("No loans found for customer ID: " + customerId);
@@ -177,7 +291,11 @@ public class LoanServiceImpl implements ILoanService {
     @Transactional
     public List<LoanResponse> getLoansByCustomerWithFilters(Long customerId, Boolean isPaid, Integer numberOfInstallments) {
         logger.debug("Getting loans for customer ID: {} with filters isPaid: {}, numberOfInstallments: {}", customerId, isPaid, numberOfInstallments);
-        List<Loan> loans = loanRepository.findByCustomerIdWithFilters(customerId, isPaid, numberOfInstallments);
+        // A customer has few loans, so filtering the cached per-customer list beats a separate uncached query.
+        List<Loan> loans = bulkheadExecutor.execute(PoolRoute.READS, () -> withArchived(customerId)).stream()
+                .filter(loan -> isPaid == null || isPaid.equals(loan.getIsPaid()))
+                .filter(loan -> numberOfInstallments == null || numberOfInstallments.equals(loan.getNumberOfInstallments()))
+                .collect(Collectors.toList());
 
         if (loans.isEmpty()) {
             throw new CustomerNotFoundException("No loans found for customer ID: " + customerId + " with given filters.");
@@ -190,6 +308,37 @@ public class LoanServiceImpl implements ILoanService {
         return responses;
     }
 
+    @Override
+    @Transactional
+    public Page<LoanResponse> searchLoans(LoanSearchRequest criteria, int page, int size, String sortBy, boolean ascending) {
+        logger.debug("Searching loans with criteria: {}, page: {}, size: {}, sort: {} {}",
+                criteria, page, size, sortBy, ascending ? "ASC" : "DESC");
+
+        if (!SEARCH_SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Loans can be sorted by " + SEARCH_SORT_FIELDS + " only");
+        }
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize, sort);
+
+        // Paid loans may have moved to the archive; only a search for unpaid loans can skip it.
+        Page<LoanResponse> responses = bulkheadExecutor.execute(PoolRoute.READS, () -> (Boolean.FALSE.equals(criteria.getIsPaid())
+                ? loanRepository.findAll(LoanSpecifications.matching(criteria), pageRequest)
+                : loanArchive.search(criteria, pageRequest))
+                .map(LoanMapper::toResponse));
+        logger.debug("Loan search returned {} of {} loans", responses.getNumberOfElements(), responses.getTotalElements());
+        return responses;
+    }
+
+    // The cached per-customer list of the hot table plus the customer's archived loans, by id.
+    private List<Loan> withArchived(Long customerId) {
+        List<Loan> loans = new ArrayList<>(loanRepository.findByCustomerId(customerId));
+        loans.addAll(loanArchive.findByCustomer(customerId));
+        loans.sort(Comparator.comparing(Loan::getId));
+        return loans;
+    }
+
     private PaymentResult buildPaymentResult(int paidCount, BigDecimal totalSpent, boolean loanFullyPaid) {
         PaymentResult result = PaymentResult.builder()
                 .installmentsPaid(paidCount)
@@ -226,24 +375,10 @@ public class LoanServiceImpl implements ILoanService {
         logger.debug("Credit limit validated for customer: {}", customer.getId());
     }
 
-    private List<LoanInstallment> generateInstallments(Loan loan, int numInstallments) {
-        List<LoanInstallment> installments = new ArrayList<>();
-        BigDecimal installmentAmount = loan.getLoanAmount()
-                .divide(BigDecimal.valueOf(numInstallments), 2, RoundingMode.HALF_UP);
-
-        for (int i = 1; i <= numInstallments; i++) {
-            LoanInstallment installment = new LoanInstallment();
-            installment.setLoan(loan);
-            installment.setInstallmentNumber(i);
-            installment.setAmount(installmentAmount);
-            installment.setDueDate(LocalDate.now().plusMonths(i));
-            installment.setIsPaid(false);
-            installment.setPaidAmount(BigDecimal.ZERO);
-            installment.setPaymentDate(null);
-
-            installments.add(installment);
+    private void reserveCredit(Customer customer, BigDecimal requestedAmount) {
+        if (!creditLedger.reserveForTransaction(customer.getId(), requestedAmount)) {
+            throw new CreditLimitExceededException("Requested amount exceeds available credit limit.");
         }
-
-        return installments;
+        logger.debug("Credit reserved in the ledger for customer: {}", customer.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.datasource.PoolRoute;
+import com.creditmodule.loanmanagementapi.dto.response.LoanBalanceResponse;
+import com.creditmodule.loanmanagementapi.dto.response.PaymentLedgerEntryResponse;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.exception.CustomerNotFoundException;
+import com.creditmodule.loanmanagementapi.executor.BulkheadExecutor;
+import com.creditmodule.loanmanagementapi.ledger.LoanArchive;
+import com.creditmodule.loanmanagementapi.repository.LoanRepository;
+import com.creditmodule.loanmanagementapi.service.IPaymentLedgerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+// Balances are read as the latest snapshot dated on or before the requested day plus the ledger entries
+// after it, so a query reads one snapshot row and a short tail instead of the loan's whole payment history.
+@Service
+public class PaymentLedgerServiceImpl implements IPaymentLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentLedgerServiceImpl.class);
+
+    private static final String SNAPSHOT_AS_OF =
+            "SELECT last_entry_id, as_of_date, paid_total, paid_installments FROM loan_balance_snapshots " +
+            "WHERE loan_id = ? AND as_of_date <= ? ORDER BY last_entry_id DESC FETCH FIRST 1 ROWS ONLY";
+
+    private static final String TAIL =
+            "SELECT COALESCE(SUM(amount), 0) AS paid, COUNT(*) AS entries FROM payment_ledger " +
+            "WHERE loan_id = ? AND id > ? AND payment_date <= ?";
+
+    private static final String ENTRIES =
+            "SELECT id, loan_id, installment_number, amount, payment_date, recorded_at FROM payment_ledger " +
+            "WHERE loan_id = ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoanRepository loanRepository;
+    private final BulkheadExecutor bulkheadExecutor;
+    private final LoanArchive loanArchive;
+
+    public PaymentLedgerServiceImpl(JdbcTemplate jdbcTemplate, LoanRepository loanRepository,
+                                    BulkheadExecutor bulkheadExecutor, LoanArchive loanArchive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.loanRepository = loanRepository;
+        this.bulkheadExecutor = bulkheadExecutor;
+        this.loanArchive = loanArchive;
+    }
+
+    @Override
+    public LoanBalanceResponse getBalance(Long loanId, LocalDate asOf) {
+        LocalDate date = asOf != null ? asOf : LocalDate.now();
+        logger.debug("Computing balance of loan {} as of {}", loanId, date);
+        return bulkheadExecutor.execute(PoolRoute.READS, () -> {
+            Loan loan = loanRepository.findById(loanId)
+                    .or(() -> loanArchive.findLoan(loanId))
+                    .orElseThrow(() -> new CustomerNotFoundException("Loan not found with ID: " + loanId));
+
+            LoanBalanceResponse balance = LoanBalanceResponse.builder()
+                    .loanId(loanId)
+                    .asOfDate(date)
+                    .loanAmount(loan.getLoanAmount())
+                    .paidAmount(BigDecimal.ZERO)
+                    .paidInstallments(0)
+                    .build();
+            long lastEntryId = 0;
+            List<Long> snapshot = jdbcTemplate.query(SNAPSHOT_AS_OF, (rs, row) -> {
+                balance.setSnapshotDate(rs.getDate("as_of_date").toLocalDate());
+                balance.setPaidAmount(rs.getBigDecimal("paid_total"));
+                balance.setPaidInstallments(rs.getInt("paid_installments"));
+                return rs.getLong("last_entry_id");
+            }, loanId, Date.valueOf(date));
+            if (!snapshot.isEmpty()) {
+                lastEntryId = snapshot.get(0);
+            }
+
+            jdbcTemplate.query(TAIL, rs -> {
+                balance.setPaidAmount(balance.getPaidAmount().add(rs.getBigDecimal("paid")));
+                balance.setPaidInstallments(balance.getPaidInstallments() + rs.getInt("entries"));
+                balance.setEntriesAfterSnapshot(rs.getInt("entries"));
+            }, loanId, lastEntryId, Date.valueOf(date));
+
+            // Installment amounts are rounded, so a fully paid loan can be a cent off its total.
+            BigDecimal outstanding = balance.getPaidInstallments() >= loan.getNumberOfInstallments()
+                    ? BigDecimal.ZERO
+                    : loan.getLoanAmount().subtract(balance.getPaidAmount()).max(BigDecimal.ZERO);
+            balance.setOutstandingAmount(outstanding);
+            logger.debug("Balance of loan {} as of {}: {}", loanId, date, balance);
+            return balance;
+        });
+    }
+
+    @Override
+    public List<PaymentLedgerEntryResponse> getPayments(Long loanId) {
+        logger.debug("Reading the payment history of loan {}", loanId);
+        List<PaymentLedgerEntryResponse> entries = bulkheadExecutor.execute(PoolRoute.READS,
+                () -> jdbcTemplate.query(ENTRIES, (rs, row) -> PaymentLedgerEntryResponse.builder()
+                        .id(rs.getLong("id"))
+                        .loanId(rs.getLong("loan_id"))
+                        .installmentNumber(rs.getInt("installment_number"))
+                        .amount(rs.getBigDecimal("amount"))
+                        .paymentDate(rs.getDate("payment_date").toLocalDate())
+                        .recordedAt(rs.getTimestamp("recorded_at").toLocalDateTime())
+                        .build(), loanId));
+        logger.debug("Loan {} has {} payment ledger entries", loanId, entries.size());
+        return entries;
+    }
+}
@@ -0,0 +1,38 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.dto.response.SchedulePackingResult;
+import com.creditmodule.loanmanagementapi.ledger.InstallmentScheduleResolver;
+import com.creditmodule.loanmanagementapi.ledger.InstallmentScheduleResolver.MigrationTotals;
+import com.creditmodule.loanmanagementapi.service.ISchedulePackingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+// Migration path to packed schedules: every loan whose installments still live in loan_installments (eager or
+// lazy) gets its schedule encoded into loans.packed_schedule, and its installment rows are deleted, one chunk
+// per transaction. Packing again only picks up loans that are still unpacked.
+@Service
+public class SchedulePackingServiceImpl implements ISchedulePackingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulePackingServiceImpl.class);
+
+    private final InstallmentScheduleResolver scheduleResolver;
+
+    public SchedulePackingServiceImpl(InstallmentScheduleResolver scheduleResolver) {
+        this.scheduleResolver = scheduleResolver;
+    }
+
+    @Override
+    public SchedulePackingResult packSchedules() {
+        long start = System.currentTimeMillis();
+        MigrationTotals totals = scheduleResolver.packAll();
+        SchedulePackingResult result = SchedulePackingResult.builder()
+                .packedLoans(totals.loans())
+                .removedInstallmentRows(totals.rows())
+                .packedBytes(totals.bytes())
+                .durationMillis(System.currentTimeMillis() - start)
+                .build();
+        logger.debug("Schedule packing finished: {}", result);
+        return result;
+    }
+}
@@ -0,0 +1,306 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.dto.response.CustomerStatement;
+import com.creditmodule.loanmanagementapi.dto.response.StatementInstallment;
+import com.creditmodule.loanmanagementapi.dto.response.StatementLoan;
+import com.creditmodule.loanmanagementapi.dto.response.StatementRunResult;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.ledger.InstallmentScheduleResolver;
+import com.creditmodule.loanmanagementapi.service.IStatementService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+// Writes one gzip-compressed JSON-lines file per customer ID range. Each range is read with a single
+// streaming query ordered by customer, loan and installment number, so a statement is complete as soon as
+// the customer ID changes. A range file is written under a temporary name and renamed when finished;
+// ranges whose file already exists are skipped, so a failed run is resumed by running the month again.
+// Ranges are fixed buckets of statement.customers-per-file IDs, so a resumed run names them the same way
+// even when the lowest or highest customer ID has changed in between. A loan's rows are collected until the
+// loan ID changes; a lazy loan's schedule is then resolved from its terms, since it only has rows for the
+// installments that were paid or turned overdue, and a packed loan's schedule is decoded from the loan row.
+@Service
+public class StatementServiceImpl implements IStatementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementServiceImpl.class);
+
+    // Installment rows are only joined for open loans or when paid within the month; a customer without
+    // such rows still gets one row (with null loan/installment columns) and an empty statement. A paid loan's
+    // resolved schedule is filtered the same way.
+    private static final String STATEMENT_ROWS =
+            "SELECT c.id AS customer_id, c.name, c.surname, c.credit_limit, c.used_credit_limit, " +
+            "l.id AS loan_id, l.loan_amount, l.number_of_installments, l.interest_rate, l.create_date, " +
+            "l.is_paid AS loan_paid, l.lazy_schedule, l.packed_schedule, li.installment_number, li.amount, li.paid_amount, li.due_date, " +
+            "li.payment_date, li.is_paid AS installment_paid, li.late_fee " +
+            "FROM customers c " +
+            "LEFT JOIN loans l ON l.customer_id = c.id " +
+            "LEFT JOIN loan_installments li ON li.loan_id = l.id " +
+            "AND (l.is_paid = FALSE OR li.payment_date BETWEEN ? AND ?) " +
+            "WHERE c.id BETWEEN ? AND ? " +
+            "ORDER BY c.id, l.id, li.installment_number";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectWriter statementWriter;
+    private final Path outputDirectory;
+    private final int partitionCount;
+    private final int customersPerFile;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public StatementServiceImpl(DataSource dataSource, ObjectMapper objectMapper,
+                                @Value("${statement.output-dir:statements}") String outputDirectory,
+                                @Value("${statement.partitions:4}") int partitionCount,
+                                @Value("${statement.customers-per-file:10000}") int customersPerFile,
+                                @Value("${statement.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.statementWriter = objectMapper.writerFor(CustomerStatement.class);
+        this.outputDirectory = Path.of(outputDirectory);
+        this.partitionCount = Math.max(1, partitionCount);
+        this.customersPerFile = Math.max(1, customersPerFile);
+    }
+
+    @Override
+    public StatementRunResult generateMonthlyStatements(YearMonth month) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A statement run is already in progress");
+        }
+        long start = System.currentTimeMillis();
+        Path monthDirectory = outputDirectory.resolve(month.toString());
+        ExecutorService workers = Executors.newFixedThreadPool(partitionCount);
+        try {
+            Files.createDirectories(monthDirectory);
+
+            Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM customers", Long.class);
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM customers", Long.class);
+
+            int ranges = 0;
+            int skipped = 0;
+            List<Future<Long>> results = new ArrayList<>();
+            if (minId != null) {
+                for (long from = minId / customersPerFile * customersPerFile; from <= maxId; from += customersPerFile) {
+                    long to = from + customersPerFile - 1;
+                    Path target = monthDirectory.resolve(String.format("customers-%012d-%012d.jsonl.gz", from, to));
+                    ranges++;
+                    if (Files.exists(target)) {
+                        skipped++;
+                        continue;
+                    }
+                    long rangeFrom = from;
+                    results.add(workers.submit(() -> writeRange(month, rangeFrom, to, target)));
+                }
+            }
+            logger.debug("Statement run for {}: {} ranges, {} already written", month, ranges, skipped);
+
+            long written = 0;
+            for (Future<Long> result : results) {
+                written += result.get();
+            }
+
+            StatementRunResult result = StatementRunResult.builder()
+                    .month(month)
+                    .directory(monthDirectory.toString())
+                    .ranges(ranges)
+                    .skippedRanges(skipped)
+                    .statementsWritten(written)
+                    .durationMillis(System.currentTimeMillis() - start)
+                    .build();
+            logger.debug("Statement run finished: {}", result);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create statement directory " + monthDirectory, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Statement run was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Statement run for " + month + " failed, run it again to resume", e.getCause());
+        } finally {
+            workers.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    private long writeRange(YearMonth month, long fromId, long toId, Path target) throws IOException {
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        LocalDate monthStart = month.atDay(1);
+        LocalDate monthEnd = month.atEndOfMonth();
+
+        StatementAssembler assembler;
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)), 64 * 1024)) {
+            assembler = new StatementAssembler(month, out);
+            jdbcTemplate.query(STATEMENT_ROWS, assembler,
+                    Date.valueOf(monthStart), Date.valueOf(monthEnd), fromId, toId);
+            assembler.finish();
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(partial);
+            throw e.getCause();
+        }
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        logger.debug("Wrote {} statements for customers {}-{} to {}", assembler.written, fromId, toId, target);
+        return assembler.written;
+    }
+
+    private final class StatementAssembler implements RowCallbackHandler {
+        private final YearMonth month;
+        private final OutputStream out;
+        private CustomerStatement current;
+        private Loan currentLoan;
+        private final List<LoanInstallment> loanRows = new ArrayList<>();
+        private long written;
+
+        private StatementAssembler(YearMonth month, OutputStream out) {
+            this.month = month;
+            this.out = out;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long customerId = rs.getLong("customer_id");
+            if (current == null || current.getCustomerId() != customerId) {
+                finish();
+                current = new CustomerStatement();
+                current.setCustomerId(customerId);
+                current.setName(rs.getString("name"));
+                current.setSurname(rs.getString("surname"));
+                current.setMonth(month);
+                current.setCreditLimit(rs.getBigDecimal("credit_limit"));
+                current.setUsedCreditLimit(rs.getBigDecimal("used_credit_limit"));
+            }
+
+            long loanId = rs.getLong("loan_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            if (currentLoan == null || currentLoan.getId() != loanId) {
+                finishLoan();
+                currentLoan = new Loan();
+                currentLoan.setId(loanId);
+                currentLoan.setLoanAmount(rs.getBigDecimal("loan_amount"));
+                currentLoan.setNumberOfInstallments(rs.getInt("number_of_installments"));
+                currentLoan.setInterestRate(rs.getBigDecimal("interest_rate"));
+                currentLoan.setCreateDate(toLocalDate(rs.getDate("create_date")));
+                currentLoan.setIsPaid(rs.getBoolean("loan_paid"));
+                currentLoan.setLazySchedule(rs.getBoolean("lazy_schedule"));
+                currentLoan.setPackedSchedule(rs.getBytes("packed_schedule"));
+            }
+
+            int installmentNumber = rs.getInt("installment_number");
+            if (rs.wasNull()) {
+                return;
+            }
+            LoanInstallment installment = new LoanInstallment();
+            installment.setLoan(currentLoan);
+            installment.setInstallmentNumber(installmentNumber);
+            installment.setAmount(rs.getBigDecimal("amount"));
+            installment.setPaidAmount(rs.getBigDecimal("paid_amount"));
+            installment.setDueDate(toLocalDate(rs.getDate("due_date")));
+            installment.setPaymentDate(toLocalDate(rs.getDate("payment_date")));
+            installment.setIsPaid(rs.getBoolean("installment_paid"));
+            installment.setLateFee(rs.getBigDecimal("late_fee"));
+            loanRows.add(installment);
+        }
+
+        private void finishLoan() {
+            if (currentLoan == null) {
+                return;
+            }
+            boolean open = !currentLoan.getIsPaid();
+            StatementLoan statementLoan = null;
+            if (open) {
+                statementLoan = new StatementLoan();
+                statementLoan.setLoanId(currentLoan.getId());
+                statementLoan.setLoanAmount(currentLoan.getLoanAmount());
+                statementLoan.setNumberOfInstallments(currentLoan.getNumberOfInstallments());
+                statementLoan.setInterestRate(currentLoan.getInterestRate());
+                statementLoan.setCreateDate(currentLoan.getCreateDate());
+                statementLoan.setOutstandingAmount(BigDecimal.ZERO);
+                current.getOpenLoans().add(statementLoan);
+            }
+
+            List<LoanInstallment> schedule = InstallmentScheduleResolver.isLazy(currentLoan)
+                    ? InstallmentScheduleResolver.resolve(currentLoan, loanRows)
+                    : loanRows;
+            for (LoanInstallment installment : schedule) {
+                boolean paidInMonth = installment.getPaymentDate() != null
+                        && YearMonth.from(installment.getPaymentDate()).equals(month);
+                if (!open && !paidInMonth) {
+                    continue;
+                }
+                if (!installment.getIsPaid() && statementLoan != null) {
+                    statementLoan.setOutstandingAmount(statementLoan.getOutstandingAmount().add(installment.getAmount()));
+                }
+                StatementInstallment line = toStatementInstallment(installment);
+                if (YearMonth.from(installment.getDueDate()).equals(month)) {
+                    current.getInstallmentsDue().add(line);
+                    current.setTotalDue(current.getTotalDue().add(line.getAmount()));
+                }
+                if (paidInMonth) {
+                    current.getPayments().add(line);
+                    current.setTotalPaid(current.getTotalPaid().add(line.getPaidAmount()));
+                }
+            }
+            currentLoan = null;
+            loanRows.clear();
+        }
+
+        private void finish() {
+            if (current == null) {
+                return;
+            }
+            finishLoan();
+            try {
+                out.write(statementWriter.writeValueAsBytes(current));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            written++;
+            current = null;
+        }
+
+        private StatementInstallment toStatementInstallment(LoanInstallment installment) {
+            StatementInstallment line = new StatementInstallment();
+            line.setLoanId(installment.getLoan().getId());
+            line.setInstallmentNumber(installment.getInstallmentNumber());
+            line.setAmount(installment.getAmount());
+            line.setPaidAmount(installment.getPaidAmount());
+            line.setDueDate(installment.getDueDate());
+            line.setPaymentDate(installment.getPaymentDate());
+            line.setIsPaid(installment.getIsPaid());
+            line.setLateFee(installment.getLateFee());
+            return line;
+        }
+
+        private LocalDate toLocalDate(Date date) {
+            return date != null ? date.toLocalDate() : null;
+        }
+    }
+}
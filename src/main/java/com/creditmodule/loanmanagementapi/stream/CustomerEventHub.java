@@ -0,0 +1,340 @@
+package com.creditmodule.loanmanagementapi.stream;
+
+import com.creditmodule.loanmanagementapi.dto.response.CustomerEventResponse;
+import com.creditmodule.loanmanagementapi.event.InstallmentsPaidEvent;
+import com.creditmodule.loanmanagementapi.event.LoanCreatedEvent;
+import com.creditmodule.loanmanagementapi.exception.StreamCapacityExceededException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fans committed loan and payment events out to the SSE subscribers of each customer. An idle subscriber
+// is only an async request parked in Tomcat plus a small queue, so it holds no thread. Publishing never
+// blocks the committing thread: each frame is serialized once and offered to every subscriber's bounded
+// queue, and a small shared pool drains the queues. A subscriber whose queue is full is dropped; its
+// EventSource reconnects and reloads the loans. Each write is handed to a writer pool and waited for at most
+// events.stream.send-timeout-ms, so clients that stop reading cannot pin the dispatchers; a subscriber whose
+// write times out is dropped the same way.
+@Component
+@Lazy(false)
+public class CustomerEventHub implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerEventHub.class);
+
+    static final String LOAN_CREATED = "LoanCreated";
+    static final String INSTALLMENT_PAID = "InstallmentPaid";
+    static final String LOAN_FULLY_PAID = "LoanFullyPaid";
+
+    // Immutable SSE frame shared by all subscribers of a customer; a null name marks a heartbeat comment.
+    private record Frame(long id, String name, String json) {
+    }
+
+    private static final Frame HEARTBEAT = new Frame(0, null, null);
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final long reconnectMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long sendTimeoutMillis;
+    private final ExecutorService ownedDispatcher;
+    private final Executor dispatcher;
+    private final ExecutorService writer;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public CustomerEventHub(ObjectMapper objectMapper,
+                            @Value("${events.stream.timeout-ms:1800000}") long timeoutMillis,
+                            @Value("${events.stream.reconnect-ms:5000}") long reconnectMillis,
+                            @Value("${events.stream.buffer-size:32}") int bufferSize,
+                            @Value("${events.stream.max-subscribers:50000}") int maxSubscribers,
+                            @Value("${events.stream.send-timeout-ms:10000}") long sendTimeoutMillis,
+                            @Value("${events.stream.dispatch-threads:4}") int dispatchThreads) {
+        this(objectMapper, timeoutMillis, reconnectMillis, bufferSize, maxSubscribers, sendTimeoutMillis,
+                newDispatcher(Math.max(1, dispatchThreads)), newWriter());
+    }
+
+    CustomerEventHub(ObjectMapper objectMapper, long timeoutMillis, long reconnectMillis, int bufferSize,
+                     int maxSubscribers, long sendTimeoutMillis, Executor dispatcher, ExecutorService writer) {
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.reconnectMillis = reconnectMillis;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxSubscribers = maxSubscribers;
+        this.sendTimeoutMillis = Math.max(1, sendTimeoutMillis);
+        this.dispatcher = dispatcher;
+        this.ownedDispatcher = dispatcher instanceof ExecutorService executorService ? executorService : null;
+        this.writer = writer;
+    }
+
+    private static ExecutorService newDispatcher(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "customer-events-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Unbounded, but a thread only outlives its write when the write was abandoned after the send timeout, and
+    // then only until the container's own write timeout or the closed connection ends it.
+    private static ExecutorService newWriter() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "customer-events-writer-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(Long customerId) {
+        return subscribe(customerId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Long customerId, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new StreamCapacityExceededException("Too many open event streams, please retry later.");
+        }
+        Subscriber subscriber = new Subscriber(customerId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        subscribers.compute(customerId, (id, customerSubscribers) -> {
+            Set<Subscriber> set = customerSubscribers != null ? customerSubscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        // The first heartbeat commits the response headers, so the client sees the stream open right away.
+        subscriber.offer(HEARTBEAT);
+        logger.debug("Customer {} subscribed to events ({} open streams)", customerId, subscriberCount.get());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public long getDroppedSubscribers() {
+        return droppedSubscribers.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        publish(event.getCustomerId(), CustomerEventResponse.builder()
+                .type(LOAN_CREATED)
+                .customerId(event.getCustomerId())
+                .loanId(event.getLoanId())
+                .amount(event.getLoanAmount())
+                .numberOfInstallments(event.getNumberOfInstallments())
+                .occurredAt(Instant.now())
+                .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInstallmentsPaid(InstallmentsPaidEvent event) {
+        Instant now = Instant.now();
+        publish(event.getCustomerId(), CustomerEventResponse.builder()
+                .type(INSTALLMENT_PAID)
+                .customerId(event.getCustomerId())
+                .loanId(event.getLoanId())
+                .amount(event.getAmountPaid())
+                .installmentIds(event.getInstallmentIds())
+                .occurredAt(now)
+                .build());
+        if (event.isLoanFullyPaid()) {
+            publish(event.getCustomerId(), CustomerEventResponse.builder()
+                    .type(LOAN_FULLY_PAID)
+                    .customerId(event.getCustomerId())
+                    .loanId(event.getLoanId())
+                    .occurredAt(now)
+                    .build());
+        }
+    }
+
+    // Comments keep proxies from closing idle streams and reveal clients that went away without a FIN.
+    @Scheduled(fixedDelayString = "${events.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> customerSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : customerSubscribers) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    void publish(Long customerId, CustomerEventResponse payload) {
+        Set<Subscriber> customerSubscribers = subscribers.get(customerId);
+        if (customerSubscribers == null || customerSubscribers.isEmpty()) {
+            return;
+        }
+        Frame frame;
+        try {
+            frame = new Frame(sequence.incrementAndGet(), payload.getType(), objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            logger.debug("Could not serialize {} event for customer {}", payload.getType(), customerId, e);
+            return;
+        }
+        for (Subscriber subscriber : customerSubscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    // Runs once per subscriber in practice, but emitter callbacks and the dispatcher may both get here.
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.customerId, (id, customerSubscribers) -> {
+            if (customerSubscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return customerSubscribers.isEmpty() ? null : customerSubscribers;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        for (Set<Subscriber> customerSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : customerSubscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        subscribers.clear();
+        if (ownedDispatcher != null) {
+            ownedDispatcher.shutdownNow();
+        }
+        writer.shutdownNow();
+    }
+
+    // Frames wait in a bounded queue; at most one dispatcher task per subscriber drains it, so frames
+    // keep their order and a stalled connection ties up a dispatcher thread for at most the send timeout.
+    private final class Subscriber implements Runnable {
+        private final Long customerId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Frame> queue = new ArrayDeque<>(4);
+        private boolean scheduled;
+        private boolean dropped;
+
+        private Subscriber(Long customerId, SseEmitter emitter) {
+            this.customerId = customerId;
+            this.emitter = emitter;
+        }
+
+        private void offer(Frame frame) {
+            boolean overflow = false;
+            boolean schedule;
+            synchronized (this) {
+                if (dropped) {
+                    return;
+                }
+                if (queue.size() >= bufferSize) {
+                    // Completing the emitter may block behind a stalled send, so it is left to the dispatcher.
+                    dropped = true;
+                    overflow = true;
+                    queue.clear();
+                } else {
+                    queue.add(frame);
+                }
+                schedule = !scheduled;
+                scheduled = true;
+            }
+            if (overflow) {
+                droppedSubscribers.incrementAndGet();
+                remove(this);
+                logger.debug("Dropped slow event subscriber of customer {}", customerId);
+            }
+            if (schedule) {
+                dispatcher.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Frame frame;
+                synchronized (this) {
+                    if (dropped) {
+                        scheduled = false;
+                        break;
+                    }
+                    frame = queue.poll();
+                    if (frame == null) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+                Future<?> write = writer.submit(() -> {
+                    emitter.send(toEvent(frame));
+                    return null;
+                });
+                try {
+                    write.get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (ExecutionException e) {
+                    // The client is gone or the emitter already completed.
+                    abandon();
+                    emitter.completeWithError(e.getCause());
+                    return;
+                } catch (TimeoutException e) {
+                    // The client stopped reading. Completing the emitter waits for the stalled write, so it
+                    // is left to the writer pool.
+                    write.cancel(true);
+                    abandon();
+                    droppedSubscribers.incrementAndGet();
+                    writer.execute(emitter::complete);
+                    logger.debug("Dropped event subscriber of customer {} after a send took over {} ms",
+                            customerId, sendTimeoutMillis);
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    write.cancel(true);
+                    abandon();
+                    return;
+                }
+            }
+            remove(this);
+            emitter.complete();
+        }
+
+        private void abandon() {
+            synchronized (this) {
+                dropped = true;
+                queue.clear();
+                scheduled = false;
+            }
+            remove(this);
+        }
+
+        private SseEmitter.SseEventBuilder toEvent(Frame frame) {
+            if (frame.name() == null) {
+                return SseEmitter.event().comment("heartbeat").reconnectTime(reconnectMillis);
+            }
+            return SseEmitter.event()
+                    .id(Long.toString(frame.id()))
+                    .name(frame.name())
+                    .data(frame.json(), MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+CREATE TABLE customers (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name               VARCHAR(255)   NOT NULL,
+    surname            VARCHAR(255)   NOT NULL,
+    credit_limit       NUMERIC(15, 2) NOT NULL,
+    used_credit_limit  NUMERIC(15, 2) NOT NULL,
+    version            BIGINT         DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE loans (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    customer_id             BIGINT         NOT NULL,
+    loan_amount             NUMERIC(15, 2) NOT NULL,
+    number_of_installments  INTEGER        NOT NULL,
+    interest_rate           NUMERIC(5, 2)  NOT NULL,
+    create_date             DATE           NOT NULL,
+    is_paid                 BOOLEAN        NOT NULL,
+    version                 BIGINT         DEFAULT 0 NOT NULL,
+    CONSTRAINT fk_loans_customer FOREIGN KEY (customer_id) REFERENCES customers (id)
+);
+
+CREATE TABLE loan_installments (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    loan_id             BIGINT         NOT NULL,
+    amount              NUMERIC(15, 2) NOT NULL,
+    installment_number  INTEGER        NOT NULL,
+    paid_amount         NUMERIC(15, 2) NOT NULL,
+    due_date            DATE           NOT NULL,
+    payment_date        DATE,
+    is_paid             BOOLEAN        NOT NULL,
+    late_fee            NUMERIC(15, 2) DEFAULT 0 NOT NULL,
+    is_overdue          BOOLEAN        DEFAULT FALSE NOT NULL,
+    version             BIGINT         DEFAULT 0 NOT NULL,
+    CONSTRAINT fk_loan_installments_loan FOREIGN KEY (loan_id) REFERENCES loans (id)
+);
+
+CREATE TABLE users (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username     VARCHAR(255)               NOT NULL,
+    password     VARCHAR(255)               NOT NULL,
+    role         ENUM ('ADMIN', 'CUSTOMER') NOT NULL,
+    customer_id  BIGINT,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_customer UNIQUE (customer_id),
+    CONSTRAINT fk_users_customer FOREIGN KEY (customer_id) REFERENCES customers (id)
+);
+
+CREATE TABLE job_checkpoints (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_name           VARCHAR(255) NOT NULL,
+    run_date           DATE         NOT NULL,
+    partition_count    INTEGER      NOT NULL,
+    partition_index    INTEGER      NOT NULL,
+    last_processed_id  BIGINT       NOT NULL,
+    range_end          BIGINT       NOT NULL,
+    processed_count    BIGINT       NOT NULL,
+    completed          BOOLEAN      NOT NULL,
+    updated_at         TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_job_checkpoint_partition UNIQUE (job_name, run_date, partition_count, partition_index)
+);
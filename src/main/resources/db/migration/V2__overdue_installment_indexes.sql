@@ -0,0 +1,5 @@
+-- Loan-scoped overdue lookup: loan_id = ? AND is_paid = FALSE AND due_date < ?
+CREATE INDEX idx_installments_loan_paid_due ON loan_installments (loan_id, is_paid, due_date);
+
+-- Portfolio-wide overdue listing: is_paid = FALSE AND due_date < ? ORDER BY due_date
+CREATE INDEX idx_installments_paid_due ON loan_installments (is_paid, due_date);
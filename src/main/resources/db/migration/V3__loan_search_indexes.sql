@@ -0,0 +1,9 @@
+-- Customer-scoped filters (customer_id = ? [AND is_paid = ?] [AND number_of_installments = ?])
+CREATE INDEX idx_loans_customer_paid_term ON loans (customer_id, is_paid, number_of_installments);
+
+-- Portfolio search by status and creation date range, also serves ORDER BY create_date
+CREATE INDEX idx_loans_paid_create_date ON loans (is_paid, create_date);
+CREATE INDEX idx_loans_create_date ON loans (create_date);
+
+-- Amount range search
+CREATE INDEX idx_loans_amount ON loans (loan_amount);
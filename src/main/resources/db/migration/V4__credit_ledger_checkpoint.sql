@@ -0,0 +1,10 @@
+-- Write-behind credit ledger: highest write-ahead log sequence applied to customers.used_credit_limit and the
+-- log epoch belonging to this database (log segments of any other epoch are discarded at startup)
+CREATE TABLE credit_ledger_checkpoint (
+    id             INTEGER      PRIMARY KEY,
+    wal_epoch      VARCHAR(36),
+    last_sequence  BIGINT       NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO credit_ledger_checkpoint (id, wal_epoch, last_sequence, updated_at) VALUES (1, NULL, 0, CURRENT_TIMESTAMP);
@@ -0,0 +1,7 @@
+-- Loans whose installment schedule is derived from the loan terms; installment rows exist only for
+-- installments that were paid or turned overdue
+ALTER TABLE loans ADD COLUMN lazy_schedule BOOLEAN DEFAULT FALSE NOT NULL;
+CREATE INDEX idx_loans_lazy_paid ON loans (lazy_schedule, is_paid, id);
+
+-- One row per installment: materializing an installment of a lazy schedule twice must fail
+ALTER TABLE loan_installments ADD CONSTRAINT uk_installments_loan_number UNIQUE (loan_id, installment_number);
@@ -0,0 +1,3 @@
+-- Whole installment schedule of a loan in one binary value (format: ledger/PackedSchedule); loans with a packed
+-- schedule have lazy_schedule set and no loan_installments rows
+ALTER TABLE loans ADD COLUMN packed_schedule VARBINARY(4096);
@@ -0,0 +1,34 @@
+-- Append-only history of payments: one row per installment a payment settled. Rows are never updated or
+-- deleted; there is no foreign key, so the history outlives the loan rows it refers to.
+CREATE TABLE payment_ledger (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    loan_id             BIGINT         NOT NULL,
+    customer_id         BIGINT         NOT NULL,
+    installment_number  INTEGER        NOT NULL,
+    amount              NUMERIC(15, 2) NOT NULL,
+    payment_date        DATE           NOT NULL,
+    recorded_at         TIMESTAMP(6)   NOT NULL
+);
+
+CREATE INDEX idx_payment_ledger_loan ON payment_ledger (loan_id, id);
+
+-- Per-loan totals of all ledger entries up to and including last_entry_id; a balance is the latest snapshot
+-- plus the entries after it
+CREATE TABLE loan_balance_snapshots (
+    loan_id            BIGINT         NOT NULL,
+    last_entry_id      BIGINT         NOT NULL,
+    as_of_date         DATE           NOT NULL,
+    paid_total         NUMERIC(15, 2) NOT NULL,
+    paid_installments  INTEGER        NOT NULL,
+    created_at         TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_loan_balance_snapshots PRIMARY KEY (loan_id, last_entry_id)
+);
+
+-- History of installments paid before the ledger existed, in payment order
+INSERT INTO payment_ledger (loan_id, customer_id, installment_number, amount, payment_date, recorded_at)
+SELECT li.loan_id, l.customer_id, li.installment_number,
+       CASE WHEN li.paid_amount > 0 THEN li.paid_amount ELSE li.amount END,
+       COALESCE(li.payment_date, l.create_date), CURRENT_TIMESTAMP
+FROM loan_installments li JOIN loans l ON l.id = li.loan_id
+WHERE li.is_paid = TRUE
+ORDER BY COALESCE(li.payment_date, l.create_date), li.id;
@@ -0,0 +1,42 @@
+-- Day a loan became fully paid; archival moves loans paid before its cutoff out of the hot tables
+ALTER TABLE loans ADD COLUMN paid_date DATE;
+
+UPDATE loans l SET paid_date = COALESCE(
+        (SELECT MAX(li.payment_date) FROM loan_installments li WHERE li.loan_id = l.id),
+        (SELECT MAX(e.payment_date) FROM payment_ledger e WHERE e.loan_id = l.id),
+        l.create_date)
+WHERE l.is_paid = TRUE;
+
+CREATE INDEX idx_loans_paid_date ON loans (is_paid, paid_date, id);
+
+-- Archived loans and their installment rows, with the ids they had in the hot tables. There are no foreign keys:
+-- archived rows are never written again, and payment_ledger keeps referring to the same loan ids.
+CREATE TABLE loans_archive (
+    id                      BIGINT         PRIMARY KEY,
+    customer_id             BIGINT         NOT NULL,
+    loan_amount             NUMERIC(15, 2) NOT NULL,
+    number_of_installments  INTEGER        NOT NULL,
+    interest_rate           NUMERIC(5, 2)  NOT NULL,
+    create_date             DATE           NOT NULL,
+    paid_date               DATE           NOT NULL,
+    lazy_schedule           BOOLEAN        NOT NULL,
+    packed_schedule         VARBINARY(4096),
+    archived_at             TIMESTAMP(6)   NOT NULL
+);
+
+CREATE INDEX idx_loans_archive_customer ON loans_archive (customer_id);
+
+CREATE TABLE loan_installments_archive (
+    id                  BIGINT         PRIMARY KEY,
+    loan_id             BIGINT         NOT NULL,
+    amount              NUMERIC(15, 2) NOT NULL,
+    installment_number  INTEGER        NOT NULL,
+    paid_amount         NUMERIC(15, 2) NOT NULL,
+    due_date            DATE           NOT NULL,
+    payment_date        DATE,
+    is_paid             BOOLEAN        NOT NULL,
+    late_fee            NUMERIC(15, 2) NOT NULL,
+    is_overdue          BOOLEAN        NOT NULL
+);
+
+CREATE INDEX idx_installments_archive_loan ON loan_installments_archive (loan_id, due_date);
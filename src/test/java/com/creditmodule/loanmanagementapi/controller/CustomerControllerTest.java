@@ -2,7 +2,9 @@ package com.creditmodule.loanmanagementapi.controller;
 
 import com.creditmodule.loanmanagementapi.config.SecurityConfig;
 import com.creditmodule.loanmanagementapi.dto.request.CreateCustomerRequest;
+import com.creditmodule.loanmanagementapi.dto.response.CustomerImportResult;
 import com.creditmodule.loanmanagementapi.dto.response.CustomerResponse;
+import com.creditmodule.loanmanagementapi.service.ICustomerImportService;
 import com.creditmodule.loanmanagementapi.service.ICustomerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -11,6 +13,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
@@ -35,6 +38,9 @@ class CustomerControllerTest {
     @MockBean
     private ICustomerService customerService;
 
+    @MockBean
+    private ICustomerImportService customerImportService;
+
     private final String ADMIN_USER = "admin";
     private final String ADMIN_PASS = "admin123";
 
@@ -134,4 +140,39 @@ class CustomerControllerTest {
                         .param("newLimit", new BigDecimal("15000").toPlainString()))
                 .andExpect(status().isForbidden());
     }
-}
\ No newline at end of file
+
+    @Test
+    void adminCanImportCustomers() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "customers.csv", "text/csv",
+                "name,surname,creditLimit\nJohn,Doe,10000\nJane,Doe,-5\n".getBytes());
+
+        CustomerImportResult result = CustomerImportResult.builder()
+                .totalRows(2L)
+                .importedRows(1L)
+                .rejectedRows(1L)
+                .errorFile("import-errors/customers-errors.csv")
+                .durationMillis(12L)
+                .build();
+
+        when(customerImportService.importCustomers(any())).thenReturn(result);
+
+        mockMvc.perform(multipart("/api/customers/import")
+                        .file(file)
+                        .with(httpBasic(ADMIN_USER, ADMIN_PASS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(2))
+                .andExpect(jsonPath("$.importedRows").value(1))
+                .andExpect(jsonPath("$.rejectedRows").value(1));
+    }
+
+    @Test
+    void customerCannotImportCustomers() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "customers.csv", "text/csv",
+                "name,surname,creditLimit\nJohn,Doe,10000\n".getBytes());
+
+        mockMvc.perform(multipart("/api/customers/import")
+                        .file(file)
+                        .with(httpBasic("customer", "customer123")))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -1,25 +1,35 @@
 package com.creditmodule.loanmanagementapi.controller;
 
+import com.creditmodule.loanmanagementapi.config.JacksonConfig;
 import com.creditmodule.loanmanagementapi.config.SecurityConfig;
 import com.creditmodule.loanmanagementapi.controller.LoanController;
 import com.creditmodule.loanmanagementapi.dto.request.CreateLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.request.LoanSearchRequest;
 import com.creditmodule.loanmanagementapi.dto.request.PayLoanRequest;
 import com.creditmodule.loanmanagementapi.dto.response.LoanResponse;
 import com.creditmodule.loanmanagementapi.dto.response.PaymentResult;
 import com.creditmodule.loanmanagementapi.service.ILoanService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -28,7 +38,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(LoanController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, JacksonConfig.class})
 class LoanControllerTest {
 
     @Autowired
@@ -162,4 +172,69 @@ class LoanControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1001));
     }
-}
\ No newline at end of file
+
+    @Test
+    void adminCanSearchLoans() throws Exception {
+        LoanResponse mockResponse = new LoanResponse();
+        mockResponse.setId(1001L);
+        mockResponse.setCustomerId(1L);
+        mockResponse.setLoanAmount(new BigDecimal("5000"));
+        mockResponse.setNumberOfInstallment(12);
+        mockResponse.setInterestRate(new BigDecimal("0.2"));
+        mockResponse.setCreateDate(LocalDate.of(2025, 8, 11));
+        mockResponse.setIsPaid(false);
+
+        ArgumentCaptor<LoanSearchRequest> criteria = ArgumentCaptor.forClass(LoanSearchRequest.class);
+        when(loanService.searchLoans(criteria.capture(), eq(0), eq(20), eq("loanAmount"), eq(true)))
+                .thenReturn(new PageImpl<>(List.of(mockResponse), PageRequest.of(0, 20), 1));
+
+        mockMvc.perform(get("/api/loans/search")
+                        .with(httpBasic(ADMIN_USER, ADMIN_PASS))
+                        .param("minAmount", "1000")
+                        .param("createdFrom", "2025-01-01")
+                        .param("isPaid", "false")
+                        .param("size", "20")
+                        .param("sortBy", "loanAmount")
+                        .param("ascending", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1001))
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        assertEquals(new BigDecimal("1000"), criteria.getValue().getMinAmount());
+        assertEquals(LocalDate.of(2025, 1, 1), criteria.getValue().getCreatedFrom());
+        assertEquals(false, criteria.getValue().getIsPaid());
+        assertNull(criteria.getValue().getMaxAmount());
+    }
+
+    @Test
+    void customerCannotSearchAllLoans() throws Exception {
+        mockMvc.perform(get("/api/loans/search")
+                        .with(httpBasic(CUSTOMER_USER, "customer123")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void loanDetailsCanBeRequestedAsCbor() throws Exception {
+        LoanResponse mockResponse = new LoanResponse();
+        mockResponse.setId(1001L);
+        mockResponse.setCustomerId(1L);
+        mockResponse.setLoanAmount(new BigDecimal("5000.00"));
+        mockResponse.setNumberOfInstallment(12);
+        mockResponse.setInterestRate(new BigDecimal("0.2"));
+        mockResponse.setCreateDate(LocalDate.of(2025, 8, 11));
+        mockResponse.setIsPaid(false);
+
+        when(loanService.getLoanDetails(1001L)).thenReturn(mockResponse);
+
+        MvcResult result = mockMvc.perform(get("/api/loans/1001")
+                        .with(httpBasic(ADMIN_USER, ADMIN_PASS))
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        CBORMapper cborMapper = CBORMapper.builder().addModule(new JavaTimeModule()).build();
+        LoanResponse decoded = cborMapper.readValue(result.getResponse().getContentAsByteArray(), LoanResponse.class);
+        assertEquals(mockResponse, decoded);
+    }
+}
@@ -0,0 +1,58 @@
+package com.creditmodule.loanmanagementapi.controller;
+
+import com.creditmodule.loanmanagementapi.config.SecurityConfig;
+import com.creditmodule.loanmanagementapi.dto.response.StatementRunResult;
+import com.creditmodule.loanmanagementapi.service.IStatementService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.YearMonth;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StatementController.class)
+@Import(SecurityConfig.class)
+class StatementControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IStatementService statementService;
+
+    @Test
+    void adminCanGenerateStatements() throws Exception {
+        StatementRunResult result = StatementRunResult.builder()
+                .month(YearMonth.of(2025, 8))
+                .directory("statements/2025-08")
+                .ranges(3)
+                .skippedRanges(1)
+                .statementsWritten(20000L)
+                .durationMillis(1500L)
+                .build();
+        when(statementService.generateMonthlyStatements(YearMonth.of(2025, 8))).thenReturn(result);
+
+        mockMvc.perform(post("/api/statements/generate")
+                        .param("month", "2025-08")
+                        .with(httpBasic("admin", "admin123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.month").value("2025-08"))
+                .andExpect(jsonPath("$.skippedRanges").value(1))
+                .andExpect(jsonPath("$.statementsWritten").value(20000));
+    }
+
+    @Test
+    void customerCannotGenerateStatements() throws Exception {
+        mockMvc.perform(post("/api/statements/generate")
+                        .param("month", "2025-08")
+                        .with(httpBasic("customer", "customer123")))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,50 @@
+package com.creditmodule.loanmanagementapi.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedCsvReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsLinesAcrossWindowBoundaries() throws IOException {
+        StringBuilder content = new StringBuilder("name,surname,creditLimit\r\n");
+        for (int i = 0; i < 500; i++) {
+            content.append("Name").append(i).append(",Surname").append(i).append(',').append(i).append(".50\n");
+        }
+        content.append("Last,Row,1");
+        Path file = Files.writeString(tempDir.resolve("customers.csv"), content);
+
+        List<List<String>> records = new ArrayList<>();
+        long lines = new MappedCsvReader(file, 41).read((lineNumber, line, fields) -> records.add(fields));
+
+        assertEquals(502, lines);
+        assertEquals(502, records.size());
+        assertEquals(List.of("name", "surname", "creditLimit"), records.get(0));
+        assertEquals(List.of("Name250", "Surname250", "250.50"), records.get(251));
+        assertEquals(List.of("Last", "Row", "1"), records.get(501));
+    }
+
+    @Test
+    void splitsQuotedFields() {
+        assertEquals(List.of("Doe, John", "O\"Brien", "100"), MappedCsvReader.split("\"Doe, John\",\"O\"\"Brien\",100"));
+    }
+
+    @Test
+    void rejectsLinesLongerThanTheWindow() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("long.csv"), "a".repeat(100) + "\nb\n");
+
+        assertThrows(IOException.class, () -> new MappedCsvReader(file, 16).read((lineNumber, line, fields) -> { }));
+    }
+}
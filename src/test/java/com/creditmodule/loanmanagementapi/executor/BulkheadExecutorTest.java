@@ -0,0 +1,74 @@
+package com.creditmodule.loanmanagementapi.executor;
+
+import com.creditmodule.loanmanagementapi.datasource.PoolRoute;
+import com.creditmodule.loanmanagementapi.datasource.PoolRouting;
+import com.creditmodule.loanmanagementapi.exception.BulkheadFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadExecutorTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void taskRunsOnItsRouteAndTheDefaultRouteIsRestored() {
+        BulkheadExecutor executor = new BulkheadExecutor(4, 10, 4, 10);
+
+        assertEquals(PoolRoute.PAYMENTS, executor.execute(PoolRoute.PAYMENTS, PoolRouting::current));
+        assertEquals(PoolRoute.READS, PoolRouting.current());
+        assertEquals(0, executor.getInUse(PoolRoute.PAYMENTS));
+    }
+
+    @Test
+    void rejectsWhenAllPermitsOfARouteAreTaken() throws Exception {
+        BulkheadExecutor executor = new BulkheadExecutor(1, 10, 1, 10);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> holder = callers.submit(() -> executor.execute(PoolRoute.READS, () -> {
+            running.countDown();
+            await(release);
+            return 1;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        assertThrows(BulkheadFullException.class, () -> executor.execute(PoolRoute.READS, () -> 2));
+        assertEquals(1, executor.getRejected(PoolRoute.READS));
+        // A full read bulkhead does not hold up payments.
+        assertEquals(3, executor.execute(PoolRoute.PAYMENTS, () -> 3));
+
+        release.countDown();
+        assertEquals(1, holder.get(5, TimeUnit.SECONDS));
+        assertEquals(0, executor.getInUse(PoolRoute.READS));
+    }
+
+    @Test
+    void nestedCallOnTheSameRouteDoesNotTakeASecondPermit() {
+        BulkheadExecutor executor = new BulkheadExecutor(1, 10, 1, 10);
+
+        assertEquals(5, executor.execute(PoolRoute.PAYMENTS, () -> executor.execute(PoolRoute.PAYMENTS, () -> 5)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
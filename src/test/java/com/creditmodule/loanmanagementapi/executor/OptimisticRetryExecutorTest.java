@@ -0,0 +1,54 @@
+package com.creditmodule.loanmanagementapi.executor;
+
+import com.creditmodule.loanmanagementapi.exception.ConcurrentUpdateException;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OptimisticRetryExecutorTest {
+
+    private final OptimisticRetryExecutor retryExecutor = new OptimisticRetryExecutor(3, 1, 2);
+
+    @Test
+    void retriesUntilTheConflictClears() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retryExecutor.execute("test", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Loan", 1L);
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, calls.get());
+        assertEquals(2, retryExecutor.getRetries());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ConcurrentUpdateException.class, () -> retryExecutor.execute("test", () -> {
+            calls.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Customer", 1L);
+        }));
+        assertEquals(3, calls.get());
+        assertEquals(1, retryExecutor.getExhausted());
+    }
+
+    @Test
+    void doesNotRetryOtherFailures() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> retryExecutor.execute("test", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("Loan is already fully paid");
+        }));
+        assertEquals(1, calls.get());
+    }
+}
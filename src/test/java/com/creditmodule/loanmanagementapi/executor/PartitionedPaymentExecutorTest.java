@@ -0,0 +1,153 @@
+package com.creditmodule.loanmanagementapi.executor;
+
+import com.creditmodule.loanmanagementapi.exception.PaymentOutcomeUnknownException;
+import com.creditmodule.loanmanagementapi.exception.PaymentRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartitionedPaymentExecutorTest {
+
+    private PartitionedPaymentExecutor executor;
+    private final ExecutorService callers = Executors.newFixedThreadPool(16);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void paymentsOfSameLoanNeverOverlap() throws Exception {
+        executor = new PartitionedPaymentExecutor(true, 4, 1024, 1_000);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            results.add(callers.submit(() -> executor.execute(42L, () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                active.decrementAndGet();
+                return 1;
+            })));
+        }
+
+        int total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(200, total);
+        assertEquals(1, maxActive.get());
+    }
+
+    @Test
+    void rejectsWhenPartitionQueueIsFull() throws Exception {
+        executor = new PartitionedPaymentExecutor(true, 1, 1, 10);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        callers.submit(() -> executor.execute(1L, () -> {
+            running.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> executor.execute(1L, () -> null));
+        Thread.sleep(100);
+
+        assertThrows(PaymentRejectedException.class, () -> executor.execute(1L, () -> null));
+        release.countDown();
+    }
+
+    @Test
+    void interruptedCallerWhosePaymentIsStillQueuedIsRejectedAndThePaymentNeverRuns() throws Exception {
+        executor = new PartitionedPaymentExecutor(true, 1, 16, 1_000);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        callers.submit(() -> executor.execute(1L, () -> {
+            running.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        AtomicBoolean applied = new AtomicBoolean();
+        AtomicReference<Thread> caller = new AtomicReference<>();
+        Future<?> interrupted = callers.submit(() -> {
+            caller.set(Thread.currentThread());
+            return executor.execute(1L, () -> applied.getAndSet(true));
+        });
+        while (executor.getQueuedPayments() == 0) {
+            Thread.sleep(5);
+        }
+        caller.get().interrupt();
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> interrupted.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof PaymentRejectedException, error.getCause().toString());
+        release.countDown();
+        executor.execute(1L, () -> null);
+        assertFalse(applied.get());
+    }
+
+    @Test
+    void interruptedCallerWhosePaymentIsRunningIsToldTheOutcomeIsUnknown() throws Exception {
+        executor = new PartitionedPaymentExecutor(true, 1, 16, 1_000);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch applied = new CountDownLatch(1);
+
+        AtomicReference<Thread> caller = new AtomicReference<>();
+        Future<?> interrupted = callers.submit(() -> {
+            caller.set(Thread.currentThread());
+            return executor.execute(1L, () -> {
+                running.countDown();
+                await(release);
+                applied.countDown();
+                return null;
+            });
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        caller.get().interrupt();
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> interrupted.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof PaymentOutcomeUnknownException, error.getCause().toString());
+        // The payment the caller gave up on still completes.
+        release.countDown();
+        assertTrue(applied.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void propagatesTaskExceptions() {
+        executor = new PartitionedPaymentExecutor(true, 2, 16, 100);
+
+        assertThrows(IllegalStateException.class, () -> executor.execute(7L, () -> {
+            throw new IllegalStateException("Loan is already fully paid");
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
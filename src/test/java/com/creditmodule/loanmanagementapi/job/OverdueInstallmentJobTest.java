@@ -0,0 +1,232 @@
+package com.creditmodule.loanmanagementapi.job;
+
+import com.creditmodule.loanmanagementapi.dto.request.CreateLoanRequest;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.entity.JobCheckpoint;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.executor.OptimisticRetryExecutor;
+import com.creditmodule.loanmanagementapi.ledger.InstallmentScheduleResolver;
+import com.creditmodule.loanmanagementapi.repository.CustomerRepository;
+import com.creditmodule.loanmanagementapi.repository.JobCheckpointRepository;
+import com.creditmodule.loanmanagementapi.repository.LoanInstallmentRepository;
+import com.creditmodule.loanmanagementapi.repository.LoanRepository;
+import com.creditmodule.loanmanagementapi.service.ILoanService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"scheduler.due-dates.enabled=false", "batch.overdue.enabled=false", "statement.enabled=false"})
+class OverdueInstallmentJobTest {
+
+    // Installment due dates are moved to 2000, so installments of other tests' loans are never overdue on this date.
+    private static final LocalDate RUN_DATE = LocalDate.of(2000, 6, 1);
+    private static final int TERM = 6;
+    private static final int CHUNK_SIZE = 2;
+    private static final BigDecimal LATE_FEE = new BigDecimal("2.20");
+
+    @Autowired
+    private ILoanService loanService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private InstallmentScheduleResolver scheduleResolver;
+
+    @Autowired
+    private LateFeePolicy lateFeePolicy;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<ChunkRead> chunkReads = Collections.synchronizedList(new ArrayList<>());
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Jim");
+        customer.setSurname("Gray");
+        customer.setCreditLimit(new BigDecimal("100000.00"));
+        customer.setUsedCreditLimit(BigDecimal.ZERO);
+        customerId = customerRepository.save(customer).getId();
+
+        // Two loans of six installments of 220.00 each; the 1% late fee is 2.20.
+        for (int loan = 0; loan < 2; loan++) {
+            CreateLoanRequest request = new CreateLoanRequest();
+            request.setCustomerId(customerId);
+            request.setAmount(new BigDecimal("1200.00"));
+            request.setInterestRate(new BigDecimal("0.10"));
+            request.setNumberOfInstallments(String.valueOf(TERM));
+            loanService.createLoan(request);
+        }
+        jdbcTemplate.update("UPDATE loan_installments SET due_date = DATE '2000-01-15' " +
+                "WHERE loan_id IN (SELECT id FROM loans WHERE customer_id = ?)", customerId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM job_checkpoints WHERE job_name = ? AND run_date = ?",
+                OverdueInstallmentJob.JOB_NAME, RUN_DATE);
+        jdbcTemplate.update("DELETE FROM loan_installments WHERE loan_id IN (SELECT id FROM loans WHERE customer_id = ?)", customerId);
+        jdbcTemplate.update("DELETE FROM loans WHERE customer_id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customerId);
+    }
+
+    private record ChunkRead(String thread, List<Long> ids) {
+    }
+
+    // Chunk reads go through a proxy that records them and throws instead of returning the chunk numbered failAt.
+    private OverdueInstallmentJob job(int partitions, int failAt) {
+        AtomicInteger reads = new AtomicInteger();
+        LoanInstallmentRepository installments = (LoanInstallmentRepository) Proxy.newProxyInstance(
+                LoanInstallmentRepository.class.getClassLoader(), new Class<?>[]{LoanInstallmentRepository.class},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(installmentRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (method.getName().equals("findOverdueChunk")) {
+                        if (reads.incrementAndGet() == failAt) {
+                            throw new IllegalStateException("Simulated crash");
+                        }
+                        @SuppressWarnings("unchecked")
+                        List<LoanInstallment> chunk = (List<LoanInstallment>) result;
+                        chunkReads.add(new ChunkRead(Thread.currentThread().getName(),
+                                chunk.stream().map(LoanInstallment::getId).toList()));
+                    }
+                    return result;
+                });
+        return new OverdueInstallmentJob(installments, loanRepository, scheduleResolver, checkpointRepository,
+                lateFeePolicy, retryExecutor, transactionTemplate, eventPublisher, true, partitions, CHUNK_SIZE);
+    }
+
+    private List<JobCheckpoint> checkpoints() {
+        return checkpointRepository.findAll().stream()
+                .filter(checkpoint -> checkpoint.getJobName().equals(OverdueInstallmentJob.JOB_NAME)
+                        && checkpoint.getRunDate().equals(RUN_DATE))
+                .sorted(Comparator.comparing(JobCheckpoint::getPartitionCount).thenComparing(JobCheckpoint::getPartitionIndex))
+                .toList();
+    }
+
+    private void assertEveryInstallmentChargedOnce() {
+        List<BigDecimal> fees = jdbcTemplate.queryForList("SELECT late_fee FROM loan_installments " +
+                "WHERE is_overdue = TRUE AND loan_id IN (SELECT id FROM loans WHERE customer_id = ?)", BigDecimal.class, customerId);
+        assertEquals(2 * TERM, fees.size());
+        assertTrue(fees.stream().allMatch(fee -> fee.compareTo(LATE_FEE) == 0), fees.toString());
+    }
+
+    @Test
+    void partitionsWalkDisjointIdRangesInParallelChunks() {
+        assertEquals(2 * TERM, job(3, 0).run(RUN_DATE));
+
+        assertEveryInstallmentChargedOnce();
+        assertTrue(chunkReads.stream().allMatch(read -> read.ids().size() <= CHUNK_SIZE));
+        List<Long> ids = chunkReads.stream().flatMap(read -> read.ids().stream()).toList();
+        assertEquals(2 * TERM, ids.size());
+        assertEquals(2 * TERM, new HashSet<>(ids).size());
+        assertEquals(3, chunkReads.stream().map(ChunkRead::thread).distinct().count());
+
+        List<JobCheckpoint> checkpoints = checkpoints();
+        assertEquals(3, checkpoints.size());
+        assertTrue(checkpoints.stream().allMatch(JobCheckpoint::getCompleted));
+        assertEquals(2 * TERM, checkpoints.stream().mapToLong(JobCheckpoint::getProcessedCount).sum());
+        assertEquals(Long.MAX_VALUE, checkpoints.get(2).getRangeEnd());
+        // Every worker thread only read ids of its own range.
+        Map<String, Set<Integer>> partitionsByThread = new HashMap<>();
+        for (ChunkRead read : chunkReads) {
+            for (Long id : read.ids()) {
+                int partition = checkpoints.stream().filter(checkpoint -> id <= checkpoint.getRangeEnd())
+                        .findFirst().orElseThrow().getPartitionIndex();
+                partitionsByThread.computeIfAbsent(read.thread(), thread -> new HashSet<>()).add(partition);
+            }
+        }
+        assertTrue(partitionsByThread.values().stream().allMatch(partitions -> partitions.size() == 1));
+    }
+
+    @Test
+    void interruptedRunResumesFromItsCheckpoint() {
+        // One partition: the first two chunks commit, the third read fails.
+        assertThrows(IllegalStateException.class, () -> job(1, 3).run(RUN_DATE));
+
+        JobCheckpoint interrupted = checkpoints().get(0);
+        assertFalse(interrupted.getCompleted());
+        assertEquals(2L * CHUNK_SIZE, interrupted.getProcessedCount());
+        assertEquals(chunkReads.get(1).ids().get(CHUNK_SIZE - 1), interrupted.getLastProcessedId());
+        assertTrue(checkpointRepository.findIncompleteRunDates(OverdueInstallmentJob.JOB_NAME).contains(RUN_DATE));
+        chunkReads.clear();
+
+        assertEquals(2 * TERM - 2 * CHUNK_SIZE, job(1, 0).run(RUN_DATE));
+
+        assertTrue(chunkReads.get(0).ids().get(0) > interrupted.getLastProcessedId());
+        JobCheckpoint resumed = checkpoints().get(0);
+        assertTrue(resumed.getCompleted());
+        assertEquals(2L * TERM, resumed.getProcessedCount());
+        assertEveryInstallmentChargedOnce();
+    }
+
+    @Test
+    void rerunDoesNotChargeTheLateFeeTwice() {
+        assertEquals(2 * TERM, job(2, 0).run(RUN_DATE));
+        jdbcTemplate.update("DELETE FROM job_checkpoints WHERE job_name = ? AND run_date = ?",
+                OverdueInstallmentJob.JOB_NAME, RUN_DATE);
+
+        assertEquals(0, job(2, 0).run(RUN_DATE));
+        assertEveryInstallmentChargedOnce();
+    }
+
+    @Test
+    void changedPartitionCountClosesTheCheckpointsOfTheOldLayout() {
+        assertThrows(IllegalStateException.class, () -> job(1, 2).run(RUN_DATE));
+        assertFalse(checkpoints().get(0).getCompleted());
+
+        assertEquals(2 * TERM - CHUNK_SIZE, job(3, 0).run(RUN_DATE));
+
+        List<JobCheckpoint> checkpoints = checkpoints();
+        assertEquals(4, checkpoints.size());
+        assertTrue(checkpoints.stream().allMatch(JobCheckpoint::getCompleted));
+        assertFalse(checkpointRepository.findIncompleteRunDates(OverdueInstallmentJob.JOB_NAME).contains(RUN_DATE));
+        assertEveryInstallmentChargedOnce();
+    }
+}
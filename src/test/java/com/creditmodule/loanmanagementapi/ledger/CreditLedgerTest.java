@@ -0,0 +1,174 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the ledger against its own in-memory H2 database holding the two tables it writes.
+class CreditLedgerTest {
+
+    @TempDir
+    Path walDirectory;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private final Set<Long> flushedCustomers = new HashSet<>();
+    private CreditLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:credit-ledger-test;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        for (String statement : List.of(
+                "DROP TABLE IF EXISTS customers",
+                "DROP TABLE IF EXISTS credit_ledger_checkpoint",
+                "CREATE TABLE customers (id BIGINT PRIMARY KEY, credit_limit NUMERIC(15, 2) NOT NULL, " +
+                        "used_credit_limit NUMERIC(15, 2) NOT NULL, version BIGINT NOT NULL)",
+                "CREATE TABLE credit_ledger_checkpoint (id INTEGER PRIMARY KEY, wal_epoch VARCHAR(36), " +
+                        "last_sequence BIGINT NOT NULL, updated_at TIMESTAMP(6) NOT NULL)",
+                "INSERT INTO credit_ledger_checkpoint VALUES (1, NULL, 0, CURRENT_TIMESTAMP)",
+                "INSERT INTO customers VALUES (1, 1000.00, 200.00, 0)",
+                "INSERT INTO customers VALUES (2, 500.00, 0.00, 0)")) {
+            jdbcTemplate.execute(statement);
+        }
+        ledger = newLedger();
+        ledger.recover();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledger.destroy();
+    }
+
+    private CreditLedger newLedger() {
+        return new CreditLedger(jdbcTemplate, transactionTemplate, flushedCustomers::addAll, true, walDirectory);
+    }
+
+    private BigDecimal usedInDatabase(long customerId) {
+        return jdbcTemplate.queryForObject("SELECT used_credit_limit FROM customers WHERE id = ?", BigDecimal.class, customerId);
+    }
+
+    @Test
+    void reservationsStayWithinTheLimitAndAreFlushedAsOneDeltaPerCustomer() throws Exception {
+        assertTrue(ledger.reserveForTransaction(1L, new BigDecimal("300.00")));
+        assertTrue(ledger.reserveForTransaction(1L, new BigDecimal("500.00")));
+        assertFalse(ledger.reserveForTransaction(1L, new BigDecimal("0.01")));
+        assertTrue(ledger.reserveForTransaction(2L, new BigDecimal("125.50")));
+        assertEquals(new BigDecimal("200.00"), usedInDatabase(1));
+
+        ledger.flushPending();
+
+        assertEquals(new BigDecimal("1000.00"), usedInDatabase(1));
+        assertEquals(new BigDecimal("125.50"), usedInDatabase(2));
+        assertEquals(3L, jdbcTemplate.queryForObject("SELECT last_sequence FROM credit_ledger_checkpoint", Long.class));
+        assertEquals(Set.of(1L, 2L), flushedCustomers);
+        assertEquals(0, ledger.pendingCustomers());
+        try (var segments = Files.list(walDirectory)) {
+            assertEquals(1, segments.count());
+        }
+    }
+
+    @Test
+    void rolledBackTransactionGivesTheCreditBack() {
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(ledger.reserveForTransaction(2L, new BigDecimal("400.00")));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(new BigDecimal("0.00"), ledger.getUsedCredit(2L).orElseThrow());
+        assertEquals(0, ledger.snapshot(2L).orElseThrow().inFlight());
+    }
+
+    @Test
+    void unflushedReservationsAreReplayedFromTheLogAfterACrash() {
+        assertTrue(ledger.reserveForTransaction(1L, new BigDecimal("100.00")));
+        ledger.flushPending();
+        assertTrue(ledger.reserveForTransaction(1L, new BigDecimal("50.00")));
+        assertTrue(ledger.reserveForTransaction(2L, new BigDecimal("75.00")));
+
+        // No flush and no shutdown: a new ledger recovers from the database and the log alone.
+        CreditLedger recovered = newLedger();
+        recovered.recover();
+        try {
+            assertEquals(new BigDecimal("350.00"), recovered.getUsedCredit(1L).orElseThrow());
+            assertEquals(new BigDecimal("75.00"), recovered.getUsedCredit(2L).orElseThrow());
+
+            recovered.flushPending();
+            assertEquals(new BigDecimal("350.00"), usedInDatabase(1));
+            assertEquals(new BigDecimal("75.00"), usedInDatabase(2));
+        } finally {
+            recovered.destroy();
+        }
+    }
+
+    @Test
+    void limitIsOnlyLoweredToTheUsedCredit() {
+        assertFalse(ledger.tryUpdateLimit(1L, 19_999));
+        assertTrue(ledger.reserveForTransaction(1L, new BigDecimal("800.00")));
+
+        assertTrue(ledger.tryUpdateLimit(1L, 100_000));
+        assertFalse(ledger.reserveForTransaction(1L, new BigDecimal("0.01")));
+        assertFalse(ledger.tryUpdateLimit(1L, 99_999));
+        assertTrue(ledger.tryUpdateLimit(999L, 1));
+    }
+
+    @Test
+    void loweredLimitHoldsAgainstConcurrentReservations() throws Exception {
+        ExecutorService reservers = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 200; round++) {
+                ledger.updateLimit(2L, new BigDecimal("500.00"));
+                ledger.correct(2L, ledger.snapshot(2L).orElseThrow(), 0);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> reservations = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    reservations.add(reservers.submit(() -> {
+                        start.await();
+                        return ledger.reserveForTransaction(2L, new BigDecimal("100.00"));
+                    }));
+                }
+                start.countDown();
+                boolean lowered = ledger.tryUpdateLimit(2L, 20_000);
+                for (Future<Boolean> reservation : reservations) {
+                    reservation.get();
+                }
+
+                long used = ledger.snapshot(2L).orElseThrow().usedCents();
+                assertTrue(used <= (lowered ? 20_000 : 50_000), "round " + round + ": " + used + " cents used");
+            }
+        } finally {
+            reservers.shutdownNow();
+        }
+    }
+
+    @Test
+    void reconciliationCorrectionIsLoggedLikeAnyOtherChange() {
+        CreditLedger.AccountSnapshot seen = ledger.snapshot(1L).orElseThrow();
+
+        assertTrue(ledger.correct(1L, seen, 15_000));
+        assertFalse(ledger.correct(1L, seen, 20_000));
+
+        ledger.flushPending();
+        assertEquals(new BigDecimal("150.00"), usedInDatabase(1));
+    }
+}
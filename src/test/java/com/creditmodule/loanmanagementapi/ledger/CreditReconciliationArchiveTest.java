@@ -0,0 +1,94 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.dto.response.CreditReconciliationResult;
+import com.creditmodule.loanmanagementapi.service.impl.CreditReconciliationServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Archival and credit ledger reconciliation against their own in-memory H2 database: archived loans keep their
+// credit, so moving a paid loan out of the loans table must not show up as drift.
+class CreditReconciliationArchiveTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    @TempDir
+    Path walDirectory;
+
+    private JdbcTemplate jdbcTemplate;
+    private CreditLedger creditLedger;
+    private LoanArchive loanArchive;
+    private CreditReconciliationServiceImpl reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:credit-reconciliation-archive-test;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        for (String statement : List.of(
+                "DROP ALL OBJECTS",
+                "CREATE TABLE customers (id BIGINT PRIMARY KEY, credit_limit NUMERIC(15, 2) NOT NULL, " +
+                        "used_credit_limit NUMERIC(15, 2) NOT NULL, version BIGINT NOT NULL)",
+                "CREATE TABLE credit_ledger_checkpoint (id INTEGER PRIMARY KEY, wal_epoch VARCHAR(36), " +
+                        "last_sequence BIGINT NOT NULL, updated_at TIMESTAMP(6) NOT NULL)",
+                "INSERT INTO credit_ledger_checkpoint VALUES (1, NULL, 0, CURRENT_TIMESTAMP)",
+                "CREATE TABLE loans (id BIGINT PRIMARY KEY, customer_id BIGINT NOT NULL, loan_amount NUMERIC(15, 2) NOT NULL, " +
+                        "number_of_installments INTEGER NOT NULL, interest_rate NUMERIC(5, 2) NOT NULL, create_date DATE NOT NULL, " +
+                        "is_paid BOOLEAN NOT NULL, paid_date DATE, lazy_schedule BOOLEAN NOT NULL, packed_schedule VARBINARY(4096))",
+                "CREATE TABLE loan_installments (id BIGINT PRIMARY KEY, loan_id BIGINT NOT NULL, amount NUMERIC(15, 2) NOT NULL, " +
+                        "installment_number INTEGER NOT NULL, paid_amount NUMERIC(15, 2) NOT NULL, due_date DATE NOT NULL, " +
+                        "payment_date DATE, is_paid BOOLEAN NOT NULL, late_fee NUMERIC(15, 2) NOT NULL, is_overdue BOOLEAN NOT NULL)",
+                "CREATE TABLE loans_archive (id BIGINT PRIMARY KEY, customer_id BIGINT NOT NULL, loan_amount NUMERIC(15, 2) NOT NULL, " +
+                        "number_of_installments INTEGER NOT NULL, interest_rate NUMERIC(5, 2) NOT NULL, create_date DATE NOT NULL, " +
+                        "paid_date DATE NOT NULL, lazy_schedule BOOLEAN NOT NULL, packed_schedule VARBINARY(4096), " +
+                        "archived_at TIMESTAMP(6) NOT NULL)",
+                "CREATE TABLE loan_installments_archive (id BIGINT PRIMARY KEY, loan_id BIGINT NOT NULL, amount NUMERIC(15, 2) NOT NULL, " +
+                        "installment_number INTEGER NOT NULL, paid_amount NUMERIC(15, 2) NOT NULL, due_date DATE NOT NULL, " +
+                        "payment_date DATE, is_paid BOOLEAN NOT NULL, late_fee NUMERIC(15, 2) NOT NULL, is_overdue BOOLEAN NOT NULL)",
+                "INSERT INTO customers VALUES (1, 5000.00, 1000.00, 0)",
+                "INSERT INTO loans VALUES (10, 1, 600.00, 6, 0.10, DATE '2023-01-01', TRUE, DATE '2023-07-01', FALSE, NULL)",
+                "INSERT INTO loans VALUES (11, 1, 400.00, 6, 0.10, DATE '2025-05-01', FALSE, NULL, FALSE, NULL)",
+                "INSERT INTO loan_installments VALUES (100, 10, 100.00, 1, 100.00, DATE '2023-02-01', DATE '2023-02-01', TRUE, 0, FALSE)")) {
+            jdbcTemplate.execute(statement);
+        }
+
+        creditLedger = new CreditLedger(jdbcTemplate, transactionTemplate, new HashSet<Long>()::addAll, true, walDirectory);
+        creditLedger.recover();
+        loanArchive = new LoanArchive(jdbcTemplate, transactionTemplate,
+                Mockito.mock(EntityManagerFactory.class, Mockito.RETURNS_DEEP_STUBS), true, 365, 500);
+        reconciliationService = new CreditReconciliationServiceImpl(creditLedger, dataSource, 1000, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        creditLedger.destroy();
+    }
+
+    @Test
+    void archivedLoansStillCountTowardsUsedCredit() {
+        assertEquals(1, loanArchive.archive(loanArchive.cutoff(TODAY)).loans());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loans WHERE id = 10", Integer.class));
+
+        CreditReconciliationResult result = reconciliationService.reconcile();
+
+        assertEquals(0, result.getMismatchedCustomers());
+        assertEquals(0, result.getCorrectedCustomers());
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getNetDrift()));
+        assertEquals(CreditLedger.toCents(new BigDecimal("1000.00")), creditLedger.snapshot(1L).orElseThrow().usedCents());
+    }
+}
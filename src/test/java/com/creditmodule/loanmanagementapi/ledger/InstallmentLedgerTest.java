@@ -0,0 +1,122 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.dto.response.InstallmentResponse;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the ledger against its own in-memory H2 database holding the loan and installment tables it reads.
+class InstallmentLedgerTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 15);
+
+    private JdbcTemplate jdbcTemplate;
+    private InstallmentLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:installment-ledger-test;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String statement : List.of(
+                "DROP TABLE IF EXISTS loan_installments",
+                "DROP TABLE IF EXISTS loans",
+                "CREATE TABLE loans (id BIGINT PRIMARY KEY, loan_amount NUMERIC(15, 2) NOT NULL, " +
+                        "number_of_installments INTEGER NOT NULL, create_date DATE NOT NULL, " +
+                        "lazy_schedule BOOLEAN NOT NULL, packed_schedule VARBINARY(8192), version BIGINT NOT NULL)",
+                "INSERT INTO loans VALUES (7, 200.00, 2, DATE '2025-01-15', FALSE, NULL, 0)",
+                "INSERT INTO loans VALUES (8, 300.00, 3, DATE '2025-01-15', TRUE, NULL, 1)",
+                "CREATE TABLE loan_installments (id BIGINT PRIMARY KEY, loan_id BIGINT NOT NULL, amount NUMERIC(15, 2) NOT NULL, " +
+                        "installment_number INTEGER NOT NULL, paid_amount NUMERIC(15, 2) NOT NULL, due_date DATE NOT NULL, " +
+                        "payment_date DATE, is_paid BOOLEAN NOT NULL, late_fee NUMERIC(15, 2) NOT NULL, " +
+                        "is_overdue BOOLEAN NOT NULL, version BIGINT NOT NULL)",
+                "INSERT INTO loan_installments VALUES (70, 7, 100.00, 1, 0, DATE '2025-02-15', NULL, FALSE, 0, FALSE, 0)",
+                "INSERT INTO loan_installments VALUES (71, 7, 100.00, 2, 0, DATE '2025-03-15', NULL, FALSE, 0, FALSE, 0)",
+                "INSERT INTO loan_installments VALUES (80, 8, 100.00, 1, 100.00, DATE '2025-02-15', DATE '2025-02-01', TRUE, 0, FALSE, 0)")) {
+            jdbcTemplate.execute(statement);
+        }
+        jdbcTemplate.update("INSERT INTO loans VALUES (9, 300.00, 3, DATE '2025-01-15', TRUE, ?, 2)", packedSchedule());
+        ledger = new InstallmentLedger(dataSource, true, 100);
+        ledger.load();
+    }
+
+    // Loan 9's schedule, with the first installment paid, as the pack migration writes it.
+    private static byte[] packedSchedule() {
+        Loan loan = new Loan();
+        loan.setId(9L);
+        loan.setLoanAmount(new BigDecimal("300.00"));
+        loan.setNumberOfInstallments(3);
+        loan.setCreateDate(START);
+        List<LoanInstallment> schedule = InstallmentScheduleResolver.derive(loan);
+        schedule.get(0).setIsPaid(true);
+        schedule.get(0).setPaidAmount(new BigDecimal("100.00"));
+        schedule.get(0).setPaymentDate(LocalDate.of(2025, 2, 1));
+        return PackedSchedule.encode(schedule);
+    }
+
+    private static LoanSchedule unpaidSchedule(long version) {
+        return new LoanSchedule.Builder(7L, 2)
+                .version(version)
+                .add(70L, START.plusMonths(1), new BigDecimal("100.00"), BigDecimal.ZERO, null, false, BigDecimal.ZERO, false)
+                .add(71L, START.plusMonths(2), new BigDecimal("100.00"), BigDecimal.ZERO, null, false, BigDecimal.ZERO, false)
+                .build();
+    }
+
+    @Test
+    void refreshAfterACommittedPaymentReplacesTheSchedule() {
+        jdbcTemplate.update("UPDATE loan_installments SET is_paid = TRUE, paid_amount = 100.00, " +
+                "payment_date = DATE '2025-02-10', version = version + 1 WHERE id = 70");
+
+        ledger.refresh(7L);
+
+        assertTrue(ledger.getInstallments(7L).get(0).getIsPaid());
+        assertEquals(71L, ledger.getNextDue(7L).orElseThrow().getId());
+    }
+
+    @Test
+    void staleReadFinishingLastDoesNotReplaceANewerSchedule() {
+        // Version 2 is what the two unpaid rows read before the payment; the payment raises it to 3.
+        jdbcTemplate.update("UPDATE loan_installments SET is_paid = TRUE, paid_amount = 100.00, " +
+                "payment_date = DATE '2025-02-10', version = version + 1 WHERE id = 70");
+        ledger.refresh(7L);
+
+        ledger.store(unpaidSchedule(2));
+
+        assertTrue(ledger.getInstallments(7L).get(0).getIsPaid());
+    }
+
+    @Test
+    void lazyLoanScheduleIsResolvedFromItsTerms() {
+        List<InstallmentResponse> installments = ledger.getInstallments(8L);
+
+        assertEquals(3, installments.size());
+        assertEquals(80L, installments.get(0).getId());
+        assertTrue(installments.get(0).getIsPaid());
+        assertNull(installments.get(1).getId());
+        assertEquals(LocalDate.of(2025, 3, 15), installments.get(1).getDueDate());
+        assertEquals(0, new BigDecimal("100.00").compareTo(installments.get(2).getAmount()));
+        assertEquals(LocalDate.of(2025, 3, 15), ledger.getNextDue(8L).orElseThrow().getDueDate());
+        assertEquals(2, ledger.getOverdue(8L, LocalDate.of(2025, 6, 1)).size());
+    }
+
+    @Test
+    void packedLoanScheduleIsDecodedFromTheLoanRow() {
+        List<InstallmentResponse> installments = ledger.getInstallments(9L);
+
+        assertEquals(3, installments.size());
+        assertTrue(installments.stream().allMatch(installment -> installment.getId() == null));
+        assertTrue(installments.get(0).getIsPaid());
+        assertEquals(LocalDate.of(2025, 2, 1), installments.get(0).getPaymentDate());
+        assertFalse(installments.get(1).getIsPaid());
+        assertEquals(LocalDate.of(2025, 3, 15), ledger.getNextDue(9L).orElseThrow().getDueDate());
+        assertEquals(2, ledger.getOverdue(9L, LocalDate.of(2025, 6, 1)).size());
+    }
+}
@@ -0,0 +1,135 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.dto.request.CreateLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.request.PayInstallmentRequest;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.executor.OptimisticRetryExecutor;
+import com.creditmodule.loanmanagementapi.repository.CustomerRepository;
+import com.creditmodule.loanmanagementapi.repository.LoanInstallmentRepository;
+import com.creditmodule.loanmanagementapi.repository.LoanRepository;
+import com.creditmodule.loanmanagementapi.service.IInstallmentService;
+import com.creditmodule.loanmanagementapi.service.ILoanService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"scheduler.due-dates.enabled=false", "batch.overdue.enabled=false", "statement.enabled=false"})
+class InstallmentScheduleResolverTest {
+
+    private static final int TERM = 6;
+
+    @Autowired
+    private ILoanService loanService;
+
+    @Autowired
+    private IInstallmentService installmentService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Leslie");
+        customer.setSurname("Lamport");
+        customer.setCreditLimit(new BigDecimal("100000.00"));
+        customer.setUsedCreditLimit(BigDecimal.ZERO);
+        customerId = customerRepository.save(customer).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM payment_ledger WHERE customer_id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM loan_installments WHERE loan_id IN (SELECT id FROM loans WHERE customer_id = ?)", customerId);
+        jdbcTemplate.update("DELETE FROM loans WHERE customer_id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customerId);
+    }
+
+    private Long createLoan() {
+        CreateLoanRequest request = new CreateLoanRequest();
+        request.setCustomerId(customerId);
+        request.setAmount(new BigDecimal("1200.00"));
+        request.setInterestRate(new BigDecimal("0.10"));
+        request.setNumberOfInstallments(String.valueOf(TERM));
+        return loanService.createLoan(request).getId();
+    }
+
+    private void payInstallment(Long loanId) {
+        PayInstallmentRequest request = new PayInstallmentRequest();
+        request.setLoanId(loanId);
+        request.setAmount(new BigDecimal("1000.00"));
+        installmentService.payInstallment(request);
+    }
+
+    // The application runs with row schedules, so the packing resolver is built by hand. Its installment reads go
+    // through a proxy that commits a payment right after the first read of the chunk's rows.
+    private InstallmentScheduleResolver packingResolver(Runnable afterFirstRead) {
+        AtomicBoolean first = new AtomicBoolean(true);
+        LoanInstallmentRepository installments = (LoanInstallmentRepository) Proxy.newProxyInstance(
+                LoanInstallmentRepository.class.getClassLoader(), new Class<?>[]{LoanInstallmentRepository.class},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(installmentRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (method.getName().equals("findByLoanIdIn") && first.compareAndSet(true, false)) {
+                        afterFirstRead.run();
+                    }
+                    return result;
+                });
+        return new InstallmentScheduleResolver(loanRepository, installments, entityManager, retryExecutor,
+                transactionTemplate, false, true, 500);
+    }
+
+    @Test
+    void paymentCommittedWhilePackingIsKept() {
+        Long loanId = createLoan();
+
+        // The payment runs on its partition thread in its own transaction and has committed when this returns.
+        packingResolver(() -> payInstallment(loanId)).packAll();
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan_installments WHERE loan_id = ?",
+                Integer.class, loanId));
+        List<LoanInstallment> schedule = InstallmentScheduleResolver.resolve(loanRepository.findById(loanId).orElseThrow(), List.of());
+        assertEquals(TERM, schedule.size());
+        assertTrue(schedule.get(0).getIsPaid());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(schedule.get(0).getPaidAmount()));
+        assertTrue(schedule.stream().skip(1).noneMatch(LoanInstallment::getIsPaid));
+    }
+}
@@ -0,0 +1,144 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.dto.request.CreateLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.request.LoanSearchRequest;
+import com.creditmodule.loanmanagementapi.dto.request.PayLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.response.InstallmentResponse;
+import com.creditmodule.loanmanagementapi.dto.response.LoanResponse;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.exception.CustomerNotFoundException;
+import com.creditmodule.loanmanagementapi.exception.InvalidInstallmentException;
+import com.creditmodule.loanmanagementapi.repository.CustomerRepository;
+import com.creditmodule.loanmanagementapi.service.IInstallmentService;
+import com.creditmodule.loanmanagementapi.service.ILoanService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"scheduler.due-dates.enabled=false", "batch.overdue.enabled=false", "statement.enabled=false"})
+class LoanArchiveTest {
+
+    private static final int TERM = 12;
+
+    @Autowired
+    private LoanArchive loanArchive;
+
+    @Autowired
+    private ILoanService loanService;
+
+    @Autowired
+    private IInstallmentService installmentService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Jim");
+        customer.setSurname("Gray");
+        customer.setCreditLimit(new BigDecimal("100000.00"));
+        customer.setUsedCreditLimit(BigDecimal.ZERO);
+        customerId = customerRepository.save(customer).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM loan_installments_archive WHERE loan_id IN (SELECT id FROM loans_archive WHERE customer_id = ?)", customerId);
+        jdbcTemplate.update("DELETE FROM loans_archive WHERE customer_id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM payment_ledger WHERE customer_id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM loan_installments WHERE loan_id IN (SELECT id FROM loans WHERE customer_id = ?)", customerId);
+        jdbcTemplate.update("DELETE FROM loans WHERE customer_id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customerId);
+    }
+
+    private Long createPaidLoan(LocalDate paidDate) {
+        CreateLoanRequest create = new CreateLoanRequest();
+        create.setCustomerId(customerId);
+        create.setAmount(new BigDecimal("1200.00"));
+        create.setInterestRate(new BigDecimal("0.20"));
+        create.setNumberOfInstallments(String.valueOf(TERM));
+        Long loanId = loanService.createLoan(create).getId();
+
+        PayLoanRequest pay = new PayLoanRequest();
+        pay.setLoanId(loanId);
+        pay.setAmount(new BigDecimal("1440.00"));
+        assertTrue(loanService.payLoan(pay).getLoanFullyPaid());
+        jdbcTemplate.update("UPDATE loans SET paid_date = ? WHERE id = ?", paidDate, loanId);
+        return loanId;
+    }
+
+    private int count(String table, String column, Long loanId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?", Integer.class, loanId);
+    }
+
+    @Test
+    void movesLoansPaidBeforeTheCutoffAndKeepsThemReadable() {
+        LocalDate cutoff = LocalDate.now().minusDays(365);
+        Long oldLoanId = createPaidLoan(cutoff.minusDays(1));
+        Long recentLoanId = createPaidLoan(cutoff);
+        LoanResponse details = loanService.getLoanDetails(oldLoanId);
+        List<InstallmentResponse> installments = installmentService.getInstallmentsByLoan(oldLoanId);
+
+        LoanArchive.ArchiveTotals totals = loanArchive.archive(cutoff);
+
+        assertTrue(totals.loans() >= 1);
+        assertEquals(0, count("loans", "id", oldLoanId));
+        assertEquals(0, count("loan_installments", "loan_id", oldLoanId));
+        assertEquals(1, count("loans_archive", "id", oldLoanId));
+        assertEquals(TERM, count("loan_installments_archive", "loan_id", oldLoanId));
+        assertEquals(1, count("loans", "id", recentLoanId));
+
+        assertEquals(details, loanService.getLoanDetails(oldLoanId));
+        assertEquals(installments, installmentService.getInstallmentsByLoan(oldLoanId));
+
+        PayLoanRequest pay = new PayLoanRequest();
+        pay.setLoanId(oldLoanId);
+        pay.setAmount(BigDecimal.TEN);
+        assertThrows(InvalidInstallmentException.class, () -> loanService.payLoan(pay));
+    }
+
+    @Test
+    void customerLoanListsAndSearchIncludeArchivedLoans() {
+        LocalDate cutoff = LocalDate.now().minusDays(365);
+        Long oldLoanId = createPaidLoan(cutoff.minusDays(1));
+        Long recentLoanId = createPaidLoan(cutoff);
+
+        loanArchive.archive(cutoff);
+
+        assertEquals(List.of(oldLoanId, recentLoanId), loanService.getLoansByCustomer(customerId).stream()
+                .map(LoanResponse::getId).toList());
+        assertEquals(List.of(oldLoanId, recentLoanId), loanService.getLoansByCustomerWithFilters(customerId, true, TERM)
+                .stream().map(LoanResponse::getId).toList());
+        assertThrows(CustomerNotFoundException.class,
+                () -> loanService.getLoansByCustomerWithFilters(customerId, false, null));
+
+        LoanSearchRequest criteria = new LoanSearchRequest();
+        criteria.setCustomerId(customerId);
+        Page<LoanResponse> firstPage = loanService.searchLoans(criteria, 0, 1, "id", false);
+        Page<LoanResponse> secondPage = loanService.searchLoans(criteria, 1, 1, "id", false);
+        assertEquals(2, firstPage.getTotalElements());
+        assertEquals(recentLoanId, firstPage.getContent().get(0).getId());
+        assertEquals(oldLoanId, secondPage.getContent().get(0).getId());
+        assertTrue(secondPage.getContent().get(0).getIsPaid());
+        assertEquals(customerId, secondPage.getContent().get(0).getCustomerId());
+
+        criteria.setIsPaid(false);
+        assertEquals(0, loanService.searchLoans(criteria, 0, 10, "id", true).getTotalElements());
+    }
+}
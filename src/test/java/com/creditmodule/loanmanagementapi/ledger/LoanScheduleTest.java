@@ -0,0 +1,67 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.dto.response.InstallmentResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoanScheduleTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 15);
+
+    @Test
+    void roundTripsInstallmentValues() {
+        LoanSchedule schedule = new LoanSchedule.Builder(7L, 2)
+                .add(70L, START.plusMonths(1), new BigDecimal("1083.33"), new BigDecimal("1083.33"),
+                        START.plusMonths(1).minusDays(3), true, BigDecimal.ZERO, false)
+                .add(71L, START.plusMonths(2), new BigDecimal("1083.33"), BigDecimal.ZERO,
+                        null, false, new BigDecimal("10.83"), true)
+                .build();
+
+        List<InstallmentResponse> responses = schedule.toResponses();
+
+        assertEquals(2, responses.size());
+        InstallmentResponse paid = responses.get(0);
+        assertEquals(70L, paid.getId());
+        assertEquals(7L, paid.getLoanId());
+        assertEquals(new BigDecimal("1083.33"), paid.getPaidAmount());
+        assertEquals(START.plusMonths(1).minusDays(3), paid.getPaymentDate());
+        assertTrue(paid.getIsPaid());
+
+        InstallmentResponse overdue = responses.get(1);
+        assertNull(overdue.getPaymentDate());
+        assertEquals(new BigDecimal("10.83"), overdue.getLateFee());
+        assertFalse(overdue.getIsPaid());
+        assertTrue(overdue.getIsOverdue());
+    }
+
+    @Test
+    void findsNextDueAndOverdueBeyondOneBitWord() {
+        LoanSchedule.Builder builder = new LoanSchedule.Builder(1L, 1);
+        for (int i = 0; i < 70; i++) {
+            builder.add(i + 1, START.plusMonths(i), new BigDecimal("100.00"), BigDecimal.ZERO,
+                    null, i < 65, BigDecimal.ZERO, false);
+        }
+        LoanSchedule schedule = builder.build();
+
+        assertEquals(70, schedule.size());
+        assertTrue(schedule.isPaid(64));
+        assertFalse(schedule.isPaid(65));
+        assertEquals(65, schedule.nextDueIndex());
+        assertEquals(2, schedule.overdueAsOf(START.plusMonths(67)).size());
+        assertTrue(schedule.overdueAsOf(START.plusMonths(65)).isEmpty());
+    }
+
+    @Test
+    void fullyPaidScheduleHasNoNextDue() {
+        LoanSchedule schedule = new LoanSchedule.Builder(3L, 1)
+                .add(30L, START, new BigDecimal("50.00"), new BigDecimal("50.00"), START, true, BigDecimal.ZERO, false)
+                .build();
+
+        assertEquals(-1, schedule.nextDueIndex());
+    }
+}
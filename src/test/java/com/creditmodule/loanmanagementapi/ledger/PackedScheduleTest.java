@@ -0,0 +1,86 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedScheduleTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 15);
+
+    private static Loan loan(int installments) {
+        Loan loan = new Loan();
+        loan.setId(7L);
+        loan.setLoanAmount(new BigDecimal("1300.00"));
+        loan.setNumberOfInstallments(installments);
+        loan.setCreateDate(START);
+        return loan;
+    }
+
+    @Test
+    void roundTripsInstallmentValues() {
+        Loan loan = loan(3);
+        List<LoanInstallment> schedule = InstallmentScheduleResolver.derive(loan);
+        LoanInstallment paid = schedule.get(0);
+        paid.setIsPaid(true);
+        paid.setPaidAmount(new BigDecimal("433.33"));
+        paid.setPaymentDate(START.plusMonths(1).minusDays(2));
+        LoanInstallment overdue = schedule.get(1);
+        overdue.setIsOverdue(true);
+        overdue.setLateFee(new BigDecimal("4.33"));
+
+        byte[] packed = PackedSchedule.encode(schedule);
+        List<LoanInstallment> decoded = PackedSchedule.decode(loan, packed);
+
+        assertEquals(PackedSchedule.HEADER_BYTES + 3 * PackedSchedule.RECORD_BYTES, packed.length);
+        assertEquals(3, decoded.size());
+        for (int i = 0; i < 3; i++) {
+            LoanInstallment expected = schedule.get(i);
+            LoanInstallment actual = decoded.get(i);
+            assertNull(actual.getId());
+            assertSame(loan, actual.getLoan());
+            assertEquals(expected.getInstallmentNumber(), actual.getInstallmentNumber());
+            assertEquals(expected.getDueDate(), actual.getDueDate());
+            assertEquals(expected.getPaymentDate(), actual.getPaymentDate());
+            assertEquals(0, expected.getAmount().compareTo(actual.getAmount()));
+            assertEquals(0, expected.getPaidAmount().compareTo(actual.getPaidAmount()));
+            assertEquals(0, expected.getLateFee().compareTo(actual.getLateFee()));
+            assertEquals(expected.getIsPaid(), actual.getIsPaid());
+            assertEquals(expected.getIsOverdue(), actual.getIsOverdue());
+        }
+    }
+
+    @Test
+    void resolvesPackedLoansFromTheColumnAlone() {
+        Loan loan = loan(6);
+        List<LoanInstallment> schedule = InstallmentScheduleResolver.derive(loan);
+        schedule.get(0).setIsPaid(true);
+        loan.setPackedSchedule(PackedSchedule.encode(schedule));
+
+        List<LoanInstallment> resolved = InstallmentScheduleResolver.resolve(loan, List.of());
+
+        assertEquals(6, resolved.size());
+        assertTrue(resolved.get(0).getIsPaid());
+        assertEquals(START.plusMonths(6), resolved.get(5).getDueDate());
+    }
+
+    @Test
+    void rejectsUnknownVersionsAndTruncatedValues() {
+        Loan loan = loan(2);
+        byte[] packed = PackedSchedule.encode(InstallmentScheduleResolver.derive(loan));
+
+        byte[] future = packed.clone();
+        future[0] = PackedSchedule.FORMAT_VERSION + 1;
+        assertThrows(IllegalStateException.class, () -> PackedSchedule.decode(loan, future));
+
+        byte[] truncated = Arrays.copyOf(packed, packed.length - 1);
+        assertThrows(IllegalStateException.class, () -> PackedSchedule.decode(loan, truncated));
+    }
+}
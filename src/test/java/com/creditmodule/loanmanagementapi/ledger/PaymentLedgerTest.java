@@ -0,0 +1,118 @@
+package com.creditmodule.loanmanagementapi.ledger;
+
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the ledger against its own in-memory H2 database holding the two tables it writes.
+class PaymentLedgerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private JdbcTemplate jdbcTemplate;
+    private PaymentLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:payment-ledger-test;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String statement : List.of(
+                "DROP TABLE IF EXISTS payment_ledger",
+                "DROP TABLE IF EXISTS loan_balance_snapshots",
+                "CREATE TABLE payment_ledger (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                        "loan_id BIGINT NOT NULL, customer_id BIGINT NOT NULL, installment_number INTEGER NOT NULL, " +
+                        "amount NUMERIC(15, 2) NOT NULL, payment_date DATE NOT NULL, recorded_at TIMESTAMP(6) NOT NULL)",
+                "CREATE TABLE loan_balance_snapshots (loan_id BIGINT NOT NULL, last_entry_id BIGINT NOT NULL, " +
+                        "as_of_date DATE NOT NULL, paid_total NUMERIC(15, 2) NOT NULL, paid_installments INTEGER NOT NULL, " +
+                        "created_at TIMESTAMP(6) NOT NULL, PRIMARY KEY (loan_id, last_entry_id))")) {
+            jdbcTemplate.execute(statement);
+        }
+        ledger = new PaymentLedger(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)), true, 1);
+    }
+
+    private static Loan loan(long id) {
+        Customer customer = new Customer();
+        customer.setId(100 + id);
+        Loan loan = new Loan();
+        loan.setId(id);
+        loan.setCustomer(customer);
+        return loan;
+    }
+
+    private void pay(Loan loan, LocalDate date, int... installmentNumbers) {
+        List<PaymentLedger.Application> applications = Arrays.stream(installmentNumbers)
+                .mapToObj(number -> new PaymentLedger.Application(number, new BigDecimal("100.00")))
+                .toList();
+        ledger.record(loan, applications, date);
+    }
+
+    private Map<String, Object> latestSnapshot(long loanId) {
+        return jdbcTemplate.queryForMap("SELECT * FROM loan_balance_snapshots WHERE loan_id = ? " +
+                "ORDER BY last_entry_id DESC FETCH FIRST 1 ROWS ONLY", loanId);
+    }
+
+    @Test
+    void snapshotsAccumulateEntriesOfEarlierDaysOnly() {
+        Loan first = loan(1);
+        Loan second = loan(3);
+        pay(first, DAY, 1, 2);
+        pay(second, DAY, 1);
+        pay(first, DAY.plusDays(1), 3);
+
+        assertEquals(2, ledger.snapshot(DAY.plusDays(1)));
+        Map<String, Object> snapshot = latestSnapshot(1);
+        assertEquals(0, new BigDecimal("200.00").compareTo((BigDecimal) snapshot.get("PAID_TOTAL")));
+        assertEquals(2, snapshot.get("PAID_INSTALLMENTS"));
+        assertEquals(DAY, ((Date) snapshot.get("AS_OF_DATE")).toLocalDate());
+
+        assertEquals(0, ledger.snapshot(DAY.plusDays(1)));
+
+        assertEquals(1, ledger.snapshot(DAY.plusDays(2)));
+        snapshot = latestSnapshot(1);
+        assertEquals(0, new BigDecimal("300.00").compareTo((BigDecimal) snapshot.get("PAID_TOTAL")));
+        assertEquals(3, snapshot.get("PAID_INSTALLMENTS"));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan_balance_snapshots", Integer.class));
+    }
+
+    @Test
+    void entryDatedTodayHoldsBackLaterIdsOfEarlierDays() {
+        Loan loan = loan(1);
+        pay(loan, DAY, 1);
+        pay(loan, DAY.plusDays(1), 2);
+        // A later id with an earlier date: a payment dated before midnight that inserted after the one above.
+        pay(loan, DAY, 3);
+
+        assertEquals(1, ledger.snapshot(DAY.plusDays(1)));
+        Map<String, Object> snapshot = latestSnapshot(1);
+        assertEquals(0, new BigDecimal("100.00").compareTo((BigDecimal) snapshot.get("PAID_TOTAL")));
+        assertEquals(1, snapshot.get("PAID_INSTALLMENTS"));
+
+        assertEquals(1, ledger.snapshot(DAY.plusDays(2)));
+        snapshot = latestSnapshot(1);
+        assertEquals(0, new BigDecimal("300.00").compareTo((BigDecimal) snapshot.get("PAID_TOTAL")));
+        assertEquals(3, snapshot.get("PAID_INSTALLMENTS"));
+        assertEquals(DAY.plusDays(1), ((Date) snapshot.get("AS_OF_DATE")).toLocalDate());
+    }
+
+    @Test
+    void disabledLedgerRecordsNothing() {
+        PaymentLedger disabled = new PaymentLedger(jdbcTemplate, null, false, 1);
+        disabled.record(loan(1), List.of(new PaymentLedger.Application(1, BigDecimal.TEN)), DAY);
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payment_ledger", Integer.class));
+    }
+}
@@ -0,0 +1,324 @@
+package com.creditmodule.loanmanagementapi.reactive;
+
+import com.creditmodule.loanmanagementapi.config.SecurityConfig;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.ledger.InstallmentScheduleResolver;
+import com.creditmodule.loanmanagementapi.ledger.LoanArchive;
+import com.creditmodule.loanmanagementapi.ledger.PackedSchedule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+// Runs the reactive routes against their own in-memory H2 database holding the two tables they read.
+class ReactiveReadServerTest {
+
+    private static final String URL = "r2dbc:h2:mem:///reactive-read-test?options=DB_CLOSE_DELAY=-1";
+
+    private final LoanArchive loanArchive = Mockito.mock(LoanArchive.class);
+    private ReactiveReadServer server;
+    private DatabaseClient databaseClient;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient = DatabaseClient.create(ConnectionFactories.get(URL));
+        for (String statement : List.of(
+                "DROP TABLE IF EXISTS loan_installments",
+                "DROP TABLE IF EXISTS loans",
+                "DROP TABLE IF EXISTS loans_archive",
+                "CREATE TABLE loans (id BIGINT PRIMARY KEY, customer_id BIGINT NOT NULL, loan_amount NUMERIC(15, 2) NOT NULL, " +
+                        "number_of_installments INTEGER NOT NULL, interest_rate NUMERIC(5, 2) NOT NULL, " +
+                        "create_date DATE NOT NULL, is_paid BOOLEAN NOT NULL, lazy_schedule BOOLEAN NOT NULL, " +
+                        "packed_schedule VARBINARY(8192))",
+                "CREATE TABLE loans_archive (id BIGINT PRIMARY KEY, customer_id BIGINT NOT NULL, loan_amount NUMERIC(15, 2) NOT NULL, " +
+                        "number_of_installments INTEGER NOT NULL, interest_rate NUMERIC(5, 2) NOT NULL, create_date DATE NOT NULL)",
+                "INSERT INTO loans_archive VALUES (900, 42, 1000.00, 6, 0.20, DATE '2023-01-01')",
+                "CREATE TABLE loan_installments (id BIGINT PRIMARY KEY, loan_id BIGINT NOT NULL, installment_number INTEGER NOT NULL, " +
+                        "amount NUMERIC(15, 2) NOT NULL, " +
+                        "paid_amount NUMERIC(15, 2) NOT NULL, due_date DATE NOT NULL, payment_date DATE, " +
+                        "is_paid BOOLEAN NOT NULL, late_fee NUMERIC(15, 2) NOT NULL, is_overdue BOOLEAN NOT NULL)",
+                "INSERT INTO loans VALUES (1001, 42, 3000.00, 3, 0.20, DATE '2025-01-01', FALSE, FALSE, NULL)")) {
+            databaseClient.sql(statement).then().block();
+        }
+        LocalDate today = LocalDate.now();
+        insertInstallment(1, 1001, 1, today.minusMonths(1), true);
+        insertInstallment(2, 1001, 2, today.minusDays(1), false);
+        insertInstallment(3, 1001, 3, today.plusMonths(1), false);
+
+        start(false);
+    }
+
+    private void start(boolean schedulesWithoutRows) {
+        if (server != null) {
+            server.destroy();
+        }
+        InstallmentScheduleResolver scheduleResolver = Mockito.mock(InstallmentScheduleResolver.class);
+        Mockito.when(scheduleResolver.isEnabled()).thenReturn(schedulesWithoutRows);
+        server = new ReactiveReadServer(
+                new ObjectMapper().registerModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS),
+                new SecurityConfig().userDetailsService(), loanArchive, scheduleResolver, "localhost", 0, 1, URL, "sa", "", 1, 2);
+        client = WebTestClient.bindToRouterFunction(server.routes()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.destroy();
+    }
+
+    private void insertInstallment(long id, long loanId, int number, LocalDate dueDate, boolean paid) {
+        databaseClient.sql("INSERT INTO loan_installments VALUES (:id, :loanId, :number, 1200.00, :paidAmount, :dueDate, NULL, :paid, 0.00, FALSE)")
+                .bind("id", id)
+                .bind("loanId", loanId)
+                .bind("number", number)
+                .bind("paidAmount", paid ? 1200 : 0)
+                .bind("dueDate", dueDate)
+                .bind("paid", paid)
+                .then()
+                .block();
+    }
+
+    @Test
+    void customerCanReadLoanAndInstallments() {
+        client.get().uri("/api/loans/1001")
+                .headers(headers -> headers.setBasicAuth("customer", "customer123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1001)
+                .jsonPath("$.customerId").isEqualTo(42)
+                .jsonPath("$.numberOfInstallment").isEqualTo(3);
+
+        client.get().uri("/api/installments/loan/1001")
+                .headers(headers -> headers.setBasicAuth("customer", "customer123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].id").isEqualTo(1);
+
+        client.get().uri("/api/installments/loan/1001/overdue")
+                .headers(headers -> headers.setBasicAuth("customer", "customer123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(2);
+    }
+
+    @Test
+    void archivedLoanAndInstallmentsAreReadFromTheArchive() {
+        Customer customer = new Customer();
+        customer.setId(42L);
+        Loan loan = new Loan();
+        loan.setId(2002L);
+        loan.setCustomer(customer);
+        loan.setLoanAmount(new BigDecimal("1000.00"));
+        loan.setNumberOfInstallments(6);
+        loan.setInterestRate(new BigDecimal("0.20"));
+        loan.setCreateDate(LocalDate.of(2023, 1, 1));
+        loan.setIsPaid(true);
+        LoanInstallment installment = new LoanInstallment();
+        installment.setId(77L);
+        installment.setLoan(loan);
+        installment.setAmount(new BigDecimal("200.00"));
+        installment.setPaidAmount(new BigDecimal("200.00"));
+        installment.setDueDate(LocalDate.of(2023, 2, 1));
+        installment.setPaymentDate(LocalDate.of(2023, 1, 30));
+        installment.setIsPaid(true);
+        Mockito.when(loanArchive.findLoan(2002L)).thenReturn(Optional.of(loan));
+        Mockito.when(loanArchive.findSchedule(loan)).thenReturn(List.of(installment));
+
+        client.get().uri("/api/loans/2002")
+                .headers(headers -> headers.setBasicAuth("customer", "customer123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(2002)
+                .jsonPath("$.customerId").isEqualTo(42)
+                .jsonPath("$.isPaid").isEqualTo(true);
+
+        client.get().uri("/api/installments/loan/2002")
+                .headers(headers -> headers.setBasicAuth("customer", "customer123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(77)
+                .jsonPath("$[0].loanId").isEqualTo(2002);
+    }
+
+    @Test
+    void lazyLoanScheduleIsResolvedFromTheLoanRow() {
+        // Three installments of 1200.00 due one to three months after the creation date, all in the past; only the
+        // paid first one has a row.
+        LocalDate createDate = LocalDate.now().minusMonths(6);
+        databaseClient.sql("INSERT INTO loans VALUES (3003, 42, 3600.00, 3, 0.20, :createDate, FALSE, TRUE, NULL)")
+                .bind("createDate", createDate)
+                .then()
+                .block();
+        insertInstallment(30, 3003, 1, createDate.plusMonths(1), true);
+        start(true);
+
+        client.get().uri("/api/installments/loan/3003")
+                .headers(headers -> headers.setBasicAuth("customer", "customer123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].id").isEqualTo(30)
+                .jsonPath("$[1].id").isEmpty()
+                .jsonPath("$[1].loanId").isEqualTo(3003)
+                .jsonPath("$[1].amount").isEqualTo(1200.0)
+                .jsonPath("$[2].dueDate").isEqualTo(createDate.plusMonths(3).toString());
+
+        client.get().uri("/api/installments/loan/3003/overdue")
+                .headers(headers -> headers.setBasicAuth("customer", "customer123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].isPaid").isEqualTo(false);
+
+        // The eager loan's rows read the same way as without lazy schedules.
+        client.get().uri("/api/installments/loan/1001")
+                .headers(headers -> headers.setBasicAuth("customer", "customer123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[2].id").isEqualTo(3);
+
+        // The two installments without rows are due before the overdue row of loan 1001.
+        client.get().uri("/api/installments/overdue?page=0&size=10")
+                .headers(headers -> headers.setBasicAuth("admin", "admin123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].loanId").isEqualTo(3003)
+                .jsonPath("$[1].loanId").isEqualTo(3003)
+                .jsonPath("$[2].id").isEqualTo(2);
+
+        client.get().uri("/api/installments/overdue?page=1&size=2")
+                .headers(headers -> headers.setBasicAuth("admin", "admin123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(2);
+    }
+
+    @Test
+    void packedLoanScheduleIsDecodedFromTheLoanRow() {
+        Loan loan = new Loan();
+        loan.setId(4004L);
+        loan.setLoanAmount(new BigDecimal("3600.00"));
+        loan.setNumberOfInstallments(3);
+        loan.setCreateDate(LocalDate.now().minusMonths(6));
+        List<LoanInstallment> schedule = InstallmentScheduleResolver.derive(loan);
+        schedule.get(0).setIsPaid(true);
+        schedule.get(0).setPaidAmount(new BigDecimal("1200.00"));
+        schedule.get(0).setPaymentDate(schedule.get(0).getDueDate());
+        databaseClient.sql("INSERT INTO loans VALUES (4004, 42, 3600.00, 3, 0.20, :createDate, FALSE, TRUE, :packed)")
+                .bind("createDate", loan.getCreateDate())
+                .bind("packed", PackedSchedule.encode(schedule))
+                .then()
+                .block();
+        start(true);
+
+        client.get().uri("/api/installments/loan/4004")
+                .headers(headers -> headers.setBasicAuth("customer", "customer123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].id").isEmpty()
+                .jsonPath("$[0].isPaid").isEqualTo(true)
+                .jsonPath("$[1].isPaid").isEqualTo(false);
+
+        client.get().uri("/api/installments/loan/4004/overdue")
+                .headers(headers -> headers.setBasicAuth("customer", "customer123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+
+        client.get().uri("/api/installments/overdue?page=0&size=10")
+                .headers(headers -> headers.setBasicAuth("admin", "admin123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].loanId").isEqualTo(4004)
+                .jsonPath("$[2].id").isEqualTo(2);
+    }
+
+    @Test
+    void customerLoanListIncludesArchivedLoans() {
+        client.get().uri("/api/loans/customer/42")
+                .headers(headers -> headers.setBasicAuth("customer", "customer123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(900)
+                .jsonPath("$[0].isPaid").isEqualTo(true)
+                .jsonPath("$[1].id").isEqualTo(1001);
+    }
+
+    @Test
+    void missingLoanAndCustomerWithoutLoansReturnNotFound() {
+        client.get().uri("/api/loans/9999")
+                .headers(headers -> headers.setBasicAuth("admin", "admin123"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Loan not found with ID: 9999");
+
+        client.get().uri("/api/loans/customer/7")
+                .headers(headers -> headers.setBasicAuth("admin", "admin123"))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void portfolioOverdueIsAdminOnly() {
+        client.get().uri("/api/installments/overdue?page=0&size=10")
+                .headers(headers -> headers.setBasicAuth("customer", "customer123"))
+                .exchange()
+                .expectStatus().isForbidden();
+
+        client.get().uri("/api/installments/overdue?page=0&size=10")
+                .headers(headers -> headers.setBasicAuth("admin", "admin123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    void requestsWithoutValidCredentialsAreRejected() {
+        client.get().uri("/api/loans/1001")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        client.get().uri("/api/loans/1001")
+                .headers(headers -> headers.setBasicAuth("admin", "wrong"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
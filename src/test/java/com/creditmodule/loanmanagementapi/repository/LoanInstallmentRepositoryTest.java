@@ -0,0 +1,149 @@
+package com.creditmodule.loanmanagementapi.repository;
+
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.support.StatementCounter;
+import com.creditmodule.loanmanagementapi.support.StatementCountingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against the Flyway schema, so the plans below use the indexes created by the migrations. The plans are
+// taken for the SQL the repository methods send, as recorded by the statement counting DataSource proxy.
+@DataJpaTest
+@Import(StatementCountingConfig.class)
+class LoanInstallmentRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LoanInstallmentRepository installmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private Loan firstLoan;
+    private Loan secondLoan;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Ada");
+        customer.setSurname("Lovelace");
+        customer.setCreditLimit(new BigDecimal("1000000.00"));
+        customer.setUsedCreditLimit(BigDecimal.ZERO);
+        entityManager.persist(customer);
+
+        firstLoan = persistLoan(customer, LocalDate.of(2025, 1, 1));
+        secondLoan = persistLoan(customer, LocalDate.of(2025, 2, 1));
+        for (int i = 0; i < 40; i++) {
+            persistLoan(customer, LocalDate.of(2024, 1, 1).plusDays(i * 11L));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void loanScopedOverdueQueryOnlyReturnsThatLoan() {
+        List<LoanInstallment> overdue = installmentRepository
+                .findByLoanIdAndIsPaidFalseAndDueDateBefore(firstLoan.getId(), TODAY);
+
+        // Due 2025-02-01 .. 2025-05-01; the first installment was paid.
+        assertEquals(3, overdue.size());
+        assertTrue(overdue.stream().allMatch(installment -> installment.getLoan().getId().equals(firstLoan.getId())));
+        assertEquals(LocalDate.of(2025, 3, 1), overdue.get(0).getDueDate());
+        assertEquals(2, installmentRepository.findByLoanIdAndIsPaidFalseAndDueDateBefore(secondLoan.getId(), TODAY).size());
+    }
+
+    @Test
+    void portfolioOverdueQueryIsPaged() {
+        Page<LoanInstallment> page = installmentRepository.findOverdue(TODAY,
+                PageRequest.of(0, 10, Sort.by("dueDate", "id")));
+
+        assertEquals(10, page.getNumberOfElements());
+        assertTrue(page.getTotalElements() > 10);
+        assertTrue(page.getContent().stream().noneMatch(LoanInstallment::getIsPaid));
+        assertFalse(page.getContent().get(0).getDueDate().isAfter(page.getContent().get(9).getDueDate()));
+    }
+
+    @Test
+    void loanScopedOverdueQueryUsesLoanPaidDueIndex() {
+        statementCounter.reset();
+        installmentRepository.findByLoanIdAndIsPaidFalseAndDueDateBefore(firstLoan.getId(), TODAY);
+
+        String plan = explain(issuedInstallmentSelect());
+
+        assertTrue(plan.contains("IDX_INSTALLMENTS_LOAN_PAID_DUE"), plan);
+    }
+
+    @Test
+    void portfolioOverdueQueryUsesPaidDueIndex() {
+        statementCounter.reset();
+        installmentRepository.findOverdue(TODAY, PageRequest.of(0, 50, Sort.by("dueDate", "id")));
+
+        String plan = explain(issuedInstallmentSelect());
+
+        assertTrue(plan.contains("IDX_INSTALLMENTS_PAID_DUE"), plan);
+    }
+
+    // The installment row query the repository sent since the last reset, as Hibernate generated it; the count
+    // query of a page is left out.
+    private StatementCounter.Statement issuedInstallmentSelect() {
+        List<StatementCounter.Statement> selects = statementCounter.getStatements().stream()
+                .filter(statement -> statement.sql().toLowerCase().contains("from loan_installments"))
+                .filter(statement -> !statement.sql().toLowerCase().contains("count("))
+                .toList();
+        assertEquals(1, selects.size(), selects::toString);
+        return selects.get(0);
+    }
+
+    private String explain(StatementCounter.Statement statement) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + statement.sql(), String.class, statement.parameters().toArray())
+                .toUpperCase();
+    }
+
+    private Loan persistLoan(Customer customer, LocalDate createDate) {
+        Loan loan = new Loan();
+        loan.setCustomer(customer);
+        loan.setLoanAmount(new BigDecimal("1200.00"));
+        loan.setNumberOfInstallments(6);
+        loan.setInterestRate(new BigDecimal("0.10"));
+        loan.setCreateDate(createDate);
+        loan.setIsPaid(false);
+        entityManager.persist(loan);
+
+        for (int n = 1; n <= 6; n++) {
+            LoanInstallment installment = new LoanInstallment();
+            installment.setLoan(loan);
+            installment.setInstallmentNumber(n);
+            installment.setAmount(new BigDecimal("200.00"));
+            installment.setDueDate(createDate.plusMonths(n));
+            installment.setIsPaid(n == 1);
+            installment.setPaidAmount(n == 1 ? new BigDecimal("200.00") : BigDecimal.ZERO);
+            installment.setPaymentDate(n == 1 ? createDate.plusMonths(n) : null);
+            entityManager.persist(installment);
+        }
+        return loan;
+    }
+}
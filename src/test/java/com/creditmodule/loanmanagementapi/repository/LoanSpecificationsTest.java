@@ -0,0 +1,111 @@
+package com.creditmodule.loanmanagementapi.repository;
+
+import com.creditmodule.loanmanagementapi.dto.request.LoanSearchRequest;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class LoanSpecificationsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer first;
+    private Customer second;
+
+    @BeforeEach
+    void setUp() {
+        first = persistCustomer("Ada");
+        second = persistCustomer("Grace");
+        persistLoan(first, "1200.00", "0.10", 6, LocalDate.of(2025, 1, 10), false);
+        persistLoan(first, "5500.00", "0.20", 12, LocalDate.of(2025, 3, 5), true);
+        persistLoan(first, "9000.00", "0.30", 24, LocalDate.of(2025, 4, 20), false);
+        persistLoan(second, "5000.00", "0.20", 12, LocalDate.of(2025, 3, 15), false);
+        persistLoan(second, "20000.00", "0.50", 24, LocalDate.of(2024, 12, 1), false);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void emptyCriteriaMatchesEveryLoan() {
+        assertEquals(5, loanRepository.findAll(LoanSpecifications.matching(new LoanSearchRequest())).size());
+    }
+
+    @Test
+    void combinesOnlySuppliedCriteria() {
+        LoanSearchRequest criteria = new LoanSearchRequest();
+        criteria.setMinAmount(new BigDecimal("5000.00"));
+        criteria.setMaxAmount(new BigDecimal("10000.00"));
+        criteria.setCreatedFrom(LocalDate.of(2025, 1, 1));
+        criteria.setMaxInterestRate(new BigDecimal("0.25"));
+        criteria.setIsPaid(false);
+
+        List<Loan> loans = loanRepository.findAll(LoanSpecifications.matching(criteria));
+
+        assertEquals(1, loans.size());
+        assertEquals(second.getId(), loans.get(0).getCustomer().getId());
+        assertEquals(0, new BigDecimal("5000.00").compareTo(loans.get(0).getLoanAmount()));
+    }
+
+    @Test
+    void pagesAcrossCustomersByCreateDate() {
+        LoanSearchRequest criteria = new LoanSearchRequest();
+        criteria.setNumberOfInstallments(24);
+
+        Page<Loan> page = loanRepository.findAll(LoanSpecifications.matching(criteria),
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "createDate")));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(LocalDate.of(2025, 4, 20), page.getContent().get(0).getCreateDate());
+    }
+
+    @Test
+    void customerScopedFilterUsesCompositeIndex() {
+        jdbcTemplate.execute("ANALYZE");
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT * FROM loans WHERE customer_id = " + first.getId() +
+                " AND is_paid = FALSE AND number_of_installments = 12", String.class).toUpperCase();
+
+        assertTrue(plan.contains("IDX_LOANS_CUSTOMER_PAID_TERM"), plan);
+    }
+
+    private Customer persistCustomer(String name) {
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setSurname("Tester");
+        customer.setCreditLimit(new BigDecimal("100000.00"));
+        customer.setUsedCreditLimit(BigDecimal.ZERO);
+        return entityManager.persist(customer);
+    }
+
+    private void persistLoan(Customer customer, String amount, String rate, int term, LocalDate createDate, boolean paid) {
+        Loan loan = new Loan();
+        loan.setCustomer(customer);
+        loan.setLoanAmount(new BigDecimal(amount));
+        loan.setInterestRate(new BigDecimal(rate));
+        loan.setNumberOfInstallments(term);
+        loan.setCreateDate(createDate);
+        loan.setIsPaid(paid);
+        entityManager.persist(loan);
+    }
+}
@@ -0,0 +1,100 @@
+package com.creditmodule.loanmanagementapi.repository;
+
+import com.creditmodule.loanmanagementapi.config.SecondLevelCacheConfig;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every repository call commits on its own here: cached query results are only reused once the
+// transaction that last wrote the table has completed.
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Customer customer;
+    private Loan loan;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setName("Ada");
+        customer.setSurname("Lovelace");
+        customer.setCreditLimit(new BigDecimal("50000.00"));
+        customer.setUsedCreditLimit(BigDecimal.ZERO);
+        customer = customerRepository.save(customer);
+
+        loan = new Loan();
+        loan.setCustomer(customer);
+        loan.setLoanAmount(new BigDecimal("6000.00"));
+        loan.setNumberOfInstallments(6);
+        loan.setInterestRate(new BigDecimal("0.20"));
+        loan.setCreateDate(LocalDate.of(2025, 3, 1));
+        loan.setIsPaid(false);
+        loan = loanRepository.save(loan);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        loanRepository.deleteAll();
+        customerRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void repeatedFindByIdIsServedFromTheEntityRegions() {
+        loanRepository.findById(loan.getId());
+        loanRepository.findById(loan.getId());
+        customerRepository.findById(customer.getId());
+        customerRepository.findById(customer.getId());
+
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.LOAN_REGION).getMissCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.LOAN_REGION).getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.CUSTOMER_REGION).getHitCount());
+    }
+
+    @Test
+    void customerLoansQueryIsCachedUntilALoanChanges() {
+        loanRepository.findByCustomerId(customer.getId());
+        loanRepository.findByCustomerId(customer.getId());
+        assertEquals(1, statistics.getQueryRegionStatistics(SecondLevelCacheConfig.LOANS_BY_CUSTOMER_REGION).getHitCount());
+
+        Loan paid = loanRepository.findById(loan.getId()).orElseThrow();
+        paid.setIsPaid(true);
+        loanRepository.save(paid);
+
+        List<Loan> loans = loanRepository.findByCustomerId(customer.getId());
+        assertEquals(2, statistics.getQueryRegionStatistics(SecondLevelCacheConfig.LOANS_BY_CUSTOMER_REGION).getMissCount());
+        assertTrue(loans.get(0).getIsPaid());
+    }
+}
@@ -0,0 +1,79 @@
+package com.creditmodule.loanmanagementapi.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void firesEachTimerExactlyOnItsDeadline() {
+        // 3 levels of 4 slots cover 64 ticks, so later deadlines also pass through the overflow list.
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(0, 2, 3);
+        for (long deadline = 1; deadline <= 300; deadline++) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> mismatches = new ArrayList<>();
+        for (long tick = 1; tick <= 300; tick++) {
+            long now = tick;
+            wheel.advanceTo(tick, deadline -> {
+                if (deadline != now) {
+                    mismatches.add(deadline);
+                }
+            });
+        }
+
+        assertTrue(mismatches.isEmpty(), "Fired on the wrong tick: " + mismatches);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(20_000, 6, 4);
+        HierarchicalTimingWheel.Timer<String> kept = wheel.schedule(20_030, "kept");
+        HierarchicalTimingWheel.Timer<String> cancelled = wheel.schedule(20_030, "cancelled");
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertFalse(cancelled.isPending());
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(20_100, fired::add);
+
+        assertEquals(List.of("kept"), fired);
+        assertFalse(kept.isPending());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pastDeadlinesFireOnNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 6, 4);
+        wheel.schedule(90, "late");
+        wheel.schedule(100, "now");
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(100, fired::add);
+
+        assertEquals(2, fired.size());
+        assertTrue(fired.containsAll(List.of("late", "now")));
+    }
+
+    @Test
+    void jumpingAheadFiresEverythingDueInBetween() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(0, 6, 4);
+        for (long deadline = 1; deadline <= 10_000; deadline += 37) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advanceTo(5_000, fired::add);
+
+        assertEquals(fired.size(), fired.stream().filter(deadline -> deadline <= 5_000).count());
+        assertEquals(136, fired.size());
+        assertEquals(5_000, wheel.getCurrentTick());
+    }
+}
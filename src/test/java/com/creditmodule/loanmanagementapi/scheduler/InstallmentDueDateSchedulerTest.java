@@ -0,0 +1,32 @@
+package com.creditmodule.loanmanagementapi.scheduler;
+
+import com.creditmodule.loanmanagementapi.ledger.InstallmentScheduleResolver;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstallmentDueDateSchedulerTest {
+
+    private static InstallmentDueDateScheduler scheduler(boolean enabled, boolean schedulesWithoutRows) {
+        InstallmentScheduleResolver scheduleResolver = Mockito.mock(InstallmentScheduleResolver.class);
+        Mockito.when(scheduleResolver.isEnabled()).thenReturn(schedulesWithoutRows);
+        return new InstallmentDueDateScheduler(Mockito.mock(DataSource.class), null, scheduleResolver, null, null,
+                null, null, enabled, 3, 500);
+    }
+
+    @Test
+    void refusesToStartWithSchedulesThatHaveNoInstallmentRows() {
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> scheduler(true, true));
+
+        assertTrue(error.getMessage().contains("scheduler.due-dates.enabled=false"));
+    }
+
+    @Test
+    void startsWhenDisabledOrWhenEveryInstallmentHasARow() {
+        assertDoesNotThrow(() -> scheduler(false, true));
+        assertDoesNotThrow(() -> scheduler(true, false));
+    }
+}
@@ -0,0 +1,69 @@
+package com.creditmodule.loanmanagementapi.serialization;
+
+import com.creditmodule.loanmanagementapi.config.JacksonConfig;
+import com.creditmodule.loanmanagementapi.dto.response.InstallmentResponse;
+import com.creditmodule.loanmanagementapi.dto.response.LoanResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DtoSerializersTest {
+
+    private final ObjectMapper defaultMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper tunedMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addModule(new BlackbirdModule())
+            .addModule(JacksonConfig.dtoSerializers())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void installmentJsonIsUnchanged() throws Exception {
+        InstallmentResponse response = new InstallmentResponse();
+        response.setId(501L);
+        response.setLoanId(1001L);
+        response.setAmount(new BigDecimal("1083.33"));
+        response.setPaidAmount(new BigDecimal("0.00"));
+        response.setDueDate(LocalDate.of(2025, 9, 5));
+        response.setPaymentDate(null);
+        response.setIsPaid(false);
+        response.setLateFee(new BigDecimal("-0.05"));
+        response.setIsOverdue(true);
+
+        assertEquals(defaultMapper.writeValueAsString(response), tunedMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void loanJsonIsUnchanged() throws Exception {
+        LoanResponse response = new LoanResponse();
+        response.setId(1001L);
+        response.setCustomerId(42L);
+        response.setLoanAmount(new BigDecimal("12000"));
+        response.setNumberOfInstallment(12);
+        response.setInterestRate(new BigDecimal("0.2"));
+        response.setCreateDate(LocalDate.of(2025, 12, 31));
+        response.setIsPaid(true);
+
+        assertEquals(defaultMapper.writeValueAsString(response), tunedMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void unusualValuesFallBackToDefaults() throws Exception {
+        assertEquals("1.23E+5", tunedMapper.writeValueAsString(new BigDecimal("1.23E+5")));
+        assertEquals("12345678901234567890.12", tunedMapper.writeValueAsString(new BigDecimal("12345678901234567890.12")));
+        assertEquals("\"+10000-01-01\"", tunedMapper.writeValueAsString(LocalDate.of(10000, 1, 1)));
+        assertEquals("\"0005-03-07\"", tunedMapper.writeValueAsString(LocalDate.of(5, 3, 7)));
+    }
+}
@@ -0,0 +1,95 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.dto.response.CreditRepricingResult;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.repository.CustomerRepository;
+import com.creditmodule.loanmanagementapi.service.ICreditRepricingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"scheduler.due-dates.enabled=false", "batch.overdue.enabled=false", "statement.enabled=false",
+        "customer.repricing.batch-size=2", "customer.repricing.parallelism=2"})
+class CreditRepricingServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private ICreditRepricingService repricingService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> customerIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        customerIds.forEach(id -> jdbcTemplate.update("DELETE FROM customers WHERE id = ?", id));
+    }
+
+    private Long customer(String used) {
+        Customer customer = new Customer();
+        customer.setName("Edgar");
+        customer.setSurname("Codd");
+        customer.setCreditLimit(new BigDecimal("10000.00"));
+        customer.setUsedCreditLimit(new BigDecimal(used));
+        Long id = customerRepository.save(customer).getId();
+        customerIds.add(id);
+        return id;
+    }
+
+    private BigDecimal limitOf(Long customerId) {
+        return customerRepository.findById(customerId).orElseThrow().getCreditLimit();
+    }
+
+    @Test
+    void appliesValidLimitsAndReportsRejections() throws Exception {
+        Long unused = customer("0.00");
+        Long partlyUsed = customer("4000.00");
+        Long fullyUsed = customer("9000.00");
+        Path csv = tempDir.resolve("limits.csv");
+        Files.writeString(csv, String.join("\n",
+                "customerId,newLimit",
+                unused + ",25000.00",
+                partlyUsed + ",4000.00",
+                fullyUsed + ",5000.00",
+                "999999999,1000.00",
+                partlyUsed + ",abc",
+                unused + ",-5",
+                "1,2,3",
+                partlyUsed + ",1e20",
+                partlyUsed + ",100.001"));
+
+        CreditRepricingResult result = repricingService.reprice(csv);
+
+        assertEquals(9, result.getTotalRows());
+        assertEquals(2, result.getUpdatedCustomers());
+        assertEquals(7, result.getRejectedRows());
+        assertEquals(0, new BigDecimal("25000.00").compareTo(limitOf(unused)));
+        assertEquals(0, new BigDecimal("4000.00").compareTo(limitOf(partlyUsed)));
+        assertEquals(0, new BigDecimal("10000.00").compareTo(limitOf(fullyUsed)));
+
+        List<String> errors = Files.readAllLines(Path.of(result.getErrorFile()));
+        assertEquals(8, errors.size());
+        assertTrue(errors.stream().anyMatch(line -> line.startsWith("4,") && line.contains("below the used credit of 9000.00")));
+        assertTrue(errors.stream().anyMatch(line -> line.startsWith("5,") && line.contains("Customer not found")));
+        assertTrue(errors.stream().anyMatch(line -> line.startsWith("9,") && line.contains("more than 13 integer digits")));
+        assertTrue(errors.stream().anyMatch(line -> line.startsWith("10,") && line.contains("more than 2 decimal places")));
+        Files.deleteIfExists(Path.of(result.getErrorFile()));
+    }
+}
@@ -0,0 +1,146 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.dto.response.CustomerImportResult;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {"scheduler.due-dates.enabled=false", "batch.overdue.enabled=false", "statement.enabled=false"})
+class CustomerImportServiceTest {
+
+    private static final String SURNAME = "Importtest";
+
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    private JdbcTemplate batchSpy;
+    private CustomerImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        batchSpy = Mockito.spy(jdbcTemplate);
+        importService = new CustomerImportServiceImpl(batchSpy, transactionTemplate, validator,
+                tempDir.resolve("errors").toString(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM customers WHERE surname = ?", SURNAME);
+    }
+
+    private Path csv(String... lines) throws Exception {
+        Path file = Files.createTempFile(tempDir, "customers-", ".csv");
+        Files.writeString(file, String.join("\n", lines));
+        return file;
+    }
+
+    @Test
+    void insertsValidRowsInBatchesAndReportsRejectedRows() throws Exception {
+        Path file = csv(
+                "name,surname,creditLimit",
+                "Ada," + SURNAME + ",1000.00",
+                "Alan," + SURNAME + ",2000.00",
+                "Grace," + SURNAME + ",-5",
+                "Edsger," + SURNAME + ",3000.00",
+                "Barbara," + SURNAME + ",abc",
+                "Donald," + SURNAME + ",4000.00",
+                "," + SURNAME + ",500.00",
+                "Niklaus," + SURNAME + ",5000.00",
+                "Ken," + SURNAME);
+
+        CustomerImportResult result = importService.importCustomers(file);
+
+        assertEquals(9, result.getTotalRows());
+        assertEquals(5, result.getImportedRows());
+        assertEquals(4, result.getRejectedRows());
+        assertEquals(0, new BigDecimal("15000.00").compareTo(jdbcTemplate.queryForObject(
+                "SELECT SUM(credit_limit) FROM customers WHERE surname = ?", BigDecimal.class, SURNAME)));
+
+        // Five valid rows with a batch size of two: two full batches and the remainder flushed at the end.
+        ArgumentCaptor<Integer> batchSizes = ArgumentCaptor.forClass(Integer.class);
+        verify(batchSpy, times(3)).batchUpdate(anyString(), anyList(), batchSizes.capture(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of(2, 2, 1), batchSizes.getAllValues());
+
+        List<String> errors = Files.readAllLines(Path.of(result.getErrorFile()));
+        assertEquals(List.of(
+                "line,reason,row",
+                "4,\"Credit limit must be greater than 0\",\"Grace," + SURNAME + ",-5\"",
+                "6,\"Credit limit is not a number\",\"Barbara," + SURNAME + ",abc\"",
+                "8,\"Customer name is required\",\"," + SURNAME + ",500.00\"",
+                "10,\"Expected 3 columns (name, surname, creditLimit) but found 2\",\"Ken," + SURNAME + "\""), errors);
+    }
+
+    @Test
+    void limitsTheColumnCannotHoldAreRejectedInsteadOfFailingTheBatch() throws Exception {
+        Path file = csv(
+                "Ada," + SURNAME + ",1000.50",
+                "Alan," + SURNAME + ",12345678901234.00",
+                "Grace," + SURNAME + ",100.001",
+                "Edsger," + SURNAME + ",9999999999999.99",
+                "Donald," + SURNAME + ",250.100");
+
+        CustomerImportResult result = importService.importCustomers(file);
+
+        assertEquals(5, result.getTotalRows());
+        assertEquals(3, result.getImportedRows());
+        assertEquals(2, result.getRejectedRows());
+        assertEquals(List.of(new BigDecimal("250.10"), new BigDecimal("1000.50"), new BigDecimal("9999999999999.99")),
+                jdbcTemplate.queryForList("SELECT credit_limit FROM customers WHERE surname = ? ORDER BY credit_limit",
+                        BigDecimal.class, SURNAME));
+
+        List<String> errors = Files.readAllLines(Path.of(result.getErrorFile()));
+        assertEquals(List.of(
+                "line,reason,row",
+                "2,\"Credit limit has more than 13 integer digits\",\"Alan," + SURNAME + ",12345678901234.00\"",
+                "3,\"Credit limit has more than 2 decimal places\",\"Grace," + SURNAME + ",100.001\""), errors);
+    }
+
+    @Test
+    void importsWithoutRejectionsWriteNoErrorFile() throws Exception {
+        CustomerImportResult result = importService.importCustomers(csv("Ada," + SURNAME + ",1000.00"));
+
+        assertEquals(1, result.getImportedRows());
+        assertNull(result.getErrorFile());
+    }
+
+    @Test
+    void importsInTheSameSecondWriteSeparateErrorFiles() throws Exception {
+        CustomerImportResult first = importService.importCustomers(csv("Grace," + SURNAME + ",-5"));
+        CustomerImportResult second = importService.importCustomers(csv("Grace," + SURNAME + ",-5"));
+
+        assertNotEquals(first.getErrorFile(), second.getErrorFile());
+        assertEquals(2, Files.readAllLines(Path.of(first.getErrorFile())).size());
+        assertEquals(2, Files.readAllLines(Path.of(second.getErrorFile())).size());
+    }
+}
@@ -0,0 +1,98 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.dto.response.CustomerResponse;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.executor.OptimisticRetryExecutor;
+import com.creditmodule.loanmanagementapi.ledger.CreditLedger;
+import com.creditmodule.loanmanagementapi.mapper.CustomerMapper;
+import com.creditmodule.loanmanagementapi.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// Runs updateCreditLimit with a mocked repository and ledger inside real transactions, so the ledger calls can be
+// checked against the commit.
+class CustomerServiceCreditLimitTest {
+
+    private static final Long CUSTOMER_ID = 1L;
+    private static final BigDecimal OLD_LIMIT = new BigDecimal("1000.00");
+    private static final BigDecimal NEW_LIMIT = new BigDecimal("400.00");
+    private static final long NEW_LIMIT_CENTS = 40000L;
+
+    private final CustomerRepository customerRepository = Mockito.mock(CustomerRepository.class);
+    private final CreditLedger creditLedger = Mockito.mock(CreditLedger.class);
+    private CustomerServiceImpl customerService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:customer-credit-limit-test;DB_CLOSE_DELAY=-1", "sa", "");
+        customerService = new CustomerServiceImpl(customerRepository, new CustomerMapper(), new OptimisticRetryExecutor(1, 0, 0),
+                null, new TransactionTemplate(new DataSourceTransactionManager(dataSource)), creditLedger);
+        // Every read returns the row as committed.
+        Mockito.when(customerRepository.findById(CUSTOMER_ID)).thenAnswer(invocation -> Optional.of(committedCustomer()));
+        Mockito.when(creditLedger.getUsedCredit(CUSTOMER_ID)).thenReturn(Optional.of(new BigDecimal("300.00")));
+    }
+
+    private static Customer committedCustomer() {
+        Customer customer = new Customer();
+        customer.setId(CUSTOMER_ID);
+        customer.setName("Barbara");
+        customer.setSurname("Liskov");
+        customer.setCreditLimit(OLD_LIMIT);
+        customer.setUsedCreditLimit(new BigDecimal("250.00"));
+        return customer;
+    }
+
+    @Test
+    void ledgerTakesTheLimitBeforeTheRowAndKeepsItOnceCommitted() {
+        Mockito.when(creditLedger.tryUpdateLimit(CUSTOMER_ID, NEW_LIMIT_CENTS)).thenReturn(true);
+        Mockito.when(customerRepository.save(any())).thenAnswer(invocation -> {
+            verify(creditLedger, never()).updateLimit(any(), any());
+            return invocation.getArgument(0);
+        });
+
+        CustomerResponse response = customerService.updateCreditLimit(CUSTOMER_ID, NEW_LIMIT);
+
+        assertEquals(NEW_LIMIT, response.getCreditLimit());
+        assertEquals(new BigDecimal("300.00"), response.getUsedCreditLimit());
+        InOrder order = Mockito.inOrder(creditLedger, customerRepository);
+        order.verify(creditLedger).tryUpdateLimit(CUSTOMER_ID, NEW_LIMIT_CENTS);
+        order.verify(customerRepository).save(any());
+        order.verify(creditLedger).updateLimit(CUSTOMER_ID, NEW_LIMIT);
+    }
+
+    @Test
+    void limitBelowTheUsedCreditIsRejectedWithoutTouchingTheRow() {
+        Mockito.when(creditLedger.tryUpdateLimit(CUSTOMER_ID, NEW_LIMIT_CENTS)).thenReturn(false);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> customerService.updateCreditLimit(CUSTOMER_ID, NEW_LIMIT));
+
+        assertEquals("Credit limit is below the used credit of 300.00", error.getMessage());
+        verify(customerRepository, never()).save(any());
+        verify(creditLedger, never()).updateLimit(any(), any());
+    }
+
+    @Test
+    void failedUpdatePutsTheLedgerBackToTheLimitOfTheRow() {
+        Mockito.when(creditLedger.tryUpdateLimit(CUSTOMER_ID, NEW_LIMIT_CENTS)).thenReturn(true);
+        Mockito.when(customerRepository.save(any())).thenThrow(new IllegalStateException("Simulated failure"));
+
+        assertThrows(IllegalStateException.class, () -> customerService.updateCreditLimit(CUSTOMER_ID, NEW_LIMIT));
+
+        verify(creditLedger).updateLimit(CUSTOMER_ID, OLD_LIMIT);
+        verify(creditLedger, never()).updateLimit(CUSTOMER_ID, NEW_LIMIT);
+    }
+}
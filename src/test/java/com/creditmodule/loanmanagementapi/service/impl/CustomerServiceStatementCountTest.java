@@ -0,0 +1,87 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.dto.request.CreateCustomerRequest;
+import com.creditmodule.loanmanagementapi.service.ICustomerService;
+import com.creditmodule.loanmanagementapi.support.StatementCounter;
+import com.creditmodule.loanmanagementapi.support.StatementCountingConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+// Caps the statements each CustomerServiceImpl method may run. Background jobs are switched off because the
+// statement counter sees every thread.
+@SpringBootTest(properties = {"scheduler.due-dates.enabled=false", "batch.overdue.enabled=false", "statement.enabled=false"})
+@Import(StatementCountingConfig.class)
+class CustomerServiceStatementCountTest {
+
+    @Autowired
+    private ICustomerService customerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = customerService.createCustomer(customerRequest()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM customers WHERE name = 'Barbara' AND surname = 'Liskov'");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    // Every measurement starts from cold second-level cache regions, i.e. the worst case.
+    private void measure() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statementCounter.reset();
+    }
+
+    private CreateCustomerRequest customerRequest() {
+        CreateCustomerRequest request = new CreateCustomerRequest();
+        request.setName("Barbara");
+        request.setSurname("Liskov");
+        request.setCreditLimit(new BigDecimal("25000.00"));
+        return request;
+    }
+
+    @Test
+    void createCustomerIsASingleInsert() {
+        measure();
+        customerService.createCustomer(customerRequest());
+
+        statementCounter.assertAtMost("createCustomer", 0, 1, 0);
+    }
+
+    @Test
+    void getCustomerByIdRunsOneQuery() {
+        measure();
+        customerService.getCustomerById(customerId);
+
+        statementCounter.assertAtMost("getCustomerById", 1, 0, 0);
+    }
+
+    @Test
+    void updateCreditLimitReadsAndWritesTheCustomerOnce() {
+        measure();
+        customerService.updateCreditLimit(customerId, new BigDecimal("30000.00"));
+
+        statementCounter.assertAtMost("updateCreditLimit", 1, 0, 1);
+    }
+}
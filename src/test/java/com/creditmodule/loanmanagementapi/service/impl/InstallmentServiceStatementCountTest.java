@@ -0,0 +1,154 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.dto.request.CreateLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.request.PayInstallmentRequest;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.repository.CustomerRepository;
+import com.creditmodule.loanmanagementapi.repository.LoanRepository;
+import com.creditmodule.loanmanagementapi.service.IInstallmentService;
+import com.creditmodule.loanmanagementapi.service.ILoanService;
+import com.creditmodule.loanmanagementapi.support.StatementCounter;
+import com.creditmodule.loanmanagementapi.support.StatementCountingConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Caps the statements each InstallmentServiceImpl method may run. Lists span several loans and every mapped
+// installment references its loan, so loading loans one by one would push the counts above the caps.
+// Background jobs are switched off because the statement counter sees every thread.
+@SpringBootTest(properties = {"scheduler.due-dates.enabled=false", "batch.overdue.enabled=false", "statement.enabled=false"})
+@Import(StatementCountingConfig.class)
+class InstallmentServiceStatementCountTest {
+
+    private static final int LOANS = 3;
+    private static final int TERM = 12;
+
+    @Autowired
+    private IInstallmentService installmentService;
+
+    @Autowired
+    private ILoanService loanService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private Customer customer;
+    private final List<Long> loanIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setName("Edsger");
+        customer.setSurname("Dijkstra");
+        customer.setCreditLimit(new BigDecimal("100000.00"));
+        customer.setUsedCreditLimit(BigDecimal.ZERO);
+        customer = customerRepository.save(customer);
+
+        for (int i = 0; i < LOANS; i++) {
+            CreateLoanRequest request = new CreateLoanRequest();
+            request.setCustomerId(customer.getId());
+            request.setAmount(new BigDecimal("1200.00"));
+            request.setInterestRate(new BigDecimal("0.20"));
+            request.setNumberOfInstallments(String.valueOf(TERM));
+            loanIds.add(loanService.createLoan(request).getId());
+        }
+        // The first installment of every loan is overdue.
+        jdbcTemplate.update("UPDATE loan_installments SET due_date = ? WHERE installment_number = 1 " +
+                "AND loan_id IN (SELECT id FROM loans WHERE customer_id = ?)", LocalDate.now().minusDays(1), customer.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM payment_ledger WHERE customer_id = ?", customer.getId());
+        jdbcTemplate.update("DELETE FROM loan_installments WHERE loan_id IN (SELECT id FROM loans WHERE customer_id = ?)", customer.getId());
+        jdbcTemplate.update("DELETE FROM loans WHERE customer_id = ?", customer.getId());
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customer.getId());
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    // Every measurement starts from cold second-level cache regions, i.e. the worst case.
+    private void measure() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statementCounter.reset();
+    }
+
+    @Test
+    void generateInstallmentsInsertsOneRowPerInstallmentAndReadsNothing() {
+        Loan loan = new Loan();
+        loan.setCustomer(customer);
+        loan.setLoanAmount(new BigDecimal("600.00"));
+        loan.setNumberOfInstallments(6);
+        loan.setInterestRate(new BigDecimal("0.20"));
+        loan.setCreateDate(LocalDate.now());
+        loan.setIsPaid(false);
+        loan = loanRepository.save(loan);
+
+        measure();
+        installmentService.generateInstallments(loan);
+
+        statementCounter.assertAtMost("generateInstallments", 0, 6, 0);
+    }
+
+    @Test
+    void payInstallmentReadsLoanNextInstallmentAndScheduleOnce() {
+        PayInstallmentRequest request = new PayInstallmentRequest();
+        request.setLoanId(loanIds.get(0));
+        request.setAmount(new BigDecimal("120.00"));
+
+        measure();
+        installmentService.payInstallment(request);
+
+        // the insert is the payment ledger entry
+        statementCounter.assertAtMost("payInstallment", 3, 1, 1);
+    }
+
+    @Test
+    void loanScopedReadsRunOneQueryWhateverTheScheduleLength() {
+        measure();
+        assertEquals(TERM, installmentService.getInstallmentsByLoan(loanIds.get(0)).size());
+        statementCounter.assertAtMost("getInstallmentsByLoan", 1, 0, 0);
+
+        measure();
+        assertEquals(1, installmentService.getOverdueInstallments(loanIds.get(0)).size());
+        statementCounter.assertAtMost("getOverdueInstallments", 1, 0, 0);
+
+        measure();
+        installmentService.getNextDueInstallment(loanIds.get(0));
+        statementCounter.assertAtMost("getNextDueInstallment", 1, 0, 0);
+    }
+
+    // One query for the page and at most one count query, however many loans the page spans.
+    @Test
+    void portfolioOverduePageRunsThePageAndCountQueriesOnly() {
+        measure();
+        assertTrue(installmentService.getPortfolioOverdueInstallments(0, 50).getNumberOfElements() >= LOANS);
+
+        statementCounter.assertAtMost("getPortfolioOverdueInstallments", 2, 0, 0);
+    }
+}
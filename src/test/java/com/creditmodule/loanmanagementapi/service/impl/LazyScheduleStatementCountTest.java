@@ -0,0 +1,164 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.dto.request.CreateLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.request.PayInstallmentRequest;
+import com.creditmodule.loanmanagementapi.dto.response.InstallmentResponse;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.repository.CustomerRepository;
+import com.creditmodule.loanmanagementapi.service.IInstallmentService;
+import com.creditmodule.loanmanagementapi.service.ILoanService;
+import com.creditmodule.loanmanagementapi.support.StatementCounter;
+import com.creditmodule.loanmanagementapi.support.StatementCountingConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Same caps as the eager service tests, with installments.schedule.lazy=true: origination writes the loan
+// only, and an installment row appears when the installment is paid.
+@SpringBootTest(properties = {"scheduler.due-dates.enabled=false", "batch.overdue.enabled=false", "statement.enabled=false",
+        "installments.schedule.lazy=true"})
+@Import(StatementCountingConfig.class)
+class LazyScheduleStatementCountTest {
+
+    private static final int TERM = 12;
+
+    @Autowired
+    private ILoanService loanService;
+
+    @Autowired
+    private IInstallmentService installmentService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Barbara");
+        customer.setSurname("Liskov");
+        customer.setCreditLimit(new BigDecimal("100000.00"));
+        customer.setUsedCreditLimit(BigDecimal.ZERO);
+        customerId = customerRepository.save(customer).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM payment_ledger WHERE customer_id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM loan_installments WHERE loan_id IN (SELECT id FROM loans WHERE customer_id = ?)", customerId);
+        jdbcTemplate.update("DELETE FROM loans WHERE customer_id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customerId);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    private void measure() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statementCounter.reset();
+    }
+
+    private Long createLoan() {
+        CreateLoanRequest request = new CreateLoanRequest();
+        request.setCustomerId(customerId);
+        request.setAmount(new BigDecimal("1200.00"));
+        request.setInterestRate(new BigDecimal("0.20"));
+        request.setNumberOfInstallments(String.valueOf(TERM));
+        return loanService.createLoan(request).getId();
+    }
+
+    private int installmentRows(Long loanId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan_installments WHERE loan_id = ?", Integer.class, loanId);
+    }
+
+    @Test
+    void createLoanInsertsTheLoanOnly() {
+        measure();
+        Long loanId = createLoan();
+
+        statementCounter.assertAtMost("createLoan", 1, 1, 1);
+        assertEquals(0, installmentRows(loanId));
+    }
+
+    @Test
+    void derivedScheduleMatchesTheEagerOne() {
+        Long loanId = createLoan();
+
+        measure();
+        List<InstallmentResponse> installments = installmentService.getInstallmentsByLoan(loanId);
+
+        statementCounter.assertAtMost("getInstallmentsByLoan", 2, 0, 0);
+        assertEquals(TERM, installments.size());
+        for (int i = 0; i < TERM; i++) {
+            InstallmentResponse installment = installments.get(i);
+            assertNull(installment.getId());
+            assertEquals(loanId, installment.getLoanId());
+            assertEquals(new BigDecimal("120.00"), installment.getAmount());
+            assertEquals(LocalDate.now().plusMonths(i + 1), installment.getDueDate());
+            assertFalse(installment.getIsPaid());
+        }
+    }
+
+    @Test
+    void payInstallmentMaterializesThePaidInstallment() {
+        Long loanId = createLoan();
+        PayInstallmentRequest request = new PayInstallmentRequest();
+        request.setLoanId(loanId);
+        request.setAmount(new BigDecimal("120.00"));
+
+        measure();
+        installmentService.payInstallment(request);
+
+        // loan and schedule rows; the installment and payment ledger inserts and the loan version bump
+        statementCounter.assertAtMost("payInstallment", 2, 2, 1);
+        assertEquals(1, installmentRows(loanId));
+
+        List<InstallmentResponse> installments = installmentService.getInstallmentsByLoan(loanId);
+        assertEquals(TERM, installments.size());
+        assertNotNull(installments.get(0).getId());
+        assertTrue(installments.get(0).getIsPaid());
+        assertEquals(installments.get(1).getDueDate(), installmentService.getNextDueInstallment(loanId).getDueDate());
+    }
+
+    @Test
+    void portfolioOverdueListsInstallmentsWithoutRows() {
+        Long loanId = createLoan();
+        // Due from 1990-02-15 on, ahead of every other overdue installment in the shared database.
+        jdbcTemplate.update("UPDATE loans SET create_date = DATE '1990-01-15' WHERE id = ?", loanId);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        Page<InstallmentResponse> firstPage = installmentService.getPortfolioOverdueInstallments(0, 5);
+        Page<InstallmentResponse> thirdPage = installmentService.getPortfolioOverdueInstallments(2, 5);
+
+        assertTrue(firstPage.getTotalElements() >= TERM);
+        assertEquals(5, firstPage.getNumberOfElements());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(loanId, firstPage.getContent().get(i).getLoanId());
+            assertEquals(LocalDate.of(1990, 2 + i, 15), firstPage.getContent().get(i).getDueDate());
+            assertNull(firstPage.getContent().get(i).getId());
+        }
+        assertEquals(LocalDate.of(1990, 12, 15), thirdPage.getContent().get(0).getDueDate());
+        assertEquals(LocalDate.of(1991, 1, 15), thirdPage.getContent().get(1).getDueDate());
+    }
+}
@@ -0,0 +1,148 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.dto.request.CreateLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.request.LoanSearchRequest;
+import com.creditmodule.loanmanagementapi.dto.request.PayLoanRequest;
+import com.creditmodule.loanmanagementapi.dto.response.PaymentResult;
+import com.creditmodule.loanmanagementapi.entity.Customer;
+import com.creditmodule.loanmanagementapi.repository.CustomerRepository;
+import com.creditmodule.loanmanagementapi.service.ILoanService;
+import com.creditmodule.loanmanagementapi.support.StatementCounter;
+import com.creditmodule.loanmanagementapi.support.StatementCountingConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Caps the statements each LoanServiceImpl method may run. The customer has several loans of twelve installments,
+// so a query per loan or per installment shows up as a count above the cap. Background jobs are switched off
+// because the statement counter sees every thread.
+@SpringBootTest(properties = {"scheduler.due-dates.enabled=false", "batch.overdue.enabled=false", "statement.enabled=false"})
+@Import(StatementCountingConfig.class)
+class LoanServiceStatementCountTest {
+
+    private static final int LOANS = 3;
+    private static final int TERM = 12;
+
+    @Autowired
+    private ILoanService loanService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private Long customerId;
+    private final List<Long> loanIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Grace");
+        customer.setSurname("Hopper");
+        customer.setCreditLimit(new BigDecimal("100000.00"));
+        customer.setUsedCreditLimit(BigDecimal.ZERO);
+        customerId = customerRepository.save(customer).getId();
+
+        for (int i = 0; i < LOANS; i++) {
+            loanIds.add(loanService.createLoan(loanRequest()).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM payment_ledger WHERE customer_id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM loan_installments WHERE loan_id IN (SELECT id FROM loans WHERE customer_id = ?)", customerId);
+        jdbcTemplate.update("DELETE FROM loans WHERE customer_id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customerId);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    // Every measurement starts from cold second-level cache regions, i.e. the worst case.
+    private void measure() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statementCounter.reset();
+    }
+
+    private CreateLoanRequest loanRequest() {
+        CreateLoanRequest request = new CreateLoanRequest();
+        request.setCustomerId(customerId);
+        request.setAmount(new BigDecimal("1200.00"));
+        request.setInterestRate(new BigDecimal("0.20"));
+        request.setNumberOfInstallments(String.valueOf(TERM));
+        return request;
+    }
+
+    // Installment ids are generated by the database (IDENTITY), so Hibernate cannot batch their inserts.
+    @Test
+    void createLoanReadsTheCustomerOnceAndInsertsOneRowPerInstallment() {
+        measure();
+        loanService.createLoan(loanRequest());
+
+        statementCounter.assertAtMost("createLoan", 1, 1 + TERM, 1);
+    }
+
+    @Test
+    void payLoanReadsTheLoanAndItsScheduleOnce() {
+        PayLoanRequest request = new PayLoanRequest();
+        request.setLoanId(loanIds.get(0));
+        request.setAmount(new BigDecimal("360.00"));
+
+        measure();
+        PaymentResult result = loanService.payLoan(request);
+
+        assertEquals(3, result.getInstallmentsPaid());
+        // one batched payment ledger insert for the three installments
+        statementCounter.assertAtMost("payLoan", 2, 1, 3);
+    }
+
+    @Test
+    void getLoanDetailsRunsOneQuery() {
+        measure();
+        loanService.getLoanDetails(loanIds.get(0));
+
+        statementCounter.assertAtMost("getLoanDetails", 1, 0, 0);
+    }
+
+    // One query for the hot loans and one for the archived ones.
+    @Test
+    void customerLoanListsRunTwoQueriesWhateverTheNumberOfLoans() {
+        measure();
+        assertEquals(LOANS, loanService.getLoansByCustomer(customerId).size());
+        statementCounter.assertAtMost("getLoansByCustomer", 2, 0, 0);
+
+        measure();
+        assertEquals(LOANS, loanService.getLoansByCustomerWithFilters(customerId, false, TERM).size());
+        statementCounter.assertAtMost("getLoansByCustomerWithFilters", 2, 0, 0);
+    }
+
+    // One query for the page and at most one count query.
+    @Test
+    void searchLoansRunsThePageAndCountQueriesOnly() {
+        LoanSearchRequest criteria = new LoanSearchRequest();
+        criteria.setCustomerId(customerId);
+
+        measure();
+        assertEquals(LOANS, loanService.searchLoans(criteria, 0, 2, "createDate", true).getTotalElements());
+
+        statementCounter.assertAtMost("searchLoans", 2, 0, 0);
+    }
+}
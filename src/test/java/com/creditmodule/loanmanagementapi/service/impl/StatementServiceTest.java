@@ -0,0 +1,193 @@
+package com.creditmodule.loanmanagementapi.service.impl;
+
+import com.creditmodule.loanmanagementapi.dto.response.StatementRunResult;
+import com.creditmodule.loanmanagementapi.entity.Loan;
+import com.creditmodule.loanmanagementapi.entity.LoanInstallment;
+import com.creditmodule.loanmanagementapi.ledger.InstallmentScheduleResolver;
+import com.creditmodule.loanmanagementapi.ledger.PackedSchedule;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs statement generation against its own in-memory H2 database holding the three tables it reads.
+class StatementServiceTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+
+    @TempDir
+    Path outputDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private JdbcTemplate jdbcTemplate;
+    private StatementServiceImpl statementService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:statement-service-test;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String statement : List.of(
+                "DROP ALL OBJECTS",
+                "CREATE TABLE customers (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, surname VARCHAR(255) NOT NULL, " +
+                        "credit_limit NUMERIC(15, 2) NOT NULL, used_credit_limit NUMERIC(15, 2) NOT NULL)",
+                "CREATE TABLE loans (id BIGINT PRIMARY KEY, customer_id BIGINT NOT NULL, loan_amount NUMERIC(15, 2) NOT NULL, " +
+                        "number_of_installments INTEGER NOT NULL, interest_rate NUMERIC(5, 2) NOT NULL, create_date DATE NOT NULL, " +
+                        "is_paid BOOLEAN NOT NULL, lazy_schedule BOOLEAN NOT NULL, packed_schedule VARBINARY(8192))",
+                "CREATE TABLE loan_installments (id BIGINT PRIMARY KEY, loan_id BIGINT NOT NULL, installment_number INTEGER NOT NULL, " +
+                        "amount NUMERIC(15, 2) NOT NULL, paid_amount NUMERIC(15, 2) NOT NULL, due_date DATE NOT NULL, " +
+                        "payment_date DATE, is_paid BOOLEAN NOT NULL, late_fee NUMERIC(15, 2) NOT NULL)",
+                "INSERT INTO loans VALUES (100, 3, 300.00, 3, 0.10, DATE '2025-01-20', FALSE, FALSE, NULL)",
+                "INSERT INTO loan_installments VALUES (1000, 100, 1, 110.00, 110.00, DATE '2025-02-20', DATE '2025-03-02', TRUE, 0)",
+                "INSERT INTO loan_installments VALUES (1001, 100, 2, 110.00, 0, DATE '2025-03-20', NULL, FALSE, 0)",
+                "INSERT INTO loan_installments VALUES (1002, 100, 3, 110.00, 0, DATE '2025-04-20', NULL, FALSE, 0)")) {
+            jdbcTemplate.execute(statement);
+        }
+        for (long id = 3; id <= 12; id++) {
+            jdbcTemplate.update("INSERT INTO customers VALUES (?, 'Statement', 'Test', 5000.00, 0)", id);
+        }
+        statementService = new StatementServiceImpl(dataSource, objectMapper, outputDirectory.toString(), 2, 5, 100);
+    }
+
+    private Path monthDirectory() {
+        return outputDirectory.resolve(MONTH.toString());
+    }
+
+    // Statements by range file name.
+    private Map<String, List<JsonNode>> readStatements() throws Exception {
+        Map<String, List<JsonNode>> statements = new TreeMap<>();
+        try (Stream<Path> files = Files.list(monthDirectory())) {
+            for (Path file : files.collect(Collectors.toList())) {
+                List<JsonNode> lines = new ArrayList<>();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        lines.add(objectMapper.readTree(line));
+                    }
+                }
+                statements.put(file.getFileName().toString(), lines);
+            }
+        }
+        return statements;
+    }
+
+    private static List<Long> customerIds(Map<String, List<JsonNode>> statements) {
+        return statements.values().stream()
+                .flatMap(List::stream)
+                .map(statement -> statement.get("customerId").asLong())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void writesOneFilePerFixedIdBucket() throws Exception {
+        StatementRunResult result = statementService.generateMonthlyStatements(MONTH);
+
+        assertEquals(3, result.getRanges());
+        assertEquals(0, result.getSkippedRanges());
+        assertEquals(10, result.getStatementsWritten());
+
+        Map<String, List<JsonNode>> statements = readStatements();
+        assertEquals(List.of(
+                "customers-000000000000-000000000004.jsonl.gz",
+                "customers-000000000005-000000000009.jsonl.gz",
+                "customers-000000000010-000000000014.jsonl.gz"), new ArrayList<>(statements.keySet()));
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L), customerIds(statements));
+
+        JsonNode withLoan = statements.get("customers-000000000000-000000000004.jsonl.gz").get(0);
+        assertEquals(3L, withLoan.get("customerId").asLong());
+        assertEquals(1, withLoan.get("openLoans").size());
+        assertEquals(220.00, withLoan.get("openLoans").get(0).get("outstandingAmount").asDouble());
+        assertEquals(1, withLoan.get("installmentsDue").size());
+        assertEquals(2, withLoan.get("installmentsDue").get(0).get("installmentNumber").asInt());
+        assertEquals(110.00, withLoan.get("totalDue").asDouble());
+        assertEquals(1, withLoan.get("payments").size());
+        assertEquals(110.00, withLoan.get("totalPaid").asDouble());
+    }
+
+    @Test
+    void lazyLoanStatementCoversInstallmentsWithoutRows() throws Exception {
+        // Same terms as loan 100, but only the paid first installment has a row.
+        jdbcTemplate.update("INSERT INTO loans VALUES (101, 4, 330.00, 3, 0.10, DATE '2025-01-20', FALSE, TRUE, NULL)");
+        jdbcTemplate.update("INSERT INTO loan_installments VALUES " +
+                "(1010, 101, 1, 110.00, 110.00, DATE '2025-02-20', DATE '2025-03-02', TRUE, 0)");
+
+        statementService.generateMonthlyStatements(MONTH);
+
+        JsonNode lazy = readStatements().get("customers-000000000000-000000000004.jsonl.gz").get(1);
+        assertEquals(4L, lazy.get("customerId").asLong());
+        assertEquals(1, lazy.get("openLoans").size());
+        assertEquals(220.00, lazy.get("openLoans").get(0).get("outstandingAmount").asDouble());
+        assertEquals(1, lazy.get("installmentsDue").size());
+        assertEquals(2, lazy.get("installmentsDue").get(0).get("installmentNumber").asInt());
+        assertEquals(110.00, lazy.get("totalDue").asDouble());
+        assertEquals(1, lazy.get("payments").size());
+        assertEquals(110.00, lazy.get("totalPaid").asDouble());
+    }
+
+    @Test
+    void packedLoanStatementIsDecodedFromTheLoanRow() throws Exception {
+        // Same terms and payment as loan 101, with the whole schedule packed into the loan row.
+        Loan loan = new Loan();
+        loan.setId(102L);
+        loan.setLoanAmount(new BigDecimal("330.00"));
+        loan.setNumberOfInstallments(3);
+        loan.setCreateDate(LocalDate.of(2025, 1, 20));
+        List<LoanInstallment> schedule = InstallmentScheduleResolver.derive(loan);
+        schedule.get(0).setIsPaid(true);
+        schedule.get(0).setPaidAmount(new BigDecimal("110.00"));
+        schedule.get(0).setPaymentDate(LocalDate.of(2025, 3, 2));
+        jdbcTemplate.update("INSERT INTO loans VALUES (102, 5, 330.00, 3, 0.10, DATE '2025-01-20', FALSE, TRUE, ?)",
+                PackedSchedule.encode(schedule));
+
+        statementService.generateMonthlyStatements(MONTH);
+
+        JsonNode packed = readStatements().get("customers-000000000005-000000000009.jsonl.gz").get(0);
+        assertEquals(5L, packed.get("customerId").asLong());
+        assertEquals(220.00, packed.get("openLoans").get(0).get("outstandingAmount").asDouble());
+        assertEquals(1, packed.get("installmentsDue").size());
+        assertEquals(2, packed.get("installmentsDue").get(0).get("installmentNumber").asInt());
+        assertEquals(110.00, packed.get("totalDue").asDouble());
+        assertEquals(1, packed.get("payments").size());
+        assertEquals(110.00, packed.get("totalPaid").asDouble());
+    }
+
+    @Test
+    void resumedRunOnlyWritesMissingBucketsAfterTheLowestIdChanged() throws Exception {
+        statementService.generateMonthlyStatements(MONTH);
+        Files.delete(monthDirectory().resolve("customers-000000000005-000000000009.jsonl.gz"));
+        jdbcTemplate.update("DELETE FROM loan_installments");
+        jdbcTemplate.update("DELETE FROM loans");
+        jdbcTemplate.update("DELETE FROM customers WHERE id = 3");
+
+        StatementRunResult result = statementService.generateMonthlyStatements(MONTH);
+
+        assertEquals(3, result.getRanges());
+        assertEquals(2, result.getSkippedRanges());
+        assertEquals(5, result.getStatementsWritten());
+        Map<String, List<JsonNode>> statements = readStatements();
+        assertEquals(3, statements.size());
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L), customerIds(statements));
+    }
+}
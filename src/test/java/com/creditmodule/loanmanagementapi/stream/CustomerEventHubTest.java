@@ -0,0 +1,127 @@
+package com.creditmodule.loanmanagementapi.stream;
+
+import com.creditmodule.loanmanagementapi.event.InstallmentsPaidEvent;
+import com.creditmodule.loanmanagementapi.event.LoanCreatedEvent;
+import com.creditmodule.loanmanagementapi.exception.StreamCapacityExceededException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerEventHubTest {
+
+    // Collects dispatcher tasks so the test decides when subscriber queues are drained.
+    private final List<Runnable> pending = new ArrayList<>();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ExecutorService writer = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdownNow();
+    }
+
+    private CustomerEventHub hub(int bufferSize, int maxSubscribers) {
+        return new CustomerEventHub(objectMapper, 60_000, 5_000, bufferSize, maxSubscribers, 5_000, pending::add, writer);
+    }
+
+    private void drain() {
+        List<Runnable> tasks = new ArrayList<>(pending);
+        pending.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    void eventsOnlyReachSubscribersOfTheCustomer() {
+        CustomerEventHub hub = hub(8, 10);
+        hub.subscribe(42L);
+        drain();
+
+        hub.onLoanCreated(new LoanCreatedEvent(1001L, 7L, new BigDecimal("5000.00"), 12, LocalDate.now()));
+        assertEquals(0, pending.size());
+
+        hub.onInstallmentsPaid(new InstallmentsPaidEvent(1002L, 42L, List.of(1L, 2L), new BigDecimal("833.34"), false));
+        assertEquals(1, pending.size());
+        drain();
+        assertEquals(1, hub.getSubscriberCount());
+        assertEquals(0, hub.getDroppedSubscribers());
+    }
+
+    @Test
+    void slowSubscriberIsDroppedWhenItsBufferIsFull() {
+        CustomerEventHub hub = hub(2, 10);
+        hub.subscribe(42L);
+
+        // The initial heartbeat is still queued, so the second payment overflows the buffer of two.
+        hub.onInstallmentsPaid(new InstallmentsPaidEvent(1002L, 42L, List.of(1L), new BigDecimal("100.00"), false));
+        hub.onInstallmentsPaid(new InstallmentsPaidEvent(1002L, 42L, List.of(2L), new BigDecimal("100.00"), false));
+
+        assertEquals(0, hub.getSubscriberCount());
+        assertEquals(1, hub.getDroppedSubscribers());
+        assertEquals(1, pending.size());
+        drain();
+
+        hub.onInstallmentsPaid(new InstallmentsPaidEvent(1002L, 42L, List.of(3L), new BigDecimal("100.00"), false));
+        assertEquals(0, pending.size());
+    }
+
+    @Test
+    void subscriberWhoseSendBlocksIsDroppedWhileOthersKeepReceiving() throws Exception {
+        ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+        CustomerEventHub hub = new CustomerEventHub(objectMapper, 60_000, 5_000, 8, 10, 200, dispatcher, writer);
+        CountDownLatch unblock = new CountDownLatch(1);
+        CountDownLatch received = new CountDownLatch(2);
+        try {
+            hub.subscribe(42L, new SseEmitter() {
+                @Override
+                public void send(SseEventBuilder builder) throws IOException {
+                    try {
+                        unblock.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Write interrupted", e);
+                    }
+                }
+            });
+            hub.subscribe(43L, new SseEmitter() {
+                @Override
+                public void send(SseEventBuilder builder) {
+                    received.countDown();
+                }
+            });
+
+            // One dispatcher thread: the heartbeat and the payment only reach 43 once the write to 42 is abandoned.
+            hub.onInstallmentsPaid(new InstallmentsPaidEvent(1002L, 43L, List.of(1L), new BigDecimal("100.00"), false));
+
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+            assertEquals(1, hub.getSubscriberCount());
+            assertEquals(1, hub.getDroppedSubscribers());
+        } finally {
+            unblock.countDown();
+            hub.destroy();
+        }
+    }
+
+    @Test
+    void rejectsSubscribersBeyondTheLimit() {
+        CustomerEventHub hub = hub(8, 1);
+        hub.subscribe(42L);
+
+        assertThrows(StreamCapacityExceededException.class, () -> hub.subscribe(43L));
+        assertEquals(1, hub.getSubscriberCount());
+    }
+}
@@ -0,0 +1,82 @@
+package com.creditmodule.loanmanagementapi.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Counts the statements sent through the proxied DataSource, per statement type. The counters are shared by
+// all threads on purpose: payments run on the partition executor, not on the test thread. A JDBC batch is one
+// round trip and counts once, however many parameter sets it carries. The statements are kept with the values of
+// their first parameter set, so a test can run the SQL Hibernate actually sent again, e.g. under EXPLAIN.
+public class StatementCounter implements QueryExecutionListener {
+
+    public record Statement(String sql, List<Object> parameters) {
+    }
+
+    private final Map<QueryType, AtomicInteger> counts = new EnumMap<>(QueryType.class);
+    private final Queue<Statement> statements = new ConcurrentLinkedQueue<>();
+
+    public StatementCounter() {
+        for (QueryType type : QueryType.values()) {
+            counts.put(type, new AtomicInteger());
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            counts.get(QueryUtils.getQueryType(queryInfo.getQuery())).incrementAndGet();
+            statements.add(new Statement(queryInfo.getQuery(), parameters(queryInfo)));
+        }
+    }
+
+    private static List<Object> parameters(QueryInfo queryInfo) {
+        if (queryInfo.getParametersList().isEmpty()) {
+            return List.of();
+        }
+        return queryInfo.getParametersList().get(0).stream()
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> ParameterSetOperation.isSetNullParameterOperation(operation) ? null : operation.getArgs()[1])
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        counts.values().forEach(count -> count.set(0));
+        statements.clear();
+    }
+
+    public int count(QueryType type) {
+        return counts.get(type).get();
+    }
+
+    public List<Statement> getStatements() {
+        return List.copyOf(statements);
+    }
+
+    public void assertAtMost(String operation, int selects, int inserts, int updates) {
+        String recorded = operation + " ran " + statements.size() + " statements:" + System.lineSeparator()
+                + statements.stream().map(Statement::sql).collect(Collectors.joining(System.lineSeparator()));
+        assertTrue(count(QueryType.SELECT) <= selects, () -> "Expected at most " + selects + " SELECTs. " + recorded);
+        assertTrue(count(QueryType.INSERT) <= inserts, () -> "Expected at most " + inserts + " INSERTs. " + recorded);
+        assertTrue(count(QueryType.UPDATE) <= updates, () -> "Expected at most " + updates + " UPDATEs. " + recorded);
+        assertTrue(count(QueryType.DELETE) == 0, () -> "Expected no DELETEs. " + recorded);
+    }
+}